@@ -17,14 +17,34 @@ package org.cp.labs.data.struct;
 
 import static org.cp.elements.lang.LangExtensions.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.cp.elements.lang.Assert;
 import org.cp.elements.lang.ObjectUtils;
@@ -33,27 +53,95 @@ import org.cp.elements.lang.annotation.Nullable;
 import org.cp.elements.util.MapUtils;
 
 /**
- * Java {@link Map} implementation backed by an array and a sorted, linked, and indexed data structure.
+ * Java {@link Map} implementation backed by flat, parallel {@literal key} and {@literal value} arrays
+ * using open addressing with linear probing.
+ * <p>
+ * The arrays are sized to a power of two and doubled whenever the number of entries exceeds the capacity
+ * multiplied by the {@link Float load factor}. Removals use backward-shift deletion, so the table never contains
+ * tombstones and no per-entry node objects are allocated.
+ * <p>
+ * The {@link #entrySet()}, {@link #keySet()} and {@link #values()} views are backed by the table and iterate it
+ * in place; their {@link Iterator Iterators} are fail-fast and support {@link Iterator#remove()}. Their
+ * {@link Spliterator Spliterators} split the table by ranges of slots, and the bulk operations
+ * {@link #forEach(long, BiConsumer)}, {@link #search(long, BiFunction)}, {@link #reduce(long, BiFunction, BiFunction)}
+ * and {@link #reduceValues(long, BiFunction)} run in parallel on large maps.
+ * <p>
+ * {@literal Keys} are hashed with a pluggable {@link HashStrategy}. If an insertion probes far more slots than
+ * expected for the capacity of the table, the {@link HashStrategy} is {@link HashStrategy#reseed() reseeded}
+ * and the table rehashed, which bounds the cost of lookups even when {@literal keys} are chosen to collide.
+ * <p>
+ * No entry is ever stored further from its home bucket than that probe length limit. An entry that does not fit,
+ * because no {@link HashStrategy} can separate its {@literal key} from the colliding {@literal keys}, is stored in
+ * an {@link OverflowBin overflow bin} for its home bucket instead. Small bins are lists; large bins are trees,
+ * so lookups remain logarithmic in the number of colliding {@literal keys}.
+ * <p>
+ * The batch operations {@link #getAll(Object[], Object[])} and {@link #putAll(Object[], Object[])} look up many
+ * {@literal keys} at once. They compute the home bucket of every {@literal key} before probing the table, so the
+ * cache misses of hashing and probing different {@literal keys} overlap instead of occurring one after another.
+ * <p>
+ * The distribution of entries across the table can be inspected with {@link #computeStatistics()}.
+ * <p>
+ * Neither {@literal null} keys nor {@literal null} values are permitted.
  *
  * @author John Blum
  * @see java.util.Map
+ * @see org.cp.labs.data.struct.MapStatistics
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
-public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE> {
+public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE>, MapStatistics.Source {
 
-  protected static final int DEFAULT_INITIAL_CAPACITY = 2557;
+  protected static final int DEFAULT_INITIAL_CAPACITY = 16;
+  protected static final int MAXIMUM_CAPACITY = 1 << 30;
+  protected static final int PROBE_LENGTH_LIMIT_FACTOR = 16;
+  protected static final int TREEIFY_THRESHOLD = 8;
+  protected static final int UNTREEIFY_THRESHOLD = 6;
+
+  protected static final int STATISTICS_ROW_COUNT = 64;
 
   protected static final float DEFAULT_LOAD_FACTOR = 0.75f;
-  protected static final float MAP_ARRAY_INITIAL_CAPACITY = 0.1f; // 10 %
 
-  private final AtomicInteger size = new AtomicInteger(0);
+  /**
+   * Returns the smallest power of two greater than or equal to the given {@link Integer capacity},
+   * bounded by {@link #MAXIMUM_CAPACITY}.
+   *
+   * @param capacity {@link Integer} specifying the requested capacity.
+   * @return the smallest power of two greater than or equal to the given {@link Integer capacity}.
+   */
+  protected static int tableSizeFor(int capacity) {
+
+    int tableSize = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+
+    return tableSize < 0 ? 1 : tableSize >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : tableSize + 1;
+  }
+
+  private int mask;
+  private int maximumProbeLength;
+  private int modCount;
+  private int overflowSize;
+  private int resizeThreshold;
+  private int size;
+
+  private long resizeCount;
+
+  private boolean reseedable = true;
 
   private final int initialCapacity;
 
   private final float loadFactor;
 
-  private final MapEntry<KEY, VALUE>[][] map;
+  private HashStrategy hashStrategy;
+
+  private Map<Integer, OverflowBin<KEY, VALUE>> overflow;
+
+  private Object[] keys;
+  private Object[] values;
+
+  private EntrySet entrySet;
+
+  private KeySet keySet;
+
+  private Values valuesCollection;
 
   /**
    * Constructs a new {@link ArrayHashMap} with a default {@link Integer initial capacity}
@@ -67,7 +155,8 @@ public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE> {
    * Constructs a new {@link ArrayHashMap} with the given {@link Integer initial capacity}
    * and default {@link Float load factor}.
    *
-   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map};
+   * rounded up to the next power of two.
    * @throws IllegalArgumentException if the {@link Integer initial capacity} is equal to less than {@literal 0}.
    */
   public ArrayHashMap(int initialCapacity) {
@@ -78,20 +167,43 @@ public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE> {
    * Constructs a new {@link ArrayHashMap} with the given {@link Integer initial capacity}
    * and {@link Float load factor}.
    *
-   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map};
+   * rounded up to the next power of two.
    * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
    * before the {@literal map} must be resized.
    * @throws IllegalArgumentException if the {@link Integer initial capacity} is equal to less than {@literal 0}
    * or the {@link Float load factor} is less than equal to {@literal 0.0} or greater than {@literal 1.0}.
    */
-  @SuppressWarnings("unchecked")
   public ArrayHashMap(int initialCapacity, float loadFactor) {
+    this(initialCapacity, loadFactor, HashStrategy.fibonacci());
+  }
+
+  /**
+   * Constructs a new {@link ArrayHashMap} with the given {@link Integer initial capacity}, {@link Float load factor}
+   * and {@link HashStrategy}.
+   * <p>
+   * Pass a {@link HashStrategy#seeded() seeded} {@link HashStrategy} when the {@literal keys} are supplied by
+   * untrusted sources, such as {@link String} user names or request parameters.
+   *
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map};
+   * rounded up to the next power of two.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
+   * before the {@literal map} must be resized.
+   * @param hashStrategy {@link HashStrategy} used to hash {@literal keys}; must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is equal to less than {@literal 0},
+   * the {@link Float load factor} is less than equal to {@literal 0.0} or greater than {@literal 1.0},
+   * or the {@link HashStrategy} is {@literal null}.
+   * @see org.cp.labs.data.struct.HashStrategy
+   */
+  public ArrayHashMap(int initialCapacity, float loadFactor, @NotNull HashStrategy hashStrategy) {
 
     assertInitialCapacityAndLoadFactor(initialCapacity, loadFactor);
 
-    this.map = new MapEntry[initialCapacity][(int) (initialCapacity * MAP_ARRAY_INITIAL_CAPACITY)];
     this.initialCapacity = initialCapacity;
     this.loadFactor = loadFactor;
+    this.hashStrategy = ObjectUtils.requireObject(hashStrategy, "HashStrategy is required");
+
+    allocateTable(tableSizeFor(initialCapacity));
   }
 
   private void assertInitialCapacityAndLoadFactor(int initialCapacity, float loadFactor) {
@@ -101,7 +213,7 @@ public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE> {
       .isGreaterThan(0);
 
     assertThat(loadFactor)
-      .describedAs("Load factor [%d] must be greater than 0.0 and less than equal to 1.0")
+      .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
       .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
   }
 
@@ -111,354 +223,1708 @@ public class ArrayHashMap<KEY, VALUE> implements Map<KEY, VALUE> {
     Assert.notNull(value, "Value is required");
   }
 
-  @SuppressWarnings("all")
-  private Index2d computeIndex(@NotNull Object key) {
+  private void allocateTable(int capacity) {
 
-    int keyHashCode = key.hashCode();
-    int xIndex = keyHashCode % this.map.length;
-    int yIndex = keyHashCode % this.map[xIndex].length;
+    this.keys = new Object[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    this.maximumProbeLength = PROBE_LENGTH_LIMIT_FACTOR * Math.max(Integer.numberOfTrailingZeros(capacity), 1);
 
-    return Index2d.of(xIndex, yIndex);
+    // Always keep at least one empty slot so that an unsuccessful probe terminates.
+    this.resizeThreshold = Math.min((int) (capacity * getLoadFactor()), capacity - 1);
   }
 
   /**
-   * Gets the {@link Integer initial capcity} of {@literal this} {@link Map} when initialized.
+   * Spreads the bits of the given {@link Object#hashCode() hash code} so that keys whose hash codes differ only
+   * in their upper bits, or form a regular sequence, are distributed across the low bits used to index the table.
+   * <p>
+   * Multiplies by the 32-bit golden ratio (Fibonacci hashing) and folds the high half into the low half,
+   * which is branch-free and never produces a negative index once masked.
    *
-   * @return the {@link Integer initial capcity} of {@literal this} {@link Map} when initialized.
+   * @param hashCode {@link Integer} containing the {@link Object#hashCode() hash code} to spread.
+   * @return the spread hash code.
    */
-  protected int getInitialCapacity() {
-    return this.initialCapacity;
+  protected static int spread(int hashCode) {
+
+    int hash = hashCode * 0x9E3779B9;
+
+    return hash ^ (hash >>> 16);
+  }
+
+  private int computeIndex(@NotNull Object key) {
+    return this.hashStrategy.hash(key) & this.mask;
+  }
+
+  private int indexOf(@NotNull Object key) {
+    // No entry is stored further than the probe length limit from its home bucket.
+    return indexOf(key, computeIndex(key));
   }
 
   /**
-   * Gets the {@link Float load factor} used as the determining threshold for {@literal this} {@link Map}
-   * implementation when resizing.
+   * Finds the slot containing the given {@literal key} by probing from the given home bucket.
    *
-   * @return the {@link Float load factor} used as the determining threshold for {@literal this} {@link Map}
-   * implementation when resizing.
+   * @param key {@link Object key} to find.
+   * @param home {@link Integer index} of the home bucket of the {@literal key}.
+   * @return the index of the slot containing the {@literal key}, or {@literal -1} if the {@literal key}
+   * is not stored in the table.
    */
-  protected float getLoadFactor() {
-    return this.loadFactor;
+  private int indexOf(@NotNull Object key, int home) {
+
+    Object[] keys = this.keys;
+
+    int index = home;
+
+    for (int probe = 0; probe < this.maximumProbeLength; probe++, index = (index + 1) & this.mask) {
+
+      Object slotKey = keys[index];
+
+      if (slotKey == null) {
+        return -1;
+      }
+      else if (slotKey == key || slotKey.equals(key)) {
+        return index;
+      }
+    }
+
+    return -1;
   }
 
   /**
-   * Returns a reference to the ({@literal array of hash mapping entries data structure}) used as
-   * the implementation of this {@link Map}.
+   * Computes the home bucket of every non-{@literal null} {@literal key} in the given array.
+   * <p>
+   * Each hash is independent of the others, so the processor can load many {@literal keys} in parallel,
+   * rather than waiting for each probe of the table to complete before loading the next {@literal key}.
    *
-   * @return a reference to the {@link Map} model.
+   * @param keys array of {@literal keys}.
+   * @return the home bucket of every {@literal key} by position, or {@literal -1} for {@literal null} elements.
    */
-  protected @NotNull Object[] getMap() {
-    return this.map;
-  }
+  private @NotNull int[] homeBuckets(@NotNull Object[] keys) {
 
-  @Override
-  public boolean isEmpty() {
-    return size() > 0;
-  }
+    int[] homes = new int[keys.length];
 
-  @Override
-  public void clear() {
-    Arrays.fill(getMap(), null);
-  }
+    for (int position = 0; position < keys.length; position++) {
+      Object key = keys[position];
+      homes[position] = key != null ? computeIndex(key) : -1;
+    }
 
-  @Override
-  public boolean containsKey(@Nullable Object key) {
-    return entrySet().stream().anyMatch(entry -> entry.getKey().equals(key));
+    return homes;
   }
 
-  @Override
-  public boolean containsValue(@Nullable Object value) {
-    return entrySet().stream().anyMatch(entry -> ObjectUtils.equalsIgnoreNull(entry.getValue(), value));
-  }
+  /**
+   * Stores a new entry in the first empty slot within the probe length limit of its home bucket.
+   *
+   * @param key {@link Object key} of the new entry.
+   * @param value {@link Object value} of the new entry.
+   * @return {@literal true} if the entry was stored in the table, or {@literal false} if there was no empty slot
+   * within the probe length limit.
+   */
+  private boolean insertIntoTable(@NotNull Object key, @NotNull Object value) {
 
-  @Override
-  public @Nullable VALUE get(@Nullable Object key) {
+    Object[] keys = this.keys;
 
-    if (key != null) {
+    int index = computeIndex(key);
 
-      Index2d index = computeIndex(key);
+    for (int probe = 0; probe < this.maximumProbeLength; probe++, index = (index + 1) & this.mask) {
+      if (keys[index] == null) {
+        keys[index] = key;
+        this.values[index] = value;
+        return true;
+      }
+    }
 
-      MapEntry<KEY, VALUE> mapEntry = this.map[index.getX()][index.getY()];
+    return false;
+  }
 
-      while (mapEntry != null) {
-        if (mapEntry.getKey().equals(key)) {
-          return mapEntry.getValue();
-        }
+  /**
+   * Stores a new entry in the table, {@link #reseed() reseeding} the {@link HashStrategy} or falling back to
+   * the {@link OverflowBin overflow bin} of its home bucket when no slot is available within the probe length limit.
+   *
+   * @param key {@link KEY key} of the new entry.
+   * @param value {@link VALUE value} of the new entry.
+   */
+  private void insert(@NotNull KEY key, @NotNull VALUE value) {
 
-        mapEntry = mapEntry.next();
-      }
+    if (!insertIntoTable(key, value) && !(reseed() && insertIntoTable(key, value))) {
+      insertIntoOverflow(key, value);
     }
-
-    return null;
   }
 
-  @Override
-  public Set<Map.Entry<KEY, VALUE>> entrySet() {
+  private void insertIntoOverflow(@NotNull KEY key, @NotNull VALUE value) {
 
-    Set<Map.Entry<KEY, VALUE>> entries = new HashSet<>(size());
+    Map<Integer, OverflowBin<KEY, VALUE>> overflow = this.overflow;
 
-    for (MapEntry<KEY, VALUE>[] mapEntries : this.map) {
-      for (MapEntry<KEY, VALUE> mapEntry : mapEntries) {
-        if (mapEntry != null) {
-          entries.add(mapEntry.toMapEntry());
-        }
-      }
+    if (overflow == null) {
+      overflow = new HashMap<>();
+      this.overflow = overflow;
     }
 
-    return entries;
+    overflow.computeIfAbsent(computeIndex(key), index -> new OverflowBin<>()).put(key, value);
+    this.overflowSize++;
   }
 
-  @Override
-  public Set<KEY> keySet() {
+  private @Nullable OverflowBin<KEY, VALUE> getOverflowBin(@NotNull Object key) {
+    return this.overflowSize > 0 ? this.overflow.get(computeIndex(key)) : null;
+  }
 
-    Set<KEY> keys = new HashSet<>(size());
+  private @Nullable VALUE getFromOverflow(@NotNull Object key) {
 
-    for (MapEntry<KEY, VALUE>[] mapEntries : this.map) {
-      for (MapEntry<KEY, VALUE> mapEntry : mapEntries) {
-        while (mapEntry != null) {
-          keys.add(mapEntry.getKey());
-          mapEntry = mapEntry.next();
-        }
-      }
-    }
+    OverflowBin<KEY, VALUE> bin = getOverflowBin(key);
 
-    return keys;
+    return bin != null ? bin.get(key) : null;
   }
 
-  @Override
-  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+  private @Nullable VALUE removeFromOverflow(@NotNull Object key) {
 
-    assertKeyValue(key, value);
+    int home = computeIndex(key);
 
-    Index2d index = computeIndex(key);
+    OverflowBin<KEY, VALUE> bin = this.overflowSize > 0 ? this.overflow.get(home) : null;
 
-    int x = index.x;
-    int y = index.y;
+    VALUE value = bin != null ? bin.remove(key) : null;
 
-    MapEntry<KEY, VALUE> mapEntry = this.map[x][y];
-    MapEntry<KEY, VALUE> pointer = mapEntry;
+    if (value != null) {
 
-    while (pointer != null) {
-      if (pointer.key.equals(key)) {
-        VALUE currentValue = pointer.getValue();
-        pointer.setValue(value);
-        return currentValue;
+      if (bin.isEmpty()) {
+        this.overflow.remove(home);
       }
 
-      pointer = pointer.next();
+      this.overflowSize--;
+      this.size--;
+      this.modCount++;
     }
 
-    this.map[x][y] = new MapEntry<>(this, key, value)
-      .thenNext(mapEntry);
-
-    this.size.incrementAndGet();
-
-    return null;
-  }
-
-  @Override
-  @SuppressWarnings("all")
-  public void putAll(@Nullable Map<? extends KEY, ? extends VALUE> map) {
-    MapUtils.nullSafeMap(map).forEach(this::put);
+    return value;
   }
 
-  @Override
-  public @Nullable VALUE remove(@NotNull Object key) {
+  /**
+   * Moves an entry from an {@link OverflowBin overflow bin} back into the table after a removal freed a slot,
+   * so that overflow bins shrink, and eventually disappear, as the colliding {@literal keys} are removed.
+   */
+  private void migrateFromOverflow() {
 
-    if (key != null) {
+    if (this.overflowSize > 0) {
+      for (Iterator<OverflowBin<KEY, VALUE>> bins = this.overflow.values().iterator(); bins.hasNext(); ) {
 
-      Index2d index = computeIndex(key);
+        OverflowBin<KEY, VALUE> bin = bins.next();
+        Map.Entry<KEY, VALUE> entry = bin.peek();
 
-      int x = index.x;
-      int y = index.y;
+        if (insertIntoTable(entry.getKey(), entry.getValue())) {
 
-      MapEntry<KEY, VALUE> mapEntry = this.map[x][y];
-      MapEntry<KEY, VALUE> pointer = mapEntry;
+          bin.remove(entry.getKey());
 
-      while (pointer != null) {
-        if (pointer.key.equals(key)) {
-          VALUE value = pointer.getValue();
-          if (pointer == mapEntry) {
-            this.map[x][y] = pointer.remove();
+          if (bin.isEmpty()) {
+            bins.remove();
           }
-          return value;
-        }
 
-        pointer = pointer.next();
+          this.overflowSize--;
+          return;
+        }
       }
     }
+  }
 
-    return null;
+  /**
+   * Returns a copy of the entries in all {@link OverflowBin overflow bins}.
+   *
+   * @return a copy of the entries in all {@link OverflowBin overflow bins}; never {@literal null}.
+   */
+  private @NotNull List<Map.Entry<KEY, VALUE>> overflowEntries() {
+
+    if (this.overflowSize > 0) {
+
+      List<Map.Entry<KEY, VALUE>> entries = new ArrayList<>(this.overflowSize);
+
+      this.overflow.values().forEach(bin -> bin.addEntriesTo(entries));
+
+      return entries;
+    }
+
+    return Collections.emptyList();
   }
 
-  @Override
-  public int size() {
-    return this.size.get();
+  private void resize() {
+
+    int currentCapacity = this.keys.length;
+
+    Assert.state(currentCapacity < MAXIMUM_CAPACITY, "Map cannot grow beyond [%d] buckets", MAXIMUM_CAPACITY);
+
+    rehash(currentCapacity << 1);
+
+    this.resizeCount++;
+    this.reseedable = true;
   }
 
-  @Override
-  public Collection<VALUE> values() {
+  /**
+   * Replaces the {@link HashStrategy} with a {@link HashStrategy#reseed() reseeded} {@link HashStrategy} and
+   * rehashes all entries when an insertion finds no empty slot within {@link #PROBE_LENGTH_LIMIT_FACTOR} times
+   * the base 2 logarithm of the capacity slots of its home bucket.
+   * <p>
+   * The longest probe sequence in a table of well distributed {@literal keys} grows with the logarithm of
+   * the capacity, so a probe sequence beyond the limit indicates either
+   * a poor {@link Object#hashCode() hash code} or a deliberate attack. The table is reseeded at most once per
+   * capacity, so {@literal keys} with equal hash codes, which no {@link HashStrategy} can separate, cannot cause
+   * the table to be rehashed repeatedly; such {@literal keys} are stored in {@link OverflowBin overflow bins}.
+   *
+   * @return {@literal true} if the {@link HashStrategy} was reseeded and the table rehashed.
+   */
+  private boolean reseed() {
 
-    List<VALUE> values = new ArrayList<>(size());
+    if (this.reseedable) {
 
-    for (MapEntry<KEY, VALUE>[] mapEntries : this.map) {
-      for (MapEntry<KEY, VALUE> mapEntry : mapEntries) {
-        while (mapEntry != null) {
-          values.add(mapEntry.getValue());
-          mapEntry = mapEntry.next();
-        }
+      HashStrategy currentHashStrategy = this.hashStrategy;
+      HashStrategy reseededHashStrategy = currentHashStrategy.reseed();
+
+      this.reseedable = false;
+
+      if (reseededHashStrategy != currentHashStrategy) {
+        this.hashStrategy = reseededHashStrategy;
+        rehash(this.keys.length);
+        this.modCount++;
+        return true;
       }
     }
 
-    return values;
+    return false;
   }
 
-  protected static class Index2d {
+  /**
+   * Reallocates the table with the given {@link Integer capacity} and reinserts all entries, including the entries
+   * in {@link OverflowBin overflow bins}, which move back into the table whenever they now fit.
+   *
+   * @param capacity {@link Integer} specifying the capacity of the new table.
+   */
+  @SuppressWarnings("unchecked")
+  private void rehash(int capacity) {
+
+    Object[] currentKeys = this.keys;
+    Object[] currentValues = this.values;
 
-    protected static @NotNull Index2d of(int x, int y) {
+    List<Map.Entry<KEY, VALUE>> overflowEntries = overflowEntries();
 
-      assertThat(x).describedAs("X [%d] must be greater than equal to 0").isGreaterThanEqualTo(0);
-      assertThat(y).describedAs("Y [%d] must be greater than equal to 0").isGreaterThanEqualTo(0);
+    int currentCapacity = currentKeys.length;
 
-      return new Index2d(x, y);
-    }
+    allocateTable(capacity);
 
-    private final int x;
-    private final int y;
+    this.overflow = null;
+    this.overflowSize = 0;
 
-    private Index2d(int x, int y) {
-      this.x = x;
-      this.y = y;
-    }
+    for (int currentIndex = 0; currentIndex < currentCapacity; currentIndex++) {
 
-    public int getX() {
-      return this.x;
+      Object key = currentKeys[currentIndex];
+
+      if (key != null && !insertIntoTable(key, currentValues[currentIndex])) {
+        insertIntoOverflow((KEY) key, (VALUE) currentValues[currentIndex]);
+      }
     }
 
-    public int getY() {
-      return this.y;
+    for (Map.Entry<KEY, VALUE> entry : overflowEntries) {
+      if (!insertIntoTable(entry.getKey(), entry.getValue())) {
+        insertIntoOverflow(entry.getKey(), entry.getValue());
+      }
     }
+  }
 
-    @Override
-    public boolean equals(Object obj) {
+  /**
+   * Removes the entry at the given {@link Integer index} and shifts any following entries in the same cluster
+   * back toward their home bucket so that no tombstone is required.
+   *
+   * @param index {@link Integer} referring to the slot of the entry to remove.
+   */
+  private void removeAt(int index) {
 
-      if (this == obj) {
-        return true;
-      }
+    Object[] keys = this.keys;
+    Object[] values = this.values;
 
-      if (!(obj instanceof Index2d that)) {
-        return false;
-      }
+    int mask = this.mask;
+    int hole = index;
 
-      return this.x == that.x
-        && this.y == that.y;
-    }
+    for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
 
-    @Override
-    public String toString() {
-      return String.format("(%d, %d)", getX(), getY());
+      int home = computeIndex(keys[next]);
+
+      // Move the entry into the hole unless its home bucket lies cyclically in (hole, next].
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
     }
+
+    keys[hole] = null;
+    values[hole] = null;
+    this.size--;
+    this.modCount++;
   }
 
-  protected static class MapEntry<KEY, VALUE> {
+  /**
+   * Gets the {@link Integer initial capcity} of {@literal this} {@link Map} when initialized.
+   *
+   * @return the {@link Integer initial capcity} of {@literal this} {@link Map} when initialized.
+   */
+  protected int getInitialCapacity() {
+    return this.initialCapacity;
+  }
 
-    private final ArrayHashMap<KEY, VALUE> owner;
+  /**
+   * Gets the current {@link Integer capacity}, or number of buckets, of {@literal this} {@link Map}.
+   *
+   * @return the current {@link Integer capacity} of {@literal this} {@link Map}; always a power of two.
+   */
+  protected int getCapacity() {
+    return this.keys.length;
+  }
 
-    private final KEY key;
+  /**
+   * Gets the {@link HashStrategy} currently used to hash {@literal keys}, which may be a
+   * {@link HashStrategy#reseed() reseeded} variant of the {@link HashStrategy} this {@link Map} was constructed with.
+   *
+   * @return the {@link HashStrategy} currently used to hash {@literal keys}.
+   * @see org.cp.labs.data.struct.HashStrategy
+   */
+  protected @NotNull HashStrategy getHashStrategy() {
+    return this.hashStrategy;
+  }
+
+  /**
+   * Gets the {@link Float load factor} used as the determining threshold for {@literal this} {@link Map}
+   * implementation when resizing.
+   *
+   * @return the {@link Float load factor} used as the determining threshold for {@literal this} {@link Map}
+   * implementation when resizing.
+   */
+  protected float getLoadFactor() {
+    return this.loadFactor;
+  }
+
+  /**
+   * Returns a reference to the array of {@literal keys} used as the implementation of this {@link Map}.
+   * <p>
+   * The {@literal value} mapped to the {@literal key} at a given index is stored at the same index
+   * in {@link #getValues()}.
+   *
+   * @return a reference to the array of {@literal keys}.
+   */
+  protected @NotNull Object[] getKeys() {
+    return this.keys;
+  }
 
-    private VALUE value;
+  /**
+   * Returns a reference to the array of {@literal values} used as the implementation of this {@link Map}.
+   *
+   * @return a reference to the array of {@literal values}.
+   * @see #getKeys()
+   */
+  protected @NotNull Object[] getValues() {
+    return this.values;
+  }
 
-    private MapEntry<KEY, VALUE> next;
-    private MapEntry<KEY, VALUE> previous;
+  @Override
+  public boolean isEmpty() {
+    return size() < 1;
+  }
 
-    protected MapEntry(@NotNull ArrayHashMap<KEY, VALUE> map, @NotNull KEY key, @NotNull VALUE value) {
+  @Override
+  public void clear() {
 
-      this.owner = ObjectUtils.requireObject(map, "ArrayHashMap owning this MapEntry is required");
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.values, null);
 
-      map.assertKeyValue(key, value);
+    this.overflow = null;
+    this.overflowSize = 0;
+    this.size = 0;
+    this.modCount++;
+  }
 
-      this.key = key;
-      this.value = value;
-    }
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return key != null && (indexOf(key) > -1 || getFromOverflow(key) != null);
+  }
 
-    protected @NotNull ArrayHashMap<KEY, VALUE> getOwner() {
-      return this.owner;
-    }
+  @Override
+  public boolean containsValue(@Nullable Object value) {
 
-    public @NotNull KEY getKey() {
-      return this.key;
-    }
+    if (value != null) {
 
-    public @Nullable VALUE getValue() {
-      return this.value;
-    }
+      for (Object slotValue : this.values) {
+        if (slotValue != null && (slotValue == value || slotValue.equals(value))) {
+          return true;
+        }
+      }
 
-    public VALUE setValue(@Nullable VALUE value) {
-      VALUE currentValue = this.value;
-      this.value = value;
-      return currentValue;
+      for (Map.Entry<KEY, VALUE> entry : overflowEntries()) {
+        if (entry.getValue().equals(value)) {
+          return true;
+        }
+      }
     }
 
-    public @Nullable MapEntry<KEY, VALUE> next() {
-      return this.next;
-    }
+    return false;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE get(@Nullable Object key) {
 
-    public void setNext(@Nullable MapEntry<KEY, VALUE> next) {
+    if (key != null) {
 
-      this.next = next;
+      int index = indexOf(key);
 
-      if (next != null) {
-        next.setPrevious(this);
+      if (index > -1) {
+        return (VALUE) this.values[index];
       }
-    }
 
-    public @Nullable MapEntry<KEY, VALUE> previous() {
-      return this.previous;
+      return getFromOverflow(key);
     }
 
-    void setPrevious(@Nullable MapEntry<KEY, VALUE> previous) {
-      this.previous = previous;
-    }
+    return null;
+  }
 
-    public @Nullable MapEntry<KEY, VALUE> remove() {
+  /**
+   * Looks up the {@literal values} of all given {@literal keys} at once.
+   * <p>
+   * The home bucket of every {@literal key} is computed up front, before the table is probed for any of them.
+   *
+   * @param keys array of {@literal keys} to look up; must not be {@literal null}; may contain {@literal null}
+   * elements, which are never mapped.
+   * @param values array receiving the {@literal value} mapped to the {@literal key} at the same position,
+   * or {@literal null} if the {@literal key} is not mapped; must not be {@literal null} and must be at least
+   * as long as the array of {@literal keys}.
+   * @return the {@link Integer number} of {@literal keys} that were found.
+   * @throws IllegalArgumentException if either array is {@literal null} or the array of {@literal values}
+   * is shorter than the array of {@literal keys}.
+   * @see #get(Object)
+   */
+  @SuppressWarnings("unchecked")
+  public int getAll(@NotNull KEY[] keys, @NotNull VALUE[] values) {
 
-      MapEntry<KEY, VALUE> next = next();
-      MapEntry<KEY, VALUE> previous = previous();
+    Assert.notNull(keys, "Keys are required");
+    Assert.notNull(values, "Values are required");
+    Assert.isTrue(values.length >= keys.length, "Values array length [%d] must be greater than equal to"
+      + " the number of keys [%d]", values.length, keys.length);
 
-      if (previous != null) {
-        previous.setNext(next);
-      }
+    Arrays.fill(values, 0, keys.length, null);
 
-      setNext(null);
-      setPrevious(null);
+    Object[] tableValues = this.values;
 
-      return next;
-    }
+    int[] homes = homeBuckets(keys);
 
-    public @NotNull MapEntry<KEY, VALUE> thenNext(@Nullable MapEntry<KEY, VALUE> next) {
-      setNext(next);
-      return this;
-    }
+    int found = 0;
 
-    public @NotNull Map.Entry<KEY, VALUE> toMapEntry() {
+    for (int position = 0; position < keys.length; position++) {
 
-      return new Map.Entry<>() {
+      int home = homes[position];
 
-        @Override
-        public @NotNull KEY getKey() {
-          return ArrayHashMap.MapEntry.this.getKey();
-        }
+      if (home > -1) {
 
-        @Override
-        public VALUE getValue() {
-          return ArrayHashMap.MapEntry.this.getValue();
-        }
+        KEY key = keys[position];
+
+        int index = indexOf(key, home);
 
-        @Override
-        public VALUE setValue(VALUE value) {
-          return ArrayHashMap.MapEntry.this.setValue(value);
+        VALUE value = index > -1 ? (VALUE) tableValues[index] : getFromOverflow(key);
+
+        if (value != null) {
+          values[position] = value;
+          found++;
         }
-      };
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Returns a live {@link Set} view of the entries in {@literal this} {@link Map}.
+   * <p>
+   * The view is backed by the table; iterating it neither copies the table nor allocates anything other than
+   * the {@link Map.Entry} returned for each entry.
+   *
+   * @return a live {@link Set} view of the entries in {@literal this} {@link Map}.
+   */
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+
+    EntrySet entrySet = this.entrySet;
+
+    return entrySet != null ? entrySet : (this.entrySet = new EntrySet());
+  }
+
+  /**
+   * Returns a live {@link Set} view of the {@literal keys} in {@literal this} {@link Map}.
+   *
+   * @return a live {@link Set} view of the {@literal keys} in {@literal this} {@link Map}.
+   */
+  @Override
+  public @NotNull Set<KEY> keySet() {
+
+    KeySet keySet = this.keySet;
+
+    return keySet != null ? keySet : (this.keySet = new KeySet());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    int index = indexOf(key);
+
+    if (index > -1) {
+      VALUE currentValue = (VALUE) this.values[index];
+      this.values[index] = value;
+      return currentValue;
+    }
+
+    OverflowBin<KEY, VALUE> bin = getOverflowBin(key);
+
+    if (bin != null && bin.get(key) != null) {
+      return bin.put(key, value);
+    }
+
+    if (this.size >= this.resizeThreshold) {
+      resize();
+    }
+
+    insert(key, value);
+
+    this.size++;
+    this.modCount++;
+
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("all")
+  public void putAll(@Nullable Map<? extends KEY, ? extends VALUE> map) {
+    MapUtils.nullSafeMap(map).forEach(this::put);
+  }
+
+  /**
+   * Maps every {@literal key} in the given array to the {@literal value} at the same position in the other array.
+   * <p>
+   * {@literal Values} of {@literal keys} already in the table are replaced first, computing the home bucket of
+   * every {@literal key} up front as in {@link #getAll(Object[], Object[])}. The remaining {@literal keys} are then
+   * inserted in the order given, resizing the table as needed. When a {@literal key} occurs more than once, the last {@literal value}
+   * given for the {@literal key} wins, as if the entries were {@link #put(Object, Object) put} one at a time.
+   *
+   * @param keys array of {@literal keys}; must not be {@literal null} nor contain {@literal null} elements.
+   * @param values array of {@literal values}; must not be {@literal null}, nor contain {@literal null} elements,
+   * and must be the same length as the array of {@literal keys}.
+   * @throws IllegalArgumentException if either array is {@literal null} or contains {@literal null} elements,
+   * or the arrays differ in length. No entries are stored in this case.
+   * @see #put(Object, Object)
+   */
+  public void putAll(@NotNull KEY[] keys, @NotNull VALUE[] values) {
+
+    Assert.notNull(keys, "Keys are required");
+    Assert.notNull(values, "Values are required");
+    Assert.isTrue(values.length == keys.length, "The number of values [%d] must equal the number of keys [%d]",
+      values.length, keys.length);
+
+    for (int position = 0; position < keys.length; position++) {
+      assertKeyValue(keys[position], values[position]);
+    }
+
+    Object[] tableValues = this.values;
+
+    int[] homes = homeBuckets(keys);
+
+    int missing = 0;
+
+    for (int position = 0; position < keys.length; position++) {
+
+      int index = indexOf(keys[position], homes[position]);
+
+      if (index > -1) {
+        tableValues[index] = values[position];
+      }
+      else {
+        // Reuse the array to record the positions of the keys that must be inserted.
+        homes[missing++] = position;
+      }
+    }
+
+    for (int next = 0; next < missing; next++) {
+
+      int position = homes[next];
+
+      put(keys[position], values[position]);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE remove(@NotNull Object key) {
+
+    if (key != null) {
+
+      int index = indexOf(key);
+
+      if (index > -1) {
+        VALUE value = (VALUE) this.values[index];
+        removeAt(index);
+        migrateFromOverflow();
+        return value;
+      }
+
+      return removeFromOverflow(key);
+    }
+
+    return null;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns a live {@link Collection} view of the {@literal values} in {@literal this} {@link Map}.
+   *
+   * @return a live {@link Collection} view of the {@literal values} in {@literal this} {@link Map}.
+   */
+  @Override
+  public @NotNull Collection<VALUE> values() {
+
+    Values values = this.valuesCollection;
+
+    return values != null ? values : (this.valuesCollection = new Values());
+  }
+
+  /**
+   * Computes {@link MapStatistics} describing the distribution of entries across the table.
+   * <p>
+   * The probe length of an entry is its distance from its home bucket plus one. Entries stored in
+   * {@link OverflowBin overflow bins} are reported with a probe length one greater than the probe length limit
+   * and are not counted as occupied buckets. The table is divided into up to {@link #STATISTICS_ROW_COUNT} rows
+   * of consecutive slots, so long runs of occupied slots show up as unevenly filled rows.
+   *
+   * @return a new {@link MapStatistics} snapshot of {@literal this} {@link Map}.
+   * @see org.cp.labs.data.struct.MapStatistics
+   */
+  @Override
+  public @NotNull MapStatistics computeStatistics() {
+
+    Object[] keys = this.keys;
+
+    int capacity = keys.length;
+    int mask = this.mask;
+    int rowSize = Math.max(capacity / STATISTICS_ROW_COUNT, 1);
+    int entryIndex = 0;
+
+    int[] probeLengths = new int[this.size];
+    int[] rowFill = new int[capacity / rowSize];
+
+    for (int index = 0; index < capacity; index++) {
+
+      Object key = keys[index];
+
+      if (key != null) {
+        probeLengths[entryIndex++] = ((index - computeIndex(key)) & mask) + 1;
+        rowFill[index / rowSize]++;
+      }
+    }
+
+    int occupiedBuckets = entryIndex;
+
+    for (Map.Entry<KEY, VALUE> entry : overflowEntries()) {
+      probeLengths[entryIndex++] = this.maximumProbeLength + 1;
+      rowFill[computeIndex(entry.getKey()) / rowSize]++;
+    }
+
+    return MapStatistics.from(capacity, occupiedBuckets, probeLengths, rowFill, this.resizeCount);
+  }
+
+  /**
+   * Writes the entries of {@literal this} {@link Map} to a snapshot file at the given {@link Path} that can later
+   * be reopened with {@link #openSnapshot(Path, FixedSizeCodec, FixedSizeCodec)} without rebuilding the table.
+   *
+   * @param path {@link Path} of the snapshot file; must not be {@literal null}.
+   * @param keyCodec {@link FixedSizeCodec} used to encode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode {@literal values}; must not be {@literal null}.
+   * @throws IOException if the snapshot file cannot be written.
+   * @see ArrayHashMapSnapshot#write(Map, Path, FixedSizeCodec, FixedSizeCodec)
+   */
+  public void writeSnapshot(@NotNull Path path, @NotNull FixedSizeCodec<KEY> keyCodec,
+      @NotNull FixedSizeCodec<VALUE> valueCodec) throws IOException {
+
+    ArrayHashMapSnapshot.write(this, path, keyCodec, valueCodec);
+  }
+
+  /**
+   * Reopens a snapshot file written by {@link #writeSnapshot(Path, FixedSizeCodec, FixedSizeCodec)}
+   * through a memory mapping of the file.
+   * <p>
+   * The returned {@link Map} can serve lookups immediately; entries are paged in from the file on first access.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param path {@link Path} of the snapshot file; must not be {@literal null}.
+   * @param keyCodec {@link FixedSizeCodec} used to decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to decode {@literal values}; must not be {@literal null}.
+   * @return a new {@link OffHeapArrayHashMap} backed by the snapshot file.
+   * @throws IOException if the snapshot file cannot be read or is not a valid snapshot.
+   * @see ArrayHashMapSnapshot#open(Path, FixedSizeCodec, FixedSizeCodec)
+   */
+  public static @NotNull <KEY, VALUE> OffHeapArrayHashMap<KEY, VALUE> openSnapshot(@NotNull Path path,
+      @NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec) throws IOException {
+
+    return ArrayHashMapSnapshot.open(path, keyCodec, valueCodec);
+  }
+
+  /**
+   * Returns an {@link IntStream} of the indexes of all occupied slots in the table, which is parallel when
+   * {@literal this} {@link Map} contains at least the given {@link Long number of entries}.
+   * <p>
+   * The stream does not include the entries in {@link OverflowBin overflow bins}, which the bulk operations
+   * process separately and sequentially.
+   *
+   * @param parallelismThreshold {@link Long} specifying the minimum number of entries
+   * required to traverse the table in parallel.
+   * @return an {@link IntStream} of the indexes of all occupied slots.
+   */
+  private @NotNull IntStream slots(long parallelismThreshold) {
+    return StreamSupport.intStream(new SlotSpliterator(), size() >= parallelismThreshold);
+  }
+
+  /**
+   * Performs the given {@link BiConsumer action} for each entry in {@literal this} {@link Map},
+   * in parallel when {@literal this} {@link Map} contains at least {@literal parallelismThreshold} entries.
+   * <p>
+   * As with {@link java.util.concurrent.ConcurrentHashMap}, a threshold of {@link Long#MAX_VALUE} suppresses
+   * all parallelism and a threshold of {@literal 1} results in maximal parallelism. The {@link Map} must not
+   * be modified while the operation is in progress. The {@link BiConsumer action} must be thread-safe
+   * when run in parallel.
+   *
+   * @param parallelismThreshold {@link Long} specifying the (estimated) number of entries required
+   * for the operation to run in parallel.
+   * @param action {@link BiConsumer} invoked with each {@literal key} and {@literal value};
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link BiConsumer action} is {@literal null}.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(long parallelismThreshold, @NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+
+    slots(parallelismThreshold).forEach(index -> action.accept((KEY) keys[index], (VALUE) values[index]));
+
+    overflowEntries().forEach(entry -> action.accept(entry.getKey(), entry.getValue()));
+  }
+
+  /**
+   * Returns a non-{@literal null} result from applying the given {@link BiFunction search function} to an entry
+   * in {@literal this} {@link Map}, or {@literal null} if no entry produces a non-{@literal null} result.
+   * <p>
+   * Once a result is found, further function invocations are suppressed. When run in parallel,
+   * the result may be produced by any matching entry.
+   *
+   * @param <T> {@link Class type} of the search result.
+   * @param parallelismThreshold {@link Long} specifying the (estimated) number of entries required
+   * for the operation to run in parallel.
+   * @param searchFunction {@link BiFunction} returning a non-{@literal null} result on success,
+   * or {@literal null} otherwise; must not be {@literal null}.
+   * @return a non-{@literal null} result from applying the {@link BiFunction search function} to an entry,
+   * or {@literal null} if none.
+   * @throws IllegalArgumentException if the {@link BiFunction search function} is {@literal null}.
+   * @see #forEach(long, BiConsumer)
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable <T> T search(long parallelismThreshold,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends T> searchFunction) {
+
+    Assert.notNull(searchFunction, "Search function is required");
+
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+
+    T result = slots(parallelismThreshold)
+      .<T>mapToObj(index -> searchFunction.apply((KEY) keys[index], (VALUE) values[index]))
+      .filter(Objects::nonNull)
+      .findAny()
+      .orElse(null);
+
+    return result != null ? result : overflowEntries().stream()
+      .<T>map(entry -> searchFunction.apply(entry.getKey(), entry.getValue()))
+      .filter(Objects::nonNull)
+      .findFirst()
+      .orElse(null);
+  }
+
+  /**
+   * Returns the result of accumulating the given {@link BiFunction transformation} of all entries
+   * in {@literal this} {@link Map} using the given {@link BiFunction reducer} to combine results,
+   * or {@literal null} if none.
+   * <p>
+   * The {@link BiFunction reducer} must be associative.
+   *
+   * @param <T> {@link Class type} of the transformed elements and result.
+   * @param parallelismThreshold {@link Long} specifying the (estimated) number of entries required
+   * for the operation to run in parallel.
+   * @param transformer {@link BiFunction} returning the transformation of an entry, or {@literal null}
+   * if there is no transformation, in which case it is not combined; must not be {@literal null}.
+   * @param reducer commutative, associative {@link BiFunction} combining two results;
+   * must not be {@literal null}.
+   * @return the result of accumulating the transformation of all entries, or {@literal null} if none.
+   * @throws IllegalArgumentException if the {@link BiFunction transformer} or {@link BiFunction reducer}
+   * is {@literal null}.
+   * @see #forEach(long, BiConsumer)
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable <T> T reduce(long parallelismThreshold,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends T> transformer,
+      @NotNull BiFunction<? super T, ? super T, ? extends T> reducer) {
+
+    Assert.notNull(transformer, "Transformer is required");
+    Assert.notNull(reducer, "Reducer is required");
+
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+
+    return Stream.concat(
+        slots(parallelismThreshold).mapToObj(index -> transformer.apply((KEY) keys[index], (VALUE) values[index])),
+        overflowEntries().stream().map(entry -> transformer.apply(entry.getKey(), entry.getValue())))
+      .<T>map(result -> result)
+      .filter(Objects::nonNull)
+      .reduce(reducer::apply)
+      .orElse(null);
+  }
+
+  /**
+   * Returns the result of accumulating all {@literal values} in {@literal this} {@link Map} using the given
+   * {@link BiFunction reducer} to combine values, or {@literal null} if {@literal this} {@link Map} is empty.
+   *
+   * @param parallelismThreshold {@link Long} specifying the (estimated) number of entries required
+   * for the operation to run in parallel.
+   * @param reducer commutative, associative {@link BiFunction} combining two {@literal values};
+   * must not be {@literal null}.
+   * @return the result of accumulating all {@literal values}, or {@literal null} if {@literal this} {@link Map}
+   * is empty.
+   * @throws IllegalArgumentException if the {@link BiFunction reducer} is {@literal null}.
+   * @see #forEach(long, BiConsumer)
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE reduceValues(long parallelismThreshold,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> reducer) {
+
+    Assert.notNull(reducer, "Reducer is required");
+
+    Object[] values = this.values;
+
+    return Stream.concat(slots(parallelismThreshold).mapToObj(index -> (VALUE) values[index]),
+        overflowEntries().stream().map(Map.Entry::getValue))
+      .reduce(reducer::apply)
+      .orElse(null);
+  }
+
+  /**
+   * {@link Iterator} walking the table in place.
+   * <p>
+   * Iteration begins in the slot following an empty slot and visits every slot once, wrapping around the end
+   * of the table. Since no cluster of entries spans the starting point, the entries moved by backward-shift
+   * deletion on {@link #remove()} only ever move into the slot just removed, which is then examined again,
+   * so every remaining entry is returned exactly once.
+   * <p>
+   * Once the table is exhausted, iteration continues over a copy of the {@literal keys} in
+   * {@link OverflowBin overflow bins}.
+   */
+  protected abstract class TableIterator<T> implements Iterator<T> {
+
+    private final int start;
+
+    private Iterator<KEY> overflowKeys;
+
+    private KEY lastReturnedOverflowKey;
+
+    private int expectedModCount = ArrayHashMap.this.modCount;
+    private int lastReturned = -1;
+    private int lastReturnedOffset;
+    private int next = -1;
+    private int offset;
+
+    protected TableIterator() {
+
+      Object[] keys = ArrayHashMap.this.keys;
+
+      int start = 0;
+
+      if (size() > 0) {
+        while (keys[start] != null) {
+          start++;
+        }
+      }
+      else {
+        this.offset = keys.length;
+      }
+
+      this.start = start;
+
+      advance();
+    }
+
+    private void advance() {
+
+      Object[] keys = ArrayHashMap.this.keys;
+
+      int capacity = keys.length;
+
+      for (; this.offset < capacity; this.offset++) {
+
+        int index = (this.start + this.offset) & ArrayHashMap.this.mask;
+
+        if (keys[index] != null) {
+          this.next = index;
+          return;
+        }
+      }
+
+      this.next = -1;
+    }
+
+    private void checkForComodification() {
+
+      if (ArrayHashMap.this.modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    private @NotNull Iterator<KEY> overflowKeys() {
+
+      Iterator<KEY> overflowKeys = this.overflowKeys;
+
+      if (overflowKeys == null) {
+        overflowKeys = overflowEntries().stream().map(Map.Entry::getKey).toList().iterator();
+        this.overflowKeys = overflowKeys;
+      }
+
+      return overflowKeys;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next > -1 || overflowKeys().hasNext();
+    }
+
+    @Override
+    public T next() {
+
+      checkForComodification();
+
+      this.lastReturned = -1;
+      this.lastReturnedOverflowKey = null;
+
+      if (this.next > -1) {
+
+        this.lastReturned = this.next;
+        this.lastReturnedOffset = this.offset++;
+
+        advance();
+
+        return slotElement(this.lastReturned);
+      }
+      else if (overflowKeys().hasNext()) {
+        this.lastReturnedOverflowKey = overflowKeys().next();
+        return overflowElement(this.lastReturnedOverflowKey);
+      }
+
+      throw new NoSuchElementException("No more entries");
+    }
+
+    /**
+     * Returns the element for the entry stored in the slot at the given {@link Integer index}.
+     *
+     * @param index {@link Integer} referring to an occupied slot.
+     * @return the element for the entry stored in the slot at the given {@link Integer index}.
+     */
+    protected abstract T slotElement(int index);
+
+    /**
+     * Returns the element for the entry with the given {@literal key} stored in an {@link OverflowBin overflow bin}.
+     *
+     * @param key {@literal key} of an entry stored in an {@link OverflowBin overflow bin}.
+     * @return the element for the entry with the given {@literal key}.
+     */
+    protected abstract T overflowElement(@NotNull KEY key);
+
+    @Override
+    public void remove() {
+
+      Assert.state(this.lastReturned > -1 || this.lastReturnedOverflowKey != null,
+        "next() must be called before remove()");
+
+      checkForComodification();
+
+      if (this.lastReturned > -1) {
+
+        removeAt(this.lastReturned);
+
+        // Re-examine the slot just removed, since the next entry in its cluster may have been shifted into it.
+        this.offset = this.lastReturnedOffset;
+        this.lastReturned = -1;
+
+        advance();
+      }
+      else {
+        removeFromOverflow(this.lastReturnedOverflowKey);
+        this.lastReturnedOverflowKey = null;
+      }
+
+      this.expectedModCount = ArrayHashMap.this.modCount;
+    }
+  }
+
+  protected class EntryIterator extends TableIterator<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Map.Entry<KEY, VALUE> slotElement(int index) {
+      return new SimpleEntry<>(ArrayHashMap.this, (KEY) ArrayHashMap.this.keys[index], index);
+    }
+
+    @Override
+    protected Map.Entry<KEY, VALUE> overflowElement(@NotNull KEY key) {
+      return new SimpleEntry<>(ArrayHashMap.this, key, -1);
+    }
+  }
+
+  protected class KeyIterator extends TableIterator<KEY> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected KEY slotElement(int index) {
+      return (KEY) ArrayHashMap.this.keys[index];
+    }
+
+    @Override
+    protected KEY overflowElement(@NotNull KEY key) {
+      return key;
+    }
+  }
+
+  protected class ValueIterator extends TableIterator<VALUE> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected VALUE slotElement(int index) {
+      return (VALUE) ArrayHashMap.this.values[index];
+    }
+
+    @Override
+    protected VALUE overflowElement(@NotNull KEY key) {
+      return getFromOverflow(key);
+    }
+  }
+
+  /**
+   * {@link Spliterator.OfInt} over the indexes of the occupied slots in a range of the table.
+   * <p>
+   * Splitting divides the range of slots in half, so each half can be traversed by a different thread without
+   * any coordination. Like the {@link Iterator Iterators} of the views, traversal is fail-fast.
+   */
+  protected class SlotSpliterator implements Spliterator.OfInt {
+
+    private final int expectedModCount;
+    private final int fence;
+
+    private int estimatedSize;
+    private int index;
+
+    private boolean split;
+
+    protected SlotSpliterator() {
+      this(0, ArrayHashMap.this.keys.length, ArrayHashMap.this.size, ArrayHashMap.this.modCount);
+    }
+
+    protected SlotSpliterator(int origin, int fence, int estimatedSize, int expectedModCount) {
+
+      this.index = origin;
+      this.fence = fence;
+      this.estimatedSize = estimatedSize;
+      this.expectedModCount = expectedModCount;
+    }
+
+    private void checkForComodification() {
+
+      if (ArrayHashMap.this.modCount != this.expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public int characteristics() {
+      return (this.split ? 0 : Spliterator.SIZED) | Spliterator.DISTINCT;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.estimatedSize;
+    }
+
+    @Override
+    public void forEachRemaining(@NotNull IntConsumer action) {
+
+      Assert.notNull(action, "Action is required");
+
+      Object[] keys = ArrayHashMap.this.keys;
+
+      int fence = this.fence;
+
+      for (int index = this.index; index < fence; index++) {
+        if (keys[index] != null) {
+          action.accept(index);
+        }
+      }
+
+      this.index = fence;
+
+      checkForComodification();
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull IntConsumer action) {
+
+      Assert.notNull(action, "Action is required");
+
+      Object[] keys = ArrayHashMap.this.keys;
+
+      while (this.index < this.fence) {
+
+        int index = this.index++;
+
+        if (keys[index] != null) {
+          action.accept(index);
+          checkForComodification();
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    @Override
+    public @Nullable SlotSpliterator trySplit() {
+
+      int origin = this.index;
+      int middle = (origin + this.fence) >>> 1;
+
+      if (origin >= middle) {
+        return null;
+      }
+
+      this.index = middle;
+      this.estimatedSize >>>= 1;
+      this.split = true;
+
+      SlotSpliterator prefix = new SlotSpliterator(origin, middle, this.estimatedSize, this.expectedModCount);
+
+      prefix.split = true;
+
+      return prefix;
+    }
+  }
+
+  /**
+   * Returns a {@link Spliterator} over the given view backed by its {@link Iterator}, used instead of
+   * a {@link TableSpliterator} while any entries are stored in {@link OverflowBin overflow bins}.
+   *
+   * @param <T> {@link Class type} of the elements in the view.
+   * @param view {@link Collection} view of {@literal this} {@link Map}.
+   * @return a {@link Spliterator} over the given view.
+   */
+  private static @NotNull <T> Spliterator<T> iteratingSpliterator(@NotNull Collection<T> view) {
+    return Spliterators.spliterator(view, Spliterator.DISTINCT | Spliterator.NONNULL);
+  }
+
+  /**
+   * {@link Spliterator} mapping each occupied slot of a {@link SlotSpliterator} to an element of a view.
+   */
+  protected class TableSpliterator<T> implements Spliterator<T> {
+
+    private final IntFunction<T> slotMapper;
+
+    private final SlotSpliterator slots;
+
+    protected TableSpliterator(@NotNull SlotSpliterator slots, @NotNull IntFunction<T> slotMapper) {
+
+      this.slots = slots;
+      this.slotMapper = slotMapper;
+    }
+
+    @Override
+    public int characteristics() {
+      return this.slots.characteristics() | Spliterator.NONNULL;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.slots.estimateSize();
+    }
+
+    @Override
+    public void forEachRemaining(@NotNull Consumer<? super T> action) {
+
+      Assert.notNull(action, "Action is required");
+
+      this.slots.forEachRemaining((int index) -> action.accept(this.slotMapper.apply(index)));
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super T> action) {
+
+      Assert.notNull(action, "Action is required");
+
+      return this.slots.tryAdvance((int index) -> action.accept(this.slotMapper.apply(index)));
+    }
+
+    @Override
+    public @Nullable TableSpliterator<T> trySplit() {
+
+      SlotSpliterator prefix = this.slots.trySplit();
+
+      return prefix != null ? new TableSpliterator<>(prefix, this.slotMapper) : null;
+    }
+  }
+
+  /**
+   * Live {@link Set} view of the entries in {@literal this} {@link ArrayHashMap}.
+   */
+  protected class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull Spliterator<Map.Entry<KEY, VALUE>> spliterator() {
+
+      return ArrayHashMap.this.overflowSize > 0 ? iteratingSpliterator(this)
+        : new TableSpliterator<>(new SlotSpliterator(),
+            index -> new SimpleEntry<>(ArrayHashMap.this, (KEY) ArrayHashMap.this.keys[index], index));
+    }
+
+    @Override
+    public int size() {
+      return ArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ArrayHashMap.this.clear();
+    }
+
+    @Override
+    public boolean contains(@Nullable Object obj) {
+
+      if (obj instanceof Map.Entry<?, ?> entry && entry.getKey() != null) {
+
+        VALUE value = get(entry.getKey());
+
+        return value != null && value.equals(entry.getValue());
+      }
+
+      return false;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object obj) {
+
+      if (contains(obj)) {
+        ArrayHashMap.this.remove(((Map.Entry<?, ?>) obj).getKey());
+        return true;
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * Live {@link Set} view of the {@literal keys} in {@literal this} {@link ArrayHashMap}.
+   */
+  protected class KeySet extends AbstractSet<KEY> {
+
+    @Override
+    public @NotNull Iterator<KEY> iterator() {
+      return new KeyIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull Spliterator<KEY> spliterator() {
+
+      return ArrayHashMap.this.overflowSize > 0 ? iteratingSpliterator(this)
+        : new TableSpliterator<>(new SlotSpliterator(), index -> (KEY) ArrayHashMap.this.keys[index]);
+    }
+
+    @Override
+    public int size() {
+      return ArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ArrayHashMap.this.clear();
+    }
+
+    @Override
+    public boolean contains(@Nullable Object key) {
+      return containsKey(key);
+    }
+
+    @Override
+    public boolean remove(@Nullable Object key) {
+      return key != null && ArrayHashMap.this.remove(key) != null;
+    }
+  }
+
+  /**
+   * Live {@link Collection} view of the {@literal values} in {@literal this} {@link ArrayHashMap}.
+   */
+  protected class Values extends AbstractCollection<VALUE> {
+
+    @Override
+    public @NotNull Iterator<VALUE> iterator() {
+      return new ValueIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull Spliterator<VALUE> spliterator() {
+
+      return ArrayHashMap.this.overflowSize > 0 ? iteratingSpliterator(this)
+        : new TableSpliterator<>(new SlotSpliterator(), index -> (VALUE) ArrayHashMap.this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return ArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ArrayHashMap.this.clear();
+    }
+
+    @Override
+    public boolean contains(@Nullable Object value) {
+      return containsValue(value);
+    }
+  }
+
+  /**
+   * Bin of entries sharing a home bucket that could not be stored in the table within the probe length limit.
+   * <p>
+   * A bin holding at most {@link #TREEIFY_THRESHOLD} entries is a list searched linearly. A larger bin is
+   * converted into a tree, ordered by the natural order of the {@literal keys} when they are all instances of the
+   * same {@link Comparable} {@link Class}, or by their {@link Object#hashCode() hash codes} otherwise, in which case
+   * {@literal keys} with equal hash codes share a list. A tree shrinking to {@link #UNTREEIFY_THRESHOLD} entries
+   * is converted back into a list.
+   * <p>
+   * As with {@link HashMap}, the natural order of {@link Comparable} {@literal keys} must be consistent with
+   * {@link Object#equals(Object)}.
+   */
+  protected static final class OverflowBin<KEY, VALUE> {
+
+    private static @Nullable <KEY, VALUE> AbstractMap.SimpleEntry<KEY, VALUE> find(
+        @Nullable List<AbstractMap.SimpleEntry<KEY, VALUE>> entries, @NotNull Object key) {
+
+      if (entries != null) {
+        for (AbstractMap.SimpleEntry<KEY, VALUE> entry : entries) {
+          if (entry.getKey().equals(key)) {
+            return entry;
+          }
+        }
+      }
+
+      return null;
+    }
+
+    private int size;
+
+    private Class<?> comparableType;
+
+    private List<AbstractMap.SimpleEntry<KEY, VALUE>> list = new ArrayList<>();
+
+    private TreeMap<Integer, List<AbstractMap.SimpleEntry<KEY, VALUE>>> hashTree;
+
+    private TreeMap<KEY, VALUE> comparableTree;
+
+    boolean isEmpty() {
+      return this.size == 0;
+    }
+
+    boolean isTree() {
+      return this.list == null;
+    }
+
+    int size() {
+      return this.size;
+    }
+
+    private boolean isComparableKey(@NotNull Object key) {
+      return key.getClass() == this.comparableType;
+    }
+
+    @Nullable VALUE get(@NotNull Object key) {
+
+      if (this.list != null) {
+        AbstractMap.SimpleEntry<KEY, VALUE> entry = find(this.list, key);
+        return entry != null ? entry.getValue() : null;
+      }
+      else if (this.comparableTree != null) {
+        return isComparableKey(key) ? this.comparableTree.get(key) : null;
+      }
+      else {
+        AbstractMap.SimpleEntry<KEY, VALUE> entry = find(this.hashTree.get(key.hashCode()), key);
+        return entry != null ? entry.getValue() : null;
+      }
+    }
+
+    @NotNull Map.Entry<KEY, VALUE> peek() {
+
+      if (this.list != null) {
+        return this.list.get(this.list.size() - 1);
+      }
+      else if (this.comparableTree != null) {
+        return this.comparableTree.firstEntry();
+      }
+      else {
+        return this.hashTree.firstEntry().getValue().get(0);
+      }
+    }
+
+    @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+      if (this.list != null) {
+
+        AbstractMap.SimpleEntry<KEY, VALUE> entry = find(this.list, key);
+
+        if (entry != null) {
+          return entry.setValue(value);
+        }
+
+        this.list.add(new AbstractMap.SimpleEntry<>(key, value));
+
+        if (++this.size > TREEIFY_THRESHOLD) {
+          treeify();
+        }
+
+        return null;
+      }
+
+      if (this.comparableTree != null) {
+
+        if (isComparableKey(key)) {
+
+          VALUE currentValue = this.comparableTree.put(key, value);
+
+          if (currentValue == null) {
+            this.size++;
+          }
+
+          return currentValue;
+        }
+
+        List<AbstractMap.SimpleEntry<KEY, VALUE>> entries = entries();
+
+        this.comparableTree = null;
+        this.hashTree = new TreeMap<>();
+
+        entries.forEach(this::addToHashTree);
+      }
+
+      AbstractMap.SimpleEntry<KEY, VALUE> entry = find(this.hashTree.get(key.hashCode()), key);
+
+      if (entry != null) {
+        return entry.setValue(value);
+      }
+
+      addToHashTree(new AbstractMap.SimpleEntry<>(key, value));
+      this.size++;
+
+      return null;
+    }
+
+    @Nullable VALUE remove(@NotNull Object key) {
+
+      VALUE value = null;
+
+      if (this.list != null) {
+
+        AbstractMap.SimpleEntry<KEY, VALUE> entry = find(this.list, key);
+
+        if (entry != null) {
+          this.list.remove(entry);
+          value = entry.getValue();
+        }
+      }
+      else if (this.comparableTree != null) {
+        value = isComparableKey(key) ? this.comparableTree.remove(key) : null;
+      }
+      else {
+
+        int hash = key.hashCode();
+
+        List<AbstractMap.SimpleEntry<KEY, VALUE>> entries = this.hashTree.get(hash);
+        AbstractMap.SimpleEntry<KEY, VALUE> entry = find(entries, key);
+
+        if (entry != null) {
+
+          entries.remove(entry);
+
+          if (entries.isEmpty()) {
+            this.hashTree.remove(hash);
+          }
+
+          value = entry.getValue();
+        }
+      }
+
+      if (value != null && --this.size <= UNTREEIFY_THRESHOLD && isTree()) {
+        untreeify();
+      }
+
+      return value;
+    }
+
+    void addEntriesTo(@NotNull Collection<? super Map.Entry<KEY, VALUE>> entries) {
+      entries.addAll(entries());
+    }
+
+    private @NotNull List<AbstractMap.SimpleEntry<KEY, VALUE>> entries() {
+
+      if (this.list != null) {
+        return new ArrayList<>(this.list);
+      }
+
+      List<AbstractMap.SimpleEntry<KEY, VALUE>> entries = new ArrayList<>(this.size);
+
+      if (this.comparableTree != null) {
+        this.comparableTree.forEach((key, value) -> entries.add(new AbstractMap.SimpleEntry<>(key, value)));
+      }
+      else {
+        this.hashTree.values().forEach(entries::addAll);
+      }
+
+      return entries;
+    }
+
+    private void addToHashTree(@NotNull AbstractMap.SimpleEntry<KEY, VALUE> entry) {
+      this.hashTree.computeIfAbsent(entry.getKey().hashCode(), hash -> new ArrayList<>(1)).add(entry);
+    }
+
+    private void treeify() {
+
+      List<AbstractMap.SimpleEntry<KEY, VALUE>> entries = this.list;
+
+      Class<?> type = entries.get(0).getKey().getClass();
+
+      boolean comparable = Comparable.class.isAssignableFrom(type)
+        && entries.stream().allMatch(entry -> entry.getKey().getClass() == type);
+
+      this.list = null;
+
+      if (comparable) {
+        this.comparableType = type;
+        this.comparableTree = new TreeMap<>();
+        entries.forEach(entry -> this.comparableTree.put(entry.getKey(), entry.getValue()));
+      }
+      else {
+        this.hashTree = new TreeMap<>();
+        entries.forEach(this::addToHashTree);
+      }
+    }
+
+    private void untreeify() {
+
+      this.list = entries();
+      this.comparableTree = null;
+      this.comparableType = null;
+      this.hashTree = null;
+    }
+  }
+
+  /**
+   * {@link Map.Entry} referring to a {@literal key} stored in the given {@link ArrayHashMap}. Setting the value
+   * writes through to the {@literal map} as long as the {@literal key} has not been moved or removed.
+   */
+  protected static class SimpleEntry<KEY, VALUE> implements Map.Entry<KEY, VALUE> {
+
+    private final ArrayHashMap<KEY, VALUE> owner;
+
+    private final int index;
+
+    private final KEY key;
+
+    protected SimpleEntry(@NotNull ArrayHashMap<KEY, VALUE> map, @NotNull KEY key, int index) {
+
+      this.owner = ObjectUtils.requireObject(map, "ArrayHashMap owning this Map.Entry is required");
+      this.key = ObjectUtils.requireObject(key, "Key is required");
+      this.index = index;
+    }
+
+    protected @NotNull ArrayHashMap<KEY, VALUE> getOwner() {
+      return this.owner;
+    }
+
+    private boolean isCurrent() {
+
+      Object[] keys = getOwner().keys;
+
+      return this.index > -1 && this.index < keys.length && keys[this.index] == this.key;
+    }
+
+    @Override
+    public @NotNull KEY getKey() {
+      return this.key;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable VALUE getValue() {
+      return isCurrent() ? (VALUE) getOwner().values[this.index] : getOwner().get(this.key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VALUE setValue(@NotNull VALUE value) {
+
+      if (isCurrent()) {
+        Assert.notNull(value, "Value is required");
+        VALUE currentValue = (VALUE) getOwner().values[this.index];
+        getOwner().values[this.index] = value;
+        return currentValue;
+      }
+
+      return getOwner().put(this.key, value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof Map.Entry<?, ?> that)) {
+        return false;
+      }
+
+      return getKey().equals(that.getKey())
+        && ObjectUtils.equalsIgnoreNull(getValue(), that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s=%s", getKey(), getValue());
     }
   }
 }
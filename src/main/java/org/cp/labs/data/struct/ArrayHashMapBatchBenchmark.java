@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark comparing the batch operations {@link ArrayHashMap#getAll(Object[], Object[])} and
+ * {@link ArrayHashMap#putAll(Object[], Object[])} with looping over {@link ArrayHashMap#get(Object)} and
+ * {@link ArrayHashMap#put(Object, Object)} one {@literal key} at a time.
+ * <p>
+ * The {@link ArrayHashMap} is much larger than the processor caches and every batch contains random
+ * {@literal keys}, so most lookups miss the cache.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ArrayHashMapBatchBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(ArrayHashMapBatchBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  private static final int BATCH_COUNT = 1024;
+  private static final int SIZE = 4_000_000;
+
+  @Param({ "8", "64", "512" })
+  int batchSize;
+
+  int index;
+
+  Integer[][] batches;
+  Integer[] values;
+
+  ArrayHashMap<Integer, Integer> map;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    Random random = new Random(SIZE);
+
+    Integer[] keys = new Integer[SIZE];
+
+    this.map = new ArrayHashMap<>(SIZE * 2);
+
+    for (int count = 0; count < SIZE; count++) {
+      keys[count] = random.nextInt();
+      this.map.put(keys[count], count);
+    }
+
+    this.batches = new Integer[BATCH_COUNT][this.batchSize];
+    this.values = new Integer[this.batchSize];
+
+    for (Integer[] batch : this.batches) {
+      for (int position = 0; position < batch.length; position++) {
+        batch[position] = keys[random.nextInt(SIZE)];
+      }
+    }
+  }
+
+  private Integer[] nextBatch() {
+    return this.batches[this.index++ & (BATCH_COUNT - 1)];
+  }
+
+  @Benchmark
+  public void getLoop(Blackhole blackhole) {
+
+    Integer[] batch = nextBatch();
+
+    for (Integer key : batch) {
+      blackhole.consume(this.map.get(key));
+    }
+  }
+
+  @Benchmark
+  public int getAll() {
+    return this.map.getAll(nextBatch(), this.values);
+  }
+
+  @Benchmark
+  public void putLoop() {
+
+    Integer[] batch = nextBatch();
+
+    for (Integer key : batch) {
+      this.map.put(key, key);
+    }
+  }
+
+  @Benchmark
+  public void putAll() {
+
+    Integer[] batch = nextBatch();
+
+    this.map.putAll(batch, batch);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark comparing sequential and parallel bulk operations on a large {@link ArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap#forEach(long, java.util.function.BiConsumer)
+ * @see org.cp.labs.data.struct.ArrayHashMap#reduceValues(long, java.util.function.BiFunction)
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ArrayHashMapBulkOperationsBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(ArrayHashMapBulkOperationsBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  private static final long PARALLEL = 1L;
+  private static final long SEQUENTIAL = Long.MAX_VALUE;
+
+  @Param({ "1000000", "20000000" })
+  int size;
+
+  ArrayHashMap<Integer, Long> map;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    this.map = new ArrayHashMap<>(this.size * 2);
+
+    for (int key = 0; key < this.size; key++) {
+      this.map.put(key, key * 31L);
+    }
+  }
+
+  @Benchmark
+  public long forEachSequential() {
+
+    LongAdder sum = new LongAdder();
+
+    this.map.forEach(SEQUENTIAL, (key, value) -> sum.add(value));
+
+    return sum.sum();
+  }
+
+  @Benchmark
+  public long forEachParallel() {
+
+    LongAdder sum = new LongAdder();
+
+    this.map.forEach(PARALLEL, (key, value) -> sum.add(value));
+
+    return sum.sum();
+  }
+
+  @Benchmark
+  public Long reduceValuesSequential() {
+    return this.map.reduceValues(SEQUENTIAL, Math::max);
+  }
+
+  @Benchmark
+  public Long reduceValuesParallel() {
+    return this.map.reduceValues(PARALLEL, Math::max);
+  }
+
+  @Benchmark
+  public long entrySetStreamSequential() {
+    return this.map.entrySet().stream().mapToLong(Map.Entry::getValue).sum();
+  }
+
+  @Benchmark
+  public long entrySetStreamParallel() {
+    return this.map.entrySet().parallelStream().mapToLong(Map.Entry::getValue).sum();
+  }
+}
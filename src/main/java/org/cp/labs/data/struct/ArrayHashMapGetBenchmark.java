@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark measuring the latency and allocation rate of {@link ArrayHashMap#get(Object)}
+ * compared to {@link HashMap#get(Object)}.
+ * <p>
+ * Run with the {@link GCProfiler} ({@literal -prof gc}); the {@literal gc.alloc.rate.norm} metric
+ * for {@link #arrayHashMapGet()} is expected to be {@literal 0 B/op}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.openjdk.jmh.profile.GCProfiler
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ArrayHashMapGetBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(ArrayHashMapGetBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+
+  private static final int KEY_MASK = 1023;
+
+  @Param({ "1000", "250000" })
+  int size;
+
+  int index;
+
+  Integer[] keys;
+
+  Map<Integer, Integer> arrayHashMap;
+  Map<Integer, Integer> hashMap;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    Random random = new Random(this.size);
+
+    this.arrayHashMap = new ArrayHashMap<>();
+    this.hashMap = new HashMap<>();
+    this.keys = new Integer[KEY_MASK + 1];
+
+    for (int count = 0; count < this.size; count++) {
+      Integer number = random.nextInt();
+      this.arrayHashMap.put(number, number);
+      this.hashMap.put(number, number);
+      this.keys[count & KEY_MASK] = number;
+    }
+  }
+
+  private Integer nextKey() {
+    return this.keys[this.index++ & KEY_MASK];
+  }
+
+  @Benchmark
+  public Integer arrayHashMapGet() {
+    return this.arrayHashMap.get(nextKey());
+  }
+
+  @Benchmark
+  public Integer hashMapGet() {
+    return this.hashMap.get(nextKey());
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Reads and writes snapshots of a {@link Map} as a compact, fixed-layout binary file that can be reopened
+ * through a {@link MappedByteBuffer memory mapping} without rebuilding the table.
+ * <p>
+ * A snapshot file begins with a {@link #HEADER_SIZE 64-byte} header followed by the slots of an
+ * {@link OffHeapArrayHashMap} table, written exactly as they are laid out in memory. Since the slot of every entry
+ * is derived from the encoded bytes of its {@literal key}, the table is valid in any JVM using the same
+ * {@link FixedSizeCodec codecs}.
+ * <p>
+ * {@link #open(Path, FixedSizeCodec, FixedSizeCodec) Opening} a snapshot maps the file
+ * {@link FileChannel.MapMode#PRIVATE copy-on-write}, so no entry is read until it is first accessed and
+ * the operating system pages the table in on demand. The returned {@link Map} can be modified, but changes
+ * are never written back to the file.
+ *
+ * @author John Blum
+ * @see java.nio.MappedByteBuffer
+ * @see java.nio.channels.FileChannel
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.FixedSizeCodec
+ * @see org.cp.labs.data.struct.OffHeapArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public abstract class ArrayHashMapSnapshot {
+
+  protected static final int HEADER_SIZE = 64;
+  protected static final int MAGIC = 0x43504148; // "CPAH"
+  protected static final int VERSION = 1;
+
+  private static final int MAGIC_POSITION = 0;
+  private static final int VERSION_POSITION = 4;
+  private static final int KEY_SIZE_POSITION = 8;
+  private static final int VALUE_SIZE_POSITION = 12;
+  private static final int CAPACITY_POSITION = 16;
+  private static final int SIZE_POSITION = 20;
+  private static final int LOAD_FACTOR_POSITION = 24;
+
+  /**
+   * Writes all entries of the given {@link Map} to a snapshot file at the given {@link Path},
+   * replacing any existing file.
+   * <p>
+   * The header is written last, so a snapshot interrupted while being written is never recognized
+   * as a valid snapshot.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param map {@link Map} to write; must not be {@literal null}.
+   * @param path {@link Path} of the snapshot file; must not be {@literal null}.
+   * @param keyCodec {@link FixedSizeCodec} used to encode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode {@literal values}; must not be {@literal null}.
+   * @throws IllegalArgumentException if any argument is {@literal null}.
+   * @throws IOException if the snapshot file cannot be written.
+   */
+  public static <KEY, VALUE> void write(@NotNull Map<KEY, VALUE> map, @NotNull Path path,
+      @NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec) throws IOException {
+
+    Assert.notNull(map, "Map is required");
+    Assert.notNull(path, "Path is required");
+    Assert.notNull(keyCodec, "Key FixedSizeCodec is required");
+    Assert.notNull(valueCodec, "Value FixedSizeCodec is required");
+
+    float loadFactor = ArrayHashMap.DEFAULT_LOAD_FACTOR;
+
+    int capacity = ArrayHashMap.tableSizeFor(Math.max((int) Math.ceil(map.size() / loadFactor) + 1, 2));
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+      ByteBuffer[] slabs = map(channel, FileChannel.MapMode.READ_WRITE, keyCodec, valueCodec, capacity);
+
+      OffHeapArrayHashMap<KEY, VALUE> table =
+        new OffHeapArrayHashMap<>(keyCodec, valueCodec, loadFactor, slabs, capacity, 0);
+
+      try {
+        table.putAll(map);
+
+        Assert.state(table.getCapacity() == capacity, "Snapshot table must not be resized while written");
+
+        for (ByteBuffer slab : slabs) {
+          ((MappedByteBuffer) slab).force();
+        }
+      }
+      finally {
+        table.close();
+      }
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+        .putInt(MAGIC_POSITION, MAGIC)
+        .putInt(VERSION_POSITION, VERSION)
+        .putInt(KEY_SIZE_POSITION, keyCodec.size())
+        .putInt(VALUE_SIZE_POSITION, valueCodec.size())
+        .putInt(CAPACITY_POSITION, capacity)
+        .putInt(SIZE_POSITION, map.size())
+        .putFloat(LOAD_FACTOR_POSITION, loadFactor);
+
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Opens the snapshot file at the given {@link Path} as an {@link OffHeapArrayHashMap} backed by
+   * a {@link FileChannel.MapMode#PRIVATE private} memory mapping of the file.
+   * <p>
+   * Opening a snapshot only reads the header; entries are paged in from the file as they are accessed.
+   * The returned {@link OffHeapArrayHashMap} should be {@link OffHeapArrayHashMap#close() closed} when
+   * no longer needed to unmap the file.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param path {@link Path} of the snapshot file; must not be {@literal null}.
+   * @param keyCodec {@link FixedSizeCodec} used to decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to decode {@literal values}; must not be {@literal null}.
+   * @return a new {@link OffHeapArrayHashMap} containing the entries of the snapshot.
+   * @throws IllegalArgumentException if any argument is {@literal null}.
+   * @throws IOException if the file cannot be read, is not a snapshot, or was written with {@link FixedSizeCodec
+   * codecs} of a different size.
+   */
+  public static @NotNull <KEY, VALUE> OffHeapArrayHashMap<KEY, VALUE> open(@NotNull Path path,
+      @NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec) throws IOException {
+
+    Assert.notNull(path, "Path is required");
+    Assert.notNull(keyCodec, "Key FixedSizeCodec is required");
+    Assert.notNull(valueCodec, "Value FixedSizeCodec is required");
+
+    // A private mapping requires a channel open for writing even though the file is never modified.
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+      int bytesRead = 0;
+
+      while (header.hasRemaining() && bytesRead > -1) {
+        bytesRead = channel.read(header, header.position());
+      }
+
+      if (header.hasRemaining() || header.getInt(MAGIC_POSITION) != MAGIC) {
+        throw new IOException(String.format("File [%s] is not an ArrayHashMap snapshot", path));
+      }
+
+      int version = header.getInt(VERSION_POSITION);
+
+      if (version != VERSION) {
+        throw new IOException(String.format("Snapshot [%s] version [%d] is not supported", path, version));
+      }
+
+      int keySize = header.getInt(KEY_SIZE_POSITION);
+      int valueSize = header.getInt(VALUE_SIZE_POSITION);
+
+      if (keySize != keyCodec.size() || valueSize != valueCodec.size()) {
+        throw new IOException(String.format("Snapshot [%s] key size [%d] and value size [%d] do not match"
+          + " the codecs [%d, %d]", path, keySize, valueSize, keyCodec.size(), valueCodec.size()));
+      }
+
+      int capacity = header.getInt(CAPACITY_POSITION);
+      int size = header.getInt(SIZE_POSITION);
+
+      float loadFactor = header.getFloat(LOAD_FACTOR_POSITION);
+
+      long slotSize = slotSize(keyCodec, valueCodec);
+
+      if (Integer.bitCount(capacity) != 1 || size < 0 || size >= capacity
+          || channel.size() < HEADER_SIZE + capacity * slotSize) {
+
+        throw new IOException(String.format("Snapshot [%s] is corrupt", path));
+      }
+
+      ByteBuffer[] slabs = map(channel, FileChannel.MapMode.PRIVATE, keyCodec, valueCodec, capacity);
+
+      return new OffHeapArrayHashMap<>(keyCodec, valueCodec, loadFactor, slabs, capacity, size);
+    }
+  }
+
+  private static int slotSize(@NotNull FixedSizeCodec<?> keyCodec, @NotNull FixedSizeCodec<?> valueCodec) {
+    return Integer.BYTES + keyCodec.size() + valueCodec.size();
+  }
+
+  /**
+   * Maps the table region of the file into slabs with the same geometry as an {@link OffHeapArrayHashMap}
+   * of the given {@link Integer capacity}. Mapping a region beyond the end of the file in
+   * {@link FileChannel.MapMode#READ_WRITE} mode extends the file with zeros, which are empty slots.
+   */
+  private static @NotNull ByteBuffer[] map(@NotNull FileChannel channel, @NotNull FileChannel.MapMode mode,
+      @NotNull FixedSizeCodec<?> keyCodec, @NotNull FixedSizeCodec<?> valueCodec, int capacity) throws IOException {
+
+    int slotSize = slotSize(keyCodec, valueCodec);
+    int slotsPerSlab = OffHeapArrayHashMap.slotsPerSlab(capacity, slotSize);
+    long slabSize = (long) slotsPerSlab * slotSize;
+
+    ByteBuffer[] slabs = new ByteBuffer[capacity / slotsPerSlab];
+
+    for (int index = 0; index < slabs.length; index++) {
+      slabs[index] = channel.map(mode, HEADER_SIZE + index * slabSize, slabSize);
+    }
+
+    return slabs;
+  }
+}
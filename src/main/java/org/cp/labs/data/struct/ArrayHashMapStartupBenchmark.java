@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java Benchmark comparing the time until a restarted process can serve a lookup when an {@link ArrayHashMap}
+ * is rebuilt with {@link Map#put(Object, Object)} versus reopened from a
+ * {@link ArrayHashMap#writeSnapshot(java.nio.file.Path, FixedSizeCodec, FixedSizeCodec) snapshot file}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.ArrayHashMapSnapshot
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ArrayHashMapStartupBenchmark {
+
+  public static void main(String[] args) throws IOException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @Param({ "1000000", "10000000" })
+  int size;
+
+  Path snapshot;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+
+    ArrayHashMap<Long, Long> map = new ArrayHashMap<>(this.size * 2);
+
+    for (long key = 0; key < this.size; key++) {
+      map.put(key, key * 31L);
+    }
+
+    this.snapshot = Files.createTempFile("arrayHashMap", ".snapshot");
+
+    map.writeSnapshot(this.snapshot, FixedSizeCodec.forLong(), FixedSizeCodec.forLong());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.snapshot);
+  }
+
+  @Benchmark
+  public Long coldRebuild() {
+
+    Map<Long, Long> map = new ArrayHashMap<>();
+
+    for (long key = 0; key < this.size; key++) {
+      map.put(key, key * 31L);
+    }
+
+    return map.get(this.size / 2L);
+  }
+
+  @Benchmark
+  public Long mmapReopen() throws IOException {
+
+    try (OffHeapArrayHashMap<Long, Long> map =
+           ArrayHashMap.openSnapshot(this.snapshot, FixedSizeCodec.forLong(), FixedSizeCodec.forLong())) {
+
+      return map.get(this.size / 2L);
+    }
+  }
+}
@@ -0,0 +1,935 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.cp.elements.lang.LangExtensions.assertThat;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Java {@link Map} implementation bounded by a maximum number of entries, or a maximum total weight of entries,
+ * that evicts entries chosen by an {@link EvictionPolicy} when the bound is exceeded.
+ * <p>
+ * Entries are indexed by an {@link ArrayHashMap} and linked into intrusive, doubly linked access-order lists
+ * maintained by the {@link EvictionPolicy}, so every operation runs in constant time:
+ * <ul>
+ *   <li>{@link EvictionPolicy#LRU} evicts the least recently used entry.</li>
+ *   <li>{@link EvictionPolicy#LFU} evicts the least frequently used entry, breaking ties by recency.</li>
+ *   <li>{@link EvictionPolicy#W_TINY_LFU} admits new entries through a small LRU window and evicts from
+ *   a segmented LRU main space, admitting a candidate only if it has been used more often than the entry
+ *   it would replace, as estimated by a count-min sketch.</li>
+ * </ul>
+ * <p>
+ * {@link #get(Object)} and {@link #put(Object, Object)} record an access; {@link #containsKey(Object)} and
+ * iteration do not. Evictions are reported to the configured {@link EvictionListener} after the entry has been
+ * removed. Neither {@literal null} keys nor {@literal null} values are permitted. Instances are not thread-safe.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.AbstractMap
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class BoundedArrayHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+
+  /**
+   * Factory method used to construct a new {@link BoundedArrayHashMap} holding at most
+   * the given {@link Long number of entries}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param maximumSize {@link Long} specifying the maximum number of entries; must be greater than {@literal 0}.
+   * @param evictionPolicy {@link EvictionPolicy} used to select entries to evict; must not be {@literal null}.
+   * @return a new {@link BoundedArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link Long maximum size} is less than equal to {@literal 0}
+   * or the {@link EvictionPolicy} is {@literal null}.
+   */
+  public static <KEY, VALUE> BoundedArrayHashMap<KEY, VALUE> withMaximumSize(long maximumSize,
+      @NotNull EvictionPolicy evictionPolicy) {
+
+    return new BoundedArrayHashMap<>(maximumSize, (key, value) -> 1, evictionPolicy);
+  }
+
+  /**
+   * Factory method used to construct a new {@link BoundedArrayHashMap} holding entries with a total
+   * {@link Weigher weight} of at most the given {@link Long maximum weight}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param maximumWeight {@link Long} specifying the maximum total weight of all entries;
+   * must be greater than {@literal 0}.
+   * @param weigher {@link Weigher} used to compute the weight of an entry; must not be {@literal null}.
+   * @param evictionPolicy {@link EvictionPolicy} used to select entries to evict; must not be {@literal null}.
+   * @return a new {@link BoundedArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link Long maximum weight} is less than equal to {@literal 0}
+   * or the {@link Weigher} or {@link EvictionPolicy} is {@literal null}.
+   */
+  public static <KEY, VALUE> BoundedArrayHashMap<KEY, VALUE> withMaximumWeight(long maximumWeight,
+      @NotNull Weigher<? super KEY, ? super VALUE> weigher, @NotNull EvictionPolicy evictionPolicy) {
+
+    return new BoundedArrayHashMap<>(maximumWeight, weigher, evictionPolicy);
+  }
+
+  private long evictionCount;
+  private long evictionWeight;
+  private long hitCount;
+  private long missCount;
+  private long weightedSize;
+
+  private final long maximumWeight;
+
+  private final ArrayHashMap<KEY, Node<KEY, VALUE>> index;
+
+  private EvictionListener<? super KEY, ? super VALUE> evictionListener;
+
+  private final Policy<KEY, VALUE> policy;
+
+  private final Weigher<? super KEY, ? super VALUE> weigher;
+
+  /**
+   * Constructs a new {@link BoundedArrayHashMap} initialized with the given {@link Long maximum weight},
+   * {@link Weigher} and {@link EvictionPolicy}.
+   *
+   * @param maximumWeight {@link Long} specifying the maximum total weight of all entries;
+   * must be greater than {@literal 0}.
+   * @param weigher {@link Weigher} used to compute the weight of an entry; must not be {@literal null}.
+   * @param evictionPolicy {@link EvictionPolicy} used to select entries to evict; must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Long maximum weight} is less than equal to {@literal 0}
+   * or the {@link Weigher} or {@link EvictionPolicy} is {@literal null}.
+   */
+  protected BoundedArrayHashMap(long maximumWeight, @NotNull Weigher<? super KEY, ? super VALUE> weigher,
+      @NotNull EvictionPolicy evictionPolicy) {
+
+    assertThat(maximumWeight)
+      .describedAs("Maximum weight [%d] must be greater than 0", maximumWeight)
+      .isGreaterThan(0L);
+
+    this.maximumWeight = maximumWeight;
+    this.weigher = ObjectUtils.requireObject(weigher, "Weigher is required");
+    this.policy = newPolicy(ObjectUtils.requireObject(evictionPolicy, "EvictionPolicy is required"), maximumWeight);
+    this.index = new ArrayHashMap<>();
+    this.evictionListener = (key, value) -> {};
+  }
+
+  private static @NotNull <KEY, VALUE> Policy<KEY, VALUE> newPolicy(@NotNull EvictionPolicy evictionPolicy,
+      long maximumWeight) {
+
+    return switch (evictionPolicy) {
+      case LRU -> new LruPolicy<>();
+      case LFU -> new LfuPolicy<>();
+      case W_TINY_LFU -> new TinyLfuPolicy<>(maximumWeight);
+    };
+  }
+
+  /**
+   * Configures the {@link EvictionListener} notified of every entry evicted from {@literal this} {@link Map}.
+   *
+   * @param evictionListener {@link EvictionListener} notified of evictions; must not be {@literal null}.
+   * @return this {@link BoundedArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link EvictionListener} is {@literal null}.
+   */
+  public @NotNull BoundedArrayHashMap<KEY, VALUE> withEvictionListener(
+      @NotNull EvictionListener<? super KEY, ? super VALUE> evictionListener) {
+
+    this.evictionListener = ObjectUtils.requireObject(evictionListener, "EvictionListener is required");
+
+    return this;
+  }
+
+  /**
+   * Gets the {@link Long maximum total weight} of all entries in {@literal this} {@link Map}.
+   * <p>
+   * For a {@link Map} bounded by {@link #withMaximumSize(long, EvictionPolicy) size}, every entry weighs
+   * {@literal 1}.
+   *
+   * @return the {@link Long maximum total weight} of all entries.
+   */
+  public long getMaximumWeight() {
+    return this.maximumWeight;
+  }
+
+  /**
+   * Gets a snapshot of the {@link Statistics} recorded by {@literal this} {@link Map}.
+   *
+   * @return a snapshot of the {@link Statistics} recorded by {@literal this} {@link Map}.
+   */
+  public @NotNull Statistics getStatistics() {
+    return new Statistics(this.hitCount, this.missCount, this.evictionCount, this.evictionWeight);
+  }
+
+  /**
+   * Gets the {@link Long total weight} of all entries currently in {@literal this} {@link Map}.
+   *
+   * @return the {@link Long total weight} of all entries currently in {@literal this} {@link Map}.
+   */
+  public long getWeightedSize() {
+    return this.weightedSize;
+  }
+
+  private int weigh(@NotNull KEY key, @NotNull VALUE value) {
+
+    int weight = this.weigher.weigh(key, value);
+
+    Assert.isTrue(weight >= 0, "Weight [%d] of key [%s] must be greater than equal to 0", weight, key);
+
+    return weight;
+  }
+
+  private void evict() {
+
+    while (this.weightedSize > this.maximumWeight) {
+
+      Node<KEY, VALUE> victim = this.policy.nextVictim();
+
+      if (victim != null) {
+        this.index.remove(victim.getKey());
+        this.policy.onRemove(victim);
+        this.weightedSize -= victim.weight;
+        this.evictionCount++;
+        this.evictionWeight += victim.weight;
+        this.evictionListener.onEviction(victim.getKey(), victim.getValue());
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+
+    this.index.clear();
+    this.policy.clear();
+    this.weightedSize = 0L;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return this.index.containsKey(key);
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  public @Nullable VALUE get(@Nullable Object key) {
+
+    Node<KEY, VALUE> node = this.index.get(key);
+
+    if (node != null) {
+      this.hitCount++;
+      this.policy.onAccess(node);
+      return node.getValue();
+    }
+
+    if (key != null) {
+      this.missCount++;
+      this.policy.onMiss(key);
+    }
+
+    return null;
+  }
+
+  @Override
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(value, "Value is required");
+
+    int weight = weigh(key, value);
+
+    Node<KEY, VALUE> node = this.index.get(key);
+
+    VALUE currentValue = null;
+
+    if (node != null) {
+      currentValue = node.getValue();
+      this.weightedSize += node.updateValue(value, weight);
+      this.policy.onAccess(node);
+    }
+    else {
+      node = new Node<>(key, value, weight);
+      this.index.put(key, node);
+      this.weightedSize += weight;
+      this.policy.onInsert(node, this.index.size());
+    }
+
+    evict();
+
+    return currentValue;
+  }
+
+  @Override
+  public @Nullable VALUE remove(@Nullable Object key) {
+
+    Node<KEY, VALUE> node = key != null ? this.index.remove(key) : null;
+
+    if (node != null) {
+      this.policy.onRemove(node);
+      this.weightedSize -= node.weight;
+      return node.getValue();
+    }
+
+    return null;
+  }
+
+  @Override
+  public int size() {
+    return this.index.size();
+  }
+
+  /**
+   * {@link Set} view of the entries in {@literal this} {@link BoundedArrayHashMap}, in no particular order.
+   * <p>
+   * Iterating the view does not record an access. The returned entries do not support
+   * {@link Map.Entry#setValue(Object)}; use {@link #put(Object, Object)} instead.
+   */
+  protected class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+
+      Iterator<Node<KEY, VALUE>> nodes = BoundedArrayHashMap.this.index.values().iterator();
+
+      return new Iterator<>() {
+
+        private Node<KEY, VALUE> lastReturned;
+
+        @Override
+        public boolean hasNext() {
+          return nodes.hasNext();
+        }
+
+        @Override
+        public Map.Entry<KEY, VALUE> next() {
+          return this.lastReturned = nodes.next();
+        }
+
+        @Override
+        public void remove() {
+
+          Assert.state(this.lastReturned != null, "next() must be called before remove()");
+
+          nodes.remove();
+          BoundedArrayHashMap.this.policy.onRemove(this.lastReturned);
+          BoundedArrayHashMap.this.weightedSize -= this.lastReturned.weight;
+          this.lastReturned = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return BoundedArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      BoundedArrayHashMap.this.clear();
+    }
+  }
+
+  /**
+   * Policy used to select the entries evicted from a {@link BoundedArrayHashMap} when its bound is exceeded.
+   */
+  public enum EvictionPolicy {
+
+    LFU,
+    LRU,
+    W_TINY_LFU
+
+  }
+
+  /**
+   * Listener notified of every entry evicted from a {@link BoundedArrayHashMap}.
+   */
+  @FunctionalInterface
+  public interface EvictionListener<KEY, VALUE> {
+    void onEviction(KEY key, VALUE value);
+  }
+
+  /**
+   * Function computing the weight of an entry in a {@link BoundedArrayHashMap} bounded by weight.
+   */
+  @FunctionalInterface
+  public interface Weigher<KEY, VALUE> {
+    int weigh(KEY key, VALUE value);
+  }
+
+  /**
+   * Point-in-time counts of the hits, misses and evictions recorded by a {@link BoundedArrayHashMap}.
+   *
+   * @param hitCount {@link Long number} of {@link #get(Object)} calls that returned a {@literal value}.
+   * @param missCount {@link Long number} of {@link #get(Object)} calls that returned {@literal null}.
+   * @param evictionCount {@link Long number} of entries evicted.
+   * @param evictionWeight {@link Long total weight} of entries evicted.
+   */
+  public record Statistics(long hitCount, long missCount, long evictionCount, long evictionWeight) {
+
+    /**
+     * Returns the ratio of hits to requests, or {@literal 1.0} if there have been no requests.
+     *
+     * @return the ratio of hits to requests.
+     */
+    public double hitRate() {
+
+      long requestCount = hitCount() + missCount();
+
+      return requestCount == 0L ? 1.0d : (double) hitCount() / requestCount;
+    }
+  }
+
+  /**
+   * Entry in a {@link BoundedArrayHashMap} linked into one of the access-order lists of the {@link Policy}.
+   */
+  protected static final class Node<KEY, VALUE> implements Map.Entry<KEY, VALUE> {
+
+    private int weight;
+
+    private final KEY key;
+
+    private VALUE value;
+
+    private FrequencyBucket<KEY, VALUE> bucket;
+
+    private Node<KEY, VALUE> next;
+    private Node<KEY, VALUE> previous;
+
+    private NodeList<KEY, VALUE> list;
+
+    Node(@NotNull KEY key, @NotNull VALUE value, int weight) {
+
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+
+    @Override
+    public @NotNull KEY getKey() {
+      return this.key;
+    }
+
+    @Override
+    public @NotNull VALUE getValue() {
+      return this.value;
+    }
+
+    @Override
+    public VALUE setValue(VALUE value) {
+      throw new UnsupportedOperationException("Use Map.put(key, value) to set the value of an entry");
+    }
+
+    /**
+     * Replaces the value and weight of this entry.
+     *
+     * @return the change in weight.
+     */
+    int updateValue(@NotNull VALUE value, int weight) {
+
+      int delta = weight - this.weight;
+
+      this.value = value;
+      this.weight = weight;
+
+      if (this.list != null) {
+        this.list.weight += delta;
+      }
+
+      return delta;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof Map.Entry<?, ?> that)) {
+        return false;
+      }
+
+      return getKey().equals(that.getKey()) && getValue().equals(that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ getValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s=%s", getKey(), getValue());
+    }
+  }
+
+  /**
+   * Intrusive, doubly linked list of {@link Node Nodes} ordered from least to most recently used,
+   * tracking the total weight of its {@link Node Nodes}.
+   */
+  protected static final class NodeList<KEY, VALUE> {
+
+    private long weight;
+
+    private Node<KEY, VALUE> head;
+    private Node<KEY, VALUE> tail;
+
+    boolean isEmpty() {
+      return this.head == null;
+    }
+
+    @Nullable Node<KEY, VALUE> first() {
+      return this.head;
+    }
+
+    void addLast(@NotNull Node<KEY, VALUE> node) {
+
+      node.list = this;
+      node.previous = this.tail;
+      node.next = null;
+
+      if (this.tail == null) {
+        this.head = node;
+      }
+      else {
+        this.tail.next = node;
+      }
+
+      this.tail = node;
+      this.weight += node.weight;
+    }
+
+    void moveToLast(@NotNull Node<KEY, VALUE> node) {
+
+      if (node != this.tail) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void remove(@NotNull Node<KEY, VALUE> node) {
+
+      if (node.previous == null) {
+        this.head = node.next;
+      }
+      else {
+        node.previous.next = node.next;
+      }
+
+      if (node.next == null) {
+        this.tail = node.previous;
+      }
+      else {
+        node.next.previous = node.previous;
+      }
+
+      node.list = null;
+      node.next = null;
+      node.previous = null;
+
+      this.weight -= node.weight;
+    }
+
+    void clear() {
+
+      this.head = null;
+      this.tail = null;
+      this.weight = 0L;
+    }
+  }
+
+  /**
+   * Maintains the access order of the {@link Node Nodes} in a {@link BoundedArrayHashMap} and selects
+   * the {@link Node} to evict next.
+   */
+  protected abstract static class Policy<KEY, VALUE> {
+
+    abstract void onAccess(@NotNull Node<KEY, VALUE> node);
+
+    abstract void onInsert(@NotNull Node<KEY, VALUE> node, int size);
+
+    void onMiss(@NotNull Object key) { }
+
+    abstract void onRemove(@NotNull Node<KEY, VALUE> node);
+
+    /**
+     * Returns the {@link Node} to evict next, or {@literal null} if the {@link Policy} only rebalanced
+     * its lists and must be asked again.
+     */
+    abstract @Nullable Node<KEY, VALUE> nextVictim();
+
+    abstract void clear();
+
+  }
+
+  protected static final class LruPolicy<KEY, VALUE> extends Policy<KEY, VALUE> {
+
+    private final NodeList<KEY, VALUE> nodes = new NodeList<>();
+
+    @Override
+    void onAccess(@NotNull Node<KEY, VALUE> node) {
+      this.nodes.moveToLast(node);
+    }
+
+    @Override
+    void onInsert(@NotNull Node<KEY, VALUE> node, int size) {
+      this.nodes.addLast(node);
+    }
+
+    @Override
+    void onRemove(@NotNull Node<KEY, VALUE> node) {
+      this.nodes.remove(node);
+    }
+
+    @Override
+    @Nullable Node<KEY, VALUE> nextVictim() {
+      return this.nodes.first();
+    }
+
+    @Override
+    void clear() {
+      this.nodes.clear();
+    }
+  }
+
+  /**
+   * {@link NodeList} of all {@link Node Nodes} used exactly {@link #frequency} times, linked in order of
+   * increasing frequency so that the least frequently used {@link Node} is always at the head.
+   */
+  protected static final class FrequencyBucket<KEY, VALUE> {
+
+    private final long frequency;
+
+    private FrequencyBucket<KEY, VALUE> next;
+    private FrequencyBucket<KEY, VALUE> previous;
+
+    private final NodeList<KEY, VALUE> nodes = new NodeList<>();
+
+    FrequencyBucket(long frequency) {
+      this.frequency = frequency;
+    }
+  }
+
+  protected static final class LfuPolicy<KEY, VALUE> extends Policy<KEY, VALUE> {
+
+    private FrequencyBucket<KEY, VALUE> head;
+
+    private @NotNull FrequencyBucket<KEY, VALUE> insertBucketAfter(@Nullable FrequencyBucket<KEY, VALUE> bucket,
+        long frequency) {
+
+      FrequencyBucket<KEY, VALUE> newBucket = new FrequencyBucket<>(frequency);
+
+      FrequencyBucket<KEY, VALUE> next = bucket != null ? bucket.next : this.head;
+
+      newBucket.previous = bucket;
+      newBucket.next = next;
+
+      if (next != null) {
+        next.previous = newBucket;
+      }
+
+      if (bucket != null) {
+        bucket.next = newBucket;
+      }
+      else {
+        this.head = newBucket;
+      }
+
+      return newBucket;
+    }
+
+    private void removeIfEmpty(@NotNull FrequencyBucket<KEY, VALUE> bucket) {
+
+      if (bucket.nodes.isEmpty()) {
+
+        if (bucket.previous != null) {
+          bucket.previous.next = bucket.next;
+        }
+        else {
+          this.head = bucket.next;
+        }
+
+        if (bucket.next != null) {
+          bucket.next.previous = bucket.previous;
+        }
+      }
+    }
+
+    @Override
+    void onAccess(@NotNull Node<KEY, VALUE> node) {
+
+      FrequencyBucket<KEY, VALUE> bucket = node.bucket;
+      FrequencyBucket<KEY, VALUE> next = bucket.next;
+
+      long frequency = bucket.frequency + 1;
+
+      if (next == null || next.frequency != frequency) {
+        next = insertBucketAfter(bucket, frequency);
+      }
+
+      bucket.nodes.remove(node);
+      next.nodes.addLast(node);
+      node.bucket = next;
+
+      removeIfEmpty(bucket);
+    }
+
+    @Override
+    void onInsert(@NotNull Node<KEY, VALUE> node, int size) {
+
+      FrequencyBucket<KEY, VALUE> bucket = this.head;
+
+      if (bucket == null || bucket.frequency != 1L) {
+        bucket = insertBucketAfter(null, 1L);
+      }
+
+      bucket.nodes.addLast(node);
+      node.bucket = bucket;
+    }
+
+    @Override
+    void onRemove(@NotNull Node<KEY, VALUE> node) {
+
+      FrequencyBucket<KEY, VALUE> bucket = node.bucket;
+
+      bucket.nodes.remove(node);
+      node.bucket = null;
+
+      removeIfEmpty(bucket);
+    }
+
+    @Override
+    @Nullable Node<KEY, VALUE> nextVictim() {
+      return this.head != null ? this.head.nodes.first() : null;
+    }
+
+    @Override
+    void clear() {
+      this.head = null;
+    }
+  }
+
+  /**
+   * Window TinyLFU {@link Policy}.
+   * <p>
+   * New entries enter an LRU window holding about 1% of the maximum weight. Entries leaving the window become
+   * candidates for the main space, which is a segmented LRU made of a probation and a protected list.
+   * A candidate is admitted only if the {@link FrequencySketch} estimates that it has been used more often than
+   * the entry at the head of the probation list; otherwise the candidate itself is evicted. Entries accessed while
+   * on probation are promoted to the protected list, which holds up to 80% of the main space.
+   */
+  protected static final class TinyLfuPolicy<KEY, VALUE> extends Policy<KEY, VALUE> {
+
+    private final long mainMaximumWeight;
+    private final long protectedMaximumWeight;
+    private final long windowMaximumWeight;
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    private final NodeList<KEY, VALUE> probation = new NodeList<>();
+    private final NodeList<KEY, VALUE> protectedList = new NodeList<>();
+    private final NodeList<KEY, VALUE> window = new NodeList<>();
+
+    TinyLfuPolicy(long maximumWeight) {
+
+      this.windowMaximumWeight = Math.max(1L, maximumWeight / 100L);
+      this.mainMaximumWeight = Math.max(0L, maximumWeight - this.windowMaximumWeight);
+      this.protectedMaximumWeight = (long) (this.mainMaximumWeight * 0.8d);
+    }
+
+    @Override
+    void onAccess(@NotNull Node<KEY, VALUE> node) {
+
+      this.sketch.increment(node.getKey());
+
+      if (node.list == this.probation) {
+
+        this.probation.remove(node);
+        this.protectedList.addLast(node);
+
+        for (Node<KEY, VALUE> demoted = this.protectedList.first();
+             this.protectedList.weight > this.protectedMaximumWeight && demoted != node;
+             demoted = this.protectedList.first()) {
+
+          this.protectedList.remove(demoted);
+          this.probation.addLast(demoted);
+        }
+      }
+      else {
+        node.list.moveToLast(node);
+      }
+    }
+
+    @Override
+    void onInsert(@NotNull Node<KEY, VALUE> node, int size) {
+
+      this.sketch.ensureCapacity(size);
+      this.sketch.increment(node.getKey());
+      this.window.addLast(node);
+    }
+
+    @Override
+    void onMiss(@NotNull Object key) {
+      this.sketch.increment(key);
+    }
+
+    @Override
+    void onRemove(@NotNull Node<KEY, VALUE> node) {
+      node.list.remove(node);
+    }
+
+    @Override
+    @Nullable Node<KEY, VALUE> nextVictim() {
+
+      Node<KEY, VALUE> candidate = this.window.weight > this.windowMaximumWeight ? this.window.first() : null;
+
+      if (candidate != null) {
+
+        this.window.remove(candidate);
+
+        Node<KEY, VALUE> victim = this.probation.isEmpty() ? this.protectedList.first() : this.probation.first();
+
+        this.probation.addLast(candidate);
+
+        boolean mainHasRoom = this.probation.weight + this.protectedList.weight <= this.mainMaximumWeight;
+
+        if (mainHasRoom || victim == null) {
+          return null;
+        }
+
+        return this.sketch.frequency(candidate.getKey()) > this.sketch.frequency(victim.getKey())
+          ? victim
+          : candidate;
+      }
+
+      return !this.probation.isEmpty() ? this.probation.first()
+        : !this.protectedList.isEmpty() ? this.protectedList.first()
+        : this.window.first();
+    }
+
+    @Override
+    void clear() {
+
+      this.probation.clear();
+      this.protectedList.clear();
+      this.window.clear();
+    }
+  }
+
+  /**
+   * Count-min sketch estimating how often each {@literal key} has been used, with four 4-bit counters per
+   * {@literal key}. All counters are halved periodically so that the estimates favor recent use.
+   */
+  protected static final class FrequencySketch {
+
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 24;
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private int additions;
+    private int sampleSize;
+    private int tableMask;
+
+    private long[] table = new long[0];
+
+    void ensureCapacity(int size) {
+
+      if (size > this.table.length && this.table.length < MAXIMUM_TABLE_SIZE) {
+
+        int tableSize = Math.min(ArrayHashMap.tableSizeFor(Math.max(size * 2, 16)), MAXIMUM_TABLE_SIZE);
+
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * tableSize;
+        this.additions = 0;
+      }
+    }
+
+    private int indexOf(int hash, int row) {
+
+      long index = (hash + SEEDS[row]) * SEEDS[row];
+
+      index += index >>> 32;
+
+      return (int) index & this.tableMask;
+    }
+
+    int frequency(@NotNull Object key) {
+
+      int frequency = 15;
+      int hash = ArrayHashMap.spread(key.hashCode());
+      int start = (hash & 3) << 2;
+
+      for (int row = 0; row < 4 && this.table.length > 0; row++) {
+        int offset = (start + row) << 2;
+        frequency = Math.min(frequency, (int) ((this.table[indexOf(hash, row)] >>> offset) & 0xFL));
+      }
+
+      return this.table.length > 0 ? frequency : 0;
+    }
+
+    void increment(@NotNull Object key) {
+
+      if (this.table.length > 0) {
+
+        int hash = ArrayHashMap.spread(key.hashCode());
+        int start = (hash & 3) << 2;
+
+        boolean added = false;
+
+        for (int row = 0; row < 4; row++) {
+
+          int index = indexOf(hash, row);
+          int offset = (start + row) << 2;
+
+          long mask = 0xFL << offset;
+
+          if ((this.table[index] & mask) != mask) {
+            this.table[index] += 1L << offset;
+            added = true;
+          }
+        }
+
+        if (added && ++this.additions == this.sampleSize) {
+          reset();
+        }
+      }
+    }
+
+    private void reset() {
+
+      for (int index = 0; index < this.table.length; index++) {
+        this.table[index] = (this.table[index] >>> 1) & RESET_MASK;
+      }
+
+      this.additions >>>= 1;
+    }
+  }
+}
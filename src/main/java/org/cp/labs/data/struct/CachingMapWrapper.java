@@ -0,0 +1,631 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * {@link MapWrapper} caching the entries of a slow backing store, such as a database, in the wrapped {@link Map}.
+ * <p>
+ * <strong>Read-through</strong>: {@link #get(Object)} and {@link #getAsync(Object)} load the {@literal value}
+ * of a {@literal key} missing from the wrapped {@link Map} with the {@link Function loader}, which returns
+ * a {@link CompletableFuture}, and cache it. Concurrent loads of the same {@literal key} are coalesced into
+ * a single call to the {@link Function loader}, so a {@literal key} that becomes popular while it is not cached
+ * does not cause a stampede of requests to the backing store. Neither a failed load nor a {@literal key} that does
+ * not exist is cached.
+ * A load of a {@literal key} that is written, or removed, while the load is in flight completes with the loaded
+ * value without caching it, so a value loaded before the write never replaces the write.
+ * <p>
+ * <strong>Write-behind</strong>: when {@link #withWriteBehind(BiConsumer, int, Executor) configured},
+ * {@link #put(Object, Object)}, {@link #remove(Object)} and the other modifying operations update the wrapped
+ * {@link Map} immediately and queue the write. Queued writes are coalesced by {@literal key}, so only the latest
+ * write of each {@literal key} is flushed, and are flushed to the {@link BiConsumer writer} in batches, as a
+ * {@link Map} of written entries and a {@link Set} of removed {@literal keys}, whenever a full batch is queued,
+ * periodically once {@link #scheduleFlush(ScheduledExecutorService, Duration) scheduled}, and on {@link #flush()}.
+ * A write remains queued until it has been flushed successfully, and is retried by the next flush if
+ * the {@link BiConsumer writer} throws. {@literal Keys} with a queued removal are never loaded.
+ * Each write is queued within the atomic operation updating the wrapped {@link Map}, so concurrent writes
+ * of a {@literal key} are queued, and flushed, in the same order in which they update the cache.
+ * <p>
+ * Only the modifying operations of the {@link Map} interface are written. {@link #clear()} and removals through
+ * the {@link #keySet()}, {@link #values()} and {@link #entrySet()} views evict entries from the cache without
+ * writing, and, apart from {@link #get(Object)} and {@link #getOrDefault(Object, Object)}, queries such as
+ * {@link #containsKey(Object)} only see the cached entries.
+ * <p>
+ * Loads complete, and flushes run, on other {@link Thread Threads}, so the wrapped {@link Map} must be thread-safe,
+ * with an atomic {@link Map#compute(Object, BiFunction)}, such as a {@link ConcurrentArrayHashMap}
+ * or a {@link ConcurrentTwoDimensionalMap}.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.concurrent.CompletableFuture
+ * @see org.cp.labs.data.struct.MapWrapper
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class CachingMapWrapper<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
+
+  private static final Object REMOVED = new Object();
+
+  private final AtomicBoolean flushSubmitted = new AtomicBoolean();
+
+  // Maps each key to its in-flight load, or to the WriteMarker of the writes of the key in progress.
+  private final ConcurrentMap<KEY, Object> loads = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<KEY, Object> writes = new ConcurrentHashMap<>();
+
+  private volatile int batchSize;
+
+  private volatile BiConsumer<? super Map<KEY, VALUE>, ? super Set<KEY>> writer;
+
+  private volatile Executor executor;
+
+  private final Function<? super KEY, ? extends CompletableFuture<? extends VALUE>> loader;
+
+  /**
+   * Constructs a new {@link CachingMapWrapper} caching entries in the given {@link Map} and loading
+   * missing entries with the given {@link Function loader}.
+   *
+   * @param map thread-safe {@link Map} in which entries are cached; must not be {@literal null}.
+   * @param loader {@link Function} loading the {@literal value} of a {@literal key} asynchronously; the returned
+   * {@link CompletableFuture} completes with {@literal null} if the {@literal key} does not exist;
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Map} or the {@link Function loader} is {@literal null}.
+   * @see MapWrapper#caching(Map, Function)
+   */
+  public CachingMapWrapper(@NotNull Map<KEY, VALUE> map,
+      @NotNull Function<? super KEY, ? extends CompletableFuture<? extends VALUE>> loader) {
+
+    super(map);
+
+    this.loader = ObjectUtils.requireObject(loader, "Loader is required");
+  }
+
+  /**
+   * Configures {@literal this} {@link Map} to write modifications behind to the given {@link BiConsumer writer}.
+   * <p>
+   * The {@link BiConsumer writer} is called with the {@link Map} of entries put and the {@link Set} of
+   * {@literal keys} removed since the last flush, containing at most {@literal batchSize} writes in total.
+   * It is never called concurrently.
+   *
+   * @param writer {@link BiConsumer} writing a batch of entries and removals to the backing store;
+   * must not be {@literal null}.
+   * @param batchSize {@link Integer maximum number of writes} per batch, and the number of queued writes
+   * that triggers a flush; must be greater than {@literal 0}.
+   * @param executor {@link Executor} running the flushes triggered by a full batch; must not be {@literal null}.
+   * @return this {@link CachingMapWrapper}.
+   * @throws IllegalArgumentException if the {@link BiConsumer writer} or {@link Executor} is {@literal null},
+   * or the {@literal batchSize} is less than equal to {@literal 0}.
+   */
+  public @NotNull CachingMapWrapper<KEY, VALUE> withWriteBehind(
+      @NotNull BiConsumer<? super Map<KEY, VALUE>, ? super Set<KEY>> writer, int batchSize,
+      @NotNull Executor executor) {
+
+    Assert.isTrue(batchSize > 0, "Batch size [%d] must be greater than 0", batchSize);
+
+    this.executor = ObjectUtils.requireObject(executor, "Executor is required");
+    this.batchSize = batchSize;
+    this.writer = ObjectUtils.requireObject(writer, "Writer is required");
+
+    return this;
+  }
+
+  /**
+   * Schedules {@link #flush()} to run periodically on the given {@link ScheduledExecutorService}, bounding the time
+   * a write stays queued when writes are too infrequent to fill a batch.
+   *
+   * @param executor {@link ScheduledExecutorService} used to run {@link #flush()}; must not be {@literal null}.
+   * @param period {@link Duration} between runs; must be positive.
+   * @return the {@link ScheduledFuture} used to cancel the periodic flush.
+   * @throws IllegalArgumentException if the {@link ScheduledExecutorService} is {@literal null},
+   * or the {@link Duration period} is not positive.
+   * @throws IllegalStateException if write-behind has not been
+   * {@link #withWriteBehind(BiConsumer, int, Executor) configured}.
+   */
+  public @NotNull ScheduledFuture<?> scheduleFlush(@NotNull ScheduledExecutorService executor,
+      @NotNull Duration period) {
+
+    Assert.notNull(executor, "ScheduledExecutorService is required");
+    Assert.notNull(period, "Period is required");
+    Assert.isTrue(!period.isNegative() && !period.isZero(), "Period [%s] must be positive", period);
+    Assert.state(this.writer != null, "Write-behind is not configured");
+
+    long periodNanos = period.toNanos();
+
+    return executor.scheduleWithFixedDelay(this::flushQuietly, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Gets the {@link Integer number of} queued writes that have not yet been flushed.
+   *
+   * @return the {@link Integer number of} queued writes that have not yet been flushed.
+   */
+  public int getPendingWriteCount() {
+    return this.writes.size();
+  }
+
+  /**
+   * Flushes all queued writes to the {@link BiConsumer writer} in batches, returning once they have been written.
+   * <p>
+   * Writes queued while flushing may be flushed by the same call or left for the next flush.
+   *
+   * @return the {@link Integer number of} writes flushed.
+   * @throws RuntimeException thrown by the {@link BiConsumer writer}, in which case the writes of the failed batch
+   * remain queued.
+   */
+  public synchronized int flush() {
+
+    BiConsumer<? super Map<KEY, VALUE>, ? super Set<KEY>> writer = this.writer;
+
+    if (writer == null) {
+      return 0;
+    }
+
+    int batchSize = this.batchSize;
+    int flushed = 0;
+
+    Iterator<Map.Entry<KEY, Object>> iterator = this.writes.entrySet().iterator();
+
+    while (iterator.hasNext()) {
+
+      Map<KEY, Object> batch = new LinkedHashMap<>();
+
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        Map.Entry<KEY, Object> write = iterator.next();
+        batch.put(write.getKey(), write.getValue());
+      }
+
+      writeBatch(writer, batch);
+
+      // A write is only dequeued if the key was not written again while the batch was being flushed.
+      batch.forEach(this.writes::remove);
+      flushed += batch.size();
+    }
+
+    return flushed;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeBatch(@NotNull BiConsumer<? super Map<KEY, VALUE>, ? super Set<KEY>> writer,
+      @NotNull Map<KEY, Object> batch) {
+
+    Map<KEY, VALUE> entries = new LinkedHashMap<>();
+    Set<KEY> removals = new LinkedHashSet<>();
+
+    batch.forEach((key, value) -> {
+      if (value == REMOVED) {
+        removals.add(key);
+      }
+      else {
+        entries.put(key, (VALUE) value);
+      }
+    });
+
+    writer.accept(entries, removals);
+  }
+
+  private void flushQuietly() {
+
+    try {
+      flush();
+    }
+    catch (RuntimeException ignore) {
+      // The writes of the failed batch remain queued and are retried by the next flush.
+    }
+  }
+
+  private void submitFlush() {
+
+    if (this.flushSubmitted.compareAndSet(false, true)) {
+      try {
+        this.executor.execute(() -> {
+          this.flushSubmitted.set(false);
+          flushQuietly();
+        });
+      }
+      catch (RuntimeException cause) {
+        this.flushSubmitted.set(false);
+        throw cause;
+      }
+    }
+  }
+
+  /**
+   * Performs the given write of the given {@literal key}, preventing any load of the {@literal key} that
+   * is in flight, or starts while the write is in progress, from caching a value loaded before the write.
+   * <p>
+   * The write replaces an in-flight load with a {@link WriteMarker}, so that the load completes without caching
+   * its value, and loads that start while the {@link WriteMarker} is present are not cached either.
+   */
+  private <T> T write(@NotNull Object key, @NotNull Supplier<T> write) {
+
+    WriteMarker marker = (WriteMarker) this.loads.compute(castKey(key), (writtenKey, loadOrMarker) ->
+      loadOrMarker instanceof WriteMarker existingMarker ? existingMarker.acquire() : new WriteMarker());
+
+    try {
+      return write.get();
+    }
+    finally {
+      this.loads.computeIfPresent(castKey(key), (writtenKey, loadOrMarker) ->
+        loadOrMarker == marker && marker.release() ? null : loadOrMarker);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private KEY castKey(@NotNull Object key) {
+    return (KEY) key;
+  }
+
+  /**
+   * Queues the write of the given {@literal key}, where a {@literal null} {@literal value} is a removal.
+   * <p>
+   * Called from within the atomic operation of the wrapped {@link Map} that writes the {@literal key},
+   * so that concurrent writes of a {@literal key} are queued in the same order in which they update the cache.
+   */
+  private @Nullable VALUE recordWrite(@NotNull KEY key, @Nullable VALUE value) {
+
+    if (this.writer != null) {
+      this.writes.put(key, value != null ? value : REMOVED);
+    }
+
+    return value;
+  }
+
+  private void flushIfBatchFull() {
+
+    if (this.writer != null && this.writes.size() >= this.batchSize) {
+      submitFlush();
+    }
+  }
+
+  /**
+   * Atomically computes the new {@literal value} of the given {@literal key} in the wrapped {@link Map}
+   * with the given {@link BiFunction}, which must {@link #recordWrite(Object, Object) record} the write, if any.
+   */
+  private @Nullable VALUE computeWrite(@NotNull KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    VALUE value = write(key, () -> getMap().compute(key, remappingFunction));
+
+    flushIfBatchFull();
+
+    return value;
+  }
+
+  /**
+   * Gets the {@literal value} of the given {@literal key}, loading it with the {@link Function loader}
+   * if it is not cached.
+   * <p>
+   * If the {@literal key} is already being loaded, the {@link CompletableFuture} of that load is returned.
+   *
+   * @param key {@literal key} of the {@literal value} to get; must not be {@literal null}.
+   * @return a {@link CompletableFuture} completing with the {@literal value}, or {@literal null} if the
+   * {@literal key} does not exist, or completing exceptionally if the load failed.
+   * @throws IllegalArgumentException if the {@literal key} is {@literal null}.
+   */
+  @SuppressWarnings("unchecked")
+  public @NotNull CompletableFuture<VALUE> getAsync(@NotNull KEY key) {
+
+    Assert.notNull(key, "Key is required");
+
+    VALUE value = super.get(key);
+
+    if (value != null) {
+      return CompletableFuture.completedFuture(value);
+    }
+
+    Object write = this.writes.get(key);
+
+    if (write != null) {
+      return CompletableFuture.completedFuture(write != REMOVED ? (VALUE) write : null);
+    }
+
+    CompletableFuture<VALUE> load = new CompletableFuture<>();
+    Object existingLoad = this.loads.putIfAbsent(key, load);
+
+    if (existingLoad instanceof CompletableFuture<?> existingFuture) {
+      return (CompletableFuture<VALUE>) existingFuture;
+    }
+
+    if (existingLoad != null) {
+      // The key is being written, so the loaded value may already be out of date and is not cached.
+      return load(key).thenApply(loadedValue -> (VALUE) loadedValue);
+    }
+
+    // The key may have been cached, or written, after the cache was checked.
+    value = super.get(key);
+    write = this.writes.get(key);
+
+    if (value != null || write != null) {
+      this.loads.remove(key, load);
+      load.complete(value != null ? value : write != REMOVED ? (VALUE) write : null);
+      return load;
+    }
+
+    load(key).whenComplete((loadedValue, cause) -> {
+
+      if (cause != null) {
+        this.loads.remove(key, load);
+        load.completeExceptionally(cause);
+      }
+      else {
+
+        Object[] cachedValue = { loadedValue };
+
+        // The value is only cached if the key was not written while it was being loaded, in which case the load
+        // has been replaced by a WriteMarker. Caching happens while holding the lock of the key in the map of loads,
+        // so a write either happens after the value was cached, or prevents the value from being cached.
+        this.loads.computeIfPresent(key, (loadedKey, loadOrMarker) -> {
+
+          if (loadOrMarker != load) {
+            return loadOrMarker;
+          }
+
+          if (loadedValue != null) {
+            VALUE currentValue = getMap().putIfAbsent(key, (VALUE) loadedValue);
+            cachedValue[0] = currentValue != null ? currentValue : loadedValue;
+          }
+
+          return null;
+        });
+
+        load.complete((VALUE) cachedValue[0]);
+      }
+    });
+
+    return load;
+  }
+
+  private @NotNull CompletableFuture<? extends VALUE> load(@NotNull KEY key) {
+
+    try {
+      return this.loader.apply(key);
+    }
+    catch (RuntimeException cause) {
+      return CompletableFuture.failedFuture(cause);
+    }
+  }
+
+  /**
+   * Gets the {@literal value} of the given {@literal key}, waiting for it to be loaded if it is not cached.
+   *
+   * @param key {@literal key} of the {@literal value} to get.
+   * @return the {@literal value}, or {@literal null} if the {@literal key} is {@literal null} or does not exist.
+   * @throws java.util.concurrent.CompletionException if the load failed.
+   * @see #getAsync(Object)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE get(Object key) {
+    return key != null ? getAsync((KEY) key).join() : null;
+  }
+
+  @Override
+  public VALUE getOrDefault(Object key, VALUE defaultValue) {
+
+    VALUE value = get(key);
+
+    return value != null ? value : defaultValue;
+  }
+
+  @Override
+  public VALUE put(KEY key, VALUE value) {
+
+    Object[] currentValue = new Object[1];
+
+    computeWrite(key, (writtenKey, existingValue) -> {
+      currentValue[0] = existingValue;
+      return recordWrite(writtenKey, value);
+    });
+
+    return castValue(currentValue[0]);
+  }
+
+  @SuppressWarnings("unchecked")
+  private VALUE castValue(@Nullable Object value) {
+    return (VALUE) value;
+  }
+
+  @Override
+  public void putAll(@NotNull Map<? extends KEY, ? extends VALUE> map) {
+    map.forEach(this::put);
+  }
+
+  @Override
+  public VALUE putIfAbsent(KEY key, VALUE value) {
+
+    Object[] currentValue = new Object[1];
+
+    computeWrite(key, (writtenKey, existingValue) -> {
+      currentValue[0] = existingValue;
+      return existingValue != null ? existingValue : recordWrite(writtenKey, value);
+    });
+
+    return castValue(currentValue[0]);
+  }
+
+  @Override
+  public VALUE remove(Object key) {
+
+    if (key == null) {
+      return super.remove(null);
+    }
+
+    Object[] currentValue = new Object[1];
+
+    computeWrite(castKey(key), (removedKey, existingValue) -> {
+      currentValue[0] = existingValue;
+      return recordWrite(removedKey, null);
+    });
+
+    return castValue(currentValue[0]);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+
+    if (key == null || value == null) {
+      return false;
+    }
+
+    boolean[] removed = { false };
+
+    computeWrite(castKey(key), (removedKey, existingValue) -> {
+
+      if (value.equals(existingValue)) {
+        removed[0] = true;
+        return recordWrite(removedKey, null);
+      }
+
+      return existingValue;
+    });
+
+    return removed[0];
+  }
+
+  @Override
+  public VALUE replace(KEY key, VALUE value) {
+
+    Object[] currentValue = new Object[1];
+
+    computeWrite(key, (writtenKey, existingValue) -> {
+      currentValue[0] = existingValue;
+      return existingValue != null ? recordWrite(writtenKey, value) : null;
+    });
+
+    return castValue(currentValue[0]);
+  }
+
+  @Override
+  public boolean replace(KEY key, VALUE oldValue, VALUE newValue) {
+
+    boolean[] replaced = { false };
+
+    computeWrite(key, (writtenKey, existingValue) -> {
+
+      if (existingValue != null && existingValue.equals(oldValue)) {
+        replaced[0] = true;
+        return recordWrite(writtenKey, newValue);
+      }
+
+      return existingValue;
+    });
+
+    return replaced[0];
+  }
+
+  @Override
+  public void replaceAll(@NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> function) {
+
+    Assert.notNull(function, "Function is required");
+
+    super.replaceAll((key, value) -> recordWrite(key, function.apply(key, value)));
+    flushIfBatchFull();
+  }
+
+  @Override
+  public VALUE compute(KEY key, @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(remappingFunction, "Remapping Function is required");
+
+    return computeWrite(key, (writtenKey, value) ->
+      recordWrite(writtenKey, remappingFunction.apply(writtenKey, value)));
+  }
+
+  @Override
+  public VALUE computeIfAbsent(KEY key, @NotNull Function<? super KEY, ? extends VALUE> mappingFunction) {
+
+    Assert.notNull(mappingFunction, "Mapping Function is required");
+
+    VALUE value = write(key, () -> super.computeIfAbsent(key, absentKey -> {
+
+      VALUE newValue = mappingFunction.apply(absentKey);
+
+      return newValue != null ? recordWrite(absentKey, newValue) : null;
+    }));
+
+    flushIfBatchFull();
+
+    return value;
+  }
+
+  @Override
+  public VALUE computeIfPresent(KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(remappingFunction, "Remapping Function is required");
+
+    VALUE value = write(key, () -> super.computeIfPresent(key, (presentKey, currentValue) ->
+      recordWrite(presentKey, remappingFunction.apply(presentKey, currentValue))));
+
+    flushIfBatchFull();
+
+    return value;
+  }
+
+  @Override
+  public VALUE merge(KEY key, VALUE value,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(value, "Value is required");
+    Assert.notNull(remappingFunction, "Remapping Function is required");
+
+    return computeWrite(key, (writtenKey, currentValue) -> recordWrite(writtenKey,
+      currentValue != null ? remappingFunction.apply(currentValue, value) : value));
+  }
+
+  /**
+   * Marks a {@literal key} as being written by one or more {@link Thread Threads}.
+   * <p>
+   * A {@link WriteMarker} is only accessed while holding the lock of its {@literal key} in the map of loads.
+   */
+  protected static class WriteMarker {
+
+    private int writers = 1;
+
+    protected @NotNull WriteMarker acquire() {
+      this.writers++;
+      return this;
+    }
+
+    protected boolean release() {
+      return --this.writers == 0;
+    }
+  }
+}
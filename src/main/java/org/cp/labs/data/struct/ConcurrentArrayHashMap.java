@@ -0,0 +1,955 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.cp.elements.lang.LangExtensions.assertThat;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Thread-safe {@link ConcurrentMap} implementation built from an array of independently locked rows,
+ * where each row is an open-addressing, linear probing hash table like {@link ArrayHashMap}.
+ * <p>
+ * The upper bits of the spread {@link Object#hashCode() hash code} select the row and the lower bits select
+ * the slot within the row. Writers lock only the row containing the {@literal key}. Readers never lock;
+ * they read the row's current table and the slots using acquire semantics. Removed entries leave their
+ * {@literal key} in place with a {@literal null} value until the row is next rehashed, so an entry never moves
+ * while a reader may be probing for it.
+ * <p>
+ * The {@literal mapping functions} passed to {@link #compute(Object, BiFunction)},
+ * {@link #computeIfAbsent(Object, Function)}, {@link #computeIfPresent(Object, BiFunction)}
+ * and {@link #merge(Object, Object, BiFunction)} are applied atomically while holding the row lock
+ * and therefore must not modify {@literal this} {@link Map}. A {@literal mapping function} that updates
+ * an entry in the same row fails with an {@link IllegalStateException} rather than deadlocking.
+ * <p>
+ * Each row keeps its lock word, entry counts and table reference together in a single object. With the
+ * {@link RowLayout#PADDED padded} {@link RowLayout row layout}, every row is padded with two cache lines,
+ * so writers updating different rows on different cores never invalidate each other's cache lines.
+ * <p>
+ * Neither {@literal null} keys nor {@literal null} values are permitted.
+ *
+ * @author John Blum
+ * @see java.util.concurrent.ConcurrentMap
+ * @see java.util.concurrent.atomic.LongAdder
+ * @see java.util.concurrent.locks.AbstractQueuedSynchronizer
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ConcurrentArrayHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> implements ConcurrentMap<KEY, VALUE> {
+
+  protected static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  protected static final int DEFAULT_INITIAL_CAPACITY = 256;
+  protected static final int MAXIMUM_CONCURRENCY_LEVEL = 1 << 16;
+
+  protected static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  private final float loadFactor;
+
+  private final int rowMask;
+  private final int rowShift;
+
+  private final LongAdder size = new LongAdder();
+
+  private final Row[] rows;
+
+  private final RowLayout rowLayout;
+
+  /**
+   * Constructs a new {@link ConcurrentArrayHashMap} with a default {@link Integer initial capacity},
+   * {@link Float load factor} and {@link Integer concurrency level}.
+   */
+  public ConcurrentArrayHashMap() {
+    this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Constructs a new {@link ConcurrentArrayHashMap} with the given {@link Integer initial capacity}
+   * and a default {@link Float load factor} and {@link Integer concurrency level}.
+   *
+   * @param initialCapacity {@link Integer} specifying the total {@literal number of buckets}
+   * across all rows in the new {@literal map}.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is less than equal to {@literal 0}.
+   */
+  public ConcurrentArrayHashMap(int initialCapacity) {
+    this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Constructs a new {@link ConcurrentArrayHashMap} with the given {@link Integer initial capacity},
+   * {@link Float load factor} and {@link Integer concurrency level}.
+   *
+   * @param initialCapacity {@link Integer} specifying the total {@literal number of buckets}
+   * across all rows in the new {@literal map}.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of a row's {@literal capacity} filled
+   * before the row must be resized.
+   * @param concurrencyLevel {@link Integer} specifying the {@literal number of rows}, and therefore the number
+   * of writers that can update the {@literal map} without contention; rounded up to the next power of two.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} or {@link Integer concurrency level}
+   * is less than equal to {@literal 0}, or the {@link Float load factor} is less than equal to {@literal 0.0}
+   * or greater than {@literal 1.0}.
+   */
+  public ConcurrentArrayHashMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+    this(initialCapacity, loadFactor, concurrencyLevel, RowLayout.COMPACT);
+  }
+
+  /**
+   * Constructs a new {@link ConcurrentArrayHashMap} with the given {@link Integer initial capacity},
+   * {@link Float load factor}, {@link Integer concurrency level} and {@link RowLayout}.
+   *
+   * @param initialCapacity {@link Integer} specifying the total {@literal number of buckets}
+   * across all rows in the new {@literal map}.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of a row's {@literal capacity} filled
+   * before the row must be resized.
+   * @param concurrencyLevel {@link Integer} specifying the {@literal number of rows}, and therefore the number
+   * of writers that can update the {@literal map} without contention; rounded up to the next power of two.
+   * @param rowLayout {@link RowLayout} determining whether the rows are padded to separate cache lines;
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} or {@link Integer concurrency level}
+   * is less than equal to {@literal 0}, the {@link Float load factor} is less than equal to {@literal 0.0}
+   * or greater than {@literal 1.0}, or the {@link RowLayout} is {@literal null}.
+   * @see RowLayout
+   */
+  public ConcurrentArrayHashMap(int initialCapacity, float loadFactor, int concurrencyLevel,
+      @NotNull RowLayout rowLayout) {
+
+    assertThat(initialCapacity)
+      .describedAs("Initial capacity [%d] must be greater than 0", initialCapacity)
+      .isGreaterThan(0);
+
+    assertThat(loadFactor)
+      .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+      .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
+
+    assertThat(concurrencyLevel)
+      .describedAs("Concurrency level [%d] must be greater than 0", concurrencyLevel)
+      .isGreaterThan(0);
+
+    Assert.notNull(rowLayout, "RowLayout is required");
+
+    int rowCount = ArrayHashMap.tableSizeFor(Math.min(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL));
+    int rowCapacity = ArrayHashMap.tableSizeFor(Math.max(initialCapacity / rowCount, 2));
+
+    this.loadFactor = loadFactor;
+    this.rowMask = rowCount - 1;
+    this.rowShift = Integer.SIZE - Integer.numberOfTrailingZeros(rowCount);
+    this.rowLayout = rowLayout;
+    this.rows = new Row[rowCount];
+
+    for (int index = 0; index < rowCount; index++) {
+      this.rows[index] = rowLayout.newRow(rowCapacity, loadFactor, this.size);
+    }
+  }
+
+  private void assertKeyValue(Object key, Object value) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(value, "Value is required");
+  }
+
+  /**
+   * Gets the {@link Float load factor} used to determine when a row is resized.
+   *
+   * @return the {@link Float load factor} used to determine when a row is resized.
+   */
+  protected float getLoadFactor() {
+    return this.loadFactor;
+  }
+
+  /**
+   * Gets the {@link Integer number of rows}, or lock stripes, in {@literal this} {@link Map}.
+   *
+   * @return the {@link Integer number of rows} in {@literal this} {@link Map}.
+   */
+  protected int getRowCount() {
+    return this.rows.length;
+  }
+
+  /**
+   * Gets the {@link RowLayout} of the rows in {@literal this} {@link Map}.
+   *
+   * @return the {@link RowLayout} of the rows in {@literal this} {@link Map}.
+   * @see RowLayout
+   */
+  public @NotNull RowLayout getRowLayout() {
+    return this.rowLayout;
+  }
+
+  private @NotNull Row rowFor(int hash) {
+    return this.rows[rowIndexFor(hash)];
+  }
+
+  private int rowIndexFor(int hash) {
+    // The upper bits pick the row so that the lower bits remain independent for the slot index.
+    return (hash >>> this.rowShift) & this.rowMask;
+  }
+
+  /**
+   * Determines the index of the row, or lock stripe, storing the given {@literal key}.
+   *
+   * @param key {@link Object key} to locate; must not be {@literal null}.
+   * @return the index of the row storing the given {@literal key}.
+   */
+  int rowIndexOf(@NotNull Object key) {
+    return rowIndexFor(hash(key));
+  }
+
+  private static int hash(@NotNull Object key) {
+    return ArrayHashMap.spread(key.hashCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <VALUE> VALUE valueAt(@NotNull Table table, int index) {
+    return (VALUE) SLOTS.getAcquire(table.values, index);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.size.sum() < 1L;
+  }
+
+  @Override
+  public void clear() {
+
+    for (Row row : this.rows) {
+      row.clear();
+    }
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+
+    if (value != null) {
+      for (Row row : this.rows) {
+
+        Table table = row.table;
+
+        for (int index = 0; index < table.capacity(); index++) {
+          Object slotValue = valueAt(table, index);
+          if (slotValue == value || value.equals(slotValue)) {
+            return true;
+          }
+        }
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public @Nullable VALUE get(@Nullable Object key) {
+
+    if (key != null) {
+
+      int hash = hash(key);
+
+      Table table = rowFor(hash).table;
+
+      int index = table.indexOf(key, hash);
+
+      return index > -1 ? valueAt(table, index) : null;
+    }
+
+    return null;
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    int hash = hash(key);
+
+    Row row = rowFor(hash);
+
+    row.lock();
+
+    try {
+      return (VALUE) row.put(key, hash, value, false);
+    }
+    finally {
+      row.unlock();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE putIfAbsent(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    int hash = hash(key);
+
+    Row row = rowFor(hash);
+
+    row.lock();
+
+    try {
+      return (VALUE) row.put(key, hash, value, true);
+    }
+    finally {
+      row.unlock();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE remove(@Nullable Object key) {
+
+    if (key != null) {
+
+      int hash = hash(key);
+
+      Row row = rowFor(hash);
+
+      row.lock();
+
+      try {
+        return (VALUE) row.remove(key, hash, null);
+      }
+      finally {
+        row.unlock();
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean remove(@Nullable Object key, @Nullable Object value) {
+
+    if (key != null && value != null) {
+
+      int hash = hash(key);
+
+      Row row = rowFor(hash);
+
+      row.lock();
+
+      try {
+        return row.remove(key, hash, value) != null;
+      }
+      finally {
+        row.unlock();
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public boolean replace(@NotNull KEY key, @NotNull VALUE oldValue, @NotNull VALUE newValue) {
+
+    assertKeyValue(key, oldValue);
+    Assert.notNull(newValue, "New value is required");
+
+    int hash = hash(key);
+
+    Row row = rowFor(hash);
+
+    row.lock();
+
+    try {
+
+      Table table = row.table;
+
+      int index = table.indexOf(key, hash);
+
+      if (index > -1 && oldValue.equals(table.values[index])) {
+        SLOTS.setRelease(table.values, index, newValue);
+        return true;
+      }
+
+      return false;
+    }
+    finally {
+      row.unlock();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE replace(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    int hash = hash(key);
+
+    Row row = rowFor(hash);
+
+    row.lock();
+
+    try {
+
+      Table table = row.table;
+
+      int index = table.indexOf(key, hash);
+
+      if (index > -1 && table.values[index] != null) {
+        VALUE currentValue = (VALUE) table.values[index];
+        SLOTS.setRelease(table.values, index, value);
+        return currentValue;
+      }
+
+      return null;
+    }
+    finally {
+      row.unlock();
+    }
+  }
+
+  @Override
+  public @Nullable VALUE computeIfAbsent(@NotNull KEY key,
+      @NotNull Function<? super KEY, ? extends VALUE> mappingFunction) {
+
+    Assert.notNull(mappingFunction, "Mapping function is required");
+
+    return compute(key, (k, currentValue) -> currentValue != null ? currentValue : mappingFunction.apply(k));
+  }
+
+  @Override
+  public @Nullable VALUE computeIfPresent(@NotNull KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    return compute(key, (k, currentValue) -> currentValue != null ? remappingFunction.apply(k, currentValue) : null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE compute(@NotNull KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    int hash = hash(key);
+
+    Row row = rowFor(hash);
+
+    row.lock();
+
+    try {
+
+      Table table = row.table;
+
+      int index = table.indexOf(key, hash);
+
+      VALUE currentValue = index > -1 ? (VALUE) table.values[index] : null;
+      VALUE newValue = remappingFunction.apply(key, currentValue);
+
+      if (newValue != null) {
+        if (newValue != currentValue) {
+          row.put(key, hash, newValue, false);
+        }
+      }
+      else if (currentValue != null) {
+        row.remove(key, hash, null);
+      }
+
+      return newValue;
+    }
+    finally {
+      row.unlock();
+    }
+  }
+
+  @Override
+  public @Nullable VALUE merge(@NotNull KEY key, @NotNull VALUE value,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    assertKeyValue(key, value);
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    return compute(key, (k, currentValue) ->
+      currentValue != null ? remappingFunction.apply(currentValue, value) : value);
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(this.size.sum(), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Open-addressing hash table storing the entries of a single {@link Row}.
+   * <p>
+   * A slot with a {@literal key} and a {@literal null} value is a tombstone left by a removal.
+   */
+  protected static class Table {
+
+    private final int mask;
+
+    private final Object[] keys;
+    private final Object[] values;
+
+    protected Table(int capacity) {
+      this.keys = new Object[capacity];
+      this.values = new Object[capacity];
+      this.mask = capacity - 1;
+    }
+
+    protected int capacity() {
+      return this.keys.length;
+    }
+
+    /**
+     * Finds the slot for the given {@literal key}, whether it holds a live entry or a tombstone.
+     *
+     * @param key {@link Object key} to find.
+     * @param hash spread {@link Integer hash code} of the {@literal key}.
+     * @return the index of the slot containing the {@literal key}, otherwise {@literal -1}.
+     */
+    protected int indexOf(@NotNull Object key, int hash) {
+
+      Object[] keys = this.keys;
+
+      for (int index = hash & this.mask; ; index = (index + 1) & this.mask) {
+
+        Object slotKey = SLOTS.getAcquire(keys, index);
+
+        if (slotKey == null) {
+          return -1;
+        }
+        else if (slotKey == key || slotKey.equals(key)) {
+          return index;
+        }
+      }
+    }
+
+    /**
+     * Publishes a new entry into the first empty slot of the {@literal key's} probe sequence.
+     * <p>
+     * The {@literal value} is released before the {@literal key} so that a reader who observes the {@literal key}
+     * also observes its {@literal value}.
+     */
+    protected void insert(@NotNull Object key, int hash, @NotNull Object value) {
+
+      int index = hash & this.mask;
+
+      while (this.keys[index] != null) {
+        index = (index + 1) & this.mask;
+      }
+
+      SLOTS.setRelease(this.values, index, value);
+      SLOTS.setRelease(this.keys, index, key);
+    }
+  }
+
+  /**
+   * Memory layout of the rows in a {@link ConcurrentArrayHashMap}.
+   */
+  public enum RowLayout {
+
+    /**
+     * Rows are allocated without padding. Uses the least memory, but adjacent rows may share a cache line,
+     * so writers on different rows can slow each other down through false sharing.
+     */
+    COMPACT {
+
+      @Override
+      Row newRow(int capacity, float loadFactor, @NotNull LongAdder size) {
+        return new Row(capacity, loadFactor, size);
+      }
+    },
+
+    /**
+     * Every row is followed by {@link PaddedRow#PADDING_SIZE 128 bytes} of padding, so the mutable fields
+     * of any two rows are at least two cache lines apart wherever the garbage collector places them.
+     * Two lines are used instead of one because processors commonly prefetch cache lines in adjacent pairs.
+     * <p>
+     * This is the manual equivalent of {@literal @jdk.internal.vm.annotation.Contended}, which is not available
+     * to application classes without {@literal --add-exports} and {@literal -XX:-RestrictContended}.
+     */
+    PADDED {
+
+      @Override
+      Row newRow(int capacity, float loadFactor, @NotNull LongAdder size) {
+        return new PaddedRow(capacity, loadFactor, size);
+      }
+    };
+
+    abstract @NotNull Row newRow(int capacity, float loadFactor, @NotNull LongAdder size);
+
+  }
+
+  /**
+   * A single lock stripe of a {@link ConcurrentArrayHashMap}. All mutations of a {@link Row} happen while
+   * holding its lock; readers only read the {@link #table volatile table reference}.
+   * <p>
+   * A {@link Row} is its own non-reentrant, exclusive lock, so that the lock word is stored in the same object as
+   * the counts it guards rather than in a separately allocated synchronizer. Locking a {@link Row} again from
+   * the {@link Thread} already holding its lock throws an {@link IllegalStateException}.
+   */
+  @SuppressWarnings("serial")
+  protected static class Row extends AbstractQueuedSynchronizer {
+
+    private static final int LOCKED = 1;
+    private static final int UNLOCKED = 0;
+
+    private final float loadFactor;
+
+    private final LongAdder size;
+
+    private int count;
+    private int used;
+
+    private volatile Table table;
+
+    protected Row(int capacity, float loadFactor, @NotNull LongAdder size) {
+      this.table = new Table(capacity);
+      this.loadFactor = loadFactor;
+      this.size = size;
+    }
+
+    protected void lock() {
+
+      if (getExclusiveOwnerThread() == Thread.currentThread()) {
+        throw new IllegalStateException("Recursive update");
+      }
+
+      acquire(LOCKED);
+    }
+
+    protected void unlock() {
+      release(LOCKED);
+    }
+
+    @Override
+    protected boolean tryAcquire(int acquires) {
+
+      if (compareAndSetState(UNLOCKED, LOCKED)) {
+        setExclusiveOwnerThread(Thread.currentThread());
+        return true;
+      }
+
+      return false;
+    }
+
+    @Override
+    protected boolean tryRelease(int releases) {
+
+      Assert.state(isHeldExclusively(), "Row is not locked by the current Thread");
+
+      setExclusiveOwnerThread(null);
+      setState(UNLOCKED);
+
+      return true;
+    }
+
+    @Override
+    protected boolean isHeldExclusively() {
+      return getState() == LOCKED && getExclusiveOwnerThread() == Thread.currentThread();
+    }
+
+    private int thresholdFor(int capacity) {
+      return Math.min((int) (capacity * this.loadFactor), capacity - 1);
+    }
+
+    protected Object put(@NotNull Object key, int hash, @NotNull Object value, boolean onlyIfAbsent) {
+
+      Table table = this.table;
+
+      int index = table.indexOf(key, hash);
+
+      if (index > -1) {
+
+        Object currentValue = table.values[index];
+
+        if (currentValue == null || !onlyIfAbsent) {
+          SLOTS.setRelease(table.values, index, value);
+        }
+
+        if (currentValue == null) {
+          this.count++;
+          this.size.increment();
+        }
+
+        return currentValue;
+      }
+
+      if (this.used >= thresholdFor(table.capacity())) {
+        table = rehash(table);
+      }
+
+      table.insert(key, hash, value);
+
+      this.count++;
+      this.used++;
+
+      this.size.increment();
+
+      return null;
+    }
+
+    protected Object remove(@NotNull Object key, int hash, @Nullable Object expectedValue) {
+
+      Table table = this.table;
+
+      int index = table.indexOf(key, hash);
+
+      if (index > -1) {
+
+        Object currentValue = table.values[index];
+
+        if (currentValue != null && (expectedValue == null || expectedValue.equals(currentValue))) {
+          SLOTS.setRelease(table.values, index, null);
+          this.count--;
+          this.size.decrement();
+          return currentValue;
+        }
+      }
+
+      return null;
+    }
+
+    /**
+     * Copies the live entries into a new {@link Table}, doubling the capacity when the live entries alone
+     * would exceed the threshold and otherwise just purging tombstones. The new {@link Table} is published
+     * with a single volatile write; readers still probing the old {@link Table} see a consistent snapshot.
+     */
+    private @NotNull Table rehash(@NotNull Table table) {
+
+      int capacity = table.capacity();
+
+      while (this.count + 1 > thresholdFor(capacity)) {
+        capacity <<= 1;
+      }
+
+      Table newTable = new Table(capacity);
+
+      for (int index = 0; index < table.capacity(); index++) {
+
+        Object key = table.keys[index];
+        Object value = table.values[index];
+
+        if (key != null && value != null) {
+          newTable.insert(key, hash(key), value);
+        }
+      }
+
+      this.used = this.count;
+      this.table = newTable;
+
+      return newTable;
+    }
+
+    protected void clear() {
+
+      lock();
+
+      try {
+        this.size.add(-this.count);
+        this.count = 0;
+        this.used = 0;
+        this.table = new Table(this.table.capacity());
+      }
+      finally {
+        unlock();
+      }
+    }
+  }
+
+  /**
+   * {@link Row} followed by {@link #PADDING_SIZE} bytes of padding, keeping its lock word, counts and
+   * {@link Table} reference away from the cache lines of any other {@link PaddedRow}.
+   * <p>
+   * Subclass fields are laid out after superclass fields, so the padding always follows the fields of the
+   * {@link Row}. The padding fields are never read and exist only to occupy memory.
+   */
+  @SuppressWarnings("serial")
+  protected static final class PaddedRow extends Row {
+
+    protected static final int PADDING_SIZE = 16 * Long.BYTES;
+
+    private long padding00, padding01, padding02, padding03, padding04, padding05, padding06, padding07;
+    private long padding08, padding09, padding10, padding11, padding12, padding13, padding14, padding15;
+
+    protected PaddedRow(int capacity, float loadFactor, @NotNull LongAdder size) {
+      super(capacity, loadFactor, size);
+    }
+  }
+
+  /**
+   * Weakly consistent {@link Set} view of the entries in {@literal this} {@link ConcurrentArrayHashMap}.
+   */
+  protected class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public boolean contains(Object target) {
+
+      return target instanceof Map.Entry<?, ?> entry
+        && entry.getKey() != null
+        && ObjectUtils.equalsIgnoreNull(get(entry.getKey()), entry.getValue());
+    }
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public boolean remove(Object target) {
+
+      return target instanceof Map.Entry<?, ?> entry
+        && ConcurrentArrayHashMap.this.remove(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public int size() {
+      return ConcurrentArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ConcurrentArrayHashMap.this.clear();
+    }
+  }
+
+  /**
+   * Weakly consistent {@link Iterator} walking each row's current {@link Table} in place.
+   */
+  protected class EntryIterator implements Iterator<Map.Entry<KEY, VALUE>> {
+
+    private int rowIndex = -1;
+    private int slotIndex;
+
+    private Map.Entry<KEY, VALUE> next;
+    private Map.Entry<KEY, VALUE> last;
+
+    private Table table;
+
+    protected EntryIterator() {
+      advance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+
+      this.next = null;
+
+      while (true) {
+
+        if (this.table != null) {
+          while (this.slotIndex < this.table.capacity()) {
+
+            int index = this.slotIndex++;
+
+            Object key = SLOTS.getAcquire(this.table.keys, index);
+
+            if (key != null) {
+
+              VALUE value = valueAt(this.table, index);
+
+              if (value != null) {
+                this.next = new MapEntry((KEY) key, value);
+                return;
+              }
+            }
+          }
+        }
+
+        if (++this.rowIndex >= rows.length) {
+          return;
+        }
+
+        this.table = rows[this.rowIndex].table;
+        this.slotIndex = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> next() {
+
+      Map.Entry<KEY, VALUE> next = this.next;
+
+      if (next == null) {
+        throw new NoSuchElementException("No more entries");
+      }
+
+      this.last = next;
+      advance();
+
+      return next;
+    }
+
+    @Override
+    public void remove() {
+
+      Assert.state(this.last != null, "next() must be called before remove()");
+
+      ConcurrentArrayHashMap.this.remove(this.last.getKey());
+      this.last = null;
+    }
+  }
+
+  /**
+   * {@link Map.Entry} snapshot whose {@link #setValue(Object)} writes through to
+   * {@literal this} {@link ConcurrentArrayHashMap}.
+   */
+  @SuppressWarnings("serial")
+  protected class MapEntry extends AbstractMap.SimpleEntry<KEY, VALUE> {
+
+    protected MapEntry(@NotNull KEY key, @NotNull VALUE value) {
+      super(key, value);
+    }
+
+    @Override
+    public VALUE setValue(@NotNull VALUE value) {
+
+      VALUE currentValue = super.setValue(value);
+
+      put(getKey(), value);
+
+      return currentValue;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark measuring how write throughput of a {@link ConcurrentArrayHashMap} scales from 1 to 64 threads
+ * with {@link ConcurrentArrayHashMap.RowLayout#COMPACT compact} and {@link ConcurrentArrayHashMap.RowLayout#PADDED
+ * padded} rows.
+ * <p>
+ * Every thread writes only {@literal keys} stored in its own row, so the threads never contend for the same lock.
+ * Any loss of scaling with {@link ConcurrentArrayHashMap.RowLayout#COMPACT compact} rows is therefore caused by
+ * false sharing between the lock words and counts of adjacent rows.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ConcurrentArrayHashMap
+ * @see org.cp.labs.data.struct.ConcurrentArrayHashMap.RowLayout
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentArrayHashMapContentionBenchmark {
+
+  private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+  public static void main(String[] args) throws RunnerException {
+
+    for (int threadCount : THREAD_COUNTS) {
+      new Runner(new OptionsBuilder()
+        .include(ConcurrentArrayHashMapContentionBenchmark.class.getSimpleName())
+        .threads(threadCount)
+        .build())
+        .run();
+    }
+  }
+
+  private static final int KEYS_PER_ROW = 64;
+  private static final int ROW_COUNT = 64;
+
+  @State(Scope.Benchmark)
+  public static class MapState {
+
+    @Param({ "COMPACT", "PADDED" })
+    ConcurrentArrayHashMap.RowLayout rowLayout;
+
+    ConcurrentArrayHashMap<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      this.map = new ConcurrentArrayHashMap<>(ROW_COUNT * KEYS_PER_ROW * 4, 0.75f, ROW_COUNT, this.rowLayout);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+
+    int index;
+
+    Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void setup(MapState mapState, ThreadParams threadParams) {
+
+      int row = threadParams.getThreadIndex() % ROW_COUNT;
+
+      this.keys = new Integer[KEYS_PER_ROW];
+
+      for (int key = 0, count = 0; count < KEYS_PER_ROW; key++) {
+        if (mapState.map.rowIndexOf(key) == row) {
+          this.keys[count++] = key;
+          mapState.map.put(key, key);
+        }
+      }
+    }
+
+    Integer nextKey() {
+      return this.keys[this.index++ & (KEYS_PER_ROW - 1)];
+    }
+  }
+
+  @Benchmark
+  public Integer replace(MapState mapState, ThreadState threadState) {
+
+    Integer key = threadState.nextKey();
+
+    return mapState.map.put(key, key);
+  }
+
+  @Benchmark
+  public Integer removeAndPut(MapState mapState, ThreadState threadState) {
+
+    Integer key = threadState.nextKey();
+
+    mapState.map.remove(key);
+
+    return mapState.map.put(key, key);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Thread-safe {@link TwoDimensionalMap} whose rows are {@link java.util.concurrent.ConcurrentHashMap
+ * ConcurrentHashMaps}, suited to sharded, write-heavy workloads.
+ * <p>
+ * Every {@link ConcurrentMap} operation, including {@link #computeIfAbsent(Object, java.util.function.Function)},
+ * is atomic. Instances are created with the {@link TwoDimensionalMap#usingConcurrentHashMapArray()} factory
+ * methods.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.concurrent.ConcurrentMap
+ * @see org.cp.labs.data.struct.TwoDimensionalMap
+ * @see org.cp.labs.data.struct.TwoDimensionalMap.ConcurrentHashMapArray
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ConcurrentTwoDimensionalMap<KEY, VALUE> extends TwoDimensionalMap<KEY, VALUE>
+    implements ConcurrentMap<KEY, VALUE> {
+
+  protected ConcurrentTwoDimensionalMap(@NotNull ConcurrentMap<KEY, VALUE> map) {
+    super(map);
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Thread-safe {@link MapWrapper} decorating an {@link ImmutableArrayHashMap} snapshot that is replaced
+ * atomically with a new snapshot on every update.
+ * <p>
+ * Reads go straight to the current snapshot, a single {@literal volatile} read of its reference followed by
+ * a lookup in an {@link ImmutableArrayHashMap}, without any locking, so this {@link Map} suits data that is read
+ * far more often than it is written, such as configuration or routing tables. Every update copies all entries,
+ * applies the change and builds a new snapshot while holding a lock, so writes cost time proportional to the size
+ * of the {@link Map}. Use {@link #update(Consumer)} to apply several changes with a single copy.
+ * <p>
+ * The {@link #entrySet()}, {@link #keySet()} and {@link #values()} views are views of the snapshot current
+ * at the time they were obtained; they do not reflect later updates and cannot be modified.
+ * The {@link #putIfAbsent(Object, Object)}, {@link #compute(Object, BiFunction)}, {@link #merge(Object, Object,
+ * BiFunction)} and related operations are atomic.
+ * <p>
+ * Neither {@literal null} keys nor {@literal null} values are permitted.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.concurrent.CopyOnWriteArrayList
+ * @see org.cp.labs.data.struct.ImmutableArrayHashMap
+ * @see org.cp.labs.data.struct.MapWrapper
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class CopyOnWriteArrayHashMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
+
+  /**
+   * Factory method used to construct a new, empty {@link CopyOnWriteArrayHashMap}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @return a new, empty {@link CopyOnWriteArrayHashMap}.
+   */
+  public static @NotNull <KEY, VALUE> CopyOnWriteArrayHashMap<KEY, VALUE> empty() {
+    return new CopyOnWriteArrayHashMap<>(ImmutableArrayHashMap.empty());
+  }
+
+  /**
+   * Factory method used to construct a new {@link CopyOnWriteArrayHashMap} initialized with the entries
+   * of the given {@link Map}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param map {@link Map} containing the initial entries; must not be {@literal null}.
+   * @return a new {@link CopyOnWriteArrayHashMap} initialized with the entries of the given {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} is {@literal null} or contains {@literal null}
+   * {@literal keys} or {@literal values}.
+   */
+  public static @NotNull <KEY, VALUE> CopyOnWriteArrayHashMap<KEY, VALUE> from(
+      @NotNull Map<? extends KEY, ? extends VALUE> map) {
+
+    return new CopyOnWriteArrayHashMap<>(ImmutableArrayHashMap.copyOf(map));
+  }
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile ImmutableArrayHashMap<KEY, VALUE> snapshot;
+
+  /**
+   * Constructs a new {@link CopyOnWriteArrayHashMap} initialized with the given {@link ImmutableArrayHashMap}.
+   *
+   * @param snapshot {@link ImmutableArrayHashMap} containing the initial entries; must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link ImmutableArrayHashMap} is {@literal null}.
+   */
+  protected CopyOnWriteArrayHashMap(@NotNull ImmutableArrayHashMap<KEY, VALUE> snapshot) {
+    super(snapshot);
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Returns the current {@link ImmutableArrayHashMap snapshot}, which every read operation is delegated to.
+   *
+   * @return the current {@link ImmutableArrayHashMap snapshot}.
+   * @see #snapshot()
+   */
+  @Override
+  protected @NotNull Map<KEY, VALUE> getMap() {
+    return this.snapshot;
+  }
+
+  /**
+   * Returns the current {@link ImmutableArrayHashMap snapshot} of {@literal this} {@link Map}, which never changes
+   * and can be read any number of times consistently.
+   *
+   * @return the current {@link ImmutableArrayHashMap snapshot}.
+   */
+  public @NotNull ImmutableArrayHashMap<KEY, VALUE> snapshot() {
+    return this.snapshot;
+  }
+
+  /**
+   * Applies the given {@link Function mutation} to a mutable copy of the current snapshot and atomically replaces
+   * the snapshot with an {@link ImmutableArrayHashMap} built from the copy.
+   * <p>
+   * If the {@link Function mutation} throws an exception, or leaves a {@literal null} {@literal key} or
+   * {@literal value} in the copy, the current snapshot is kept.
+   *
+   * @param <T> {@link Class type} of the result of the {@link Function mutation}.
+   * @param mutation {@link Function} modifying the copy of the current snapshot.
+   * @return the result of the {@link Function mutation}.
+   */
+  protected <T> T write(@NotNull Function<Map<KEY, VALUE>, T> mutation) {
+
+    this.lock.lock();
+
+    try {
+
+      Map<KEY, VALUE> copy = new HashMap<>(this.snapshot);
+
+      T result = mutation.apply(copy);
+
+      this.snapshot = ImmutableArrayHashMap.copyOf(copy);
+
+      return result;
+    }
+    finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Applies all changes made by the given {@link Consumer} to a mutable copy of the current snapshot, then
+   * atomically replaces the snapshot, so that readers observe either none or all of the changes.
+   *
+   * @param mutator {@link Consumer} modifying the copy of the current snapshot; must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Consumer} is {@literal null}, or leaves a {@literal null}
+   * {@literal key} or {@literal value} in the copy.
+   */
+  public void update(@NotNull Consumer<? super Map<KEY, VALUE>> mutator) {
+
+    Assert.notNull(mutator, "Mutator is required");
+
+    write(copy -> {
+      mutator.accept(copy);
+      return null;
+    });
+  }
+
+  /**
+   * Atomically replaces all entries in {@literal this} {@link Map} with the entries of the given {@link Map}.
+   *
+   * @param map {@link Map} containing the new entries; must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link Map} is {@literal null} or contains {@literal null}
+   * {@literal keys} or {@literal values}.
+   */
+  public void replaceWith(@NotNull Map<? extends KEY, ? extends VALUE> map) {
+
+    ImmutableArrayHashMap<KEY, VALUE> snapshot = ImmutableArrayHashMap.copyOf(map);
+
+    this.lock.lock();
+
+    try {
+      this.snapshot = snapshot;
+    }
+    finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void assertKeyValue(Object key, Object value) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(value, "Value is required");
+  }
+
+  @Override
+  public void clear() {
+    replaceWith(ImmutableArrayHashMap.empty());
+  }
+
+  @Override
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    return write(copy -> copy.put(key, value));
+  }
+
+  @Override
+  public void putAll(@NotNull Map<? extends KEY, ? extends VALUE> map) {
+
+    Assert.notNull(map, "Map is required");
+
+    if (!map.isEmpty()) {
+      update(copy -> copy.putAll(map));
+    }
+  }
+
+  @Override
+  public @Nullable VALUE putIfAbsent(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    VALUE currentValue = get(key);
+
+    return currentValue != null ? currentValue : write(copy -> copy.putIfAbsent(key, value));
+  }
+
+  @Override
+  public @Nullable VALUE remove(@Nullable Object key) {
+    return containsKey(key) ? write(copy -> copy.remove(key)) : null;
+  }
+
+  @Override
+  public boolean remove(@Nullable Object key, @Nullable Object value) {
+    return containsKey(key) && write(copy -> copy.remove(key, value));
+  }
+
+  @Override
+  public @Nullable VALUE replace(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertKeyValue(key, value);
+
+    return containsKey(key) ? write(copy -> copy.replace(key, value)) : null;
+  }
+
+  @Override
+  public boolean replace(@NotNull KEY key, @NotNull VALUE oldValue, @NotNull VALUE newValue) {
+
+    assertKeyValue(key, newValue);
+
+    return Objects.equals(get(key), oldValue) && write(copy -> copy.replace(key, oldValue, newValue));
+  }
+
+  @Override
+  public void replaceAll(@NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> function) {
+
+    Assert.notNull(function, "Function is required");
+
+    update(copy -> copy.replaceAll(function));
+  }
+
+  @Override
+  public @Nullable VALUE compute(@NotNull KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    return write(copy -> copy.compute(key, remappingFunction));
+  }
+
+  @Override
+  public @Nullable VALUE computeIfAbsent(@NotNull KEY key,
+      @NotNull Function<? super KEY, ? extends VALUE> mappingFunction) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(mappingFunction, "Mapping function is required");
+
+    VALUE currentValue = get(key);
+
+    return currentValue != null ? currentValue : write(copy -> copy.computeIfAbsent(key, mappingFunction));
+  }
+
+  @Override
+  public @Nullable VALUE computeIfPresent(@NotNull KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    return containsKey(key) ? write(copy -> copy.computeIfPresent(key, remappingFunction)) : null;
+  }
+
+  @Override
+  public @Nullable VALUE merge(@NotNull KEY key, @NotNull VALUE value,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    assertKeyValue(key, value);
+    Assert.notNull(remappingFunction, "Remapping function is required");
+
+    return write(copy -> copy.merge(key, value, remappingFunction));
+  }
+}
@@ -17,21 +17,30 @@ package org.cp.labs.data.struct;
 
 import static org.cp.elements.lang.RuntimeExceptionsFactory.newUnsupportedOperationException;
 
+import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.cp.elements.lang.Assert;
 import org.cp.elements.lang.CodeBlocks;
 import org.cp.elements.lang.ObjectUtils;
 import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
 
 /**
  * {@link AbstractMap} implementation that dynamically computes {@link Supplier supplies}) values
  * each time {@link Map#get(Object) Map.get(key)} is called.
+ * <p>
+ * Values that are expensive to compute can instead be
+ * {@link #putMemoized(Object, Supplier, Duration, Duration) memoized} per key, in which case the {@link Supplier}
+ * is only called again once the value is due for refresh or has expired.
  *
  * @author John Blum
  * @see java.util.AbstractMap
@@ -44,8 +53,25 @@ public class DynamicValueSupplyingMap<KEY, VALUE> extends AbstractMap<KEY, VALUE
 		return new DynamicValueSupplyingMap<>();
 	}
 
+	private final LongSupplier ticker;
+
 	private final Map<KEY, Supplier<VALUE>> map = new HashMap<>();
 
+	public DynamicValueSupplyingMap() {
+		this(System::nanoTime);
+	}
+
+	/**
+	 * Constructs a new {@link DynamicValueSupplyingMap} measuring the age of memoized values with
+	 * the given {@link LongSupplier ticker}.
+	 *
+	 * @param ticker {@link LongSupplier} returning the current time in nanoseconds; must not be {@literal null}.
+	 * @throws IllegalArgumentException if the {@link LongSupplier ticker} is {@literal null}.
+	 */
+	protected DynamicValueSupplyingMap(@NotNull LongSupplier ticker) {
+		this.ticker = ObjectUtils.requireObject(ticker, "Ticker is required");
+	}
+
 	protected Map<KEY, Supplier<VALUE>> getMap() {
 		return this.map;
 	}
@@ -60,6 +86,48 @@ public class DynamicValueSupplyingMap<KEY, VALUE> extends AbstractMap<KEY, VALUE
 		return this;
 	}
 
+	/**
+	 * Maps the given {@literal key} to the value supplied by the given {@link Supplier}, which is memoized until
+	 * it is due for refresh or has expired.
+	 * <p>
+	 * The first access computes the value; concurrent first accesses of the same {@literal key} wait for that single
+	 * computation. A value older than {@literal refreshAfterWrite} is recomputed by the next access while other
+	 * concurrent accesses keep returning the current value. A value not accessed for {@literal expireAfterAccess}
+	 * is discarded and recomputed, like a first access, when next accessed. If the {@link Supplier} throws,
+	 * the exception is propagated and the current value, if any, is kept.
+	 *
+	 * @param key {@literal key} to map.
+	 * @param value {@link Supplier} computing the value; must not be {@literal null}.
+	 * @param refreshAfterWrite {@link Duration} after which the value is recomputed; {@literal null} for never.
+	 * @param expireAfterAccess {@link Duration} after the last access at which the value expires;
+	 * {@literal null} for never.
+	 * @return this {@link DynamicValueSupplyingMap}.
+	 * @throws IllegalArgumentException if the {@link Supplier} is {@literal null}, or either {@link Duration}
+	 * is zero or negative.
+	 */
+	public DynamicValueSupplyingMap<KEY, VALUE> putMemoized(KEY key, @NotNull Supplier<VALUE> value,
+			@Nullable Duration refreshAfterWrite, @Nullable Duration expireAfterAccess) {
+
+		return put(key, new MemoizingSupplier<>(value, toNanos(refreshAfterWrite), toNanos(expireAfterAccess),
+			this.ticker));
+	}
+
+	private static long toNanos(@Nullable Duration duration) {
+
+		if (duration == null) {
+			return Long.MAX_VALUE;
+		}
+
+		Assert.isTrue(!duration.isNegative() && !duration.isZero(), "Duration [%s] must be positive", duration);
+
+		try {
+			return duration.toNanos();
+		}
+		catch (ArithmeticException ignore) {
+			return Long.MAX_VALUE;
+		}
+	}
+
 	@Override
 	public @NotNull Set<Entry<KEY, VALUE>> entrySet() {
 
@@ -101,4 +169,95 @@ public class DynamicValueSupplyingMap<KEY, VALUE> extends AbstractMap<KEY, VALUE
 			throw newUnsupportedOperationException("Setting value of K#Y [%s] is not supported".formatted(getKey()));
 		}
 	}
+
+	/**
+	 * {@link Supplier} memoizing the value computed by another {@link Supplier}.
+	 *
+	 * @see DynamicValueSupplyingMap#putMemoized(Object, Supplier, Duration, Duration)
+	 */
+	protected static class MemoizingSupplier<VALUE> implements Supplier<VALUE> {
+
+		private final long expireAfterAccessNanos;
+		private final long refreshAfterWriteNanos;
+
+		private volatile long accessedAt;
+
+		private final LongSupplier ticker;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private volatile Memo<VALUE> memo;
+
+		private final Supplier<VALUE> supplier;
+
+		protected MemoizingSupplier(@NotNull Supplier<VALUE> supplier, long refreshAfterWriteNanos,
+				long expireAfterAccessNanos, @NotNull LongSupplier ticker) {
+
+			this.supplier = ObjectUtils.requireObject(supplier, "VALUE Supplier is required");
+			this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+			this.expireAfterAccessNanos = expireAfterAccessNanos;
+			this.ticker = ticker;
+		}
+
+		@Override
+		public VALUE get() {
+
+			long now = this.ticker.getAsLong();
+
+			Memo<VALUE> memo = this.memo;
+
+			if (memo == null || now - this.accessedAt >= this.expireAfterAccessNanos) {
+				return compute(now);
+			}
+
+			// Only one thread refreshes the value; the others keep returning the current value in the meantime.
+			if (now - memo.writtenAt() >= this.refreshAfterWriteNanos && this.lock.tryLock()) {
+				try {
+					memo = refresh(now);
+				}
+				finally {
+					this.lock.unlock();
+				}
+			}
+
+			this.accessedAt = now;
+
+			return memo.value();
+		}
+
+		private VALUE compute(long now) {
+
+			this.lock.lock();
+
+			try {
+				Memo<VALUE> memo = this.memo;
+
+				// Another thread may have computed the value while this thread waited for the lock.
+				if (memo == null || now - this.accessedAt >= this.expireAfterAccessNanos) {
+					memo = refresh(now);
+				}
+
+				this.accessedAt = now;
+
+				return memo.value();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private @NotNull Memo<VALUE> refresh(long now) {
+
+			Memo<VALUE> memo = new Memo<>(this.supplier.get(), now);
+
+			this.memo = memo;
+
+			return memo;
+		}
+	}
+
+	/**
+	 * Value computed by a {@link MemoizingSupplier} and the time at which it was computed.
+	 */
+	protected record Memo<VALUE>(@Nullable VALUE value, long writtenAt) { }
 }
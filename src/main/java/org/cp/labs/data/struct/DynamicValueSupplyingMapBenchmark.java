@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark comparing reads of a {@link DynamicValueSupplyingMap} whose values are supplied on every read
+ * with reads of values that are {@link DynamicValueSupplyingMap#putMemoized(Object, Supplier, Duration, Duration)
+ * memoized}.
+ * <p>
+ * Each {@link Supplier} burns {@link #supplierCost} units of CPU, standing in for an expensive computation.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.DynamicValueSupplyingMap
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DynamicValueSupplyingMapBenchmark {
+
+  private static final int SIZE = 64;
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(DynamicValueSupplyingMapBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  @Param({ "false", "true" })
+  boolean memoized;
+
+  @Param({ "100", "10000" })
+  long supplierCost;
+
+  int key;
+
+  DynamicValueSupplyingMap<Integer, Integer> map;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    this.map = DynamicValueSupplyingMap.create();
+
+    for (int key = 0; key < SIZE; key++) {
+
+      int value = key;
+
+      Supplier<Integer> supplier = () -> {
+        Blackhole.consumeCPU(this.supplierCost);
+        return value;
+      };
+
+      if (this.memoized) {
+        this.map.putMemoized(key, supplier, Duration.ofMinutes(1), Duration.ofMinutes(10));
+      }
+      else {
+        this.map.put(key, supplier);
+      }
+    }
+  }
+
+  @Benchmark
+  public Integer get() {
+    this.key = (this.key + 1) & (SIZE - 1);
+    return this.map.get(this.key);
+  }
+
+  @Benchmark
+  public long sumEntrySetValues() {
+
+    long sum = 0L;
+
+    for (Map.Entry<Integer, Integer> entry : this.map.entrySet()) {
+      sum += entry.getValue();
+    }
+
+    return sum;
+  }
+}
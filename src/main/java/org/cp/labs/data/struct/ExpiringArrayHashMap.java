@@ -0,0 +1,737 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Java {@link Map} implementation in which entries expire a fixed {@link Duration} after they were written
+ * or last accessed, or after a {@link Duration time-to-live} given for an individual entry.
+ * <p>
+ * Entries are indexed by an {@link ArrayHashMap}. Each entry records its deadline and is linked into a bucket of
+ * a hierarchical timer wheel, which is organized in levels of buckets spanning about a second, a minute, an hour,
+ * a day and a week. As time advances, the buckets that have elapsed are emptied: due entries expire and the rest
+ * cascade into finer-grained buckets. Scheduling, rescheduling and expiring an entry is therefore O(1)
+ * amortized, and no operation ever scans the whole {@link Map}.
+ * <p>
+ * Expired entries are never returned. They are removed lazily when accessed, and in bulk by {@link #cleanUp(int)},
+ * which expires at most a given number of entries per call so that its cost is bounded. {@link #cleanUp(int)}
+ * also runs with a small budget on every write, and can be run periodically in the background with
+ * {@link #scheduleCleanUp(ScheduledExecutorService, Duration, int)}. Until they are cleaned up, expired entries
+ * are still counted by {@link #size()}.
+ * <p>
+ * All operations are {@literal synchronized} on the {@link ExpiringArrayHashMap}. As with
+ * {@link java.util.Collections#synchronizedMap(Map)}, iterating a view must be done while holding the monitor of
+ * the {@link ExpiringArrayHashMap}. Neither {@literal null} keys nor {@literal null} values are permitted.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.AbstractMap
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ExpiringArrayHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+
+  protected static final int WRITE_CLEAN_UP_BUDGET = 16;
+
+  // Number of buckets in, and bit shift giving the width of a bucket in nanoseconds for, each level of the wheel:
+  // ~1.07s, ~1.14m, ~1.22h, ~1.63d and ~6.52d.
+  private static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+  private static final int[] SHIFTS = { 30, 36, 42, 47, 49 };
+
+  /**
+   * Factory method used to construct a new {@link ExpiringArrayHashMap} in which entries expire
+   * the given {@link Duration} after they were last written.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param expireAfterWrite {@link Duration} after which a written entry expires; must be positive.
+   * @return a new {@link ExpiringArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link Duration} is {@literal null}, zero or negative.
+   */
+  public static <KEY, VALUE> ExpiringArrayHashMap<KEY, VALUE> expireAfterWrite(@NotNull Duration expireAfterWrite) {
+
+    Assert.notNull(expireAfterWrite, "Expire after write Duration is required");
+
+    return new ExpiringArrayHashMap<>(expireAfterWrite, null, System::nanoTime);
+  }
+
+  /**
+   * Factory method used to construct a new {@link ExpiringArrayHashMap} in which entries expire
+   * the given {@link Duration} after they were last written or read.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param expireAfterAccess {@link Duration} after which an idle entry expires; must be positive.
+   * @return a new {@link ExpiringArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link Duration} is {@literal null}, zero or negative.
+   */
+  public static <KEY, VALUE> ExpiringArrayHashMap<KEY, VALUE> expireAfterAccess(
+      @NotNull Duration expireAfterAccess) {
+
+    Assert.notNull(expireAfterAccess, "Expire after access Duration is required");
+
+    return new ExpiringArrayHashMap<>(null, expireAfterAccess, System::nanoTime);
+  }
+
+  private final long expireAfterAccessNanos;
+  private final long expireAfterWriteNanos;
+  private final long origin;
+
+  private long wheelTime;
+
+  private final ArrayHashMap<KEY, Node<KEY, VALUE>> index;
+
+  private ExpirationListener<? super KEY, ? super VALUE> expirationListener;
+
+  private final LongSupplier ticker;
+
+  private final NodeList<KEY, VALUE> pending;
+
+  private final NodeList<KEY, VALUE>[][] wheel;
+
+  /**
+   * Constructs a new {@link ExpiringArrayHashMap} initialized with the given expiration {@link Duration Durations}
+   * and {@link LongSupplier ticker}.
+   * <p>
+   * If neither {@link Duration} is given, entries only expire when {@link #put(Object, Object, Duration) put}
+   * with a {@link Duration time-to-live}.
+   *
+   * @param expireAfterWrite {@link Duration} after which a written entry expires; may be {@literal null}.
+   * @param expireAfterAccess {@link Duration} after which an idle entry expires; may be {@literal null}.
+   * @param ticker {@link LongSupplier} returning the current time in nanoseconds, such as {@link System#nanoTime()};
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if either {@link Duration} is zero or negative,
+   * or the {@link LongSupplier ticker} is {@literal null}.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public ExpiringArrayHashMap(@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess,
+      @NotNull LongSupplier ticker) {
+
+    this.expireAfterWriteNanos = toNanos(expireAfterWrite);
+    this.expireAfterAccessNanos = toNanos(expireAfterAccess);
+    this.ticker = ObjectUtils.requireObject(ticker, "Ticker is required");
+    this.origin = ticker.getAsLong();
+    this.index = new ArrayHashMap<>();
+    this.pending = new NodeList<>();
+    this.expirationListener = (key, value) -> {};
+    this.wheel = new NodeList[BUCKETS.length][];
+
+    for (int level = 0; level < BUCKETS.length; level++) {
+      this.wheel[level] = new NodeList[BUCKETS[level]];
+      for (int bucket = 0; bucket < BUCKETS[level]; bucket++) {
+        this.wheel[level][bucket] = new NodeList<>();
+      }
+    }
+  }
+
+  private static long toNanos(@Nullable Duration duration) {
+
+    if (duration == null) {
+      return Long.MAX_VALUE;
+    }
+
+    Assert.isTrue(!duration.isNegative() && !duration.isZero(), "Duration [%s] must be positive", duration);
+
+    return saturatedToNanos(duration);
+  }
+
+  private static long saturatedToNanos(@NotNull Duration duration) {
+
+    try {
+      return duration.toNanos();
+    }
+    catch (ArithmeticException ignore) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private static long saturatedAdd(long time, long duration) {
+
+    long deadline = time + duration;
+
+    return deadline < time ? Long.MAX_VALUE : deadline;
+  }
+
+  /**
+   * Configures the {@link ExpirationListener} notified of every entry that expires.
+   * <p>
+   * The {@link ExpirationListener} is invoked while holding the monitor of this {@link ExpiringArrayHashMap}
+   * and should return quickly.
+   *
+   * @param expirationListener {@link ExpirationListener} notified of expired entries; must not be {@literal null}.
+   * @return this {@link ExpiringArrayHashMap}.
+   * @throws IllegalArgumentException if the {@link ExpirationListener} is {@literal null}.
+   */
+  public synchronized @NotNull ExpiringArrayHashMap<KEY, VALUE> withExpirationListener(
+      @NotNull ExpirationListener<? super KEY, ? super VALUE> expirationListener) {
+
+    this.expirationListener = ObjectUtils.requireObject(expirationListener, "ExpirationListener is required");
+
+    return this;
+  }
+
+  /**
+   * Returns the current time in nanoseconds, relative to the construction of {@literal this} {@link Map}
+   * so that it is never negative.
+   */
+  private long now() {
+    return this.ticker.getAsLong() - this.origin;
+  }
+
+  private boolean isExpired(@NotNull Node<KEY, VALUE> node, long now) {
+    return node.deadline <= now;
+  }
+
+  private void schedule(@NotNull Node<KEY, VALUE> node) {
+
+    if (node.deadline != Long.MAX_VALUE) {
+
+      long duration = node.deadline - this.wheelTime;
+
+      int lastLevel = BUCKETS.length - 1;
+
+      for (int level = 0; level < lastLevel; level++) {
+        if (duration < (1L << SHIFTS[level + 1])) {
+          long ticks = node.deadline >>> SHIFTS[level];
+          this.wheel[level][(int) (ticks & (BUCKETS[level] - 1))].addLast(node);
+          return;
+        }
+      }
+
+      this.wheel[lastLevel][0].addLast(node);
+    }
+  }
+
+  private void reschedule(@NotNull Node<KEY, VALUE> node, long deadline) {
+
+    if (node.deadline != deadline) {
+
+      if (node.list != null && node.list != this.pending) {
+        node.list.remove(node);
+      }
+
+      node.deadline = deadline;
+
+      if (node.list == null) {
+        schedule(node);
+      }
+    }
+  }
+
+  private void expire(@NotNull Node<KEY, VALUE> node) {
+
+    unlink(node);
+    this.index.remove(node.getKey());
+    this.expirationListener.onExpiration(node.getKey(), node.getValue());
+  }
+
+  private void unlink(@NotNull Node<KEY, VALUE> node) {
+
+    if (node.list != null) {
+      node.list.remove(node);
+    }
+  }
+
+  /**
+   * Advances the timer wheel to the given time, emptying every bucket that has elapsed at each level.
+   * Due entries are moved to the {@link #pending} list and the others are rescheduled into finer-grained buckets.
+   */
+  private void advance(long now) {
+
+    long previousTime = this.wheelTime;
+
+    this.wheelTime = now;
+
+    for (int level = 0; level < BUCKETS.length; level++) {
+
+      long previousTicks = previousTime >>> SHIFTS[level];
+      long currentTicks = now >>> SHIFTS[level];
+      long delta = currentTicks - previousTicks;
+
+      if (delta <= 0L) {
+        break;
+      }
+
+      int mask = BUCKETS[level] - 1;
+      int start = (int) (previousTicks & mask);
+      int end = start + (int) Math.min(delta + 1L, BUCKETS[level]);
+
+      for (int bucket = start; bucket < end; bucket++) {
+
+        NodeList<KEY, VALUE> nodes = this.wheel[level][bucket & mask];
+
+        for (Node<KEY, VALUE> node = nodes.detach(); node != null; ) {
+
+          Node<KEY, VALUE> next = node.next;
+
+          node.next = null;
+          node.previous = null;
+          node.list = null;
+
+          if (isExpired(node, now)) {
+            this.pending.addLast(node);
+          }
+          else {
+            schedule(node);
+          }
+
+          node = next;
+        }
+      }
+    }
+  }
+
+  /**
+   * Expires up to the given {@link Integer number} of entries whose deadlines have passed.
+   * <p>
+   * The cost of a call is proportional to the number of entries expired and the number of timer wheel buckets
+   * that have elapsed since the previous call, never to the size of the {@link Map}. Due entries beyond the budget
+   * are expired by subsequent calls; in the meantime they are not visible.
+   *
+   * @param maximumExpirations {@link Integer} specifying the maximum number of entries to expire;
+   * must be greater than {@literal 0}.
+   * @return the {@link Integer number} of entries expired.
+   * @throws IllegalArgumentException if {@literal maximumExpirations} is less than equal to {@literal 0}.
+   */
+  public synchronized int cleanUp(int maximumExpirations) {
+
+    Assert.isTrue(maximumExpirations > 0, "Maximum expirations [%d] must be greater than 0", maximumExpirations);
+
+    long now = now();
+
+    if (now >>> SHIFTS[0] != this.wheelTime >>> SHIFTS[0]) {
+      advance(now);
+    }
+
+    int expirations = 0;
+
+    for (Node<KEY, VALUE> node = this.pending.first(); node != null && expirations < maximumExpirations;
+         node = this.pending.first()) {
+
+      expire(node);
+      expirations++;
+    }
+
+    return expirations;
+  }
+
+  /**
+   * Schedules {@link #cleanUp(int)} to run periodically on the given {@link ScheduledExecutorService}.
+   *
+   * @param executor {@link ScheduledExecutorService} used to run {@link #cleanUp(int)}; must not be {@literal null}.
+   * @param period {@link Duration} between runs; must be positive.
+   * @param maximumExpirations {@link Integer} specifying the maximum number of entries to expire per run;
+   * must be greater than {@literal 0}.
+   * @return the {@link ScheduledFuture} used to cancel the periodic clean up.
+   * @throws IllegalArgumentException if the {@link ScheduledExecutorService} is {@literal null},
+   * the {@link Duration period} is not positive, or {@literal maximumExpirations} is less than equal to {@literal 0}.
+   */
+  public @NotNull ScheduledFuture<?> scheduleCleanUp(@NotNull ScheduledExecutorService executor,
+      @NotNull Duration period, int maximumExpirations) {
+
+    Assert.notNull(executor, "ScheduledExecutorService is required");
+    Assert.isTrue(maximumExpirations > 0, "Maximum expirations [%d] must be greater than 0", maximumExpirations);
+
+    long periodNanos = toNanos(ObjectUtils.requireObject(period, "Period is required"));
+
+    return executor.scheduleWithFixedDelay(() -> cleanUp(maximumExpirations), periodNanos, periodNanos,
+      TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public synchronized void clear() {
+
+    this.index.clear();
+    this.pending.clear();
+
+    for (NodeList<KEY, VALUE>[] level : this.wheel) {
+      for (NodeList<KEY, VALUE> bucket : level) {
+        bucket.clear();
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean containsKey(@Nullable Object key) {
+
+    Node<KEY, VALUE> node = this.index.get(key);
+
+    return node != null && !isExpired(node, now());
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  public synchronized @Nullable VALUE get(@Nullable Object key) {
+
+    Node<KEY, VALUE> node = this.index.get(key);
+
+    if (node != null) {
+
+      long now = now();
+
+      if (isExpired(node, now)) {
+        expire(node);
+        return null;
+      }
+
+      if (this.expireAfterAccessNanos != Long.MAX_VALUE) {
+        reschedule(node, Math.min(node.writeDeadline, saturatedAdd(now, this.expireAfterAccessNanos)));
+      }
+
+      return node.getValue();
+    }
+
+    return null;
+  }
+
+  @Override
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+    return put(key, value, null);
+  }
+
+  /**
+   * Maps the given {@literal key} to the given {@literal value}, expiring the entry after the given
+   * {@link Duration time-to-live} instead of the configured expire after write {@link Duration}.
+   * <p>
+   * The configured expire after access {@link Duration} still applies.
+   *
+   * @param key {@literal key} to map; must not be {@literal null}.
+   * @param value {@literal value} to map; must not be {@literal null}.
+   * @param timeToLive {@link Duration} after which the entry expires; if {@literal null}, the configured
+   * expire after write {@link Duration} is used.
+   * @return the previous, unexpired {@literal value} mapped to the {@literal key}, or {@literal null} if none.
+   * @throws IllegalArgumentException if the {@literal key} or {@literal value} is {@literal null},
+   * or the {@link Duration time-to-live} is zero or negative.
+   */
+  public synchronized @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value, @Nullable Duration timeToLive) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(value, "Value is required");
+
+    long now = now();
+    long writeDeadline = saturatedAdd(now, timeToLive != null ? toNanos(timeToLive) : this.expireAfterWriteNanos);
+    long deadline = Math.min(writeDeadline, saturatedAdd(now, this.expireAfterAccessNanos));
+
+    Node<KEY, VALUE> node = this.index.get(key);
+
+    VALUE currentValue = null;
+
+    if (node != null && isExpired(node, now)) {
+      expire(node);
+      node = null;
+    }
+
+    if (node != null) {
+      currentValue = node.getValue();
+      node.value = value;
+      node.writeDeadline = writeDeadline;
+      reschedule(node, deadline);
+    }
+    else {
+      node = new Node<>(key, value, writeDeadline, deadline);
+      this.index.put(key, node);
+      schedule(node);
+    }
+
+    cleanUp(WRITE_CLEAN_UP_BUDGET);
+
+    return currentValue;
+  }
+
+  @Override
+  public synchronized @Nullable VALUE remove(@Nullable Object key) {
+
+    Node<KEY, VALUE> node = key != null ? this.index.remove(key) : null;
+
+    if (node != null) {
+      unlink(node);
+      return isExpired(node, now()) ? null : node.getValue();
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the number of entries in {@literal this} {@link Map}, which may include entries that have expired
+   * but have not yet been cleaned up.
+   *
+   * @return the number of entries in {@literal this} {@link Map}.
+   */
+  @Override
+  public synchronized int size() {
+    return this.index.size();
+  }
+
+  /**
+   * {@link Set} view of the unexpired entries in {@literal this} {@link ExpiringArrayHashMap}.
+   * <p>
+   * Iterating the view does not count as an access. The returned entries do not support
+   * {@link Map.Entry#setValue(Object)}; use {@link #put(Object, Object)} instead.
+   */
+  protected class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+
+      long now = now();
+
+      return new Iterator<>() {
+
+        private boolean advanced;
+        private boolean detached;
+
+        private Iterator<Node<KEY, VALUE>> nodes = ExpiringArrayHashMap.this.index.values().iterator();
+
+        private Node<KEY, VALUE> lastReturned;
+        private Node<KEY, VALUE> next;
+
+        @Override
+        public boolean hasNext() {
+
+          while (this.next == null && this.nodes.hasNext()) {
+
+            Node<KEY, VALUE> node = this.nodes.next();
+
+            this.advanced = true;
+
+            if (!isExpired(node, now)) {
+              this.next = node;
+            }
+          }
+
+          return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<KEY, VALUE> next() {
+
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more entries");
+          }
+
+          this.lastReturned = this.next;
+          this.next = null;
+          this.advanced = false;
+
+          return this.lastReturned;
+        }
+
+        @Override
+        public void remove() {
+
+          Assert.state(this.lastReturned != null, "next() must be called before remove()");
+
+          // Once hasNext() has looked past the last returned entry, the index Iterator can no longer remove it,
+          // so continue over a copy of the remaining nodes and remove the entry from the index by key.
+          if (this.advanced && !this.detached) {
+
+            List<Node<KEY, VALUE>> remaining = new ArrayList<>();
+
+            this.nodes.forEachRemaining(remaining::add);
+            this.nodes = remaining.iterator();
+            this.detached = true;
+          }
+
+          if (this.detached) {
+            if (ExpiringArrayHashMap.this.index.get(this.lastReturned.getKey()) == this.lastReturned) {
+              ExpiringArrayHashMap.this.index.remove(this.lastReturned.getKey());
+            }
+          }
+          else {
+            this.nodes.remove();
+          }
+
+          unlink(this.lastReturned);
+          this.lastReturned = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return ExpiringArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ExpiringArrayHashMap.this.clear();
+    }
+  }
+
+  /**
+   * Listener notified of every entry that expires from an {@link ExpiringArrayHashMap}.
+   */
+  @FunctionalInterface
+  public interface ExpirationListener<KEY, VALUE> {
+    void onExpiration(KEY key, VALUE value);
+  }
+
+  /**
+   * Entry in an {@link ExpiringArrayHashMap} linked into a bucket of the timer wheel.
+   */
+  protected static final class Node<KEY, VALUE> implements Map.Entry<KEY, VALUE> {
+
+    private long deadline;
+    private long writeDeadline;
+
+    private final KEY key;
+
+    private VALUE value;
+
+    private Node<KEY, VALUE> next;
+    private Node<KEY, VALUE> previous;
+
+    private NodeList<KEY, VALUE> list;
+
+    Node(@NotNull KEY key, @NotNull VALUE value, long writeDeadline, long deadline) {
+
+      this.key = key;
+      this.value = value;
+      this.writeDeadline = writeDeadline;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public @NotNull KEY getKey() {
+      return this.key;
+    }
+
+    @Override
+    public @NotNull VALUE getValue() {
+      return this.value;
+    }
+
+    @Override
+    public VALUE setValue(VALUE value) {
+      throw new UnsupportedOperationException("Use Map.put(key, value) to set the value of an entry");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof Map.Entry<?, ?> that)) {
+        return false;
+      }
+
+      return getKey().equals(that.getKey()) && getValue().equals(that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ getValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s=%s", getKey(), getValue());
+    }
+  }
+
+  /**
+   * Intrusive, doubly linked list of {@link Node Nodes} forming a bucket of the timer wheel.
+   */
+  protected static final class NodeList<KEY, VALUE> {
+
+    private Node<KEY, VALUE> head;
+    private Node<KEY, VALUE> tail;
+
+    @Nullable Node<KEY, VALUE> first() {
+      return this.head;
+    }
+
+    void addLast(@NotNull Node<KEY, VALUE> node) {
+
+      node.list = this;
+      node.previous = this.tail;
+      node.next = null;
+
+      if (this.tail == null) {
+        this.head = node;
+      }
+      else {
+        this.tail.next = node;
+      }
+
+      this.tail = node;
+    }
+
+    void remove(@NotNull Node<KEY, VALUE> node) {
+
+      if (node.previous == null) {
+        this.head = node.next;
+      }
+      else {
+        node.previous.next = node.next;
+      }
+
+      if (node.next == null) {
+        this.tail = node.previous;
+      }
+      else {
+        node.next.previous = node.previous;
+      }
+
+      node.list = null;
+      node.next = null;
+      node.previous = null;
+    }
+
+    /**
+     * Empties this list, returning the former head; the detached {@link Node Nodes} remain linked to each other.
+     */
+    @Nullable Node<KEY, VALUE> detach() {
+
+      Node<KEY, VALUE> head = this.head;
+
+      this.head = null;
+      this.tail = null;
+
+      return head;
+    }
+
+    void clear() {
+      detach();
+    }
+  }
+}
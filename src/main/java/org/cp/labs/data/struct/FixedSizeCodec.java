@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Codec used to encode and decode objects of a given {@link Class type} to and from a fixed number of bytes
+ * in a {@link ByteBuffer}.
+ * <p>
+ * All methods use absolute positions and must not change the {@link ByteBuffer#position() position}
+ * of the {@link ByteBuffer}.
+ *
+ * @author John Blum
+ * @param <T> {@link Class type} of object encoded and decoded by this codec.
+ * @see java.nio.ByteBuffer
+ * @see org.cp.labs.data.struct.OffHeapArrayHashMap
+ * @since 1.0.0
+ */
+public interface FixedSizeCodec<T> {
+
+  /**
+   * Returns a {@link FixedSizeCodec} for {@link Integer} values.
+   *
+   * @return a {@link FixedSizeCodec} for {@link Integer} values.
+   */
+  static @NotNull FixedSizeCodec<Integer> forInteger() {
+
+    return new FixedSizeCodec<>() {
+
+      @Override
+      public int size() {
+        return Integer.BYTES;
+      }
+
+      @Override
+      public void encode(@NotNull ByteBuffer buffer, int offset, @NotNull Integer value) {
+        buffer.putInt(offset, value);
+      }
+
+      @Override
+      public @NotNull Integer decode(@NotNull ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link FixedSizeCodec} for {@link Long} values.
+   *
+   * @return a {@link FixedSizeCodec} for {@link Long} values.
+   */
+  static @NotNull FixedSizeCodec<Long> forLong() {
+
+    return new FixedSizeCodec<>() {
+
+      @Override
+      public int size() {
+        return Long.BYTES;
+      }
+
+      @Override
+      public void encode(@NotNull ByteBuffer buffer, int offset, @NotNull Long value) {
+        buffer.putLong(offset, value);
+      }
+
+      @Override
+      public @NotNull Long decode(@NotNull ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+      }
+    };
+  }
+
+  /**
+   * Returns a {@link FixedSizeCodec} for {@link String Strings} encoded as {@literal UTF-8} into
+   * a fixed number of bytes, where the first two bytes hold the encoded length.
+   *
+   * @param maximumLength {@link Integer} specifying the maximum number of encoded {@literal UTF-8} bytes.
+   * @return a {@link FixedSizeCodec} for {@link String Strings}.
+   * @throws IllegalArgumentException if {@literal maximumLength} is less than {@literal 1}
+   * or greater than {@literal 65535}.
+   */
+  static @NotNull FixedSizeCodec<String> forString(int maximumLength) {
+
+    Assert.isTrue(maximumLength > 0 && maximumLength <= 0xFFFF,
+      "Maximum length [%d] must be greater than 0 and less than equal to 65535", maximumLength);
+
+    return new FixedSizeCodec<>() {
+
+      @Override
+      public int size() {
+        return Short.BYTES + maximumLength;
+      }
+
+      @Override
+      public void encode(@NotNull ByteBuffer buffer, int offset, @NotNull String value) {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        Assert.isTrue(bytes.length <= maximumLength, "String [%s] must encode to less than equal to [%d] bytes",
+          value, maximumLength);
+
+        buffer.putShort(offset, (short) bytes.length);
+
+        int index = offset + Short.BYTES;
+
+        for (byte element : bytes) {
+          buffer.put(index++, element);
+        }
+
+        // Clear the padding so that equal Strings always encode to equal bytes.
+        for (int end = offset + size(); index < end; index++) {
+          buffer.put(index, (byte) 0);
+        }
+      }
+
+      @Override
+      public @NotNull String decode(@NotNull ByteBuffer buffer, int offset) {
+
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+
+        for (int index = 0; index < bytes.length; index++) {
+          bytes[index] = buffer.get(offset + Short.BYTES + index);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    };
+  }
+
+  /**
+   * Returns the fixed number of bytes occupied by every encoded object.
+   *
+   * @return the fixed number of bytes occupied by every encoded object.
+   */
+  int size();
+
+  /**
+   * Encodes the given {@link T value} into exactly {@link #size()} bytes of the {@link ByteBuffer}
+   * beginning at the given {@link Integer offset}.
+   * <p>
+   * Equal values must encode to equal bytes.
+   *
+   * @param buffer {@link ByteBuffer} to write.
+   * @param offset {@link Integer} specifying the absolute position of the first byte to write.
+   * @param value {@link T value} to encode.
+   */
+  void encode(@NotNull ByteBuffer buffer, int offset, @NotNull T value);
+
+  /**
+   * Decodes a {@link T value} from the {@link #size()} bytes of the {@link ByteBuffer}
+   * beginning at the given {@link Integer offset}.
+   *
+   * @param buffer {@link ByteBuffer} to read.
+   * @param offset {@link Integer} specifying the absolute position of the first byte to read.
+   * @return the decoded {@link T value}.
+   */
+  @NotNull T decode(@NotNull ByteBuffer buffer, int offset);
+
+}
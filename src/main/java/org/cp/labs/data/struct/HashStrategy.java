@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.security.SecureRandom;
+
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Strategy interface used by hash table based {@link java.util.Map} implementations to compute the hash
+ * of a {@literal key} from which its bucket index is derived.
+ * <p>
+ * The {@link Unkeyed unkeyed} strategies are pure functions of {@link Object#hashCode()} and cost only a few
+ * arithmetic instructions, but {@literal keys} with equal or adversarially chosen hash codes always collide.
+ * A {@link #seeded() seeded} strategy mixes a random, per-instance seed into the hash and hashes the characters
+ * of {@link CharSequence} {@literal keys} directly, so an attacker who does not know the seed cannot construct
+ * a set of {@link String Strings} that collide, even when their {@link String#hashCode() hash codes} are equal.
+ * <p>
+ * A {@link java.util.Map} that detects an unusually long probe sequence can {@link #reseed() reseed} its strategy
+ * and rehash its entries to restore bounded lookup times.
+ *
+ * @author John Blum
+ * @see java.lang.Object#hashCode()
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@SuppressWarnings("unused")
+public interface HashStrategy {
+
+  /**
+   * Returns a {@link HashStrategy} using the {@link Object#hashCode() hash code} of the {@literal key} as is.
+   *
+   * @return a {@link HashStrategy} using the {@link Object#hashCode() hash code} of the {@literal key} as is.
+   */
+  static @NotNull HashStrategy identity() {
+    return Unkeyed.IDENTITY;
+  }
+
+  /**
+   * Returns a {@link HashStrategy} multiplying the {@link Object#hashCode() hash code} of the {@literal key} by the
+   * 32-bit golden ratio and folding the high half into the low half (Fibonacci hashing).
+   *
+   * @return a {@link HashStrategy} applying Fibonacci hashing to the {@link Object#hashCode() hash code}.
+   */
+  static @NotNull HashStrategy fibonacci() {
+    return Unkeyed.FIBONACCI;
+  }
+
+  /**
+   * Returns a {@link HashStrategy} applying the MurmurHash3 32-bit finalizer to the {@link Object#hashCode()
+   * hash code} of the {@literal key}, which avalanches every input bit into every output bit.
+   *
+   * @return a {@link HashStrategy} applying the MurmurHash3 finalizer to the {@link Object#hashCode() hash code}.
+   */
+  static @NotNull HashStrategy murmur3() {
+    return Unkeyed.MURMUR3;
+  }
+
+  /**
+   * Returns a new {@link Seeded seeded} {@link HashStrategy} using a seed from a {@link SecureRandom}.
+   *
+   * @return a new {@link Seeded seeded} {@link HashStrategy} using a random seed.
+   * @see #seeded(long)
+   */
+  static @NotNull HashStrategy seeded() {
+    return seeded(Seeded.RANDOM.nextLong());
+  }
+
+  /**
+   * Returns a {@link Seeded seeded} {@link HashStrategy} using the given {@link Long seed}.
+   *
+   * @param seed {@link Long} mixed into every hash.
+   * @return a {@link Seeded seeded} {@link HashStrategy} using the given {@link Long seed}.
+   * @see #seeded()
+   */
+  static @NotNull HashStrategy seeded(long seed) {
+    return new Seeded(seed);
+  }
+
+  /**
+   * Computes the hash of the given {@literal key}.
+   *
+   * @param key {@link Object} to hash; must not be {@literal null}.
+   * @return the hash of the given {@literal key}.
+   */
+  int hash(@NotNull Object key);
+
+  /**
+   * Returns a {@link HashStrategy} distributing {@literal keys} differently than {@literal this} strategy, used by
+   * a {@link java.util.Map} to recover from a long run of colliding {@literal keys}.
+   * <p>
+   * By default, returns {@literal this} strategy, signifying that the strategy cannot be reseeded.
+   *
+   * @return a {@link HashStrategy} distributing {@literal keys} differently, or {@literal this} strategy
+   * if it cannot be reseeded.
+   */
+  default @NotNull HashStrategy reseed() {
+    return this;
+  }
+
+  /**
+   * {@link HashStrategy Hash strategies} derived solely from the {@link Object#hashCode() hash code} of the
+   * {@literal key}. All of them {@link #reseed() reseed} to a new {@link Seeded seeded} strategy.
+   */
+  enum Unkeyed implements HashStrategy {
+
+    IDENTITY {
+
+      @Override
+      public int hash(@NotNull Object key) {
+        return key.hashCode();
+      }
+    },
+
+    FIBONACCI {
+
+      @Override
+      public int hash(@NotNull Object key) {
+        return ArrayHashMap.spread(key.hashCode());
+      }
+    },
+
+    MURMUR3 {
+
+      @Override
+      public int hash(@NotNull Object key) {
+
+        int hash = key.hashCode();
+
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+
+        return hash;
+      }
+    };
+
+    @Override
+    public @NotNull HashStrategy reseed() {
+      return seeded();
+    }
+  }
+
+  /**
+   * {@link HashStrategy} mixing a 64-bit seed into the hash of every {@literal key}.
+   * <p>
+   * The characters of {@link CharSequence} {@literal keys} are hashed directly, so the hash does not depend on
+   * {@link String#hashCode()}; this costs time proportional to the length of the {@literal key} on every lookup.
+   * All other {@literal keys} are hashed by applying the MurmurHash3 64-bit finalizer to their
+   * {@link Object#hashCode() hash code} combined with the seed, which still spreads regular sequences of hash codes,
+   * but cannot separate {@literal keys} with equal hash codes.
+   * <p>
+   * The hash is not a cryptographic message authentication code; it relies on the seed remaining unknown,
+   * which is why the seed is never exposed.
+   */
+  final class Seeded implements HashStrategy {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long seed;
+
+    private Seeded(long seed) {
+      this.seed = seed;
+    }
+
+    private static long mix(long hash) {
+
+      hash ^= hash >>> 33;
+      hash *= 0xFF51AFD7ED558CCDL;
+      hash ^= hash >>> 33;
+      hash *= 0xC4CEB9FE1A85EC53L;
+      hash ^= hash >>> 33;
+
+      return hash;
+    }
+
+    @Override
+    public int hash(@NotNull Object key) {
+
+      long hash;
+
+      if (key instanceof CharSequence charSequence) {
+
+        int length = charSequence.length();
+
+        hash = this.seed ^ (length * 0x9E3779B97F4A7C15L);
+
+        for (int index = 0; index < length; index++) {
+          hash = (hash ^ charSequence.charAt(index)) * 0xBF58476D1CE4E5B9L;
+          hash ^= hash >>> 29;
+        }
+      }
+      else {
+        hash = this.seed ^ key.hashCode();
+      }
+
+      hash = mix(hash);
+
+      return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public @NotNull HashStrategy reseed() {
+      return seeded();
+    }
+
+    @Override
+    public String toString() {
+      return "Seeded";
+    }
+  }
+}
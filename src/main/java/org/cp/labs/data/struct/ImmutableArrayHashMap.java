@@ -0,0 +1,460 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Immutable Java {@link Map} implementation backed by flat, parallel {@literal key}, {@literal value} and
+ * {@literal hash} arrays, built once from the entries of another {@link Map} and optimized for lookups.
+ * <p>
+ * The table is sized to the smallest power of two keeping the {@link Float load factor} at or below
+ * {@link #DEFAULT_LOAD_FACTOR} and filled using Robin Hood hashing, where an entry being inserted displaces
+ * any entry that is closer to its home bucket. This minimizes the variance of probe lengths, so that the longest
+ * probe sequence in the table is short. Lookups compare the stored hash before calling {@link Object#equals(Object)},
+ * stop as soon as they reach an entry closer to its home bucket than the {@literal key} being looked up would be,
+ * and never probe beyond the longest probe sequence in the table.
+ * <p>
+ * If the longest probe sequence is unexpectedly long for the capacity of the table, the table is rebuilt once
+ * with a {@link HashStrategy#reseed() reseeded} {@link HashStrategy}.
+ * <p>
+ * Since the {@link Map} never changes after it is built, it can be shared freely between threads without
+ * synchronization. All mutating operations throw {@link UnsupportedOperationException}.
+ * <p>
+ * Neither {@literal null} keys nor {@literal null} values are permitted.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.util.AbstractMap
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.CopyOnWriteArrayHashMap
+ * @see org.cp.labs.data.struct.HashStrategy
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public final class ImmutableArrayHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE>
+    implements MapStatistics.Source {
+
+  protected static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+  private static final ImmutableArrayHashMap<?, ?> EMPTY =
+    new ImmutableArrayHashMap<>(Map.of(), DEFAULT_LOAD_FACTOR, HashStrategy.fibonacci());
+
+  /**
+   * Returns an empty {@link ImmutableArrayHashMap}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @return an empty {@link ImmutableArrayHashMap}.
+   */
+  @SuppressWarnings("unchecked")
+  public static @NotNull <KEY, VALUE> ImmutableArrayHashMap<KEY, VALUE> empty() {
+    return (ImmutableArrayHashMap<KEY, VALUE>) EMPTY;
+  }
+
+  /**
+   * Factory method used to construct a new {@link ImmutableArrayHashMap} containing all entries
+   * of the given {@link Map}.
+   * <p>
+   * If the given {@link Map} is already an {@link ImmutableArrayHashMap}, it is returned as is.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param map {@link Map} containing the entries to copy; must not be {@literal null}.
+   * @return a new {@link ImmutableArrayHashMap} containing all entries of the given {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} is {@literal null} or contains {@literal null}
+   * {@literal keys} or {@literal values}.
+   * @see #copyOf(Map, float, HashStrategy)
+   */
+  @SuppressWarnings("unchecked")
+  public static @NotNull <KEY, VALUE> ImmutableArrayHashMap<KEY, VALUE> copyOf(
+      @NotNull Map<? extends KEY, ? extends VALUE> map) {
+
+    return map instanceof ImmutableArrayHashMap<?, ?> immutableMap
+      ? (ImmutableArrayHashMap<KEY, VALUE>) immutableMap
+      : copyOf(map, DEFAULT_LOAD_FACTOR, HashStrategy.fibonacci());
+  }
+
+  /**
+   * Factory method used to construct a new {@link ImmutableArrayHashMap} containing all entries
+   * of the given {@link Map}, filled to at most the given {@link Float load factor} and hashing {@literal keys}
+   * with the given {@link HashStrategy}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param map {@link Map} containing the entries to copy; must not be {@literal null}.
+   * @param loadFactor {@link Float} specifying the maximum ratio of entries to buckets.
+   * @param hashStrategy {@link HashStrategy} used to hash {@literal keys}; must not be {@literal null}.
+   * @return a new {@link ImmutableArrayHashMap} containing all entries of the given {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} or {@link HashStrategy} is {@literal null},
+   * the {@link Map} contains {@literal null} {@literal keys} or {@literal values}, or the {@link Float load factor}
+   * is less than equal to {@literal 0.0} or greater than equal to {@literal 1.0}.
+   */
+  public static @NotNull <KEY, VALUE> ImmutableArrayHashMap<KEY, VALUE> copyOf(
+      @NotNull Map<? extends KEY, ? extends VALUE> map, float loadFactor, @NotNull HashStrategy hashStrategy) {
+
+    return new ImmutableArrayHashMap<>(map, loadFactor, hashStrategy);
+  }
+
+  private final HashStrategy hashStrategy;
+
+  private final int mask;
+  private final int maximumProbeLength;
+  private final int size;
+
+  private final int[] hashes;
+
+  private final Object[] keys;
+  private final Object[] values;
+
+  private EntrySet entrySet;
+
+  private ImmutableArrayHashMap(@NotNull Map<? extends KEY, ? extends VALUE> map, float loadFactor,
+      @NotNull HashStrategy hashStrategy) {
+
+    Assert.notNull(map, "Map is required");
+    Assert.isTrue(loadFactor > 0.0f && loadFactor < 1.0f,
+      "Load factor [%s] must be greater than 0.0 and less than 1.0", loadFactor);
+
+    hashStrategy = ObjectUtils.requireObject(hashStrategy, "HashStrategy is required");
+
+    int size = map.size();
+    int capacity = ArrayHashMap.tableSizeFor(Math.max((int) Math.ceil(size / (double) loadFactor), size + 1));
+
+    Table table = new Table(capacity, hashStrategy).fill(map);
+
+    // A probe sequence this long is vanishingly unlikely with well distributed keys; try once to break it up.
+    if (table.maximumProbeLength > probeLengthLimit(capacity)) {
+
+      HashStrategy reseededHashStrategy = hashStrategy.reseed();
+
+      if (reseededHashStrategy != hashStrategy) {
+        table = new Table(capacity, reseededHashStrategy).fill(map);
+      }
+    }
+
+    this.hashStrategy = table.hashStrategy;
+    this.hashes = table.hashes;
+    this.keys = table.keys;
+    this.values = table.values;
+    this.mask = capacity - 1;
+    this.maximumProbeLength = table.maximumProbeLength;
+    this.size = size;
+  }
+
+  private static int probeLengthLimit(int capacity) {
+    return ArrayHashMap.PROBE_LENGTH_LIMIT_FACTOR * Math.max(Integer.numberOfTrailingZeros(capacity), 1);
+  }
+
+  private int indexOf(@Nullable Object key) {
+
+    if (key != null) {
+
+      int[] hashes = this.hashes;
+      Object[] keys = this.keys;
+
+      int mask = this.mask;
+      int hash = this.hashStrategy.hash(key);
+      int index = hash & mask;
+
+      for (int distance = 0; distance < this.maximumProbeLength; distance++, index = (index + 1) & mask) {
+
+        Object slotKey = keys[index];
+
+        if (slotKey == null) {
+          return -1;
+        }
+
+        int slotHash = hashes[index];
+
+        if (slotHash == hash && (slotKey == key || slotKey.equals(key))) {
+          return index;
+        }
+
+        // Robin Hood invariant: had the key been present, it would have displaced this closer entry.
+        if (((index - slotHash) & mask) < distance) {
+          return -1;
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Gets the {@link Integer number of buckets} in the table.
+   *
+   * @return the {@link Integer number of buckets} in the table; always a power of two.
+   */
+  int getCapacity() {
+    return this.keys.length;
+  }
+
+  /**
+   * Gets the longest probe sequence of any {@literal key} in the table, which bounds the number of slots examined
+   * by every lookup.
+   *
+   * @return the longest probe sequence of any {@literal key} in the table.
+   */
+  int getMaximumProbeLength() {
+    return this.maximumProbeLength;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return indexOf(key) > -1;
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+
+    if (value != null) {
+      for (Object slotValue : this.values) {
+        if (slotValue != null && (slotValue == value || slotValue.equals(value))) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE get(@Nullable Object key) {
+
+    int index = indexOf(key);
+
+    return index > -1 ? (VALUE) this.values[index] : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE getOrDefault(@Nullable Object key, @Nullable VALUE defaultValue) {
+
+    int index = indexOf(key);
+
+    return index > -1 ? (VALUE) this.values[index] : defaultValue;
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+
+    EntrySet entrySet = this.entrySet;
+
+    return entrySet != null ? entrySet : (this.entrySet = new EntrySet());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(@NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] != null) {
+        action.accept((KEY) keys[index], (VALUE) values[index]);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public @NotNull MapStatistics computeStatistics() {
+
+    int capacity = getCapacity();
+    int rowSize = Math.max(capacity / ArrayHashMap.STATISTICS_ROW_COUNT, 1);
+    int entryIndex = 0;
+
+    int[] probeLengths = new int[this.size];
+    int[] rowFill = new int[capacity / rowSize];
+
+    for (int index = 0; index < capacity; index++) {
+      if (this.keys[index] != null) {
+        probeLengths[entryIndex++] = ((index - this.hashes[index]) & this.mask) + 1;
+        rowFill[index / rowSize]++;
+      }
+    }
+
+    return MapStatistics.from(capacity, entryIndex, probeLengths, rowFill, 0L);
+  }
+
+  /**
+   * Table under construction, filled by Robin Hood insertion.
+   */
+  private static final class Table {
+
+    private final HashStrategy hashStrategy;
+
+    private final int mask;
+
+    private final int[] hashes;
+
+    private final Object[] keys;
+    private final Object[] values;
+
+    private int maximumProbeLength;
+
+    private Table(int capacity, @NotNull HashStrategy hashStrategy) {
+
+      this.hashStrategy = hashStrategy;
+      this.mask = capacity - 1;
+      this.hashes = new int[capacity];
+      this.keys = new Object[capacity];
+      this.values = new Object[capacity];
+    }
+
+    private @NotNull Table fill(@NotNull Map<?, ?> map) {
+      map.forEach(this::insert);
+      return this;
+    }
+
+    private void insert(Object key, Object value) {
+
+      Assert.notNull(key, "Key is required");
+      Assert.notNull(value, "Value is required");
+
+      int hash = this.hashStrategy.hash(key);
+      int index = hash & this.mask;
+
+      for (int distance = 0; ; distance++, index = (index + 1) & this.mask) {
+
+        Object slotKey = this.keys[index];
+
+        if (slotKey == null) {
+          place(index, hash, key, value, distance);
+          return;
+        }
+
+        int slotHash = this.hashes[index];
+
+        Assert.isFalse(slotHash == hash && slotKey.equals(key), "Duplicate key [%s]", key);
+
+        int slotDistance = (index - slotHash) & this.mask;
+
+        // Take the slot from the entry that is closer to its home bucket and continue inserting that entry instead.
+        if (slotDistance < distance) {
+
+          Object slotValue = this.values[index];
+
+          place(index, hash, key, value, distance);
+
+          hash = slotHash;
+          key = slotKey;
+          value = slotValue;
+          distance = slotDistance;
+        }
+      }
+    }
+
+    private void place(int index, int hash, Object key, Object value, int distance) {
+
+      this.hashes[index] = hash;
+      this.keys[index] = key;
+      this.values[index] = value;
+      this.maximumProbeLength = Math.max(this.maximumProbeLength, distance + 1);
+    }
+  }
+
+  /**
+   * Immutable {@link Set} view of the entries in {@literal this} {@link ImmutableArrayHashMap}.
+   */
+  private final class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+
+      return new Iterator<>() {
+
+        private int index = advance(0);
+
+        private int advance(int index) {
+
+          Object[] keys = ImmutableArrayHashMap.this.keys;
+
+          while (index < keys.length && keys[index] == null) {
+            index++;
+          }
+
+          return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return this.index < ImmutableArrayHashMap.this.keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<KEY, VALUE> next() {
+
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more entries");
+          }
+
+          int index = this.index;
+
+          this.index = advance(index + 1);
+
+          return new AbstractMap.SimpleImmutableEntry<>((KEY) ImmutableArrayHashMap.this.keys[index],
+            (VALUE) ImmutableArrayHashMap.this.values[index]);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return ImmutableArrayHashMap.this.size;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object obj) {
+
+      if (obj instanceof Map.Entry<?, ?> entry) {
+
+        VALUE value = get(entry.getKey());
+
+        return value != null && value.equals(entry.getValue());
+      }
+
+      return false;
+    }
+  }
+}
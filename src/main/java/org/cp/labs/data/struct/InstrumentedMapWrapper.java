@@ -0,0 +1,558 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link MapWrapper} recording Micrometer metrics for the lookups, writes and bulk operations
+ * on the wrapped {@link Map}.
+ * <p>
+ * The following meters are registered, each prefixed with the configured {@link String name}:
+ * <ul>
+ *   <li>{@literal latency} - timer with a percentile histogram of the latency of {@link #get(Object)},
+ *   {@link #put(Object, Object)} and {@link #remove(Object)}, tagged {@literal operation=get},
+ *   {@literal operation=put} or {@literal operation=remove}</li>
+ *   <li>{@literal gets} - counter of the estimated number of {@link #get(Object)}
+ *   and {@link #getOrDefault(Object, Object)} calls, tagged {@literal result=hit} or {@literal result=miss}</li>
+ *   <li>{@literal hit.ratio} - ratio of those calls that found a {@literal value}</li>
+ *   <li>{@literal size} - number of entries</li>
+ *   <li>{@literal entries.visited} - counter of the number of entries visited by the {@link #entrySet()},
+ *   {@link #keySet()} and {@link #values()} views and by {@link #forEach(BiConsumer)}
+ *   and {@link #replaceAll(BiFunction)}, added to the counter once per traversal rather than per entry</li>
+ * </ul>
+ * <p>
+ * Reading the clock, and even updating a shared counter, costs more than most {@link Map} operations, so only
+ * a {@link #withSamplingRate(double) sample} of the calls is measured, chosen at random per call. The count of
+ * the {@literal latency} timer is the number of sampled calls, while every sampled {@link #get(Object)} adds
+ * the length of the sampling interval to the hit or miss counter, so the counters are unbiased estimates
+ * of the number of calls, and exact at a sampling rate of {@literal 1.0}. Calls that are not sampled only cost
+ * drawing a random number. {@link #containsKey(Object)} is not counted as a lookup.
+ * <p>
+ * The overhead is not yet below a few nanoseconds per call. Measured with {@link InstrumentedMapWrapperBenchmark}
+ * on a single CPU, a sampled call costs about 250 ns, mostly the two clock reads and the percentile histogram,
+ * and a {@link java.util.HashMap} {@link #get(Object)} of about 5 ns takes about 10 ns at the default sampling rate
+ * of {@literal 1/1024} and about 17 ns at {@literal 1/64}.
+ * <p>
+ * Meters are identified by their name and tags, so {@link InstrumentedMapWrapper InstrumentedMapWrappers}
+ * registered with the same {@link String name} and {@link Tag tags} share, and add to, the same timers
+ * and counters. The {@literal size} gauge, however, only reports the size of the first {@link Map} registered
+ * under that name; give each {@link Map} its own name or tags to observe the size of each.
+ * <p>
+ * {@link InstrumentedMapWrapper} is thread-safe if the wrapped {@link Map} is thread-safe.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see io.micrometer.core.instrument.MeterRegistry
+ * @see org.cp.labs.data.struct.MapWrapper
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class InstrumentedMapWrapper<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
+
+  protected static final double DEFAULT_SAMPLING_RATE = 1.0d / 1024.0d;
+
+  protected static final int MAXIMUM_SAMPLING_INTERVAL = 1 << 30;
+
+  // Number of entries an Iterator or Spliterator of a view visits between updates of the shared counter.
+  protected static final int VISITED_COUNT_INTERVAL = 1024;
+
+  private final Counter entriesVisited;
+  private final Counter hits;
+  private final Counter misses;
+
+  private volatile int samplingMask;
+
+  private final Timer getTimer;
+  private final Timer putTimer;
+  private final Timer removeTimer;
+
+  /**
+   * Constructs a new {@link InstrumentedMapWrapper} wrapping the given {@link Map} and registering its meters,
+   * prefixed by the given {@link String name}, with the given {@link MeterRegistry}.
+   *
+   * @param map {@link Map} to wrap and instrument; must not be {@literal null}.
+   * @param registry {@link MeterRegistry} with which the meters are registered; must not be {@literal null}.
+   * @param name {@link String} used as the prefix of all meter names; must not be {@literal null} or empty.
+   * @param tags {@link Iterable} of {@link Tag Tags} added to all meters; must not be {@literal null}.
+   * @throws IllegalArgumentException if any argument is {@literal null}, or the {@link String name} is empty.
+   * @see MapWrapper#instrumented(Map, MeterRegistry, String, Tag...)
+   */
+  public InstrumentedMapWrapper(@NotNull Map<KEY, VALUE> map, @NotNull MeterRegistry registry,
+      @NotNull String name, @NotNull Iterable<Tag> tags) {
+
+    super(map);
+
+    Assert.notNull(registry, "MeterRegistry is required");
+    Assert.hasText(name, "Name [%s] is required", name);
+    Assert.notNull(tags, "Tags are required");
+
+    this.getTimer = timer(registry, name, tags, "get");
+    this.putTimer = timer(registry, name, tags, "put");
+    this.removeTimer = timer(registry, name, tags, "remove");
+
+    this.hits = getCounter(registry, name, tags, "hit");
+    this.misses = getCounter(registry, name, tags, "miss");
+
+    this.entriesVisited = Counter.builder(name + ".entries.visited")
+      .description("Number of entries visited by bulk operations and views")
+      .tags(tags)
+      .register(registry);
+
+    Counter hits = this.hits;
+    Counter misses = this.misses;
+
+    // Computed from the shared counters, so the ratio covers every Map registered with the same name and tags.
+    Gauge.builder(name + ".hit.ratio", () -> hitRatio(hits, misses))
+      .description("Ratio of get calls that returned a value")
+      .tags(tags)
+      .register(registry);
+
+    Gauge.builder(name + ".size", this, InstrumentedMapWrapper::size)
+      .description("Number of entries")
+      .tags(tags)
+      .register(registry);
+
+    withSamplingRate(DEFAULT_SAMPLING_RATE);
+  }
+
+  private static @NotNull Timer timer(@NotNull MeterRegistry registry, @NotNull String name,
+      @NotNull Iterable<Tag> tags, @NotNull String operation) {
+
+    return Timer.builder(name + ".latency")
+      .description("Latency of sampled Map operations")
+      .tags(Tags.of("operation", operation).and(tags))
+      .publishPercentileHistogram()
+      .register(registry);
+  }
+
+  private static @NotNull Counter getCounter(@NotNull MeterRegistry registry, @NotNull String name,
+      @NotNull Iterable<Tag> tags, @NotNull String result) {
+
+    return Counter.builder(name + ".gets")
+      .description("Number of get calls")
+      .tags(Tags.of("result", result).and(tags))
+      .register(registry);
+  }
+
+  private static double hitRatio(@NotNull Counter hits, @NotNull Counter misses) {
+
+    double hitCount = hits.count();
+    double total = hitCount + misses.count();
+
+    return total > 0.0d ? hitCount / total : 0.0d;
+  }
+
+  /**
+   * Sets the fraction of {@link #get(Object)}, {@link #put(Object, Object)} and {@link #remove(Object)} calls
+   * that are timed.
+   * <p>
+   * The rate is rounded up to the nearest rate of one in a power of two calls, so that sampling a call only
+   * costs drawing a random number.
+   *
+   * @param samplingRate {@link Double fraction} of calls that are timed; must be greater than {@literal 0.0}
+   * and less than equal to {@literal 1.0}.
+   * @return {@literal this} {@link InstrumentedMapWrapper}.
+   * @throws IllegalArgumentException if the {@literal samplingRate} is not greater than {@literal 0.0}
+   * and less than equal to {@literal 1.0}.
+   */
+  public @NotNull InstrumentedMapWrapper<KEY, VALUE> withSamplingRate(double samplingRate) {
+
+    Assert.isTrue(samplingRate > 0.0d && samplingRate <= 1.0d,
+      "Sampling rate [%s] must be greater than 0.0 and less than equal to 1.0", samplingRate);
+
+    int samplingInterval = Integer.highestOneBit((int) Math.min(1.0d / samplingRate, MAXIMUM_SAMPLING_INTERVAL));
+
+    this.samplingMask = samplingInterval - 1;
+
+    return this;
+  }
+
+  /**
+   * Gets the {@link Double fraction} of calls that are timed.
+   *
+   * @return the {@link Double fraction} of calls that are timed.
+   * @see #withSamplingRate(double)
+   */
+  public double getSamplingRate() {
+    return 1.0d / (this.samplingMask + 1L);
+  }
+
+  /**
+   * Gets the {@link Double ratio} of {@link #get(Object)} and {@link #getOrDefault(Object, Object)} calls that found
+   * a {@literal value}, or {@literal 0.0} if neither has been called.
+   * <p>
+   * The ratio is computed from the {@literal gets} counters, and so includes the calls on every
+   * {@link InstrumentedMapWrapper} registered with the same name and tags.
+   *
+   * @return the {@link Double ratio} of lookups that found a {@literal value}.
+   */
+  public double getHitRatio() {
+    return hitRatio(this.hits, this.misses);
+  }
+
+  private boolean isSampled() {
+    return (ThreadLocalRandom.current().nextInt() & this.samplingMask) == 0;
+  }
+
+  @Override
+  public @Nullable VALUE get(Object key) {
+
+    int samplingMask = this.samplingMask;
+
+    return (ThreadLocalRandom.current().nextInt() & samplingMask) == 0
+      ? sampledGet(key, samplingMask + 1L)
+      : super.get(key);
+  }
+
+  // Kept out of the frequently called methods so that they remain small enough to be inlined.
+  private @Nullable VALUE sampledGet(Object key, long samplingInterval) {
+
+    long startTime = System.nanoTime();
+
+    VALUE value = super.get(key);
+
+    this.getTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+    // Each sampled call stands in for every call in its sampling interval.
+    (value != null ? this.hits : this.misses).increment(samplingInterval);
+
+    return value;
+  }
+
+  @Override
+  public VALUE getOrDefault(Object key, VALUE defaultValue) {
+
+    VALUE value = get(key);
+
+    return value != null || super.containsKey(key) ? value : defaultValue;
+  }
+
+  @Override
+  public @Nullable VALUE put(KEY key, VALUE value) {
+    return isSampled() ? sampledPut(key, value) : super.put(key, value);
+  }
+
+  private @Nullable VALUE sampledPut(KEY key, VALUE value) {
+
+    long startTime = System.nanoTime();
+
+    VALUE currentValue = super.put(key, value);
+
+    this.putTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+    return currentValue;
+  }
+
+  @Override
+  public @Nullable VALUE remove(Object key) {
+    return isSampled() ? sampledRemove(key) : super.remove(key);
+  }
+
+  private @Nullable VALUE sampledRemove(Object key) {
+
+    long startTime = System.nanoTime();
+
+    VALUE value = super.remove(key);
+
+    this.removeTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+    return value;
+  }
+
+  @Override
+  public void forEach(@NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    long[] count = { 0L };
+
+    try {
+      super.forEach((key, value) -> {
+        count[0]++;
+        action.accept(key, value);
+      });
+    }
+    finally {
+      this.entriesVisited.increment(count[0]);
+    }
+  }
+
+  @Override
+  public void replaceAll(@NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> function) {
+
+    Assert.notNull(function, "Function is required");
+
+    long[] count = { 0L };
+
+    try {
+      super.replaceAll((key, value) -> {
+        count[0]++;
+        return function.apply(key, value);
+      });
+    }
+    finally {
+      this.entriesVisited.increment(count[0]);
+    }
+  }
+
+  @Override
+  public @NotNull Set<Entry<KEY, VALUE>> entrySet() {
+    return new CountingSet<>(super.entrySet(), this.entriesVisited);
+  }
+
+  @Override
+  public @NotNull Set<KEY> keySet() {
+    return new CountingSet<>(super.keySet(), this.entriesVisited);
+  }
+
+  @Override
+  public @NotNull Collection<VALUE> values() {
+    return new CountingCollection<>(super.values(), this.entriesVisited);
+  }
+
+  /**
+   * {@link Collection} view counting every element visited by its {@link Iterator} and {@link Spliterator}.
+   */
+  protected static class CountingCollection<E> extends AbstractCollection<E> {
+
+    private final Collection<E> collection;
+
+    private final Counter counter;
+
+    protected CountingCollection(@NotNull Collection<E> collection, @NotNull Counter counter) {
+      this.collection = ObjectUtils.requireObject(collection, "Collection is required");
+      this.counter = ObjectUtils.requireObject(counter, "Counter is required");
+    }
+
+    @Override
+    public void clear() {
+      this.collection.clear();
+    }
+
+    @Override
+    public boolean contains(Object element) {
+      return this.collection.contains(element);
+    }
+
+    @Override
+    public @NotNull Iterator<E> iterator() {
+      return new CountingIterator<>(this.collection.iterator(), this.counter);
+    }
+
+    @Override
+    public boolean remove(Object element) {
+      return this.collection.remove(element);
+    }
+
+    @Override
+    public int size() {
+      return this.collection.size();
+    }
+
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+      return new CountingSpliterator<>(this.collection.spliterator(), this.counter);
+    }
+  }
+
+  /**
+   * {@link Set} view counting every element visited by its {@link Iterator} and {@link Spliterator}.
+   */
+  protected static class CountingSet<E> extends AbstractSet<E> {
+
+    private final CountingCollection<E> collection;
+
+    protected CountingSet(@NotNull Set<E> set, @NotNull Counter counter) {
+      this.collection = new CountingCollection<>(set, counter);
+    }
+
+    @Override
+    public void clear() {
+      this.collection.clear();
+    }
+
+    @Override
+    public boolean contains(Object element) {
+      return this.collection.contains(element);
+    }
+
+    @Override
+    public @NotNull Iterator<E> iterator() {
+      return this.collection.iterator();
+    }
+
+    @Override
+    public boolean remove(Object element) {
+      return this.collection.remove(element);
+    }
+
+    @Override
+    public int size() {
+      return this.collection.size();
+    }
+
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+      return this.collection.spliterator();
+    }
+  }
+
+  /**
+   * {@link Iterator} counting every element it returns.
+   * <p>
+   * Elements are counted locally and added to the shared {@link Counter} once the {@link Iterator} is exhausted,
+   * and every {@link #VISITED_COUNT_INTERVAL} elements, so up to that many elements of an abandoned iteration
+   * are not counted.
+   */
+  protected static class CountingIterator<E> implements Iterator<E> {
+
+    private int count;
+
+    private final Iterator<E> iterator;
+
+    private final Counter counter;
+
+    protected CountingIterator(@NotNull Iterator<E> iterator, @NotNull Counter counter) {
+      this.iterator = iterator;
+      this.counter = counter;
+    }
+
+    private void addCount() {
+      this.counter.increment(this.count);
+      this.count = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      boolean hasNext = this.iterator.hasNext();
+
+      if (!hasNext && this.count > 0) {
+        addCount();
+      }
+
+      return hasNext;
+    }
+
+    @Override
+    public E next() {
+
+      E element = this.iterator.next();
+
+      if (++this.count == VISITED_COUNT_INTERVAL) {
+        addCount();
+      }
+
+      return element;
+    }
+
+    @Override
+    public void remove() {
+      this.iterator.remove();
+    }
+  }
+
+  /**
+   * {@link Spliterator} counting every element it visits, which preserves the splitting of the wrapped
+   * {@link Spliterator} for parallel streams.
+   * <p>
+   * As with the {@link CountingIterator}, elements are counted locally and added to the shared {@link Counter}
+   * at the end of the traversal, and every {@link #VISITED_COUNT_INTERVAL} elements.
+   */
+  protected static class CountingSpliterator<E> implements Spliterator<E> {
+
+    private int count;
+
+    private final Counter counter;
+
+    private final Spliterator<E> spliterator;
+
+    protected CountingSpliterator(@NotNull Spliterator<E> spliterator, @NotNull Counter counter) {
+      this.spliterator = spliterator;
+      this.counter = counter;
+    }
+
+    @Override
+    public int characteristics() {
+      return this.spliterator.characteristics();
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.spliterator.estimateSize();
+    }
+
+    @Override
+    public void forEachRemaining(@NotNull Consumer<? super E> action) {
+
+      long[] count = { 0L };
+
+      this.spliterator.forEachRemaining(element -> {
+        count[0]++;
+        action.accept(element);
+      });
+
+      this.counter.increment(this.count + count[0]);
+      this.count = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super E> action) {
+
+      boolean advanced = this.spliterator.tryAdvance(action);
+
+      if (advanced ? ++this.count == VISITED_COUNT_INTERVAL : this.count > 0) {
+        this.counter.increment(this.count);
+        this.count = 0;
+      }
+
+      return advanced;
+    }
+
+    @Override
+    public @Nullable Spliterator<E> trySplit() {
+
+      Spliterator<E> prefix = this.spliterator.trySplit();
+
+      return prefix != null ? new CountingSpliterator<>(prefix, this.counter) : null;
+    }
+  }
+}
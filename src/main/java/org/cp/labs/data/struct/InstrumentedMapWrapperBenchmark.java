@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Java Benchmark measuring the overhead {@link InstrumentedMapWrapper} adds to {@link Map#get(Object)}
+ * at different {@link InstrumentedMapWrapper#withSamplingRate(double) sampling rates}, compared to
+ * the {@link HashMap} it wraps.
+ * <p>
+ * A {@link #samplingRate} of {@literal 0} benchmarks the {@link HashMap} without instrumentation.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.InstrumentedMapWrapper
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InstrumentedMapWrapperBenchmark {
+
+  private static final int SIZE = 1 << 16;
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(InstrumentedMapWrapperBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  @Param({ "0", "0.0009765625", "0.015625", "1" })
+  double samplingRate;
+
+  int key;
+
+  Map<Integer, Integer> map;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    Map<Integer, Integer> hashMap = new HashMap<>(SIZE * 2);
+
+    for (int key = 0; key < SIZE; key++) {
+      hashMap.put(key, key);
+    }
+
+    this.map = this.samplingRate > 0.0d
+      ? MapWrapper.instrumented(hashMap, new SimpleMeterRegistry(), "benchmark").withSamplingRate(this.samplingRate)
+      : hashMap;
+  }
+
+  @Benchmark
+  public Integer get() {
+    this.key = (this.key + 1) & (SIZE * 2 - 1);
+    return this.map.get(this.key);
+  }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.cp.elements.lang.LangExtensions.assertThat;
+
+import java.util.Arrays;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Primitive {@literal int} to {@literal int} hash map using the same open-addressing, linear probing
+ * and backward-shift deletion design as {@link ArrayHashMap}, but storing {@literal keys} and {@literal values}
+ * in {@literal int} arrays so that no operation boxes.
+ * <p>
+ * A {@literal key} of {@literal 0} marks an empty slot and is therefore stored outside the table.
+ * Methods that return a previous value return {@literal 0} when there was no mapping.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class IntIntArrayHashMap {
+
+  private static final int FREE_KEY = 0;
+
+  private boolean containsFreeKey;
+
+  private int freeKeyValue;
+  private int mask;
+  private int resizeThreshold;
+  private int size;
+
+  private final float loadFactor;
+
+  private int[] keys;
+  private int[] values;
+
+  /**
+   * Constructs a new {@link IntIntArrayHashMap} with a default {@link Integer initial capacity}
+   * and {@link Float load factor}.
+   */
+  public IntIntArrayHashMap() {
+    this(ArrayHashMap.DEFAULT_INITIAL_CAPACITY, ArrayHashMap.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link IntIntArrayHashMap} with the given {@link Integer initial capacity}
+   * and default {@link Float load factor}.
+   *
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is less than equal to {@literal 0}.
+   */
+  public IntIntArrayHashMap(int initialCapacity) {
+    this(initialCapacity, ArrayHashMap.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link IntIntArrayHashMap} with the given {@link Integer initial capacity}
+   * and {@link Float load factor}.
+   *
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
+   * before the {@literal map} must be resized.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is less than equal to {@literal 0}
+   * or the {@link Float load factor} is less than equal to {@literal 0.0} or greater than {@literal 1.0}.
+   */
+  public IntIntArrayHashMap(int initialCapacity, float loadFactor) {
+
+    assertThat(initialCapacity)
+      .describedAs("Initial capacity [%d] must be greater than 0", initialCapacity)
+      .isGreaterThan(0);
+
+    assertThat(loadFactor)
+      .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+      .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
+
+    this.loadFactor = loadFactor;
+
+    allocateTable(ArrayHashMap.tableSizeFor(initialCapacity));
+  }
+
+  private void allocateTable(int capacity) {
+
+    this.keys = new int[capacity];
+    this.values = new int[capacity];
+    this.mask = capacity - 1;
+    this.resizeThreshold = Math.min((int) (capacity * this.loadFactor), capacity - 1);
+  }
+
+  private int computeIndex(int key) {
+    return ArrayHashMap.spread(key) & this.mask;
+  }
+
+  private int indexOf(int key) {
+
+    int[] keys = this.keys;
+
+    for (int index = computeIndex(key); ; index = (index + 1) & this.mask) {
+
+      int slotKey = keys[index];
+
+      if (slotKey == FREE_KEY) {
+        return -1;
+      }
+      else if (slotKey == key) {
+        return index;
+      }
+    }
+  }
+
+  private void resize() {
+
+    int[] currentKeys = this.keys;
+    int[] currentValues = this.values;
+
+    Assert.state(currentKeys.length < ArrayHashMap.MAXIMUM_CAPACITY,
+      "Map cannot grow beyond [%d] buckets", ArrayHashMap.MAXIMUM_CAPACITY);
+
+    allocateTable(currentKeys.length << 1);
+
+    for (int currentIndex = 0; currentIndex < currentKeys.length; currentIndex++) {
+
+      int key = currentKeys[currentIndex];
+
+      if (key != FREE_KEY) {
+
+        int index = computeIndex(key);
+
+        while (this.keys[index] != FREE_KEY) {
+          index = (index + 1) & this.mask;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = currentValues[currentIndex];
+      }
+    }
+  }
+
+  private void removeAt(int index) {
+
+    int[] keys = this.keys;
+    int[] values = this.values;
+
+    int mask = this.mask;
+    int hole = index;
+
+    for (int next = (hole + 1) & mask; keys[next] != FREE_KEY; next = (next + 1) & mask) {
+
+      int home = computeIndex(keys[next]);
+
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+
+    keys[hole] = FREE_KEY;
+    values[hole] = 0;
+    this.size--;
+  }
+
+  /**
+   * Determines whether {@literal this} map contains no mappings.
+   *
+   * @return a boolean value indicating whether {@literal this} map contains no mappings.
+   */
+  public boolean isEmpty() {
+    return size() < 1;
+  }
+
+  /**
+   * Removes all mappings from {@literal this} map.
+   */
+  public void clear() {
+
+    Arrays.fill(this.keys, FREE_KEY);
+    Arrays.fill(this.values, 0);
+
+    this.containsFreeKey = false;
+    this.freeKeyValue = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Determines whether {@literal this} map contains a mapping for the given {@literal key}.
+   *
+   * @param key {@literal int} key to evaluate.
+   * @return a boolean value indicating whether {@literal this} map contains a mapping for the given {@literal key}.
+   */
+  public boolean containsKey(int key) {
+    return key == FREE_KEY ? this.containsFreeKey : indexOf(key) > -1;
+  }
+
+  /**
+   * Gets the {@literal value} mapped to the given {@literal key}, or {@literal 0} if there is no mapping.
+   *
+   * @param key {@literal int} key to look up.
+   * @return the {@literal value} mapped to the given {@literal key}, or {@literal 0} if there is no mapping.
+   * @see #getOrDefault(int, int)
+   */
+  public int get(int key) {
+    return getOrDefault(key, 0);
+  }
+
+  /**
+   * Gets the {@literal value} mapped to the given {@literal key}, or the {@literal default value}
+   * if there is no mapping.
+   *
+   * @param key {@literal int} key to look up.
+   * @param defaultValue {@literal int} value returned when there is no mapping for the given {@literal key}.
+   * @return the {@literal value} mapped to the given {@literal key}, or the {@literal default value}.
+   */
+  public int getOrDefault(int key, int defaultValue) {
+
+    if (key == FREE_KEY) {
+      return this.containsFreeKey ? this.freeKeyValue : defaultValue;
+    }
+
+    int index = indexOf(key);
+
+    return index > -1 ? this.values[index] : defaultValue;
+  }
+
+  /**
+   * Maps the given {@literal key} to the given {@literal value}.
+   *
+   * @param key {@literal int} key to map.
+   * @param value {@literal int} value to map.
+   * @return the previous {@literal value} mapped to the given {@literal key},
+   * or {@literal 0} if there was no mapping.
+   */
+  public int put(int key, int value) {
+
+    if (key == FREE_KEY) {
+
+      int currentValue = this.freeKeyValue;
+
+      if (!this.containsFreeKey) {
+        this.containsFreeKey = true;
+        this.size++;
+      }
+
+      this.freeKeyValue = value;
+
+      return currentValue;
+    }
+
+    int[] keys = this.keys;
+
+    int index = computeIndex(key);
+
+    for (int slotKey = keys[index]; slotKey != FREE_KEY; slotKey = keys[index]) {
+
+      if (slotKey == key) {
+        int currentValue = this.values[index];
+        this.values[index] = value;
+        return currentValue;
+      }
+
+      index = (index + 1) & this.mask;
+    }
+
+    if (this.size >= this.resizeThreshold) {
+      resize();
+      keys = this.keys;
+      index = computeIndex(key);
+      while (keys[index] != FREE_KEY) {
+        index = (index + 1) & this.mask;
+      }
+    }
+
+    keys[index] = key;
+    this.values[index] = value;
+    this.size++;
+
+    return 0;
+  }
+
+  /**
+   * Removes the mapping for the given {@literal key}.
+   *
+   * @param key {@literal int} key of the mapping to remove.
+   * @return the {@literal value} that was mapped to the given {@literal key},
+   * or {@literal 0} if there was no mapping.
+   */
+  public int remove(int key) {
+
+    if (key == FREE_KEY) {
+
+      int currentValue = this.freeKeyValue;
+
+      if (this.containsFreeKey) {
+        this.containsFreeKey = false;
+        this.freeKeyValue = 0;
+        this.size--;
+      }
+
+      return currentValue;
+    }
+
+    int index = indexOf(key);
+
+    if (index > -1) {
+      int value = this.values[index];
+      removeAt(index);
+      return value;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Returns the number of mappings in {@literal this} map.
+   *
+   * @return the number of mappings in {@literal this} map.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Invokes the given {@link IntIntConsumer action} for every mapping in {@literal this} map.
+   *
+   * @param action {@link IntIntConsumer} invoked with each {@literal key} and {@literal value};
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link IntIntConsumer action} is {@literal null}.
+   */
+  public void forEach(@NotNull IntIntConsumer action) {
+
+    Assert.notNull(action, "Action is required");
+
+    if (this.containsFreeKey) {
+      action.accept(FREE_KEY, this.freeKeyValue);
+    }
+
+    int[] keys = this.keys;
+    int[] values = this.values;
+
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] != FREE_KEY) {
+        action.accept(keys[index], values[index]);
+      }
+    }
+  }
+
+  /**
+   * Operation accepting a primitive {@literal int} key and {@literal int} value.
+   */
+  @FunctionalInterface
+  public interface IntIntConsumer {
+    void accept(int key, int value);
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.cp.elements.lang.LangExtensions.assertThat;
+
+import java.util.Arrays;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Primitive {@literal long} to {@link Object} hash map using the same open-addressing, linear probing
+ * and backward-shift deletion design as {@link ArrayHashMap}, but storing {@literal keys} in a {@literal long} array
+ * so that lookups never box the {@literal key}.
+ * <p>
+ * A {@literal null} value marks an empty slot, so {@literal null} values are not permitted.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class LongObjectArrayHashMap<VALUE> {
+
+  private int mask;
+  private int resizeThreshold;
+  private int size;
+
+  private final float loadFactor;
+
+  private long[] keys;
+
+  private Object[] values;
+
+  /**
+   * Constructs a new {@link LongObjectArrayHashMap} with a default {@link Integer initial capacity}
+   * and {@link Float load factor}.
+   */
+  public LongObjectArrayHashMap() {
+    this(ArrayHashMap.DEFAULT_INITIAL_CAPACITY, ArrayHashMap.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link LongObjectArrayHashMap} with the given {@link Integer initial capacity}
+   * and default {@link Float load factor}.
+   *
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is less than equal to {@literal 0}.
+   */
+  public LongObjectArrayHashMap(int initialCapacity) {
+    this(initialCapacity, ArrayHashMap.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link LongObjectArrayHashMap} with the given {@link Integer initial capacity}
+   * and {@link Float load factor}.
+   *
+   * @param initialCapacity {@link Integer} specifying the {@literal number of buckets} in the new {@literal map}.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
+   * before the {@literal map} must be resized.
+   * @throws IllegalArgumentException if the {@link Integer initial capacity} is less than equal to {@literal 0}
+   * or the {@link Float load factor} is less than equal to {@literal 0.0} or greater than {@literal 1.0}.
+   */
+  public LongObjectArrayHashMap(int initialCapacity, float loadFactor) {
+
+    assertThat(initialCapacity)
+      .describedAs("Initial capacity [%d] must be greater than 0", initialCapacity)
+      .isGreaterThan(0);
+
+    assertThat(loadFactor)
+      .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+      .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
+
+    this.loadFactor = loadFactor;
+
+    allocateTable(ArrayHashMap.tableSizeFor(initialCapacity));
+  }
+
+  private void allocateTable(int capacity) {
+
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    this.resizeThreshold = Math.min((int) (capacity * this.loadFactor), capacity - 1);
+  }
+
+  private int computeIndex(long key) {
+    return ArrayHashMap.spread(Long.hashCode(key)) & this.mask;
+  }
+
+  private int indexOf(long key) {
+
+    Object[] values = this.values;
+
+    for (int index = computeIndex(key); values[index] != null; index = (index + 1) & this.mask) {
+      if (this.keys[index] == key) {
+        return index;
+      }
+    }
+
+    return -1;
+  }
+
+  private void resize() {
+
+    long[] currentKeys = this.keys;
+    Object[] currentValues = this.values;
+
+    Assert.state(currentKeys.length < ArrayHashMap.MAXIMUM_CAPACITY,
+      "Map cannot grow beyond [%d] buckets", ArrayHashMap.MAXIMUM_CAPACITY);
+
+    allocateTable(currentKeys.length << 1);
+
+    for (int currentIndex = 0; currentIndex < currentKeys.length; currentIndex++) {
+
+      Object value = currentValues[currentIndex];
+
+      if (value != null) {
+
+        long key = currentKeys[currentIndex];
+        int index = computeIndex(key);
+
+        while (this.values[index] != null) {
+          index = (index + 1) & this.mask;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = value;
+      }
+    }
+  }
+
+  private void removeAt(int index) {
+
+    long[] keys = this.keys;
+    Object[] values = this.values;
+
+    int mask = this.mask;
+    int hole = index;
+
+    for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+
+      int home = computeIndex(keys[next]);
+
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+
+    keys[hole] = 0L;
+    values[hole] = null;
+    this.size--;
+  }
+
+  /**
+   * Determines whether {@literal this} map contains no mappings.
+   *
+   * @return a boolean value indicating whether {@literal this} map contains no mappings.
+   */
+  public boolean isEmpty() {
+    return size() < 1;
+  }
+
+  /**
+   * Removes all mappings from {@literal this} map.
+   */
+  public void clear() {
+
+    Arrays.fill(this.keys, 0L);
+    Arrays.fill(this.values, null);
+
+    this.size = 0;
+  }
+
+  /**
+   * Determines whether {@literal this} map contains a mapping for the given {@literal key}.
+   *
+   * @param key {@literal long} key to evaluate.
+   * @return a boolean value indicating whether {@literal this} map contains a mapping for the given {@literal key}.
+   */
+  public boolean containsKey(long key) {
+    return indexOf(key) > -1;
+  }
+
+  /**
+   * Gets the {@literal value} mapped to the given {@literal key}.
+   *
+   * @param key {@literal long} key to look up.
+   * @return the {@literal value} mapped to the given {@literal key}, or {@literal null} if there is no mapping.
+   */
+  public @Nullable VALUE get(long key) {
+    return getOrDefault(key, null);
+  }
+
+  /**
+   * Gets the {@literal value} mapped to the given {@literal key}, or the {@literal default value}
+   * if there is no mapping.
+   *
+   * @param key {@literal long} key to look up.
+   * @param defaultValue value returned when there is no mapping for the given {@literal key}.
+   * @return the {@literal value} mapped to the given {@literal key}, or the {@literal default value}.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE getOrDefault(long key, @Nullable VALUE defaultValue) {
+
+    int index = indexOf(key);
+
+    return index > -1 ? (VALUE) this.values[index] : defaultValue;
+  }
+
+  /**
+   * Maps the given {@literal key} to the given {@literal value}.
+   *
+   * @param key {@literal long} key to map.
+   * @param value value to map; must not be {@literal null}.
+   * @return the previous {@literal value} mapped to the given {@literal key},
+   * or {@literal null} if there was no mapping.
+   * @throws IllegalArgumentException if the {@literal value} is {@literal null}.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE put(long key, @NotNull VALUE value) {
+
+    Assert.notNull(value, "Value is required");
+
+    Object[] values = this.values;
+
+    int index = computeIndex(key);
+
+    for (Object slotValue = values[index]; slotValue != null; slotValue = values[index]) {
+
+      if (this.keys[index] == key) {
+        values[index] = value;
+        return (VALUE) slotValue;
+      }
+
+      index = (index + 1) & this.mask;
+    }
+
+    if (this.size >= this.resizeThreshold) {
+      resize();
+      values = this.values;
+      index = computeIndex(key);
+      while (values[index] != null) {
+        index = (index + 1) & this.mask;
+      }
+    }
+
+    this.keys[index] = key;
+    values[index] = value;
+    this.size++;
+
+    return null;
+  }
+
+  /**
+   * Removes the mapping for the given {@literal key}.
+   *
+   * @param key {@literal long} key of the mapping to remove.
+   * @return the {@literal value} that was mapped to the given {@literal key},
+   * or {@literal null} if there was no mapping.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE remove(long key) {
+
+    int index = indexOf(key);
+
+    if (index > -1) {
+      VALUE value = (VALUE) this.values[index];
+      removeAt(index);
+      return value;
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the number of mappings in {@literal this} map.
+   *
+   * @return the number of mappings in {@literal this} map.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Invokes the given {@link LongObjectConsumer action} for every mapping in {@literal this} map.
+   *
+   * @param action {@link LongObjectConsumer} invoked with each {@literal key} and {@literal value};
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link LongObjectConsumer action} is {@literal null}.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(@NotNull LongObjectConsumer<? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    long[] keys = this.keys;
+    Object[] values = this.values;
+
+    for (int index = 0; index < values.length; index++) {
+      if (values[index] != null) {
+        action.accept(keys[index], (VALUE) values[index]);
+      }
+    }
+  }
+
+  /**
+   * Operation accepting a primitive {@literal long} key and an {@link Object} value.
+   */
+  @FunctionalInterface
+  public interface LongObjectConsumer<VALUE> {
+    void accept(long key, VALUE value);
+  }
+}
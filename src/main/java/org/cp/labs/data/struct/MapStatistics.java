@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+
+/**
+ * Immutable snapshot of the internal layout of a hash table based {@link Map}, describing how well
+ * its {@literal keys} are distributed across its buckets.
+ * <p>
+ * The {@link #probeLengthHistogram() probe length} of an entry is the number of slots (open addressing) or
+ * entries (chaining) examined by a successful lookup of its {@literal key}. An entry stored in its home bucket
+ * with no collisions has a probe length of {@literal 1}. A histogram skewed toward long probes indicates
+ * clustering caused by a poor choice of capacity or a weak {@link Object#hashCode() hash code}.
+ * <p>
+ * {@link #rowFill() Row fill} reports the number of entries stored in each row of the table. What constitutes
+ * a row depends on the {@link Map} implementation, but rows always partition the buckets into contiguous,
+ * equally sized ranges, so an evenly filled table has rows of roughly equal fill.
+ *
+ * @author John Blum
+ * @param bucketCount {@link Integer number of buckets} in the table.
+ * @param size {@link Integer number of entries} in the table.
+ * @param occupiedBuckets {@link Integer number of buckets} containing at least one entry.
+ * @param probeLengthHistogram array where the element at index {@literal n} is the number of entries
+ * with a probe length of {@literal n}.
+ * @param rowFill array containing the number of entries stored in each row of the table.
+ * @param resizeCount {@link Long number of times} the table has been resized since the {@link Map} was created.
+ * @see java.util.Map
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public record MapStatistics(int bucketCount, int size, int occupiedBuckets, @NotNull long[] probeLengthHistogram,
+    @NotNull int[] rowFill, long resizeCount) {
+
+  /**
+   * Computes a {@link MapStatistics} snapshot from the given {@link Integer probe lengths} of all entries and
+   * the given {@link Integer fill} of all rows.
+   *
+   * @param bucketCount {@link Integer number of buckets} in the table.
+   * @param occupiedBuckets {@link Integer number of buckets} containing at least one entry.
+   * @param probeLengths array containing the probe length of every entry in the table.
+   * @param rowFill array containing the number of entries stored in each row of the table.
+   * @param resizeCount {@link Long number of times} the table has been resized.
+   * @return a new {@link MapStatistics} snapshot.
+   */
+  static @NotNull MapStatistics from(int bucketCount, int occupiedBuckets, @NotNull int[] probeLengths,
+      @NotNull int[] rowFill, long resizeCount) {
+
+    int maximumProbeLength = 0;
+
+    for (int probeLength : probeLengths) {
+      maximumProbeLength = Math.max(maximumProbeLength, probeLength);
+    }
+
+    long[] probeLengthHistogram = new long[maximumProbeLength + 1];
+
+    for (int probeLength : probeLengths) {
+      probeLengthHistogram[probeLength]++;
+    }
+
+    return new MapStatistics(bucketCount, probeLengths.length, occupiedBuckets, probeLengthHistogram, rowFill,
+      resizeCount);
+  }
+
+  public MapStatistics {
+
+    Assert.isTrue(bucketCount >= 0, "Bucket count [%d] must be greater than or equal to 0", bucketCount);
+    Assert.isTrue(occupiedBuckets >= 0 && occupiedBuckets <= bucketCount,
+      "Occupied buckets [%d] must be between 0 and bucket count [%d]", occupiedBuckets, bucketCount);
+    Assert.notNull(probeLengthHistogram, "Probe length histogram is required");
+    Assert.notNull(rowFill, "Row fill is required");
+  }
+
+  /**
+   * Gets the average probe length of all entries in the table.
+   *
+   * @return the average probe length of all entries in the table, or {@literal 0} if the table is empty.
+   * @see #probeLengthHistogram()
+   */
+  public double averageProbeLength() {
+
+    long entryCount = 0L;
+    long totalProbeLength = 0L;
+
+    for (int probeLength = 0; probeLength < this.probeLengthHistogram.length; probeLength++) {
+      entryCount += this.probeLengthHistogram[probeLength];
+      totalProbeLength += probeLength * this.probeLengthHistogram[probeLength];
+    }
+
+    return entryCount > 0 ? (double) totalProbeLength / entryCount : 0.0d;
+  }
+
+  /**
+   * Gets the {@link Integer number of buckets} that do not contain any entries.
+   *
+   * @return the {@link Integer number of buckets} that do not contain any entries.
+   */
+  public int emptyBuckets() {
+    return bucketCount() - occupiedBuckets();
+  }
+
+  /**
+   * Gets the ratio of entries to buckets in the table.
+   *
+   * @return the ratio of entries to buckets in the table.
+   */
+  public double loadFactor() {
+    return bucketCount() > 0 ? (double) size() / bucketCount() : 0.0d;
+  }
+
+  /**
+   * Gets the longest probe length of any entry in the table.
+   *
+   * @return the longest probe length of any entry in the table, or {@literal 0} if the table is empty.
+   * @see #probeLengthHistogram()
+   */
+  public int maximumProbeLength() {
+
+    for (int probeLength = this.probeLengthHistogram.length - 1; probeLength > 0; probeLength--) {
+      if (this.probeLengthHistogram[probeLength] > 0) {
+        return probeLength;
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Gets the {@link Long number of entries} with a probe length greater than or equal to
+   * the given {@link Integer probe length}.
+   *
+   * @param probeLength {@link Integer} specifying the minimum probe length.
+   * @return the {@link Long number of entries} with a probe length greater than or equal to
+   * the given {@link Integer probe length}.
+   */
+  public long entriesWithProbeLengthAtLeast(int probeLength) {
+
+    long count = 0L;
+
+    for (int index = Math.max(probeLength, 0); index < this.probeLengthHistogram.length; index++) {
+      count += this.probeLengthHistogram[index];
+    }
+
+    return count;
+  }
+
+  /**
+   * Gets the {@link Integer number of entries} in the fullest row of the table.
+   *
+   * @return the {@link Integer number of entries} in the fullest row of the table.
+   * @see #rowFill()
+   */
+  public int maximumRowFill() {
+    return Arrays.stream(this.rowFill).max().orElse(0);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof MapStatistics that)) {
+      return false;
+    }
+
+    return this.bucketCount == that.bucketCount
+      && this.size == that.size
+      && this.occupiedBuckets == that.occupiedBuckets
+      && this.resizeCount == that.resizeCount
+      && Arrays.equals(this.probeLengthHistogram, that.probeLengthHistogram)
+      && Arrays.equals(this.rowFill, that.rowFill);
+  }
+
+  @Override
+  public int hashCode() {
+
+    int hashValue = 17;
+
+    hashValue = 37 * hashValue + this.bucketCount;
+    hashValue = 37 * hashValue + this.size;
+    hashValue = 37 * hashValue + this.occupiedBuckets;
+    hashValue = 37 * hashValue + Long.hashCode(this.resizeCount);
+    hashValue = 37 * hashValue + Arrays.hashCode(this.probeLengthHistogram);
+    hashValue = 37 * hashValue + Arrays.hashCode(this.rowFill);
+
+    return hashValue;
+  }
+
+  @Override
+  public String toString() {
+
+    return String.format("MapStatistics[bucketCount=%d, size=%d, occupiedBuckets=%d, maximumProbeLength=%d,"
+        + " averageProbeLength=%.3f, probeLengthHistogram=%s, maximumRowFill=%d, resizeCount=%d]",
+      bucketCount(), size(), occupiedBuckets(), maximumProbeLength(), averageProbeLength(),
+      Arrays.toString(probeLengthHistogram()), maximumRowFill(), resizeCount());
+  }
+
+  /**
+   * Interface defining a contract for a {@link Map} able to compute {@link MapStatistics} about its internal layout.
+   * <p>
+   * Computing {@link MapStatistics} visits every bucket, so it should be done periodically rather than
+   * on every operation.
+   */
+  @FunctionalInterface
+  public interface Source {
+
+    /**
+     * Computes a {@link MapStatistics} snapshot of the current internal layout of {@literal this} {@link Map}.
+     *
+     * @return a new {@link MapStatistics} snapshot.
+     */
+    @NotNull MapStatistics computeStatistics();
+
+  }
+}
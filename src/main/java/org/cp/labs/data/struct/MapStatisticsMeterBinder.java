@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer {@link MeterBinder} publishing the {@link MapStatistics} of a {@link MapStatistics.Source} as gauges.
+ * <p>
+ * The following meters are registered, each prefixed with the configured {@link String name}:
+ * <ul>
+ *   <li>{@literal size} - number of entries</li>
+ *   <li>{@literal load.factor} - ratio of entries to buckets</li>
+ *   <li>{@literal buckets} - number of buckets, tagged {@literal state=occupied} or {@literal state=empty}</li>
+ *   <li>{@literal probe.length.max} - longest probe length of any entry</li>
+ *   <li>{@literal probe.length.mean} - average probe length of all entries</li>
+ *   <li>{@literal probe.length.entries} - number of entries per probe length, tagged {@literal length=1}
+ *   through {@literal length=8} and {@literal length=9+}</li>
+ *   <li>{@literal row.fill.max} - number of entries in the fullest row</li>
+ *   <li>{@literal resizes} - counter of the number of times the table was resized</li>
+ * </ul>
+ * <p>
+ * Since {@link MapStatistics.Source#computeStatistics() computing statistics} visits every bucket of the
+ * {@link Map}, all gauges read from a single snapshot that is recomputed at most once per
+ * {@link #withRefreshInterval(Duration) refresh interval}.
+ * <p>
+ * The registered meters keep the {@link MapStatisticsMeterBinder} and its {@link MapStatistics.Source} reachable,
+ * so a binder does not need to be referenced after it has been {@link #bindTo(MeterRegistry) bound}.
+ *
+ * @author John Blum
+ * @see io.micrometer.core.instrument.binder.MeterBinder
+ * @see org.cp.labs.data.struct.MapStatistics
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class MapStatisticsMeterBinder implements MeterBinder {
+
+  protected static final int PROBE_LENGTH_HISTOGRAM_BUCKETS = 8;
+
+  protected static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
+  /**
+   * Factory method used to construct a new {@link MapStatisticsMeterBinder} publishing the statistics
+   * of the given {@link MapStatistics.Source} with meters prefixed by the given {@link String name}.
+   *
+   * @param name {@link String} used as the prefix of all meter names; must not be {@literal null} or empty.
+   * @param source {@link MapStatistics.Source} of the statistics to publish; must not be {@literal null}.
+   * @param tags array of {@link Tag Tags} added to all meters.
+   * @return a new {@link MapStatisticsMeterBinder}.
+   * @throws IllegalArgumentException if the {@link String name} is {@literal null} or empty,
+   * or the {@link MapStatistics.Source} is {@literal null}.
+   */
+  public static @NotNull MapStatisticsMeterBinder of(@NotNull String name, @NotNull MapStatistics.Source source,
+      Tag... tags) {
+
+    return new MapStatisticsMeterBinder(name, source, Tags.of(tags), System::nanoTime);
+  }
+
+  private final Iterable<Tag> tags;
+
+  private final LongSupplier ticker;
+
+  private long refreshIntervalNanos = DEFAULT_REFRESH_INTERVAL.toNanos();
+  private long refreshedAt;
+
+  private MapStatistics statistics;
+
+  private final MapStatistics.Source source;
+
+  private final String name;
+
+  /**
+   * Constructs a new {@link MapStatisticsMeterBinder}.
+   *
+   * @param name {@link String} used as the prefix of all meter names; must not be {@literal null} or empty.
+   * @param source {@link MapStatistics.Source} of the statistics to publish; must not be {@literal null}.
+   * @param tags {@link Iterable} of {@link Tag Tags} added to all meters; must not be {@literal null}.
+   * @param ticker {@link LongSupplier} returning the current time in nanoseconds; must not be {@literal null}.
+   * @throws IllegalArgumentException if any argument is {@literal null}, or the {@link String name} is empty.
+   */
+  public MapStatisticsMeterBinder(@NotNull String name, @NotNull MapStatistics.Source source,
+      @NotNull Iterable<Tag> tags, @NotNull LongSupplier ticker) {
+
+    Assert.hasText(name, "Name [%s] is required", name);
+
+    this.name = name;
+    this.source = ObjectUtils.requireObject(source, "MapStatistics.Source is required");
+    this.tags = ObjectUtils.requireObject(tags, "Tags are required");
+    this.ticker = ObjectUtils.requireObject(ticker, "Ticker is required");
+  }
+
+  /**
+   * Sets the minimum {@link Duration} between recomputations of the {@link MapStatistics}.
+   *
+   * @param refreshInterval {@link Duration} between recomputations; must not be {@literal null} or negative.
+   * @return {@literal this} {@link MapStatisticsMeterBinder}.
+   * @throws IllegalArgumentException if the {@link Duration} is {@literal null} or negative.
+   */
+  public synchronized @NotNull MapStatisticsMeterBinder withRefreshInterval(@NotNull Duration refreshInterval) {
+
+    Assert.notNull(refreshInterval, "Refresh interval is required");
+    Assert.isFalse(refreshInterval.isNegative(), "Refresh interval [%s] must not be negative", refreshInterval);
+
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+    this.statistics = null;
+
+    return this;
+  }
+
+  /**
+   * Gets the {@link MapStatistics} read by all gauges, recomputing it if the current snapshot is older than
+   * the {@link #withRefreshInterval(Duration) refresh interval}.
+   *
+   * @return the current {@link MapStatistics} snapshot.
+   */
+  protected synchronized @NotNull MapStatistics getStatistics() {
+
+    long now = this.ticker.getAsLong();
+
+    if (this.statistics == null || now - this.refreshedAt >= this.refreshIntervalNanos) {
+      this.statistics = this.source.computeStatistics();
+      this.refreshedAt = now;
+    }
+
+    return this.statistics;
+  }
+
+  @Override
+  public void bindTo(@NotNull MeterRegistry registry) {
+
+    gauge(registry, "size", "Number of entries", Tags.empty(), MapStatistics::size);
+    gauge(registry, "load.factor", "Ratio of entries to buckets", Tags.empty(), MapStatistics::loadFactor);
+    gauge(registry, "buckets", "Number of buckets", Tags.of("state", "occupied"), MapStatistics::occupiedBuckets);
+    gauge(registry, "buckets", "Number of buckets", Tags.of("state", "empty"), MapStatistics::emptyBuckets);
+    gauge(registry, "probe.length.max", "Longest probe length of any entry", Tags.empty(),
+      MapStatistics::maximumProbeLength);
+    gauge(registry, "probe.length.mean", "Average probe length of all entries", Tags.empty(),
+      MapStatistics::averageProbeLength);
+    gauge(registry, "row.fill.max", "Number of entries in the fullest row", Tags.empty(),
+      MapStatistics::maximumRowFill);
+
+    for (int probeLength = 1; probeLength <= PROBE_LENGTH_HISTOGRAM_BUCKETS; probeLength++) {
+
+      int length = probeLength;
+
+      gauge(registry, "probe.length.entries", "Number of entries per probe length",
+        Tags.of("length", String.valueOf(length)),
+        statistics -> length < statistics.probeLengthHistogram().length
+          ? statistics.probeLengthHistogram()[length]
+          : 0L);
+    }
+
+    gauge(registry, "probe.length.entries", "Number of entries per probe length",
+      Tags.of("length", (PROBE_LENGTH_HISTOGRAM_BUCKETS + 1) + "+"),
+      statistics -> statistics.entriesWithProbeLengthAtLeast(PROBE_LENGTH_HISTOGRAM_BUCKETS + 1));
+
+    FunctionCounter.builder(meterName("resizes"), this, binder -> binder.getStatistics().resizeCount())
+      .description("Number of times the table was resized")
+      .tags(this.tags)
+      .register(registry);
+  }
+
+  private void gauge(@NotNull MeterRegistry registry, @NotNull String name, @NotNull String description,
+      @NotNull Tags tags, @NotNull ToDoubleFunction<MapStatistics> function) {
+
+    // Held strongly so that the binder, which the FunctionCounter also references, is not garbage collected.
+    Gauge.builder(meterName(name), this, binder -> function.applyAsDouble(binder.getStatistics()))
+      .description(description)
+      .tags(tags.and(this.tags))
+      .strongReference(true)
+      .register(registry);
+  }
+
+  private @NotNull String meterName(@NotNull String name) {
+    return this.name + "." + name;
+  }
+}
@@ -18,13 +18,25 @@ package org.cp.labs.data.struct;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.cp.elements.lang.ObjectUtils;
 import org.cp.elements.lang.annotation.NotNull;
 import org.cp.elements.util.CollectionUtils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
 /**
  * Wrapper around a Java {@link Map}.
+ * <p>
+ * Every {@link Map} operation, including the {@literal default} methods such as
+ * {@link #computeIfAbsent(Object, Function)} and {@link #merge(Object, Object, BiFunction)}, is delegated to
+ * the wrapped {@link Map}, so a wrapped {@link java.util.concurrent.ConcurrentMap} keeps its atomicity guarantees.
  *
  * @author John Blum
  * @see java.util.Map
@@ -47,6 +59,46 @@ public abstract class MapWrapper<KEY, VALUE> implements Map<KEY, VALUE> {
     return new DefaultMapWrapper<>(map);
   }
 
+  /**
+   * Factory method used to wrap the given, existing {@link Map} in a wrapper recording Micrometer metrics
+   * for its operations.
+   *
+   * @param <KEY> {@link Class type} of the {@link Map} {@literal key}.
+   * @param <VALUE> {@link Class type} of the {@link Map} {@literal value}.
+   * @param map {@link Map} to wrap; must not be {@literal null}.
+   * @param registry {@link MeterRegistry} with which the meters are registered; must not be {@literal null}.
+   * @param name {@link String} used as the prefix of all meter names; must not be {@literal null} or empty.
+   * @param tags array of {@link Tag Tags} added to all meters.
+   * @return the instrumented {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} or {@link MeterRegistry} is {@literal null},
+   * or the {@link String name} is {@literal null} or empty.
+   * @see org.cp.labs.data.struct.InstrumentedMapWrapper
+   */
+  public static <KEY, VALUE> InstrumentedMapWrapper<KEY, VALUE> instrumented(@NotNull Map<KEY, VALUE> map,
+      @NotNull MeterRegistry registry, @NotNull String name, Tag... tags) {
+
+    return new InstrumentedMapWrapper<>(map, registry, name, Tags.of(tags));
+  }
+
+  /**
+   * Factory method used to wrap the given, existing {@link Map} in a wrapper caching the entries of a backing store,
+   * which are loaded with the given {@link Function loader}.
+   *
+   * @param <KEY> {@link Class type} of the {@link Map} {@literal key}.
+   * @param <VALUE> {@link Class type} of the {@link Map} {@literal value}.
+   * @param map thread-safe {@link Map} in which entries are cached; must not be {@literal null}.
+   * @param loader {@link Function} loading the {@literal value} of a {@literal key} asynchronously;
+   * must not be {@literal null}.
+   * @return the caching {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} or the {@link Function loader} is {@literal null}.
+   * @see org.cp.labs.data.struct.CachingMapWrapper
+   */
+  public static <KEY, VALUE> CachingMapWrapper<KEY, VALUE> caching(@NotNull Map<KEY, VALUE> map,
+      @NotNull Function<? super KEY, ? extends CompletableFuture<? extends VALUE>> loader) {
+
+    return new CachingMapWrapper<>(map, loader);
+  }
+
   private final Map<KEY, VALUE> map;
 
   /**
@@ -100,6 +152,11 @@ public abstract class MapWrapper<KEY, VALUE> implements Map<KEY, VALUE> {
     return getMap().get(key);
   }
 
+  @Override
+  public VALUE getOrDefault(Object key, VALUE defaultValue) {
+    return getMap().getOrDefault(key, defaultValue);
+  }
+
   @Override
   public Set<KEY> keySet() {
     return CollectionUtils.nullSafeSet(getMap().keySet());
@@ -115,11 +172,65 @@ public abstract class MapWrapper<KEY, VALUE> implements Map<KEY, VALUE> {
     getMap().putAll(map);
   }
 
+  @Override
+  public VALUE putIfAbsent(KEY key, VALUE value) {
+    return getMap().putIfAbsent(key, value);
+  }
+
   @Override
   public VALUE remove(Object key) {
     return getMap().remove(key);
   }
 
+  @Override
+  public boolean remove(Object key, Object value) {
+    return getMap().remove(key, value);
+  }
+
+  @Override
+  public VALUE replace(KEY key, VALUE value) {
+    return getMap().replace(key, value);
+  }
+
+  @Override
+  public boolean replace(KEY key, VALUE oldValue, VALUE newValue) {
+    return getMap().replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public void replaceAll(@NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> function) {
+    getMap().replaceAll(function);
+  }
+
+  @Override
+  public VALUE compute(KEY key, @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+    return getMap().compute(key, remappingFunction);
+  }
+
+  @Override
+  public VALUE computeIfAbsent(KEY key, @NotNull Function<? super KEY, ? extends VALUE> mappingFunction) {
+    return getMap().computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public VALUE computeIfPresent(KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    return getMap().computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public VALUE merge(KEY key, VALUE value,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    return getMap().merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public void forEach(@NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+    getMap().forEach(action);
+  }
+
   @Override
   public int size() {
     return getMap().size();
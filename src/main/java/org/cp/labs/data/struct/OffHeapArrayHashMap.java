@@ -0,0 +1,763 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.cp.elements.lang.LangExtensions.assertThat;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Java {@link Map} implementation storing {@literal keys} and {@literal values} outside the Java heap
+ * in direct {@link ByteBuffer ByteBuffers}, using the same open-addressing, linear probing and backward-shift
+ * deletion design as {@link ArrayHashMap}.
+ * <p>
+ * Every entry occupies one fixed-size slot: a 4-byte tag holding the hash of the encoded {@literal key},
+ * followed by the {@literal key} and {@literal value} bytes written by the configured {@link FixedSizeCodec codecs}.
+ * A tag of {@literal 0} marks an empty slot. The slots are spread across one or more slabs so that the table is
+ * not limited by the 2 GB maximum size of a single {@link ByteBuffer}. Since no entry is a Java object, the garbage
+ * collector never scans the contents of the {@literal map}.
+ * <p>
+ * {@link #close() Closing} the {@literal map} releases the off-heap memory immediately rather than waiting for
+ * the {@link ByteBuffer} to be garbage collected. A closed {@literal map} cannot be used again.
+ * <p>
+ * {@literal Keys} and {@literal values} are copied in and out of the {@literal map}, so changing an object after it
+ * has been put into the {@literal map} does not change the stored entry. Neither {@literal null} keys nor
+ * {@literal null} values are permitted. Instances are not thread-safe.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.io.Closeable
+ * @see java.nio.ByteBuffer
+ * @see java.util.AbstractMap
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.FixedSizeCodec
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class OffHeapArrayHashMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> implements Closeable {
+
+  protected static final int DEFAULT_INITIAL_CAPACITY = 1024;
+  protected static final int MAXIMUM_SLAB_SIZE = 1 << 30;
+
+  protected static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  protected static final Consumer<ByteBuffer> DEALLOCATOR = resolveDeallocator();
+
+  private static final int EMPTY_TAG = 0;
+  private static final int TAG_SIZE = Integer.BYTES;
+
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Resolves a function used to release the memory of a direct {@link ByteBuffer} immediately.
+   * <p>
+   * Uses {@literal sun.misc.Unsafe.invokeCleaner(ByteBuffer)}, which is exported by the {@literal jdk.unsupported}
+   * module; if it is not available, the memory is released when the {@link ByteBuffer} is garbage collected.
+   */
+  private static @NotNull Consumer<ByteBuffer> resolveDeallocator() {
+
+    try {
+      Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+
+      theUnsafe.setAccessible(true);
+
+      Object unsafe = theUnsafe.get(null);
+      Method invokeCleaner = unsafeType.getMethod("invokeCleaner", ByteBuffer.class);
+
+      return buffer -> {
+        try {
+          invokeCleaner.invoke(unsafe, buffer);
+        }
+        catch (ReflectiveOperationException ignore) {
+        }
+      };
+    }
+    catch (ReflectiveOperationException | RuntimeException ignore) {
+      return buffer -> {};
+    }
+  }
+
+  private boolean closed;
+
+  private int capacity;
+  private int mask;
+  private int modCount;
+  private int resizeThreshold;
+  private int size;
+  private int slabMask;
+  private int slabShift;
+
+  private final int keyOffset;
+  private final int keySize;
+  private final int slotSize;
+  private final int valueOffset;
+
+  private final float loadFactor;
+
+  private final ByteBuffer keyBuffer;
+
+  private ByteBuffer[] slabs;
+
+  private final FixedSizeCodec<KEY> keyCodec;
+  private final FixedSizeCodec<VALUE> valueCodec;
+
+  /**
+   * Constructs a new {@link OffHeapArrayHashMap} initialized with the given {@link FixedSizeCodec codecs}
+   * and a default {@link Integer initial capacity} and {@link Float load factor}.
+   *
+   * @param keyCodec {@link FixedSizeCodec} used to encode and decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode and decode {@literal values}; must not be {@literal null}.
+   * @throws IllegalArgumentException if either {@link FixedSizeCodec} is {@literal null}.
+   */
+  public OffHeapArrayHashMap(@NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec) {
+    this(keyCodec, valueCodec, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link OffHeapArrayHashMap} initialized with the given {@link FixedSizeCodec codecs}
+   * and {@link Integer initial capacity} and a default {@link Float load factor}.
+   *
+   * @param keyCodec {@link FixedSizeCodec} used to encode and decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode and decode {@literal values}; must not be {@literal null}.
+   * @param initialCapacity {@link Integer} specifying the {@literal number of slots} in the new {@literal map};
+   * rounded up to the next power of two.
+   * @throws IllegalArgumentException if either {@link FixedSizeCodec} is {@literal null}
+   * or the {@link Integer initial capacity} is less than equal to {@literal 0}.
+   */
+  public OffHeapArrayHashMap(@NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec,
+      int initialCapacity) {
+
+    this(keyCodec, valueCodec, initialCapacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Constructs a new {@link OffHeapArrayHashMap} initialized with the given {@link FixedSizeCodec codecs},
+   * {@link Integer initial capacity} and {@link Float load factor}.
+   *
+   * @param keyCodec {@link FixedSizeCodec} used to encode and decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode and decode {@literal values}; must not be {@literal null}.
+   * @param initialCapacity {@link Integer} specifying the {@literal number of slots} in the new {@literal map};
+   * rounded up to the next power of two.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
+   * before the {@literal map} must be resized.
+   * @throws IllegalArgumentException if either {@link FixedSizeCodec} is {@literal null},
+   * the {@link Integer initial capacity} is less than equal to {@literal 0}, or the {@link Float load factor}
+   * is less than equal to {@literal 0.0} or greater than {@literal 1.0}.
+   */
+  public OffHeapArrayHashMap(@NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec,
+      int initialCapacity, float loadFactor) {
+
+    this(keyCodec, valueCodec, loadFactor, null, validateInitialCapacity(initialCapacity), 0);
+  }
+
+  /**
+   * Constructs a new {@link OffHeapArrayHashMap} initialized with the given {@link FixedSizeCodec codecs}
+   * and {@link Float load factor}, using the given slabs as storage if present, for example memory-mapped regions
+   * of a file containing a table written in the same layout.
+   *
+   * @param keyCodec {@link FixedSizeCodec} used to encode and decode {@literal keys}; must not be {@literal null}.
+   * @param valueCodec {@link FixedSizeCodec} used to encode and decode {@literal values}; must not be {@literal null}.
+   * @param loadFactor {@link Float} specifying the {@literal percentage} of the {@literal capacity} filled
+   * before the {@literal map} must be resized.
+   * @param slabs array of {@link ByteBuffer slabs} holding an existing table; if {@literal null}, new slabs
+   * are allocated off-heap.
+   * @param capacity {@link Integer} specifying the total {@literal number of slots} in the table;
+   * must be a power of two.
+   * @param size {@link Integer} specifying the {@literal number of entries} stored in the existing table.
+   */
+  OffHeapArrayHashMap(@NotNull FixedSizeCodec<KEY> keyCodec, @NotNull FixedSizeCodec<VALUE> valueCodec,
+      float loadFactor, @Nullable ByteBuffer[] slabs, int capacity, int size) {
+
+    this.keyCodec = ObjectUtils.requireObject(keyCodec, "Key FixedSizeCodec is required");
+    this.valueCodec = ObjectUtils.requireObject(valueCodec, "Value FixedSizeCodec is required");
+
+    assertThat(loadFactor)
+      .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+      .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
+
+    this.loadFactor = loadFactor;
+    this.keySize = keyCodec.size();
+    this.keyOffset = TAG_SIZE;
+    this.valueOffset = this.keyOffset + this.keySize;
+    this.slotSize = this.valueOffset + valueCodec.size();
+    this.keyBuffer = ByteBuffer.allocate(this.keySize);
+
+    Assert.isTrue(this.slotSize <= MAXIMUM_SLAB_SIZE, "Slot size [%d] must be less than equal to [%d]",
+      this.slotSize, MAXIMUM_SLAB_SIZE);
+
+    if (slabs != null) {
+      initializeTable(capacity);
+      this.slabs = slabs;
+      this.size = size;
+    }
+    else {
+      this.slabs = allocateTable(capacity);
+    }
+  }
+
+  private static int validateInitialCapacity(int initialCapacity) {
+
+    assertThat(initialCapacity)
+      .describedAs("Initial capacity [%d] must be greater than 0", initialCapacity)
+      .isGreaterThan(0);
+
+    return ArrayHashMap.tableSizeFor(initialCapacity);
+  }
+
+  /**
+   * Computes the {@link Integer number of slots} per slab for a table with the given {@link Integer capacity}.
+   *
+   * @param capacity {@link Integer} specifying the total {@literal number of slots} in the table.
+   * @param slotSize {@link Integer} specifying the {@literal number of bytes} per slot.
+   * @return the {@link Integer number of slots} per slab; always a power of two.
+   */
+  protected static int slotsPerSlab(int capacity, int slotSize) {
+    return Math.min(capacity, Integer.highestOneBit(MAXIMUM_SLAB_SIZE / slotSize));
+  }
+
+  private @NotNull ByteBuffer[] allocateTable(int capacity) {
+
+    int slotsPerSlab = slotsPerSlab(capacity, this.slotSize);
+
+    ByteBuffer[] slabs = new ByteBuffer[capacity / slotsPerSlab];
+
+    try {
+      for (int index = 0; index < slabs.length; index++) {
+        slabs[index] = ByteBuffer.allocateDirect(slotsPerSlab * this.slotSize);
+      }
+    }
+    catch (OutOfMemoryError cause) {
+      free(slabs);
+      throw cause;
+    }
+
+    initializeTable(capacity);
+
+    return slabs;
+  }
+
+  /**
+   * Initializes the table geometry for the given {@link Integer capacity}.
+   *
+   * @param capacity {@link Integer} specifying the {@literal number of slots} in the table; must be a power of two.
+   */
+  private void initializeTable(int capacity) {
+
+    int slotsPerSlab = slotsPerSlab(capacity, this.slotSize);
+
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.slabShift = Integer.numberOfTrailingZeros(slotsPerSlab);
+    this.slabMask = slotsPerSlab - 1;
+    this.resizeThreshold = Math.min((int) (capacity * this.loadFactor), capacity - 1);
+  }
+
+  private static void free(@NotNull ByteBuffer[] slabs) {
+
+    for (ByteBuffer slab : slabs) {
+      if (slab != null && slab.isDirect()) {
+        DEALLOCATOR.accept(slab);
+      }
+    }
+  }
+
+  private void assertOpen() {
+    Assert.state(!this.closed, "Map is closed");
+  }
+
+  private void assertKeyValue(Object key, Object value) {
+
+    Assert.notNull(key, "Key is required");
+    Assert.notNull(value, "Value is required");
+  }
+
+  private @NotNull ByteBuffer slab(int index) {
+    return this.slabs[index >>> this.slabShift];
+  }
+
+  private int offset(int index) {
+    return (index & this.slabMask) * this.slotSize;
+  }
+
+  private int tag(int index) {
+    return slab(index).getInt(offset(index));
+  }
+
+  /**
+   * Encodes the given {@literal key} into the reusable {@literal key} buffer and returns the tag of the encoded
+   * bytes. The tag always has its high bit set so that it can never equal the {@link #EMPTY_TAG empty tag}.
+   */
+  @SuppressWarnings("unchecked")
+  private int encodeKey(@NotNull Object key) {
+
+    ByteBuffer keyBuffer = this.keyBuffer;
+
+    this.keyCodec.encode(keyBuffer, 0, (KEY) key);
+
+    long hash = 0L;
+    int index = 0;
+
+    for (; index + Long.BYTES <= this.keySize; index += Long.BYTES) {
+      hash = (hash + keyBuffer.getLong(index)) * HASH_MULTIPLIER;
+    }
+
+    for (; index < this.keySize; index++) {
+      hash = (hash + keyBuffer.get(index)) * HASH_MULTIPLIER;
+    }
+
+    return (int) (hash ^ (hash >>> 32)) | Integer.MIN_VALUE;
+  }
+
+  private boolean keyEquals(@NotNull ByteBuffer slab, int keyOffset) {
+
+    ByteBuffer keyBuffer = this.keyBuffer;
+
+    int index = 0;
+
+    for (; index + Long.BYTES <= this.keySize; index += Long.BYTES) {
+      if (slab.getLong(keyOffset + index) != keyBuffer.getLong(index)) {
+        return false;
+      }
+    }
+
+    for (; index < this.keySize; index++) {
+      if (slab.get(keyOffset + index) != keyBuffer.get(index)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Finds the slot of the {@literal key} currently encoded in the {@literal key} buffer.
+   *
+   * @param tag {@link Integer} tag of the encoded {@literal key}.
+   * @return the index of the slot holding the {@literal key}, or the bitwise complement of the index of the empty
+   * slot where it would be inserted.
+   */
+  private int find(int tag) {
+
+    for (int index = tag & this.mask; ; index = (index + 1) & this.mask) {
+
+      ByteBuffer slab = slab(index);
+
+      int offset = offset(index);
+      int slotTag = slab.getInt(offset);
+
+      if (slotTag == EMPTY_TAG) {
+        return ~index;
+      }
+      else if (slotTag == tag && keyEquals(slab, offset + this.keyOffset)) {
+        return index;
+      }
+    }
+  }
+
+  private void resize() {
+
+    ByteBuffer[] currentSlabs = this.slabs;
+
+    int currentCapacity = this.capacity;
+    int currentSlabShift = this.slabShift;
+    int currentSlabMask = this.slabMask;
+
+    Assert.state(currentCapacity < ArrayHashMap.MAXIMUM_CAPACITY,
+      "Map cannot grow beyond [%d] slots", ArrayHashMap.MAXIMUM_CAPACITY);
+
+    this.slabs = allocateTable(currentCapacity << 1);
+
+    for (int currentIndex = 0; currentIndex < currentCapacity; currentIndex++) {
+
+      ByteBuffer currentSlab = currentSlabs[currentIndex >>> currentSlabShift];
+
+      int currentOffset = (currentIndex & currentSlabMask) * this.slotSize;
+      int tag = currentSlab.getInt(currentOffset);
+
+      if (tag != EMPTY_TAG) {
+
+        int index = tag & this.mask;
+
+        while (tag(index) != EMPTY_TAG) {
+          index = (index + 1) & this.mask;
+        }
+
+        slab(index).put(offset(index), currentSlab, currentOffset, this.slotSize);
+      }
+    }
+
+    free(currentSlabs);
+  }
+
+  private void removeAt(int index) {
+
+    int mask = this.mask;
+    int hole = index;
+
+    for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+
+      int tag = tag(next);
+
+      if (tag == EMPTY_TAG) {
+        break;
+      }
+
+      int home = tag & mask;
+
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        slab(hole).put(offset(hole), slab(next), offset(next), this.slotSize);
+        hole = next;
+      }
+    }
+
+    slab(hole).putInt(offset(hole), EMPTY_TAG);
+
+    this.size--;
+    this.modCount++;
+  }
+
+  /**
+   * Gets the current {@link Integer capacity}, or number of slots, of {@literal this} {@link Map}.
+   *
+   * @return the current {@link Integer capacity} of {@literal this} {@link Map}; always a power of two.
+   */
+  protected int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Gets the {@link FixedSizeCodec} used to encode and decode {@literal keys}.
+   *
+   * @return the {@link FixedSizeCodec} used to encode and decode {@literal keys}.
+   */
+  protected @NotNull FixedSizeCodec<KEY> getKeyCodec() {
+    return this.keyCodec;
+  }
+
+  /**
+   * Gets the {@link Float load factor} used as the determining threshold when resizing.
+   *
+   * @return the {@link Float load factor} used as the determining threshold when resizing.
+   */
+  protected float getLoadFactor() {
+    return this.loadFactor;
+  }
+
+  /**
+   * Gets the {@link Integer number of bytes} occupied by each slot.
+   *
+   * @return the {@link Integer number of bytes} occupied by each slot.
+   */
+  protected int getSlotSize() {
+    return this.slotSize;
+  }
+
+  /**
+   * Gets the {@link FixedSizeCodec} used to encode and decode {@literal values}.
+   *
+   * @return the {@link FixedSizeCodec} used to encode and decode {@literal values}.
+   */
+  protected @NotNull FixedSizeCodec<VALUE> getValueCodec() {
+    return this.valueCodec;
+  }
+
+  /**
+   * Returns the total {@link Long number of bytes} of off-heap memory held by {@literal this} {@link Map}.
+   *
+   * @return the total {@link Long number of bytes} of off-heap memory held by {@literal this} {@link Map}.
+   */
+  public long getOffHeapSize() {
+    return this.closed ? 0L : (long) this.capacity * this.slotSize;
+  }
+
+  /**
+   * Determines whether {@literal this} {@link Map} has been {@link #close() closed}.
+   *
+   * @return a boolean value indicating whether {@literal this} {@link Map} has been {@link #close() closed}.
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() < 1;
+  }
+
+  @Override
+  public void clear() {
+
+    assertOpen();
+
+    for (int index = 0; index < this.capacity; index++) {
+      slab(index).putInt(offset(index), EMPTY_TAG);
+    }
+
+    this.size = 0;
+    this.modCount++;
+  }
+
+  /**
+   * Releases the off-heap memory held by {@literal this} {@link Map}. Closing an already closed {@link Map}
+   * has no effect.
+   */
+  @Override
+  public void close() {
+
+    if (!this.closed) {
+      this.closed = true;
+      this.size = 0;
+      free(this.slabs);
+      this.slabs = new ByteBuffer[0];
+    }
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+
+    assertOpen();
+
+    return key != null && find(encodeKey(key)) > -1;
+  }
+
+  @Override
+  public @Nullable VALUE get(@Nullable Object key) {
+
+    assertOpen();
+
+    if (key != null) {
+
+      int index = find(encodeKey(key));
+
+      if (index > -1) {
+        return this.valueCodec.decode(slab(index), offset(index) + this.valueOffset);
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+    assertOpen();
+    assertKeyValue(key, value);
+
+    int tag = encodeKey(key);
+    int index = find(tag);
+
+    if (index > -1) {
+
+      ByteBuffer slab = slab(index);
+
+      int valueOffset = offset(index) + this.valueOffset;
+
+      VALUE currentValue = this.valueCodec.decode(slab, valueOffset);
+
+      this.valueCodec.encode(slab, valueOffset, value);
+
+      return currentValue;
+    }
+
+    if (this.size >= this.resizeThreshold) {
+      resize();
+      index = find(tag);
+    }
+
+    index = ~index;
+
+    ByteBuffer slab = slab(index);
+
+    int offset = offset(index);
+
+    slab.put(offset + this.keyOffset, this.keyBuffer, 0, this.keySize);
+    this.valueCodec.encode(slab, offset + this.valueOffset, value);
+    slab.putInt(offset, tag);
+
+    this.size++;
+    this.modCount++;
+
+    return null;
+  }
+
+  @Override
+  public @Nullable VALUE remove(@Nullable Object key) {
+
+    assertOpen();
+
+    if (key != null) {
+
+      int index = find(encodeKey(key));
+
+      if (index > -1) {
+        VALUE value = this.valueCodec.decode(slab(index), offset(index) + this.valueOffset);
+        removeAt(index);
+        return value;
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * {@link Set} view of the entries in {@literal this} {@link OffHeapArrayHashMap}, decoding each entry
+   * as it is iterated.
+   * <p>
+   * As with {@link ArrayHashMap}, iteration begins in the slot following an empty slot, so that the entries moved
+   * by backward-shift deletion on {@link Iterator#remove()} only ever move into the slot just removed, which is
+   * then examined again.
+   */
+  protected class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+
+      assertOpen();
+
+      return new Iterator<>() {
+
+        private int expectedModCount = OffHeapArrayHashMap.this.modCount;
+
+        private final int start = startIndex();
+
+        private int lastReturnedOffset = -1;
+        private int offset = nextOffset(0);
+
+        private int startIndex() {
+
+          int index = 0;
+
+          if (size() > 0) {
+            while (tag(index) != EMPTY_TAG) {
+              index++;
+            }
+          }
+
+          return index;
+        }
+
+        private int index(int offset) {
+          return (this.start + offset) & OffHeapArrayHashMap.this.mask;
+        }
+
+        private int nextOffset(int offset) {
+
+          while (offset < OffHeapArrayHashMap.this.capacity && tag(index(offset)) == EMPTY_TAG) {
+            offset++;
+          }
+
+          return offset;
+        }
+
+        private void checkForComodification() {
+
+          if (OffHeapArrayHashMap.this.modCount != this.expectedModCount) {
+            throw new ConcurrentModificationException();
+          }
+        }
+
+        @Override
+        public boolean hasNext() {
+          return this.offset < OffHeapArrayHashMap.this.capacity;
+        }
+
+        @Override
+        public Map.Entry<KEY, VALUE> next() {
+
+          checkForComodification();
+
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more entries");
+          }
+
+          int index = index(this.offset);
+
+          ByteBuffer slab = slab(index);
+
+          int offset = offset(index);
+
+          KEY key = getKeyCodec().decode(slab, offset + OffHeapArrayHashMap.this.keyOffset);
+          VALUE value = getValueCodec().decode(slab, offset + OffHeapArrayHashMap.this.valueOffset);
+
+          this.lastReturnedOffset = this.offset;
+          this.offset = nextOffset(this.offset + 1);
+
+          return new SimpleEntry<>(key, value) {
+
+            @Override
+            public VALUE setValue(VALUE value) {
+              put(getKey(), value);
+              return super.setValue(value);
+            }
+          };
+        }
+
+        @Override
+        public void remove() {
+
+          Assert.state(this.lastReturnedOffset > -1, "next() must be called before remove()");
+
+          assertOpen();
+          checkForComodification();
+          removeAt(index(this.lastReturnedOffset));
+
+          // Re-examine the slot just removed, since the next entry in its cluster may have been shifted into it.
+          this.offset = nextOffset(this.lastReturnedOffset);
+          this.lastReturnedOffset = -1;
+          this.expectedModCount = OffHeapArrayHashMap.this.modCount;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return OffHeapArrayHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      OffHeapArrayHashMap.this.clear();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java Benchmark measuring the duration of a full garbage collection while the Java heap retains
+ * an on-heap {@link ArrayHashMap} compared to an {@link OffHeapArrayHashMap} containing the same entries.
+ * <p>
+ * Each invocation calls {@link System#gc()}, so the reported time is the full GC pause caused by the live
+ * {@link Map}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.OffHeapArrayHashMap
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g", "-XX:MaxDirectMemorySize=2g" })
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OffHeapArrayHashMapGcBenchmark {
+
+  public static void main(String[] args) throws IOException {
+    org.openjdk.jmh.Main.main(args);
+  }
+
+  @State(Scope.Benchmark)
+  public static class OnHeapMapState {
+
+    @Param({ "10000000" })
+    int size;
+
+    Map<Long, Long> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+      this.map = new ArrayHashMap<>(this.size * 2);
+
+      for (long key = 0; key < this.size; key++) {
+        this.map.put(key, key);
+      }
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class OffHeapMapState {
+
+    @Param({ "10000000" })
+    int size;
+
+    OffHeapArrayHashMap<Long, Long> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+      this.map = new OffHeapArrayHashMap<>(FixedSizeCodec.forLong(), FixedSizeCodec.forLong(), this.size * 2);
+
+      for (long key = 0; key < this.size; key++) {
+        this.map.put(key, key);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      this.map.close();
+    }
+  }
+
+  @Benchmark
+  public int fullGcWithOnHeapArrayHashMap(OnHeapMapState state) {
+    System.gc();
+    return state.map.size();
+  }
+
+  @Benchmark
+  public int fullGcWithOffHeapArrayHashMap(OffHeapMapState state) {
+    System.gc();
+    return state.map.size();
+  }
+}
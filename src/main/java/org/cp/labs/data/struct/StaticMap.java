@@ -0,0 +1,506 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.annotation.NotNull;
+import org.cp.elements.lang.annotation.Nullable;
+
+/**
+ * Immutable Java {@link Map} implementation for a fixed set of {@literal keys}, indexed by a minimal perfect hash
+ * function, so that every lookup examines exactly one slot and the entries are stored in dense arrays
+ * without any empty slots.
+ * <p>
+ * The perfect hash function is computed with the CHD (compress, hash, displace) algorithm. Every {@literal key}
+ * is hashed to a 64-bit value, which selects one of {@literal n / }{@link #AVERAGE_BUCKET_SIZE} buckets. Buckets are
+ * placed from largest to smallest, each by searching for the smallest displacement that maps all of its
+ * {@literal keys} to distinct, free slots. A lookup hashes the {@literal key}, reads the displacement of its bucket
+ * and compares the {@literal key} stored in the resulting slot. The only overhead beyond the {@literal key} and
+ * {@literal value} arrays is one {@link Integer} displacement per bucket, or about one byte per {@literal key}.
+ * <p>
+ * The hash of a {@literal key} must be the same in every JVM so that a serialized {@link StaticMap} can be reloaded
+ * without recomputing the perfect hash function. {@link CharSequence} {@literal keys} are hashed by their characters
+ * and {@link Enum} {@literal keys} by their {@link Class} and {@link Enum#name() name}. All other {@literal keys}
+ * are hashed by their {@link Object#hashCode() hash code}, which must therefore not depend on identity, as it does
+ * for {@link Boolean}, {@link Number}, {@link java.util.UUID} and {@literal records} of such values. Distinct
+ * {@literal keys} with equal hash codes cannot be perfectly hashed and are rejected.
+ * <p>
+ * Neither {@literal null} keys nor {@literal null} values are permitted.
+ *
+ * @author John Blum
+ * @param <KEY> {@link Class type} of the {@literal keys}.
+ * @param <VALUE> {@link Class type} of the {@literal values}.
+ * @see java.io.Serializable
+ * @see java.util.AbstractMap
+ * @see <a href="https://cmph.sourceforge.net/papers/esa09.pdf">Hash, displace, and compress</a>
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public final class StaticMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> implements Serializable {
+
+  protected static final int AVERAGE_BUCKET_SIZE = 4;
+  protected static final int MAXIMUM_SEED_ATTEMPTS = 16;
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Factory method used to build a new {@link StaticMap} containing all entries of the given {@link Map}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @param map {@link Map} containing the entries; must not be {@literal null}.
+   * @return a new {@link StaticMap} containing all entries of the given {@link Map}.
+   * @throws IllegalArgumentException if the {@link Map} is {@literal null}, contains {@literal null} {@literal keys}
+   * or {@literal values}, or contains distinct {@literal keys} with the same hash.
+   * @throws IllegalStateException if no perfect hash function could be found, which is vanishingly unlikely.
+   */
+  public static @NotNull <KEY, VALUE> StaticMap<KEY, VALUE> build(@NotNull Map<? extends KEY, ? extends VALUE> map) {
+
+    Assert.notNull(map, "Map is required");
+
+    int size = map.size();
+
+    Object[] keys = new Object[size];
+    Object[] values = new Object[size];
+
+    int index = 0;
+
+    for (Map.Entry<? extends KEY, ? extends VALUE> entry : map.entrySet()) {
+
+      Assert.notNull(entry.getKey(), "Key is required");
+      Assert.notNull(entry.getValue(), "Value is required");
+
+      keys[index] = entry.getKey();
+      values[index++] = entry.getValue();
+    }
+
+    Assert.state(index == size, "Map was modified while building StaticMap");
+
+    for (long seed = 0; seed < MAXIMUM_SEED_ATTEMPTS; seed++) {
+
+      int[] displacements = displace(keys, values, seed);
+
+      if (displacements != null) {
+        return new StaticMap<>(keys, values, displacements, seed);
+      }
+    }
+
+    throw new IllegalStateException(String.format("Failed to compute a perfect hash function for [%d] keys", size));
+  }
+
+  /**
+   * Computes the 64-bit hash of the given {@literal key}, which is the same in every JVM.
+   *
+   * @param key {@link Object key} to hash.
+   * @param seed {@link Long} mixed into the hash.
+   * @return the 64-bit hash of the given {@literal key}.
+   */
+  static long hash(@NotNull Object key, long seed) {
+
+    long hash;
+
+    if (key instanceof CharSequence charSequence) {
+      hash = hashCharacters(charSequence, seed);
+    }
+    else if (key instanceof Enum<?> enumeration) {
+      hash = hashCharacters(enumeration.getDeclaringClass().getName(), seed)
+        ^ Long.rotateLeft(hashCharacters(enumeration.name(), seed), 32);
+    }
+    else {
+      hash = seed ^ (key.hashCode() * GOLDEN_RATIO);
+    }
+
+    return mix(hash);
+  }
+
+  private static long hashCharacters(@NotNull CharSequence charSequence, long seed) {
+
+    int length = charSequence.length();
+
+    long hash = seed ^ (length * GOLDEN_RATIO);
+
+    for (int index = 0; index < length; index++) {
+      hash = (hash ^ charSequence.charAt(index)) * 0xBF58476D1CE4E5B9L;
+      hash ^= hash >>> 29;
+    }
+
+    return hash;
+  }
+
+  /**
+   * MurmurHash3 64-bit finalizer.
+   */
+  private static long mix(long hash) {
+
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+
+  /**
+   * Maps the given 32-bit {@link Integer value} uniformly onto the range {@literal [0, bound)}
+   * with a multiplication instead of a division.
+   */
+  private static int reduce(int value, int bound) {
+    return (int) (((value & 0xFFFFFFFFL) * bound) >>> 32);
+  }
+
+  private static int bucketCount(int size) {
+    return Math.max((size + AVERAGE_BUCKET_SIZE - 1) / AVERAGE_BUCKET_SIZE, 1);
+  }
+
+  private static int bucket(long hash, int bucketCount) {
+    return reduce((int) (hash >>> 32), bucketCount);
+  }
+
+  private static int slot(long hash, int displacement, int size) {
+    return reduce((int) mix(hash + displacement * GOLDEN_RATIO), size);
+  }
+
+  /**
+   * Computes the displacement of every bucket, rearranging the {@literal keys} and {@literal values} so that every
+   * entry is stored in the slot its {@literal key} hashes to.
+   *
+   * @param keys array of {@literal keys}; rearranged in place on success.
+   * @param values array of {@literal values} in the same order as the {@literal keys}; rearranged in place on success.
+   * @param seed {@link Long} mixed into the hash of every {@literal key}.
+   * @return the displacement of every bucket, or {@literal null} if a bucket could not be placed with
+   * the given {@link Long seed}.
+   * @throws IllegalArgumentException if distinct {@literal keys} have the same hash.
+   */
+  private static @Nullable int[] displace(@NotNull Object[] keys, @NotNull Object[] values, long seed) {
+
+    int size = keys.length;
+    int bucketCount = bucketCount(size);
+
+    long[] hashes = new long[size];
+
+    for (int index = 0; index < size; index++) {
+      hashes[index] = hash(keys[index], seed);
+    }
+
+    assertDistinctHashes(keys, hashes);
+
+    // Group the key indexes by bucket with a counting sort.
+    int[] bucketStarts = new int[bucketCount + 1];
+
+    for (long hash : hashes) {
+      bucketStarts[bucket(hash, bucketCount) + 1]++;
+    }
+
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      bucketStarts[bucket + 1] += bucketStarts[bucket];
+    }
+
+    int[] bucketEntries = new int[size];
+    int[] bucketFill = Arrays.copyOf(bucketStarts, bucketCount);
+
+    for (int index = 0; index < size; index++) {
+      bucketEntries[bucketFill[bucket(hashes[index], bucketCount)]++] = index;
+    }
+
+    Integer[] buckets = new Integer[bucketCount];
+
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      buckets[bucket] = bucket;
+    }
+
+    // Place the largest buckets first, while there are still many free slots.
+    Arrays.sort(buckets, (bucketOne, bucketTwo) -> Integer.compare(
+      bucketStarts[bucketTwo + 1] - bucketStarts[bucketTwo], bucketStarts[bucketOne + 1] - bucketStarts[bucketOne]));
+
+    int maximumDisplacement = Math.max(size, 1) * 64;
+
+    int[] displacements = new int[bucketCount];
+    int[] slots = new int[size];
+    int[] candidateSlots = new int[size];
+
+    BitSet occupied = new BitSet(size);
+
+    for (int bucket : buckets) {
+
+      int start = bucketStarts[bucket];
+      int end = bucketStarts[bucket + 1];
+
+      if (start == end) {
+        continue;
+      }
+
+      int displacement = 0;
+
+      while (!tryPlace(hashes, bucketEntries, start, end, displacement, occupied, candidateSlots)) {
+        if (++displacement > maximumDisplacement) {
+          return null;
+        }
+      }
+
+      displacements[bucket] = displacement;
+
+      for (int position = start; position < end; position++) {
+        int slot = candidateSlots[position - start];
+        occupied.set(slot);
+        slots[bucketEntries[position]] = slot;
+      }
+    }
+
+    permute(keys, slots);
+    permute(values, slots);
+
+    return displacements;
+  }
+
+  private static boolean tryPlace(@NotNull long[] hashes, @NotNull int[] bucketEntries, int start, int end,
+      int displacement, @NotNull BitSet occupied, @NotNull int[] candidateSlots) {
+
+    int size = hashes.length;
+
+    for (int position = start; position < end; position++) {
+
+      int slot = slot(hashes[bucketEntries[position]], displacement, size);
+
+      if (occupied.get(slot)) {
+        return false;
+      }
+
+      for (int previous = 0; previous < position - start; previous++) {
+        if (candidateSlots[previous] == slot) {
+          return false;
+        }
+      }
+
+      candidateSlots[position - start] = slot;
+    }
+
+    return true;
+  }
+
+  private static void assertDistinctHashes(@NotNull Object[] keys, @NotNull long[] hashes) {
+
+    Map<Long, Object> keysByHash = new HashMap<>(hashes.length * 2);
+
+    for (int index = 0; index < hashes.length; index++) {
+
+      Object collidingKey = keysByHash.putIfAbsent(hashes[index], keys[index]);
+
+      if (collidingKey != null) {
+        throw new IllegalArgumentException(String.format("Keys [%s] and [%s] have the same hash"
+          + " and cannot be perfectly hashed", collidingKey, keys[index]));
+      }
+    }
+  }
+
+  private static void permute(@NotNull Object[] array, @NotNull int[] slots) {
+
+    Object[] copy = array.clone();
+
+    for (int index = 0; index < copy.length; index++) {
+      array[slots[index]] = copy[index];
+    }
+  }
+
+  private final long seed;
+
+  private final int[] displacements;
+
+  private final Object[] keys;
+  private final Object[] values;
+
+  private transient Set<Map.Entry<KEY, VALUE>> entrySet;
+
+  private StaticMap(@NotNull Object[] keys, @NotNull Object[] values, @NotNull int[] displacements, long seed) {
+
+    this.keys = keys;
+    this.values = values;
+    this.displacements = displacements;
+    this.seed = seed;
+  }
+
+  @Serial
+  private void readObject(@NotNull ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+    in.defaultReadObject();
+
+    if (this.keys == null || this.values == null || this.displacements == null
+        || this.keys.length != this.values.length || this.displacements.length != bucketCount(this.keys.length)) {
+
+      throw new InvalidObjectException("StaticMap is corrupt");
+    }
+
+    for (int index = 0; index < this.keys.length; index++) {
+      if (this.keys[index] == null || this.values[index] == null || indexOf(this.keys[index]) != index) {
+        throw new InvalidObjectException("StaticMap keys do not match the perfect hash function");
+      }
+    }
+  }
+
+  private int indexOf(@Nullable Object key) {
+
+    if (key != null && this.keys.length > 0) {
+
+      long hash = hash(key, this.seed);
+
+      int index = slot(hash, this.displacements[bucket(hash, this.displacements.length)], this.keys.length);
+
+      Object slotKey = this.keys[index];
+
+      return slotKey == key || slotKey.equals(key) ? index : -1;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Gets the {@link Integer number of displacements} stored by the perfect hash function, which is the only
+   * memory used beyond the arrays of {@literal keys} and {@literal values}.
+   *
+   * @return the {@link Integer number of displacements} stored by the perfect hash function.
+   */
+  int getDisplacementCount() {
+    return this.displacements.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.keys.length == 0;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return indexOf(key) > -1;
+  }
+
+  @Override
+  public boolean containsValue(@Nullable Object value) {
+    return value != null && Arrays.asList(this.values).contains(value);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE get(@Nullable Object key) {
+
+    int index = indexOf(key);
+
+    return index > -1 ? (VALUE) this.values[index] : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public @Nullable VALUE getOrDefault(@Nullable Object key, @Nullable VALUE defaultValue) {
+
+    int index = indexOf(key);
+
+    return index > -1 ? (VALUE) this.values[index] : defaultValue;
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<KEY, VALUE>> entrySet() {
+
+    Set<Map.Entry<KEY, VALUE>> entrySet = this.entrySet;
+
+    return entrySet != null ? entrySet : (this.entrySet = new EntrySet());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(@NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    for (int index = 0; index < this.keys.length; index++) {
+      action.accept((KEY) this.keys[index], (VALUE) this.values[index]);
+    }
+  }
+
+  @Override
+  public int size() {
+    return this.keys.length;
+  }
+
+  /**
+   * Immutable {@link Set} view of the entries in {@literal this} {@link StaticMap}, in slot order.
+   */
+  private final class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+    @Override
+    public @NotNull Iterator<Map.Entry<KEY, VALUE>> iterator() {
+
+      return new Iterator<>() {
+
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return this.index < StaticMap.this.keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<KEY, VALUE> next() {
+
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more entries");
+          }
+
+          int index = this.index++;
+
+          return new AbstractMap.SimpleImmutableEntry<>((KEY) StaticMap.this.keys[index],
+            (VALUE) StaticMap.this.values[index]);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return StaticMap.this.keys.length;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object obj) {
+
+      if (obj instanceof Map.Entry<?, ?> entry) {
+
+        VALUE value = get(entry.getKey());
+
+        return value != null && value.equals(entry.getValue());
+      }
+
+      return false;
+    }
+  }
+}
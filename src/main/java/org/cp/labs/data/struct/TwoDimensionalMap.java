@@ -18,30 +18,60 @@ package org.cp.labs.data.struct;
 import static org.cp.elements.lang.LangExtensions.assertThat;
 
 import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.cp.elements.lang.Assert;
+import org.cp.elements.lang.ObjectUtils;
 import org.cp.elements.lang.annotation.NotNull;
 import org.cp.elements.lang.annotation.Nullable;
 
 /**
  * Java {@link Map} implementation that is two-dimensional (2D).
+ * <p>
+ * The row of a {@literal key} is resolved from its hash computed by a pluggable {@link HashStrategy},
+ * {@link HashStrategy#murmur3() MurmurHash3} by default.
+ * <p>
+ * The {@link HashMapArray} grows with linear hashing. Rows start small, and whenever an insertion fills a row
+ * beyond its threshold, the next row in order is split in two, so the number of rows grows by one row at a time
+ * and no operation ever rehashes more than a single row.
+ * <p>
+ * The rows are shards that can be processed independently. The {@link #entrySet()} view iterates the rows in place,
+ * its {@link Spliterator} splits by ranges of rows, and {@link #forEachShard(long, BiConsumer)} processes each row
+ * as a single parallel task.
+ * <p>
+ * The distribution of entries across the rows of the {@link Map} can be inspected with {@link #computeStatistics()}.
  *
  * @author John Blum
  * @see java.util.AbstractMap
  * @see java.util.HashMap
  * @see java.util.Map
+ * @see org.cp.labs.data.struct.HashStrategy
+ * @see org.cp.labs.data.struct.MapStatistics
  * @see org.cp.labs.data.struct.MapWrapper
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
-public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
+public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> implements MapStatistics.Source {
 
   protected static final int DEFAULT_INITIAL_CAPACITY = 1067;
 
@@ -67,17 +97,319 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
     return new TwoDimensionalMap<>(new HashMapArray<>(initialCapacity, loadFactor));
   }
 
+  public static @NotNull <KEY, VALUE> TwoDimensionalMap<KEY, VALUE> usingHashMapArray(
+      int initialCapacity, float loadFactor, @NotNull HashStrategy hashStrategy) {
+
+    return new TwoDimensionalMap<>(new HashMapArray<>(initialCapacity, loadFactor, hashStrategy));
+  }
+
+  public static @NotNull <KEY, VALUE> ConcurrentTwoDimensionalMap<KEY, VALUE> usingConcurrentHashMapArray() {
+    return new ConcurrentTwoDimensionalMap<>(
+      new ConcurrentHashMapArray<>(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, HashStrategy.murmur3()));
+  }
+
+  public static @NotNull <KEY, VALUE> ConcurrentTwoDimensionalMap<KEY, VALUE> usingConcurrentHashMapArray(
+      int initialCapacity) {
+
+    return new ConcurrentTwoDimensionalMap<>(
+      new ConcurrentHashMapArray<>(initialCapacity, DEFAULT_LOAD_FACTOR, HashStrategy.murmur3()));
+  }
+
+  public static @NotNull <KEY, VALUE> ConcurrentTwoDimensionalMap<KEY, VALUE> usingConcurrentHashMapArray(
+      int initialCapacity, float loadFactor) {
+
+    return new ConcurrentTwoDimensionalMap<>(
+      new ConcurrentHashMapArray<>(initialCapacity, loadFactor, HashStrategy.murmur3()));
+  }
+
+  public static @NotNull <KEY, VALUE> ConcurrentTwoDimensionalMap<KEY, VALUE> usingConcurrentHashMapArray(
+      int initialCapacity, float loadFactor, @NotNull HashStrategy hashStrategy) {
+
+    return new ConcurrentTwoDimensionalMap<>(
+      new ConcurrentHashMapArray<>(initialCapacity, loadFactor, hashStrategy));
+  }
+
+  private int compactionRowsPerRemoval;
+
+  private CompactionListener compactionListener = result -> {};
+
   protected TwoDimensionalMap(@NotNull Map<KEY, VALUE> map) {
     super(map);
   }
 
-  protected static class HashMapArray<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+  /**
+   * Configures the {@link CompactionListener} notified of every {@link #compact(int) compaction} that merged,
+   * released or rebuilt any rows.
+   *
+   * @param compactionListener {@link CompactionListener} notified of compactions; must not be {@literal null}.
+   * @return this {@link TwoDimensionalMap}.
+   * @throws IllegalArgumentException if the {@link CompactionListener} is {@literal null}.
+   */
+  public @NotNull TwoDimensionalMap<KEY, VALUE> withCompactionListener(
+      @NotNull CompactionListener compactionListener) {
+
+    this.compactionListener = ObjectUtils.requireObject(compactionListener, "CompactionListener is required");
+
+    return this;
+  }
+
+  /**
+   * Configures {@literal this} {@link Map} to {@link #compact(int) compact} up to the given
+   * {@link Integer number of rows} after every {@link #remove(Object) removal} of an entry, spreading
+   * the work of compaction across the operations that created it.
+   * <p>
+   * Compaction follows every operation of {@literal this} {@link Map} that removes an entry, including
+   * {@link #remove(Object, Object)} and a {@link #compute(Object, BiFunction)},
+   * {@link #computeIfPresent(Object, BiFunction)} or {@link #merge(Object, Object, BiFunction)} returning
+   * {@literal null}. Entries removed through the {@link #entrySet()}, {@link #keySet()} or {@link #values()} views
+   * are not followed by compaction, since it would invalidate the {@link Iterator} doing the removal; the rows
+   * they leave behind are left to the next removal or call to {@link #compact(int)}.
+   * <p>
+   * A value of {@literal 0} disables incremental compaction, in which case {@link #compact(int)} must be
+   * called explicitly, for example, on every tick of a {@link java.util.concurrent.ScheduledExecutorService}.
+   *
+   * @param rowsPerRemoval {@link Integer maximum number of rows} compacted after each removal.
+   * @return this {@link TwoDimensionalMap}.
+   * @throws IllegalArgumentException if {@literal rowsPerRemoval} is less than {@literal 0}.
+   * @throws IllegalStateException if the wrapped {@link Map} does not support compaction.
+   */
+  public @NotNull TwoDimensionalMap<KEY, VALUE> withIncrementalCompaction(int rowsPerRemoval) {
+
+    assertThat(rowsPerRemoval)
+      .describedAs("Rows per removal [%d] must be greater than equal to 0", rowsPerRemoval)
+      .isGreaterThanEqualTo(0);
+
+    resolveCompactableMap();
+
+    this.compactionRowsPerRemoval = rowsPerRemoval;
+
+    return this;
+  }
+
+  private @NotNull HashMapArray<KEY, VALUE> resolveCompactableMap() {
+
+    Map<KEY, VALUE> map = getMap();
+
+    Assert.state(map instanceof HashMapArray, "Map [%s] does not support compaction", map.getClass().getName());
+
+    return (HashMapArray<KEY, VALUE>) map;
+  }
+
+  /**
+   * Computes {@link MapStatistics} for an array of rows, where every row is both a bucket and a row.
+   * <p>
+   * Each bucket holds the nested {@link Map} of all entries whose {@literal keys} resolve to its index, so
+   * the chain length, and therefore the probe length, of every entry in a bucket is the size of its nested
+   * {@link Map}.
+   *
+   * @param rowFill array containing the {@link Integer number of entries} in each row.
+   * @param resizeCount {@link Long number of times} the array of rows has been resized.
+   * @return a new {@link MapStatistics} snapshot of the rows.
+   */
+  static @NotNull MapStatistics computeRowStatistics(@NotNull int[] rowFill, long resizeCount) {
+
+    int occupiedBuckets = (int) Arrays.stream(rowFill).filter(chainLength -> chainLength > 0).count();
+    int[] probeLengths = new int[Arrays.stream(rowFill).sum()];
+    int entryIndex = 0;
+
+    for (int chainLength : rowFill) {
+      Arrays.fill(probeLengths, entryIndex, entryIndex + chainLength, chainLength);
+      entryIndex += chainLength;
+    }
+
+    return MapStatistics.from(rowFill.length, occupiedBuckets, probeLengths, rowFill, resizeCount);
+  }
+
+  /**
+   * Compacts up to the given {@link Integer number of rows} of {@literal this} {@link Map}, releasing the memory
+   * retained by rows after entries have been removed.
+   * <p>
+   * Compaction first merges rows back together, undoing the most recent splits, while the {@link Map} is less
+   * than half as full as the threshold that triggered them, and releases the tail of the array of rows no longer
+   * in use. It then visits the remaining budget of rows in turn, continuing from where the previous compaction
+   * stopped: empty rows are released and rows whose {@link HashMap} table is at least four times larger than
+   * their entries require are rebuilt at a right-sized capacity.
+   * <p>
+   * The work of a single call is bounded by the number of rows, so compaction can be driven either by
+   * a scheduled task or {@link #withIncrementalCompaction(int) incrementally} by removals. The configured
+   * {@link CompactionListener} is notified when any row was merged, released or rebuilt.
+   *
+   * @param maximumRows {@link Integer maximum number of rows} to merge or visit; must be greater than {@literal 0}.
+   * @return the {@link CompactionResult} describing the work done.
+   * @throws IllegalArgumentException if {@literal maximumRows} is less than {@literal 1}.
+   * @throws IllegalStateException if the wrapped {@link Map} does not support compaction.
+   * @see #withCompactionListener(CompactionListener)
+   */
+  public @NotNull CompactionResult compact(int maximumRows) {
+
+    assertThat(maximumRows)
+      .describedAs("Maximum rows [%d] must be greater than 0", maximumRows)
+      .isGreaterThan(0);
+
+    CompactionResult result = resolveCompactableMap().compact(maximumRows);
+
+    if (result.isModified()) {
+      this.compactionListener.onCompaction(result);
+    }
+
+    return result;
+  }
+
+  private <T> T compactAfterRemoval(@NotNull Supplier<T> operation) {
+
+    int rowsPerRemoval = this.compactionRowsPerRemoval;
+
+    if (rowsPerRemoval == 0) {
+      return operation.get();
+    }
+
+    int size = size();
+
+    T result = operation.get();
+
+    if (size() < size) {
+      compact(rowsPerRemoval);
+    }
+
+    return result;
+  }
+
+  @Override
+  public VALUE remove(Object key) {
+    return compactAfterRemoval(() -> super.remove(key));
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    return compactAfterRemoval(() -> super.remove(key, value));
+  }
+
+  @Override
+  public VALUE compute(KEY key, @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+    return compactAfterRemoval(() -> super.compute(key, remappingFunction));
+  }
+
+  @Override
+  public VALUE computeIfPresent(KEY key,
+      @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    return compactAfterRemoval(() -> super.computeIfPresent(key, remappingFunction));
+  }
+
+  @Override
+  public VALUE merge(KEY key, VALUE value,
+      @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+    return compactAfterRemoval(() -> super.merge(key, value, remappingFunction));
+  }
+
+  /**
+   * Performs the given {@link BiConsumer action} for each entry in {@literal this} {@link Map}, processing each
+   * shard, or row, as a single task, and the shards in parallel when {@literal this} {@link Map} contains
+   * at least {@literal parallelismThreshold} entries.
+   * <p>
+   * As with {@link ArrayHashMap#forEach(long, BiConsumer)}, a threshold of {@link Long#MAX_VALUE} suppresses
+   * all parallelism and a threshold of {@literal 1} results in maximal parallelism. The entries of a shard are
+   * always processed by the same {@link Thread}, in order. The {@link BiConsumer action} must be thread-safe
+   * when run in parallel.
+   *
+   * @param parallelismThreshold {@link Long} specifying the (estimated) number of entries required
+   * for the operation to run in parallel.
+   * @param action {@link BiConsumer} invoked with each {@literal key} and {@literal value};
+   * must not be {@literal null}.
+   * @throws IllegalArgumentException if the {@link BiConsumer action} is {@literal null}.
+   * @throws IllegalStateException if the wrapped {@link Map} is not sharded.
+   */
+  public void forEachShard(long parallelismThreshold, @NotNull BiConsumer<? super KEY, ? super VALUE> action) {
+
+    Assert.notNull(action, "Action is required");
+
+    Map<KEY, VALUE> map = getMap();
+
+    Assert.state(map instanceof ShardedMap, "Map [%s] is not sharded", map.getClass().getName());
+
+    @SuppressWarnings("unchecked")
+    ShardedMap<KEY, VALUE> shards = (ShardedMap<KEY, VALUE>) map;
+
+    IntStream shardIndexes = IntStream.range(0, shards.getShardCount());
+
+    (size() >= parallelismThreshold ? shardIndexes.parallel() : shardIndexes).forEach(index -> {
+
+      Map<KEY, VALUE> shard = shards.getShard(index);
+
+      if (shard != null) {
+        shard.forEach(action);
+      }
+    });
+  }
+
+  /**
+   * Computes {@link MapStatistics} describing the distribution of entries across the rows of {@literal this}
+   * {@link Map}.
+   *
+   * @return a new {@link MapStatistics} snapshot of {@literal this} {@link Map}.
+   * @throws IllegalStateException if the wrapped {@link Map} is not a {@link MapStatistics.Source}.
+   * @see org.cp.labs.data.struct.MapStatistics
+   */
+  @Override
+  public @NotNull MapStatistics computeStatistics() {
+
+    Map<KEY, VALUE> map = getMap();
+
+    Assert.state(map instanceof MapStatistics.Source, "Map [%s] does not provide statistics",
+      map.getClass().getName());
+
+    return ((MapStatistics.Source) map).computeStatistics();
+  }
+
+  /**
+   * Array of rows, each a {@link HashMap}, grown incrementally with linear hashing.
+   * <p>
+   * The array starts with {@link #getInitialCapacity() initial capacity} rows. Rows are split in order, one at
+   * a time, by the {@link #split split pointer}. A round of splits doubles the number of rows; during a round,
+   * the rows before the split pointer have already been split and are addressed by the hash modulo twice the number
+   * of rows at the start of the round, and the remaining rows by the hash modulo that number.
+   * <p>
+   * A split is triggered whenever an insertion raises the average number of entries per row above the
+   * {@link #getRowThreshold() row threshold}. The row that is split is the row at the split pointer, which is
+   * generally not the row the entry was stored in, but since every row is split once per round, no row
+   * stays large for long. Splitting moves on average half
+   * the entries of a single row, so the pause of any one operation is bounded by the size of a row rather than
+   * the size of the {@link Map}. Reaching the end of the array only copies the array of row references.
+   * <p>
+   * Rows are created empty at a small {@link #ROW_CAPACITY capacity}, when the first entry is stored in them.
+   * A {@link HashMap} never shrinks, so after entries are removed, rows are released, rebuilt and merged
+   * by {@link #compact(int) compaction}.
+   * <p>
+   * A {@link HashMapArray} is not thread-safe; a {@link ConcurrentHashMapArray} must be used when
+   * the {@link Map} is modified by multiple {@link Thread Threads}.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @see <a href="https://en.wikipedia.org/wiki/Linear_hashing">Linear hashing</a>
+   */
+  protected static class HashMapArray<KEY, VALUE> extends AbstractMap<KEY, VALUE>
+      implements MapStatistics.Source, ShardedMap<KEY, VALUE> {
+
+    protected static final int MAXIMUM_ROW_COUNT = 1 << 30;
+    protected static final int REFERENCE_SIZE = 4;
+    protected static final int ROW_CAPACITY = 8;
+    protected static final int ROW_OVERHEAD = 64;
 
     private final int initialCapacity;
+    private final int rowThreshold;
 
     private final float loadFactor;
 
-    private final Object[] maps;
+    private final HashStrategy hashStrategy;
+
+    private int compactionIndex;
+    private int level;
+    private int modCount;
+    private int size;
+    private int split;
+
+    private Object[] maps;
 
     protected HashMapArray() {
       this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
@@ -92,16 +424,64 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
     }
 
     protected HashMapArray(int initialCapacity, float loadFactor) {
+      this(initialCapacity, loadFactor, HashStrategy.murmur3());
+    }
+
+    protected HashMapArray(int initialCapacity, float loadFactor, @NotNull HashStrategy hashStrategy) {
+
+      assertThat(initialCapacity)
+        .describedAs("Initial capacity [%d] must be greater than 0 and less than equal to [%d]",
+          initialCapacity, MAXIMUM_ROW_COUNT)
+        .isGreaterThanAndLessThanEqualTo(0, MAXIMUM_ROW_COUNT);
+
+      assertThat(loadFactor)
+        .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+        .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
 
       this.initialCapacity = initialCapacity;
       this.loadFactor = loadFactor;
+      this.rowThreshold = Math.max((int) (ROW_CAPACITY * loadFactor), 1);
+      this.hashStrategy = ObjectUtils.requireObject(hashStrategy, "HashStrategy is required");
       this.maps = new Object[initialCapacity];
     }
 
+    /**
+     * Gets the {@link Integer number of rows} in use, including the rows added by splits.
+     *
+     * @return the {@link Integer number of rows} in use.
+     */
+    protected int getRowCount() {
+      return getRoundSize() + this.split;
+    }
+
+    /**
+     * Gets the {@link Integer number of rows} at the start of the current round of splits.
+     *
+     * @return the {@link Integer number of rows} at the start of the current round of splits.
+     */
+    private int getRoundSize() {
+      return this.initialCapacity << this.level;
+    }
+
     protected int getInitialCapacity() {
       return this.initialCapacity;
     }
 
+    /**
+     * Gets the average {@link Integer number of entries} per row above which storing another entry triggers
+     * a split.
+     *
+     * @return the average {@link Integer number of entries} per row above which storing another entry triggers
+     * a split.
+     */
+    protected int getRowThreshold() {
+      return this.rowThreshold;
+    }
+
+    protected @NotNull HashStrategy getHashStrategy() {
+      return this.hashStrategy;
+    }
+
     protected float getLoadFactor() {
       return this.loadFactor;
     }
@@ -117,7 +497,7 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
     }
 
     protected <K, V> Map<K, V> newMap(int initialCapacity, float loadFactor) {
-      return new HashMap<>(initialCapacity, loadFactor);
+      return new Row<>(initialCapacity, loadFactor);
     }
 
     private @Nullable VALUE nullSafeMapGet(@Nullable Map<KEY, VALUE> map, @NotNull KEY key) {
@@ -128,14 +508,225 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
       return map != null ? map.remove(key) : null;
     }
 
-    @SuppressWarnings("all")
     private int resolveIndex(Object key) {
+      return resolveIndex(getHashStrategy().hash(key));
+    }
+
+    private int resolveIndex(int hash) {
+
+      int roundSize = getRoundSize();
+
+      // The hash is treated as unsigned so that negative hashes never resolve to a negative index.
+      int index = Integer.remainderUnsigned(hash, roundSize);
+
+      // Rows before the split pointer have been split and are addressed with twice the round size.
+      return index < this.split ? Integer.remainderUnsigned(hash, roundSize << 1) : index;
+    }
+
+    /**
+     * Splits the row at the split pointer, moving every entry that now resolves to the new row at the end of
+     * the array, and advances the split pointer, starting a new round when every row of the current round
+     * has been split.
+     */
+    @SuppressWarnings("unchecked")
+    private void splitNextRow() {
+
+      int roundSize = getRoundSize();
+
+      if (roundSize > MAXIMUM_ROW_COUNT >>> 1) {
+        return;
+      }
+
+      int source = this.split;
+      int target = source + roundSize;
+
+      if (target >= this.maps.length) {
+        this.maps = Arrays.copyOf(this.maps, Math.min(roundSize << 1, MAXIMUM_ROW_COUNT));
+      }
+
+      Map<KEY, VALUE> sourceMap = (Map<KEY, VALUE>) this.maps[source];
+
+      if (sourceMap != null) {
+
+        Map<KEY, VALUE> targetMap = null;
+
+        for (Iterator<Entry<KEY, VALUE>> iterator = sourceMap.entrySet().iterator(); iterator.hasNext(); ) {
+
+          Entry<KEY, VALUE> entry = iterator.next();
+
+          if (Integer.remainderUnsigned(getHashStrategy().hash(entry.getKey()), roundSize << 1) == target) {
+
+            if (targetMap == null) {
+              targetMap = newMap(ROW_CAPACITY, getLoadFactor());
+              this.maps[target] = targetMap;
+            }
+
+            targetMap.put(entry.getKey(), entry.getValue());
+            recordGrowth(targetMap);
+            iterator.remove();
+          }
+        }
+
+        if (sourceMap.isEmpty()) {
+          this.maps[source] = null;
+        }
+      }
+
+      if (++this.split == roundSize) {
+        this.split = 0;
+        this.level++;
+      }
+
+      this.modCount++;
+    }
 
-      int mapsLength = getMaps().length;
-      int keyHashCode = key.hashCode();
-      int index = keyHashCode % mapsLength;
+    /**
+     * Merges the row added by the most recent split back into the row it was split from and moves the split
+     * pointer back, ending the current round and returning to the previous round when the split pointer
+     * reaches the start of the array.
+     *
+     * @return the {@link Long approximate number of bytes} released by the merge.
+     */
+    @SuppressWarnings("unchecked")
+    private long mergeLastRow() {
+
+      if (this.split == 0) {
+        this.level--;
+        this.split = getRoundSize();
+      }
+
+      int target = --this.split;
+      int source = target + getRoundSize();
+
+      Map<KEY, VALUE> sourceMap = (Map<KEY, VALUE>) this.maps[source];
+      Map<KEY, VALUE> targetMap = (Map<KEY, VALUE>) this.maps[target];
+
+      long reclaimedBytes = 0L;
+
+      this.maps[source] = null;
+
+      if (targetMap == null) {
+        this.maps[target] = sourceMap;
+      }
+      else if (sourceMap != null) {
+
+        reclaimedBytes = estimateRowSize(sourceMap) - estimateRowSize(targetMap);
+
+        targetMap.putAll(sourceMap);
+        recordGrowth(targetMap);
+
+        reclaimedBytes += estimateRowSize(targetMap);
+      }
+
+      this.modCount++;
+
+      return reclaimedBytes;
+    }
+
+    /**
+     * Compacts up to the given {@link Integer number of rows}.
+     *
+     * @param maximumRows {@link Integer maximum number of rows} to merge or visit.
+     * @return the {@link CompactionResult} describing the work done.
+     * @see TwoDimensionalMap#compact(int)
+     */
+    @SuppressWarnings("unchecked")
+    protected @NotNull CompactionResult compact(int maximumRows) {
+
+      int budget = maximumRows;
+      int rowsMerged = 0;
+      int rowsReleased = 0;
+      int rowsRebuilt = 0;
+
+      long reclaimedBytes = 0L;
+
+      while (budget > 0 && getRowCount() > getInitialCapacity()
+          && (long) this.size * 2L < (long) getRowCount() * getRowThreshold()) {
+
+        reclaimedBytes += mergeLastRow();
+        rowsMerged++;
+        budget--;
+      }
+
+      int arrayLength = Math.max(getRoundSize() << 1, getInitialCapacity());
+
+      if (this.maps.length > arrayLength) {
+        reclaimedBytes += (long) (this.maps.length - arrayLength) * REFERENCE_SIZE;
+        this.maps = Arrays.copyOf(this.maps, arrayLength);
+      }
+
+      int rowCount = getRowCount();
+      int rowsVisited = Math.min(budget, rowCount);
+
+      for (int count = 0; count < rowsVisited; count++) {
+
+        int index = this.compactionIndex < rowCount ? this.compactionIndex : 0;
+
+        this.compactionIndex = index + 1;
+
+        if (this.maps[index] instanceof Map<?, ?> row) {
+
+          Map<KEY, VALUE> map = (Map<KEY, VALUE>) row;
 
-      return index;
+          if (map.isEmpty()) {
+            this.maps[index] = null;
+            reclaimedBytes += estimateRowSize(map);
+            rowsReleased++;
+          }
+          else if (map instanceof Row<?, ?> sparseRow && tableCapacityFor(map.size()) <= sparseRow.capacity >>> 2) {
+
+            Map<KEY, VALUE> rebuiltMap = newMap(tableCapacityFor(map.size()), getLoadFactor());
+
+            map.forEach(rebuiltMap::put);
+            this.maps[index] = rebuiltMap;
+            reclaimedBytes += estimateRowSize(map) - estimateRowSize(rebuiltMap);
+            rowsRebuilt++;
+          }
+        }
+      }
+
+      if (rowsReleased + rowsRebuilt > 0) {
+        this.modCount++;
+      }
+
+      return new CompactionResult(rowsMerged + rowsVisited, rowsMerged, rowsReleased, rowsRebuilt, reclaimedBytes);
+    }
+
+    /**
+     * Estimates the {@link Long number of bytes} retained by the given row, excluding its entries, which
+     * is the {@link HashMap} itself and its table of references to entries.
+     */
+    private long estimateRowSize(@NotNull Map<KEY, VALUE> map) {
+      int capacity = map instanceof Row<?, ?> row ? row.capacity : tableCapacityFor(map.size());
+      return ROW_OVERHEAD + (long) capacity * REFERENCE_SIZE;
+    }
+
+    /**
+     * Records the growth of the table of the given row after entries were stored in it, mirroring
+     * the resizing of a {@link HashMap}.
+     */
+    private void recordGrowth(@NotNull Map<KEY, VALUE> map) {
+
+      if (map instanceof Row<?, ?> row) {
+        while (row.size() > (int) (row.capacity * getLoadFactor())) {
+          row.capacity <<= 1;
+        }
+      }
+    }
+
+    /**
+     * Returns the smallest table capacity of a row holding the given {@link Integer number of entries}
+     * without resizing.
+     */
+    private int tableCapacityFor(int size) {
+
+      int capacity = ROW_CAPACITY;
+
+      while (size > (int) (capacity * getLoadFactor()) && capacity < MAXIMUM_ROW_COUNT) {
+        capacity <<= 1;
+      }
+
+      return capacity;
     }
 
     @SuppressWarnings("unchecked")
@@ -154,12 +745,22 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
 
     @Override
     public boolean isEmpty() {
-      return size() < 1;
+      return this.size < 1;
     }
 
     @Override
     public void clear() {
-      Arrays.fill(getMaps(), null);
+      this.maps = new Object[getInitialCapacity()];
+      this.compactionIndex = 0;
+      this.level = 0;
+      this.size = 0;
+      this.split = 0;
+      this.modCount++;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+      return get(key) != null;
     }
 
     @Override
@@ -171,19 +772,41 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
         : null;
     }
 
+    /**
+     * Returns a live {@link Set} view of the entries in {@literal this} {@link Map}, which iterates the rows
+     * in place without copying them.
+     * <p>
+     * The {@link Iterator} is fail-fast and supports {@link Iterator#remove()}. The {@link java.util.Spliterator}
+     * splits by ranges of rows, so each row is traversed by a single task of a parallel stream.
+     *
+     * @return a live {@link Set} view of the entries in {@literal this} {@link Map}.
+     */
+    @Override
+    public @NotNull Set<Entry<KEY, VALUE>> entrySet() {
+      return new ShardedEntrySet<>(this, this, Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
     @Override
-    @SuppressWarnings({ "all", "unchecked" })
-    public Set<Entry<KEY, VALUE>> entrySet() {
+    public int getShardCount() {
+      return getRowCount();
+    }
 
-      Set<Entry<KEY, VALUE>> mapsEntries = new HashSet<>();
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable Map<KEY, VALUE> getShard(int index) {
+      return (Map<KEY, VALUE>) getMaps()[index];
+    }
 
-      Arrays.stream(getMaps())
-        .filter(Map.class::isInstance)
-        .map(Map.class::cast)
-        .map(Map::entrySet)
-        .forEach(mapsEntries::addAll);
+    @Override
+    public int getModificationCount() {
+      return this.modCount;
+    }
 
-      return Collections.unmodifiableSet(mapsEntries);
+    @Override
+    public void removeEntry(@NotNull Iterator<Entry<KEY, VALUE>> shardIterator, @NotNull Entry<KEY, VALUE> entry) {
+      shardIterator.remove();
+      this.size--;
+      this.modCount++;
     }
 
     @Override
@@ -196,30 +819,734 @@ public class TwoDimensionalMap<KEY, VALUE> extends MapWrapper<KEY, VALUE> {
       Map<KEY, VALUE> map = resolveIndexedMap(index);
 
       if (map == null) {
-        map = newMap(getInitialCapacity() / 2, getLoadFactor());
+        map = newMap(ROW_CAPACITY, getLoadFactor());
         getMaps()[index] = map;
       }
 
-      return map.put(key, value);
+      VALUE currentValue = map.put(key, value);
+
+      if (currentValue == null) {
+
+        recordGrowth(map);
+        this.modCount++;
+
+        if (++this.size > (long) getRowCount() * getRowThreshold()) {
+          splitNextRow();
+        }
+      }
+
+      return currentValue;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public @Nullable VALUE remove(@NotNull Object key) {
-      return key != null
+
+      VALUE value = key != null
         ? nullSafeMapRemove(resolveIndexedMap(resolveIndex(key)), (KEY) key)
         : null;
+
+      if (value != null) {
+        this.modCount++;
+        this.size--;
+      }
+
+      return value;
+    }
+
+    /**
+     * Computes {@link MapStatistics} where every row in use is both a bucket and a row.
+     * <p>
+     * The resize count is the number of rows added by splits.
+     *
+     * @return a new {@link MapStatistics} snapshot of {@literal this} {@link Map}.
+     */
+    @Override
+    public @NotNull MapStatistics computeStatistics() {
+
+      Object[] maps = getMaps();
+
+      int rowCount = getRowCount();
+      int[] rowFill = new int[rowCount];
+
+      for (int index = 0; index < rowCount; index++) {
+        if (maps[index] instanceof Map<?, ?> map) {
+          rowFill[index] = map.size();
+        }
+      }
+
+      return computeRowStatistics(rowFill, rowCount - getInitialCapacity());
+    }
+
+    /**
+     * Returns the {@link Integer number of entries} in {@literal this} {@link Map}.
+     * <p>
+     * The count is maintained by {@link #put(Object, Object)}, {@link #remove(Object)} and {@link #clear()},
+     * through which every other modification passes, so this is a constant-time read regardless of the number
+     * of rows.
+     *
+     * @return the {@link Integer number of entries} in {@literal this} {@link Map}.
+     */
+    @Override
+    public int size() {
+      return this.size;
+    }
+  }
+
+  /**
+   * Thread-safe array of rows, each a {@link ConcurrentHashMap}.
+   * <p>
+   * The number of rows is fixed at the {@link #getInitialCapacity() initial capacity}; each row grows on its own,
+   * as {@link ConcurrentHashMap} resizes concurrently without blocking readers. Rows are created lazily with
+   * a compare-and-set on the {@link AtomicReferenceArray} of rows, so when two {@link Thread Threads} create
+   * the same row at the same time, both use the row that was published first and no entry is lost.
+   * <p>
+   * Every operation on a {@literal key}, including {@link #computeIfAbsent(Object, Function)} and
+   * {@link #merge(Object, Object, BiFunction)}, is delegated to the {@link ConcurrentHashMap} of its row and
+   * is therefore atomic. The size is maintained in a {@link LongAdder}, so writers to different rows do not
+   * contend on a shared counter.
+   * <p>
+   * Neither {@literal null} keys nor {@literal null} values are permitted.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   * @see java.util.concurrent.ConcurrentHashMap
+   * @see java.util.concurrent.atomic.AtomicReferenceArray
+   * @see java.util.concurrent.atomic.LongAdder
+   */
+  protected static class ConcurrentHashMapArray<KEY, VALUE> extends AbstractMap<KEY, VALUE>
+      implements ConcurrentMap<KEY, VALUE>, MapStatistics.Source, ShardedMap<KEY, VALUE> {
+
+    protected static final int ROW_CAPACITY = HashMapArray.ROW_CAPACITY;
+
+    private final float loadFactor;
+
+    private final AtomicReferenceArray<ConcurrentMap<KEY, VALUE>> maps;
+
+    private final HashStrategy hashStrategy;
+
+    private final LongAdder size = new LongAdder();
+
+    protected ConcurrentHashMapArray(int initialCapacity, float loadFactor, @NotNull HashStrategy hashStrategy) {
+
+      assertThat(initialCapacity)
+        .describedAs("Initial capacity [%d] must be greater than 0", initialCapacity)
+        .isGreaterThan(0);
+
+      assertThat(loadFactor)
+        .describedAs("Load factor [%s] must be greater than 0.0 and less than equal to 1.0", loadFactor)
+        .isGreaterThanAndLessThanEqualTo(0.0f, 1.0f);
+
+      this.loadFactor = loadFactor;
+      this.hashStrategy = ObjectUtils.requireObject(hashStrategy, "HashStrategy is required");
+      this.maps = new AtomicReferenceArray<>(initialCapacity);
+    }
+
+    protected int getInitialCapacity() {
+      return this.maps.length();
+    }
+
+    protected @NotNull HashStrategy getHashStrategy() {
+      return this.hashStrategy;
+    }
+
+    protected float getLoadFactor() {
+      return this.loadFactor;
+    }
+
+    protected @NotNull AtomicReferenceArray<ConcurrentMap<KEY, VALUE>> getMaps() {
+      return this.maps;
+    }
+
+    protected <K, V> ConcurrentMap<K, V> newMap(int initialCapacity, float loadFactor) {
+      return new ConcurrentHashMap<>(initialCapacity, loadFactor);
+    }
+
+    private void assertKeyValue(Object key, Object value) {
+
+      Assert.notNull(key, "Key is required");
+      Assert.notNull(value, "Value is required");
+    }
+
+    private int resolveIndex(@NotNull Object key) {
+      // The hash is treated as unsigned so that negative hashes never resolve to a negative index.
+      return Integer.remainderUnsigned(getHashStrategy().hash(key), this.maps.length());
+    }
+
+    private @Nullable ConcurrentMap<KEY, VALUE> resolveMap(@NotNull Object key) {
+      return this.maps.get(resolveIndex(key));
+    }
+
+    /**
+     * Resolves the row of the given {@literal key}, creating and publishing the row if it does not exist.
+     *
+     * @param key {@link Object key} used to resolve the row.
+     * @return the row of the given {@literal key}.
+     */
+    private @NotNull ConcurrentMap<KEY, VALUE> resolveOrCreateMap(@NotNull Object key) {
+
+      int index = resolveIndex(key);
+
+      ConcurrentMap<KEY, VALUE> map = this.maps.get(index);
+
+      if (map == null) {
+
+        ConcurrentMap<KEY, VALUE> newMap = newMap(ROW_CAPACITY, getLoadFactor());
+
+        map = this.maps.compareAndExchange(index, null, newMap);
+        map = map != null ? map : newMap;
+      }
+
+      return map;
+    }
+
+    /**
+     * Applies the given {@link BiFunction remapping function} to the entry of the given {@literal key} atomically
+     * in the row of the {@literal key}, adjusting the size when the entry is added or removed.
+     */
+    private @Nullable VALUE computeInRow(@NotNull KEY key,
+        @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+      int[] sizeChange = new int[1];
+
+      VALUE newValue = resolveOrCreateMap(key).compute(key, (k, currentValue) -> {
+        VALUE value = remappingFunction.apply(k, currentValue);
+        sizeChange[0] = (value != null ? 1 : 0) - (currentValue != null ? 1 : 0);
+        return value;
+      });
+
+      this.size.add(sizeChange[0]);
+
+      return newValue;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return this.size.sum() < 1L;
+    }
+
+    /**
+     * Removes all entries, one {@literal key} at a time. Entries stored concurrently may remain.
+     */
+    @Override
+    public void clear() {
+
+      for (int index = 0; index < this.maps.length(); index++) {
+
+        ConcurrentMap<KEY, VALUE> map = this.maps.get(index);
+
+        if (map != null) {
+          for (KEY key : map.keySet()) {
+            if (map.remove(key) != null) {
+              this.size.decrement();
+            }
+          }
+        }
+      }
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public @Nullable VALUE get(@Nullable Object key) {
+
+      ConcurrentMap<KEY, VALUE> map = key != null ? resolveMap(key) : null;
+
+      return map != null ? map.get(key) : null;
+    }
+
+    /**
+     * Returns a weakly consistent {@link Set} view of the entries in {@literal this} {@link Map},
+     * which iterates the rows in place. The {@link java.util.Spliterator} splits by ranges of rows.
+     *
+     * @return a weakly consistent {@link Set} view of the entries in {@literal this} {@link Map}.
+     */
+    @Override
+    public @NotNull Set<Entry<KEY, VALUE>> entrySet() {
+      return new ShardedEntrySet<>(this, this, Spliterator.CONCURRENT | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public int getShardCount() {
+      return this.maps.length();
+    }
+
+    @Override
+    public @Nullable Map<KEY, VALUE> getShard(int index) {
+      return this.maps.get(index);
+    }
+
+    @Override
+    public void removeEntry(@NotNull Iterator<Entry<KEY, VALUE>> shardIterator, @NotNull Entry<KEY, VALUE> entry) {
+      remove(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public @Nullable VALUE put(@NotNull KEY key, @NotNull VALUE value) {
+
+      assertKeyValue(key, value);
+
+      VALUE currentValue = resolveOrCreateMap(key).put(key, value);
+
+      if (currentValue == null) {
+        this.size.increment();
+      }
+
+      return currentValue;
+    }
+
+    @Override
+    public @Nullable VALUE putIfAbsent(@NotNull KEY key, @NotNull VALUE value) {
+
+      assertKeyValue(key, value);
+
+      VALUE currentValue = resolveOrCreateMap(key).putIfAbsent(key, value);
+
+      if (currentValue == null) {
+        this.size.increment();
+      }
+
+      return currentValue;
+    }
+
+    @Override
+    public @Nullable VALUE remove(@Nullable Object key) {
+
+      ConcurrentMap<KEY, VALUE> map = key != null ? resolveMap(key) : null;
+
+      VALUE value = map != null ? map.remove(key) : null;
+
+      if (value != null) {
+        this.size.decrement();
+      }
+
+      return value;
+    }
+
+    @Override
+    public boolean remove(@Nullable Object key, @Nullable Object value) {
+
+      ConcurrentMap<KEY, VALUE> map = key != null && value != null ? resolveMap(key) : null;
+
+      if (map != null && map.remove(key, value)) {
+        this.size.decrement();
+        return true;
+      }
+
+      return false;
+    }
+
+    @Override
+    public @Nullable VALUE replace(@NotNull KEY key, @NotNull VALUE value) {
+
+      assertKeyValue(key, value);
+
+      ConcurrentMap<KEY, VALUE> map = resolveMap(key);
+
+      return map != null ? map.replace(key, value) : null;
+    }
+
+    @Override
+    public boolean replace(@NotNull KEY key, @NotNull VALUE oldValue, @NotNull VALUE newValue) {
+
+      assertKeyValue(key, oldValue);
+      Assert.notNull(newValue, "New value is required");
+
+      ConcurrentMap<KEY, VALUE> map = resolveMap(key);
+
+      return map != null && map.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public @Nullable VALUE compute(@NotNull KEY key,
+        @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+      Assert.notNull(key, "Key is required");
+      Assert.notNull(remappingFunction, "Remapping function is required");
+
+      return computeInRow(key, remappingFunction);
+    }
+
+    @Override
+    public @Nullable VALUE computeIfAbsent(@NotNull KEY key,
+        @NotNull Function<? super KEY, ? extends VALUE> mappingFunction) {
+
+      Assert.notNull(key, "Key is required");
+      Assert.notNull(mappingFunction, "Mapping function is required");
+
+      // Reading first avoids locking the bin of the key in the common case where the key is already present.
+      VALUE value = get(key);
+
+      return value != null ? value
+        : computeInRow(key, (k, currentValue) -> currentValue != null ? currentValue : mappingFunction.apply(k));
+    }
+
+    @Override
+    public @Nullable VALUE computeIfPresent(@NotNull KEY key,
+        @NotNull BiFunction<? super KEY, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+      Assert.notNull(key, "Key is required");
+      Assert.notNull(remappingFunction, "Remapping function is required");
+
+      return resolveMap(key) != null
+        ? computeInRow(key, (k, currentValue) -> currentValue != null ? remappingFunction.apply(k, currentValue) : null)
+        : null;
+    }
+
+    @Override
+    public @Nullable VALUE merge(@NotNull KEY key, @NotNull VALUE value,
+        @NotNull BiFunction<? super VALUE, ? super VALUE, ? extends VALUE> remappingFunction) {
+
+      assertKeyValue(key, value);
+      Assert.notNull(remappingFunction, "Remapping function is required");
+
+      return computeInRow(key, (k, currentValue) ->
+        currentValue != null ? remappingFunction.apply(currentValue, value) : value);
+    }
+
+    /**
+     * Computes {@link MapStatistics} where every row is both a bucket and a row. The snapshot is weakly
+     * consistent when {@literal this} {@link Map} is modified concurrently. The number of rows is fixed,
+     * so the resize count is always {@literal 0}.
+     *
+     * @return a new {@link MapStatistics} snapshot of {@literal this} {@link Map}.
+     */
+    @Override
+    public @NotNull MapStatistics computeStatistics() {
+
+      int[] rowFill = new int[this.maps.length()];
+
+      for (int index = 0; index < rowFill.length; index++) {
+
+        Map<KEY, VALUE> map = this.maps.get(index);
+
+        rowFill[index] = map != null ? map.size() : 0;
+      }
+
+      return computeRowStatistics(rowFill, 0L);
     }
 
     @Override
     public int size() {
+      return (int) Math.min(this.size.sum(), Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * {@link Map} partitioned into shards, each a {@link Map} containing the entries of the {@literal keys}
+   * that resolve to the shard.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   */
+  protected interface ShardedMap<KEY, VALUE> {
+
+    /**
+     * Gets the {@link Integer number of shards}.
+     *
+     * @return the {@link Integer number of shards}.
+     */
+    int getShardCount();
+
+    /**
+     * Gets the shard at the given index.
+     *
+     * @param index {@link Integer index} of the shard.
+     * @return the shard at the given index, or {@literal null} if the shard has never contained any entries.
+     */
+    @Nullable Map<KEY, VALUE> getShard(int index);
+
+    /**
+     * Gets a count that changes whenever an entry is added or removed, or entries move between shards, used to
+     * detect concurrent modification during iteration.
+     *
+     * @return the current {@link Integer modification count}.
+     */
+    default int getModificationCount() {
+      return 0;
+    }
+
+    /**
+     * Removes the given {@link Entry}, most recently returned by the given {@link Iterator} over its shard.
+     *
+     * @param shardIterator {@link Iterator} over the entries of the shard containing the {@link Entry}.
+     * @param entry {@link Entry} to remove.
+     */
+    void removeEntry(@NotNull Iterator<Entry<KEY, VALUE>> shardIterator, @NotNull Entry<KEY, VALUE> entry);
+
+  }
+
+  /**
+   * Live {@link Set} view of the entries in a {@link ShardedMap}, iterating its shards in place.
+   *
+   * @param <KEY> {@link Class type} of the {@literal keys}.
+   * @param <VALUE> {@link Class type} of the {@literal values}.
+   */
+  protected static class ShardedEntrySet<KEY, VALUE> extends AbstractSet<Entry<KEY, VALUE>> {
+
+    private final int characteristics;
+
+    private final Map<KEY, VALUE> map;
+
+    private final ShardedMap<KEY, VALUE> shards;
+
+    protected ShardedEntrySet(@NotNull Map<KEY, VALUE> map, @NotNull ShardedMap<KEY, VALUE> shards,
+        int characteristics) {
+
+      this.map = map;
+      this.shards = shards;
+      this.characteristics = characteristics;
+    }
+
+    @Override
+    public void clear() {
+      this.map.clear();
+    }
+
+    @Override
+    public boolean contains(Object target) {
+
+      return target instanceof Entry<?, ?> entry
+        && entry.getKey() != null
+        && ObjectUtils.equalsIgnoreNull(this.map.get(entry.getKey()), entry.getValue());
+    }
+
+    @Override
+    public @NotNull Iterator<Entry<KEY, VALUE>> iterator() {
+      return new ShardedEntryIterator<>(this.shards);
+    }
+
+    @Override
+    public boolean remove(Object target) {
+      return target instanceof Entry<?, ?> entry && this.map.remove(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public int size() {
+      return this.map.size();
+    }
+
+    @Override
+    public @NotNull Spliterator<Entry<KEY, VALUE>> spliterator() {
+      return new ShardSpliterator<>(this.shards, 0, this.shards.getShardCount(), this.map.size(),
+        this.characteristics);
+    }
+  }
+
+  /**
+   * {@link Iterator} over the entries of every shard of a {@link ShardedMap}, one shard after another.
+   */
+  protected static class ShardedEntryIterator<KEY, VALUE> implements Iterator<Entry<KEY, VALUE>> {
+
+    private int expectedModificationCount;
+    private int shardIndex;
+
+    private Entry<KEY, VALUE> lastReturned;
+
+    private Iterator<Entry<KEY, VALUE>> shardIterator = Collections.emptyIterator();
+
+    private final ShardedMap<KEY, VALUE> shards;
+
+    protected ShardedEntryIterator(@NotNull ShardedMap<KEY, VALUE> shards) {
+      this.shards = shards;
+      this.expectedModificationCount = shards.getModificationCount();
+    }
+
+    private void checkForComodification() {
+
+      if (this.shards.getModificationCount() != this.expectedModificationCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      while (!this.shardIterator.hasNext()) {
+
+        if (this.shardIndex >= this.shards.getShardCount()) {
+          return false;
+        }
+
+        Map<KEY, VALUE> shard = this.shards.getShard(this.shardIndex++);
+
+        this.shardIterator = shard != null ? shard.entrySet().iterator() : Collections.emptyIterator();
+      }
+
+      return true;
+    }
+
+    @Override
+    public Entry<KEY, VALUE> next() {
+
+      checkForComodification();
+
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more entries");
+      }
+
+      this.lastReturned = this.shardIterator.next();
+
+      return this.lastReturned;
+    }
+
+    @Override
+    public void remove() {
+
+      Assert.state(this.lastReturned != null, "next() must be called before remove()");
+
+      checkForComodification();
+
+      this.shards.removeEntry(this.shardIterator, this.lastReturned);
+      this.expectedModificationCount = this.shards.getModificationCount();
+      this.lastReturned = null;
+    }
+  }
+
+  /**
+   * {@link Spliterator} over the entries of a range of shards of a {@link ShardedMap}, which splits by halving
+   * the range of shards, so that the entries of each shard are traversed by a single task.
+   */
+  protected static class ShardSpliterator<KEY, VALUE> implements Spliterator<Entry<KEY, VALUE>> {
+
+    private final int characteristics;
+    private final int fence;
+
+    private int index;
+
+    private long estimatedSize;
+
+    private final ShardedMap<KEY, VALUE> shards;
+
+    private Spliterator<Entry<KEY, VALUE>> shardSpliterator;
+
+    protected ShardSpliterator(@NotNull ShardedMap<KEY, VALUE> shards, int origin, int fence, long estimatedSize,
+        int characteristics) {
+
+      this.shards = shards;
+      this.index = origin;
+      this.fence = fence;
+      this.estimatedSize = estimatedSize;
+      this.characteristics = characteristics;
+    }
+
+    @Override
+    public int characteristics() {
+      return this.characteristics;
+    }
+
+    @Override
+    public long estimateSize() {
+      return this.estimatedSize;
+    }
+
+    @Override
+    public void forEachRemaining(@NotNull Consumer<? super Entry<KEY, VALUE>> action) {
+
+      Assert.notNull(action, "Action is required");
+
+      if (this.shardSpliterator != null) {
+        this.shardSpliterator.forEachRemaining(action);
+        this.shardSpliterator = null;
+      }
+
+      for (int fence = this.fence; this.index < fence; this.index++) {
+
+        Map<KEY, VALUE> shard = this.shards.getShard(this.index);
+
+        if (shard != null) {
+          shard.entrySet().forEach(action);
+        }
+      }
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super Entry<KEY, VALUE>> action) {
+
+      Assert.notNull(action, "Action is required");
+
+      while (this.shardSpliterator == null || !this.shardSpliterator.tryAdvance(action)) {
+
+        if (this.index >= this.fence) {
+          this.shardSpliterator = null;
+          return false;
+        }
+
+        Map<KEY, VALUE> shard = this.shards.getShard(this.index++);
+
+        this.shardSpliterator = shard != null ? shard.entrySet().spliterator() : null;
+      }
+
+      return true;
+    }
+
+    @Override
+    public @Nullable ShardSpliterator<KEY, VALUE> trySplit() {
+
+      int origin = this.index;
+      int middle = (origin + this.fence) >>> 1;
+
+      if (this.shardSpliterator == null && origin < middle) {
+
+        long prefixSize = this.estimatedSize >>> 1;
+
+        this.index = middle;
+        this.estimatedSize -= prefixSize;
+
+        return new ShardSpliterator<>(this.shards, origin, middle, prefixSize, this.characteristics);
+      }
+
+      return null;
+    }
+  }
+
+  /**
+   * {@link HashMap} used as a row of a {@link HashMapArray}, which records the capacity of its table,
+   * since a {@link HashMap} does not expose it, so that rows left oversized by removals can be found and rebuilt.
+   */
+  @SuppressWarnings("serial")
+  protected static class Row<KEY, VALUE> extends HashMap<KEY, VALUE> {
+
+    private int capacity;
+
+    protected Row(int initialCapacity, float loadFactor) {
+      super(initialCapacity, loadFactor);
+      this.capacity = initialCapacity > 1 ? Integer.highestOneBit(initialCapacity - 1) << 1 : 1;
+    }
+  }
+
+  /**
+   * Listener notified of every {@link #compact(int) compaction} of a {@link TwoDimensionalMap} that merged,
+   * released or rebuilt any rows, used to report the memory reclaimed, for example, to a metrics registry.
+   */
+  @FunctionalInterface
+  public interface CompactionListener {
+    void onCompaction(@NotNull CompactionResult result);
+  }
+
+  /**
+   * Work done by a single {@link #compact(int) compaction} of a {@link TwoDimensionalMap}.
+   *
+   * @param rowsVisited {@link Integer number of rows} merged or visited.
+   * @param rowsMerged {@link Integer number of rows} merged back into the row they were split from.
+   * @param rowsReleased {@link Integer number of} empty rows released.
+   * @param rowsRebuilt {@link Integer number of} sparse rows rebuilt at a smaller capacity.
+   * @param reclaimedBytes {@link Long approximate number of bytes} of row tables and references released,
+   * assuming compressed references.
+   */
+  public record CompactionResult(int rowsVisited, int rowsMerged, int rowsReleased, int rowsRebuilt,
+      long reclaimedBytes) {
 
-      return Arrays.stream(getMaps())
-        .filter(Map.class::isInstance)
-        .map(Map.class::cast)
-        .map(Map::size)
-        .reduce(SUM)
-        .orElse(0);
+    /**
+     * Determines whether the compaction merged, released or rebuilt any rows.
+     *
+     * @return a boolean value indicating whether the compaction merged, released or rebuilt any rows.
+     */
+    public boolean isModified() {
+      return this.rowsMerged + this.rowsReleased + this.rowsRebuilt > 0;
     }
   }
 }
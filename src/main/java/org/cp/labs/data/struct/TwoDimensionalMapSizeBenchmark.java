@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Java Benchmark showing that {@link TwoDimensionalMap#size()} and {@link TwoDimensionalMap#isEmpty()} take
+ * constant time, however many entries and rows the {@link TwoDimensionalMap} contains.
+ * <p>
+ * The score of each benchmark is expected to be the same for every {@link #size}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.TwoDimensionalMap
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TwoDimensionalMapSizeBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+
+    new Runner(new OptionsBuilder()
+      .include(TwoDimensionalMapSizeBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+
+  @Param({ "0", "1000", "100000", "1000000" })
+  int size;
+
+  Map<Integer, Integer> map;
+
+  @Setup(Level.Trial)
+  public void setup() {
+
+    this.map = TwoDimensionalMap.usingHashMapArray();
+
+    for (int key = 0; key < this.size; key++) {
+      this.map.put(key, key);
+    }
+  }
+
+  @Benchmark
+  public int size() {
+    return this.map.size();
+  }
+
+  @Benchmark
+  public boolean isEmpty() {
+    return this.map.isEmpty();
+  }
+}
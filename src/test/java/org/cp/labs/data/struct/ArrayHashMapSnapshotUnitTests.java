@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit Tests for {@link ArrayHashMapSnapshot}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.ArrayHashMapSnapshot
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class ArrayHashMapSnapshotUnitTests {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void writeAndOpenSnapshot() throws IOException {
+
+    ArrayHashMap<String, Long> map = new ArrayHashMap<>();
+
+    for (long count = 0; count < 10_000; count++) {
+      map.put("key" + count, count);
+    }
+
+    Path snapshot = this.directory.resolve("map.snapshot");
+
+    map.writeSnapshot(snapshot, FixedSizeCodec.forString(16), FixedSizeCodec.forLong());
+
+    try (OffHeapArrayHashMap<String, Long> reopenedMap =
+           ArrayHashMap.openSnapshot(snapshot, FixedSizeCodec.forString(16), FixedSizeCodec.forLong())) {
+
+      assertThat(reopenedMap).hasSize(map.size());
+      assertThat(reopenedMap.get("key1234")).isEqualTo(1234L);
+      assertThat(reopenedMap.get("key10000")).isNull();
+      assertThat(reopenedMap).isEqualTo(map);
+    }
+  }
+
+  @Test
+  public void changesToOpenedSnapshotAreNotWrittenToFile() throws IOException {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>();
+
+    map.put(1, 1);
+    map.put(2, 2);
+
+    Path snapshot = this.directory.resolve("map.snapshot");
+
+    map.writeSnapshot(snapshot, FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger());
+
+    try (OffHeapArrayHashMap<Integer, Integer> reopenedMap =
+           ArrayHashMap.openSnapshot(snapshot, FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger())) {
+
+      reopenedMap.put(1, -1);
+      reopenedMap.remove(2);
+
+      for (int key = 3; key < 100; key++) {
+        reopenedMap.put(key, key);
+      }
+
+      assertThat(reopenedMap).hasSize(98).containsEntry(1, -1).doesNotContainKey(2);
+    }
+
+    try (OffHeapArrayHashMap<Integer, Integer> reopenedMap =
+           ArrayHashMap.openSnapshot(snapshot, FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger())) {
+
+      assertThat(reopenedMap).isEqualTo(map);
+    }
+  }
+
+  @Test
+  public void openSnapshotWithMismatchedCodecsThrowsIOException() throws IOException {
+
+    Path snapshot = this.directory.resolve("map.snapshot");
+
+    new ArrayHashMap<Integer, Integer>().writeSnapshot(snapshot,
+      FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger());
+
+    assertThatIOException()
+      .isThrownBy(() -> ArrayHashMap.openSnapshot(snapshot, FixedSizeCodec.forLong(), FixedSizeCodec.forInteger()))
+      .withMessageContaining("do not match the codecs");
+  }
+
+  @Test
+  public void openNonSnapshotFileThrowsIOException() throws IOException {
+
+    Path file = Files.writeString(this.directory.resolve("map.txt"), "not a snapshot");
+
+    assertThatIOException()
+      .isThrownBy(() -> ArrayHashMap.openSnapshot(file, FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger()))
+      .withMessageContaining("is not an ArrayHashMap snapshot");
+  }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link ArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class ArrayHashMapUnitTests {
+
+  @Test
+  public void constructWithInitialCapacityRoundsUpToPowerOfTwo() {
+
+    assertThat(new ArrayHashMap<>(1).getCapacity()).isOne();
+    assertThat(new ArrayHashMap<>(16).getCapacity()).isEqualTo(16);
+    assertThat(new ArrayHashMap<>(1067).getCapacity()).isEqualTo(2048);
+  }
+
+  @Test
+  public void constructWithIllegalInitialCapacityOrLoadFactor() {
+
+    assertThatIllegalArgumentException().isThrownBy(() -> new ArrayHashMap<>(0));
+    assertThatIllegalArgumentException().isThrownBy(() -> new ArrayHashMap<>(16, 0.0f));
+    assertThatIllegalArgumentException().isThrownBy(() -> new ArrayHashMap<>(16, 1.5f));
+  }
+
+  @Test
+  public void newMapIsEmpty() {
+
+    Map<String, String> map = new ArrayHashMap<>();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map).hasSize(0);
+  }
+
+  @Test
+  public void putGetAndRemove() {
+
+    Map<String, Integer> map = new ArrayHashMap<>();
+
+    assertThat(map.put("one", 1)).isNull();
+    assertThat(map.put("two", 2)).isNull();
+    assertThat(map.put("one", -1)).isEqualTo(1);
+    assertThat(map.isEmpty()).isFalse();
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.get("one")).isEqualTo(-1);
+    assertThat(map.get("two")).isEqualTo(2);
+    assertThat(map.get("three")).isNull();
+    assertThat(map.remove("one")).isEqualTo(-1);
+    assertThat(map.remove("one")).isNull();
+    assertThat(map.get("one")).isNull();
+    assertThat(map.size()).isOne();
+  }
+
+  @Test
+  public void putNullKeyOrValueIsIllegal() {
+
+    Map<String, String> map = new ArrayHashMap<>();
+
+    assertThatIllegalArgumentException().isThrownBy(() -> map.put(null, "value"));
+    assertThatIllegalArgumentException().isThrownBy(() -> map.put("key", null));
+  }
+
+  @Test
+  public void mapGrowsWithLoadFactor() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(4, 0.5f);
+
+    for (int number = 0; number < 1_000; number++) {
+      map.put(number, number);
+    }
+
+    assertThat(map).hasSize(1_000);
+    assertThat(map.getCapacity()).isEqualTo(2048);
+
+    for (int number = 0; number < 1_000; number++) {
+      assertThat(map.get(number)).isEqualTo(number);
+    }
+  }
+
+  @Test
+  public void collidingKeysSurviveRemoval() {
+
+    Map<CollidingKey, Integer> map = new ArrayHashMap<>(8);
+
+    for (int id = 0; id < 6; id++) {
+      map.put(new CollidingKey(id), id);
+    }
+
+    assertThat(map.remove(new CollidingKey(2))).isEqualTo(2);
+    assertThat(map.remove(new CollidingKey(0))).isEqualTo(0);
+
+    assertThat(map).hasSize(4);
+    assertThat(map.get(new CollidingKey(1))).isEqualTo(1);
+    assertThat(map.get(new CollidingKey(3))).isEqualTo(3);
+    assertThat(map.get(new CollidingKey(4))).isEqualTo(4);
+    assertThat(map.get(new CollidingKey(5))).isEqualTo(5);
+  }
+
+  @Test
+  public void randomOperationsAgreeWithHashMap() {
+
+    Map<Integer, Integer> arrayMap = new ArrayHashMap<>();
+    Map<Integer, Integer> hashMap = new HashMap<>();
+
+    Random random = new Random(20170101L);
+
+    for (int count = 0; count < 100_000; count++) {
+
+      int key = random.nextInt(5_000);
+
+      if (random.nextBoolean()) {
+        assertThat(arrayMap.put(key, count)).isEqualTo(hashMap.put(key, count));
+      }
+      else {
+        assertThat(arrayMap.remove(key)).isEqualTo(hashMap.remove(key));
+      }
+    }
+
+    assertThat(arrayMap).hasSize(hashMap.size());
+    assertThat(arrayMap.entrySet()).isEqualTo(hashMap.entrySet());
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+
+    Map<String, String> map = new ArrayHashMap<>();
+
+    map.put("key", "value");
+    map.clear();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get("key")).isNull();
+  }
+
+  @Test
+  public void viewsAreLiveAndContainAllEntries() {
+
+    ArrayHashMap<CollidingKey, Integer> map = new ArrayHashMap<>();
+
+    for (int id = 0; id < 10; id++) {
+      map.put(new CollidingKey(id), id);
+    }
+
+    Set<Map.Entry<CollidingKey, Integer>> entrySet = map.entrySet();
+    Set<CollidingKey> keySet = map.keySet();
+    Collection<Integer> values = map.values();
+
+    assertThat(entrySet).hasSize(10).contains(Map.entry(new CollidingKey(7), 7));
+    assertThat(keySet).hasSize(10).contains(new CollidingKey(0), new CollidingKey(9));
+    assertThat(values).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    assertThat(map.entrySet()).isSameAs(entrySet);
+
+    map.put(new CollidingKey(10), 10);
+    keySet.remove(new CollidingKey(0));
+    entrySet.remove(Map.entry(new CollidingKey(1), 1));
+
+    assertThat(map).hasSize(9).doesNotContainKeys(new CollidingKey(0), new CollidingKey(1));
+    assertThat(values).hasSize(9).contains(10).doesNotContain(0, 1);
+    assertThat(map.containsValue(10)).isTrue();
+    assertThat(map.containsValue(0)).isFalse();
+  }
+
+  @Test
+  public void iteratorRemoveVisitsEveryEntryOnce() {
+
+    ArrayHashMap<Object, Integer> map = new ArrayHashMap<>(64);
+
+    Random random = new Random(20170101L);
+
+    for (int count = 0; count < 40; count++) {
+      map.put(count % 3 == 0 ? new CollidingKey(count) : random.nextInt(), count);
+    }
+
+    Map<Object, Integer> expected = new HashMap<>(map.size());
+
+    for (Iterator<Map.Entry<Object, Integer>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+
+      Map.Entry<Object, Integer> entry = iterator.next();
+
+      assertThat(expected.put(entry.getKey(), entry.getValue())).isNull();
+
+      if (entry.getValue() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(expected).hasSize(40);
+    assertThat(map).hasSize(20);
+    assertThat(map.values()).allMatch(value -> value % 2 == 1);
+    expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value % 2 == 0 ? null : value));
+  }
+
+  @Test
+  public void iteratorIsFailFast() {
+
+    Map<String, String> map = new ArrayHashMap<>();
+
+    map.put("one", "1");
+    map.put("two", "2");
+
+    Iterator<String> iterator = map.keySet().iterator();
+
+    iterator.next();
+    map.put("three", "3");
+
+    assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::next);
+  }
+
+  @Test
+  public void parallelBulkOperations() {
+
+    ArrayHashMap<Integer, Long> map = new ArrayHashMap<>();
+
+    for (int key = 1; key <= 100_000; key++) {
+      map.put(key, (long) key);
+    }
+
+    LongAdder sum = new LongAdder();
+
+    map.forEach(1L, (key, value) -> sum.add(value));
+
+    assertThat(sum.sum()).isEqualTo(5_000_050_000L);
+    assertThat(map.reduceValues(1L, Long::sum)).isEqualTo(5_000_050_000L);
+    assertThat(map.reduceValues(Long.MAX_VALUE, Math::max)).isEqualTo(100_000L);
+    assertThat(map.<Integer>reduce(1L, (key, value) -> key % 2 == 0 ? 1 : null, Integer::sum)).isEqualTo(50_000);
+    assertThat(map.<Long>search(1L, (key, value) -> key == 4242 ? value : null)).isEqualTo(4242L);
+    assertThat(map.<Long>search(1L, (key, value) -> key < 0 ? value : null)).isNull();
+    assertThat(map.entrySet().parallelStream().mapToLong(Map.Entry::getValue).sum()).isEqualTo(5_000_050_000L);
+    assertThat(map.keySet().parallelStream().distinct().count()).isEqualTo(100_000L);
+    assertThat(map.values().parallelStream().count()).isEqualTo(100_000L);
+  }
+
+  @Test
+  public void spliteratorSplitsBySlotRange() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>();
+
+    for (int key = 0; key < 1_000; key++) {
+      map.put(key, key);
+    }
+
+    Spliterator<Integer> suffix = map.keySet().spliterator();
+
+    assertThat(suffix.hasCharacteristics(Spliterator.SIZED)).isTrue();
+    assertThat(suffix.estimateSize()).isEqualTo(1_000L);
+
+    Spliterator<Integer> prefix = suffix.trySplit();
+
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.hasCharacteristics(Spliterator.SIZED)).isFalse();
+    assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(1_000L);
+
+    Set<Integer> keys = new HashSet<>();
+
+    prefix.forEachRemaining(keys::add);
+    suffix.forEachRemaining(key -> assertThat(keys.add(key)).isTrue());
+
+    assertThat(keys).hasSize(1_000);
+  }
+
+  @Test
+  public void keysThatCannotBeSeparatedOverflowIntoBins() {
+
+    ArrayHashMap<CollidingKey, Integer> map = new ArrayHashMap<>(16);
+
+    for (int id = 0; id < 1_000; id++) {
+      map.put(new CollidingKey(id), id);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(map).hasSize(1_000);
+    assertThat(statistics.size()).isEqualTo(1_000);
+    assertThat(statistics.occupiedBuckets()).isLessThan(1_000);
+    assertThat(statistics.maximumProbeLength()).isEqualTo(statistics.probeLengthHistogram().length - 1);
+    assertThat(map.get(new CollidingKey(999))).isEqualTo(999);
+    assertThat(map.containsKey(new CollidingKey(1_000))).isFalse();
+    assertThat(map.containsValue(999)).isTrue();
+    assertThat(map.keySet().stream().count()).isEqualTo(1_000L);
+    assertThat(map.<Integer>reduce(1L, (key, value) -> value, Integer::sum)).isEqualTo(499_500);
+
+    for (int id = 0; id < 1_000; id += 2) {
+      assertThat(map.remove(new CollidingKey(id))).isEqualTo(id);
+    }
+
+    assertThat(map).hasSize(500);
+
+    for (int id = 1; id < 1_000; id += 2) {
+      assertThat(map.get(new CollidingKey(id))).isEqualTo(id);
+    }
+  }
+
+  @Test
+  public void overflowBinsDrainBackIntoTableAsKeysAreRemoved() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(1_024, 0.75f, key -> 0);
+
+    for (int key = 0; key < 500; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map.computeStatistics().occupiedBuckets()).isLessThan(500);
+
+    for (int key = 0; key < 400; key++) {
+      assertThat(map.remove(key)).isEqualTo(key);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(map).hasSize(100);
+    assertThat(statistics.size()).isEqualTo(100);
+    assertThat(statistics.occupiedBuckets()).isEqualTo(100);
+    assertThat(statistics.maximumProbeLength()).isEqualTo(100);
+
+    for (int key = 400; key < 500; key++) {
+      assertThat(map.get(key)).isEqualTo(key);
+    }
+  }
+
+  @Test
+  public void getAllFindsTheSameValuesAsGet() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(1_024, 0.75f, key -> key.hashCode() % 16);
+    Random random = new Random(17L);
+
+    for (int count = 0; count < 5_000; count++) {
+      int key = random.nextInt(10_000);
+      map.put(key, -key);
+    }
+
+    Integer[] keys = new Integer[512];
+
+    for (int position = 0; position < keys.length; position++) {
+      keys[position] = position % 100 == 0 ? null : random.nextInt(10_000);
+    }
+
+    Integer[] values = new Integer[keys.length + 1];
+
+    values[keys.length] = 1;
+
+    int found = map.getAll(keys, values);
+
+    int expectedFound = 0;
+
+    for (int position = 0; position < keys.length; position++) {
+
+      Integer expectedValue = keys[position] != null ? map.get(keys[position]) : null;
+
+      assertThat(values[position]).isEqualTo(expectedValue);
+
+      expectedFound += expectedValue != null ? 1 : 0;
+    }
+
+    assertThat(found).isEqualTo(expectedFound);
+    assertThat(values[keys.length]).isOne();
+    assertThatIllegalArgumentException().isThrownBy(() -> map.getAll(keys, new Integer[keys.length - 1]));
+  }
+
+  @Test
+  public void putAllWithArraysAgreesWithPut() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(16, 0.75f, key -> key.hashCode() % 64);
+    Map<Integer, Integer> hashMap = new HashMap<>();
+    Random random = new Random(23L);
+
+    for (int batch = 0; batch < 50; batch++) {
+
+      Integer[] keys = new Integer[random.nextInt(1, 200)];
+      Integer[] values = new Integer[keys.length];
+
+      for (int position = 0; position < keys.length; position++) {
+        keys[position] = random.nextInt(2_000);
+        values[position] = random.nextInt();
+        hashMap.put(keys[position], values[position]);
+      }
+
+      map.putAll(keys, values);
+
+      assertThat(map).hasSize(hashMap.size());
+      assertThat(hashMap).isEqualTo(map);
+    }
+
+    assertThatIllegalArgumentException().isThrownBy(() -> map.putAll(new Integer[] { 1 }, new Integer[0]));
+    assertThatIllegalArgumentException().isThrownBy(() -> map.putAll(new Integer[] { 1, null }, new Integer[] { 1, 2 }));
+    assertThatIllegalArgumentException().isThrownBy(() -> map.putAll(new Integer[] { -1 }, new Integer[] { null }));
+    assertThat(map.containsKey(-1)).isFalse();
+  }
+
+  record CollidingKey(int id) {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
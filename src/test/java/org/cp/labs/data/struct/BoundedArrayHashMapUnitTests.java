@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.cp.labs.data.struct.BoundedArrayHashMap.EvictionPolicy;
+
+/**
+ * Unit Tests for {@link BoundedArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.BoundedArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class BoundedArrayHashMapUnitTests {
+
+  @Test
+  public void constructWithIllegalMaximumSize() {
+
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> BoundedArrayHashMap.withMaximumSize(0L, EvictionPolicy.LRU));
+  }
+
+  @Test
+  public void lruEvictsLeastRecentlyUsedEntry() {
+
+    List<String> evictedKeys = new ArrayList<>();
+
+    BoundedArrayHashMap<String, Integer> map = BoundedArrayHashMap.<String, Integer>withMaximumSize(3L,
+      EvictionPolicy.LRU).withEvictionListener((key, value) -> evictedKeys.add(key));
+
+    map.put("one", 1);
+    map.put("two", 2);
+    map.put("three", 3);
+    map.get("one");
+    map.put("four", 4);
+
+    assertThat(map).hasSize(3).containsOnlyKeys("one", "three", "four");
+    assertThat(evictedKeys).containsExactly("two");
+
+    map.put("three", -3);
+    map.put("five", 5);
+
+    assertThat(map).containsOnlyKeys("three", "four", "five");
+    assertThat(evictedKeys).containsExactly("two", "one");
+  }
+
+  @Test
+  public void lfuEvictsLeastFrequentlyUsedEntry() {
+
+    BoundedArrayHashMap<String, Integer> map = BoundedArrayHashMap.withMaximumSize(3L, EvictionPolicy.LFU);
+
+    map.put("one", 1);
+    map.put("two", 2);
+    map.put("three", 3);
+
+    for (int count = 0; count < 3; count++) {
+      map.get("one");
+      map.get("three");
+    }
+
+    map.get("two");
+    map.put("four", 4);
+
+    assertThat(map).containsOnlyKeys("one", "two", "three");
+
+    map.remove("two");
+    map.put("five", 5);
+    map.put("six", 6);
+
+    assertThat(map).containsOnlyKeys("one", "three", "six");
+  }
+
+  @Test
+  public void tinyLfuKeepsFrequentlyUsedEntriesDuringScan() {
+
+    assertThat(hotKeyHitRateDuringScan(EvictionPolicy.W_TINY_LFU)).isGreaterThan(0.9d);
+    assertThat(hotKeyHitRateDuringScan(EvictionPolicy.LRU)).isLessThan(0.1d);
+  }
+
+  private double hotKeyHitRateDuringScan(EvictionPolicy evictionPolicy) {
+
+    BoundedArrayHashMap<Integer, Integer> map = BoundedArrayHashMap.withMaximumSize(100L, evictionPolicy);
+
+    for (int count = 0; count < 20_000; count++) {
+
+      int hotKey = count % 80;
+
+      if (map.get(hotKey) == null) {
+        map.put(hotKey, hotKey);
+      }
+
+      map.put(1_000 + count, count);
+    }
+
+    return map.getStatistics().hitRate();
+  }
+
+  @Test
+  public void evictsByWeight() {
+
+    List<Map.Entry<String, String>> evictions = new ArrayList<>();
+
+    BoundedArrayHashMap<String, String> map =
+      BoundedArrayHashMap.<String, String>withMaximumWeight(10L, (key, value) -> value.length(), EvictionPolicy.LRU)
+        .withEvictionListener((key, value) -> evictions.add(Map.entry(key, value)));
+
+    map.put("a", "aaaa");
+    map.put("b", "bbbb");
+
+    assertThat(map.getWeightedSize()).isEqualTo(8L);
+
+    map.put("c", "cccc");
+
+    assertThat(map).containsOnlyKeys("b", "c");
+    assertThat(map.getWeightedSize()).isEqualTo(8L);
+
+    map.put("b", "bbbbbbbb");
+
+    assertThat(map).containsOnlyKeys("b");
+    assertThat(map.getWeightedSize()).isEqualTo(8L);
+    assertThat(evictions).containsExactly(Map.entry("a", "aaaa"), Map.entry("c", "cccc"));
+    assertThat(map.getStatistics().evictionWeight()).isEqualTo(8L);
+  }
+
+  @Test
+  public void recordsStatistics() {
+
+    BoundedArrayHashMap<String, Integer> map = BoundedArrayHashMap.withMaximumSize(1L, EvictionPolicy.LRU);
+
+    map.put("one", 1);
+    map.get("one");
+    map.get("one");
+    map.get("two");
+    map.put("two", 2);
+
+    BoundedArrayHashMap.Statistics statistics = map.getStatistics();
+
+    assertThat(statistics.hitCount()).isEqualTo(2L);
+    assertThat(statistics.missCount()).isEqualTo(1L);
+    assertThat(statistics.evictionCount()).isEqualTo(1L);
+    assertThat(statistics.hitRate()).isEqualTo(2.0d / 3.0d);
+  }
+
+  @Test
+  public void iteratorRemoveUpdatesWeightedSize() {
+
+    BoundedArrayHashMap<Integer, Integer> map = BoundedArrayHashMap.withMaximumSize(10L, EvictionPolicy.W_TINY_LFU);
+
+    for (int key = 0; key < 10; key++) {
+      map.put(key, key);
+    }
+
+    map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+
+    assertThat(map).hasSize(5);
+    assertThat(map.getWeightedSize()).isEqualTo(5L);
+
+    for (int key = 10; key < 15; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map).hasSize(10);
+    assertThat(map.getStatistics().evictionCount()).isZero();
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link CachingMapWrapper}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.CachingMapWrapper
+ * @since 1.0.0
+ */
+public class CachingMapWrapperUnitTests {
+
+  @Test
+  public void concurrentLoadsOfTheSameKeyAreCoalesced() {
+
+    AtomicInteger loadCount = new AtomicInteger();
+    CompletableFuture<String> load = new CompletableFuture<>();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.caching(new ConcurrentArrayHashMap<>(), key -> {
+      loadCount.incrementAndGet();
+      return load;
+    });
+
+    List<CompletableFuture<String>> gets = new ArrayList<>();
+
+    for (int count = 0; count < 10; count++) {
+      gets.add(map.getAsync(1));
+    }
+
+    assertThat(loadCount).hasValue(1);
+    assertThat(gets).noneMatch(CompletableFuture::isDone);
+
+    load.complete("one");
+
+    assertThat(gets).allMatch(get -> "one".equals(get.join()));
+    assertThat(map.get(1)).isEqualTo("one");
+    assertThat(map.containsKey(1)).isTrue();
+    assertThat(loadCount).hasValue(1);
+  }
+
+  @Test
+  public void failedLoadsAreNotCached() {
+
+    AtomicInteger loadCount = new AtomicInteger();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.caching(new ConcurrentHashMap<>(),
+      key -> loadCount.incrementAndGet() == 1
+        ? CompletableFuture.failedFuture(new IllegalStateException("Backing store unavailable"))
+        : CompletableFuture.completedFuture(null));
+
+    assertThatExceptionOfType(CompletionException.class)
+      .isThrownBy(() -> map.get(1))
+      .withCauseInstanceOf(IllegalStateException.class);
+
+    assertThat(map.get(1)).isNull();
+    assertThat(map.getOrDefault(1, "none")).isEqualTo("none");
+    assertThat(map).isEmpty();
+    assertThat(loadCount).hasValue(3);
+  }
+
+  @Test
+  public void writesAreCoalescedAndFlushedInBatches() {
+
+    List<Map<Integer, String>> batches = new ArrayList<>();
+    List<Set<Integer>> removals = new ArrayList<>();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.<Integer, String>caching(new ConcurrentHashMap<>(),
+        key -> CompletableFuture.completedFuture("loaded"))
+      .withWriteBehind((entries, keys) -> {
+        batches.add(entries);
+        removals.add(keys);
+      }, 3, Runnable::run);
+
+    map.put(1, "one");
+    map.put(2, "two");
+    map.put(1, "uno");
+
+    assertThat(batches).isEmpty();
+    assertThat(map.getPendingWriteCount()).isEqualTo(2);
+
+    map.remove(2);
+    map.remove(3);
+
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0)).containsOnly(Map.entry(1, "uno"));
+    assertThat(removals.get(0)).containsOnly(2, 3);
+    assertThat(map.getPendingWriteCount()).isZero();
+
+    map.put(4, "four");
+
+    assertThat(map.flush()).isOne();
+    assertThat(batches).hasSize(2);
+    assertThat(map.flush()).isZero();
+    assertThat(map.get(4)).isEqualTo("four");
+    assertThat(map.get(5)).isEqualTo("loaded");
+  }
+
+  @Test
+  public void queuedRemovalsAreNeverLoadedAndFailedWritesAreRetried() {
+
+    AtomicInteger writeCount = new AtomicInteger();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.<Integer, String>caching(new ConcurrentHashMap<>(),
+        key -> CompletableFuture.completedFuture("stale"))
+      .withWriteBehind((entries, keys) -> {
+        if (writeCount.incrementAndGet() == 1) {
+          throw new IllegalStateException("Backing store unavailable");
+        }
+      }, 100, Runnable::run);
+
+    map.put(1, "one");
+    map.remove(1);
+
+    assertThat(map.get(1)).isNull();
+
+    map.put(2, "two");
+    map.clear();
+
+    assertThat(map.get(2)).isEqualTo("two");
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(map::flush);
+    assertThat(map.getPendingWriteCount()).isEqualTo(2);
+    assertThat(map.flush()).isEqualTo(2);
+    assertThat(map.getPendingWriteCount()).isZero();
+  }
+
+  @Test
+  public void scheduledFlushWritesPartialBatches() throws InterruptedException {
+
+    CountDownLatch written = new CountDownLatch(1);
+
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    try {
+      CachingMapWrapper<Integer, String> map = MapWrapper.<Integer, String>caching(new ConcurrentHashMap<>(),
+          key -> CompletableFuture.completedFuture(null))
+        .withWriteBehind((entries, keys) -> {
+          if (entries.containsKey(1)) {
+            written.countDown();
+          }
+        }, 100, executor);
+
+      map.scheduleFlush(executor, Duration.ofMillis(10));
+      map.put(1, "one");
+
+      assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void removalDuringLoadPreventsCachingTheLoadedValue() {
+    assertRemovalDuringLoadPreventsCaching(false);
+  }
+
+  @Test
+  public void removalDuringLoadWithWriteBehindPreventsCachingTheLoadedValue() {
+    assertRemovalDuringLoadPreventsCaching(true);
+  }
+
+  private void assertRemovalDuringLoadPreventsCaching(boolean writeBehind) {
+
+    List<CompletableFuture<String>> loads = new ArrayList<>();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.caching(new ConcurrentHashMap<>(), key -> {
+      CompletableFuture<String> load = new CompletableFuture<>();
+      loads.add(load);
+      return load;
+    });
+
+    if (writeBehind) {
+      map.withWriteBehind((entries, keys) -> {}, 100, Runnable::run);
+    }
+
+    CompletableFuture<String> get = map.getAsync(1);
+
+    assertThat(map.remove(1)).isNull();
+
+    if (writeBehind) {
+      assertThat(map.flush()).isOne();
+    }
+
+    loads.get(0).complete("stale");
+
+    assertThat(get.join()).isEqualTo("stale");
+    assertThat(map.containsKey(1)).isFalse();
+
+    CompletableFuture<String> reload = map.getAsync(1);
+
+    assertThat(loads).hasSize(2);
+
+    loads.get(1).complete("fresh");
+
+    assertThat(reload.join()).isEqualTo("fresh");
+    assertThat(map).containsEntry(1, "fresh");
+  }
+
+  @Test
+  public void concurrentPutsOfTheSameKeyAreFlushedInCacheOrder() throws InterruptedException {
+    assertConcurrentWritesAreFlushedInCacheOrder(map -> map.put(1, "B"));
+  }
+
+  @Test
+  public void concurrentPutAndRemoveOfTheSameKeyAreFlushedInCacheOrder() throws InterruptedException {
+    assertConcurrentWritesAreFlushedInCacheOrder(map -> map.remove(1));
+  }
+
+  private void assertConcurrentWritesAreFlushedInCacheOrder(Consumer<CachingMapWrapper<Integer, String>> write)
+      throws InterruptedException {
+
+    CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    CountDownLatch firstWriteResumed = new CountDownLatch(1);
+
+    // Pauses the first write, of "A", after it has updated the cache but before its operation returns.
+    Map<Integer, String> cache = new ConcurrentHashMap<>() {
+
+      private void pause(Object value) {
+
+        if ("A".equals(value)) {
+          firstWriteStarted.countDown();
+          try {
+            firstWriteResumed.await();
+          }
+          catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+
+      @Override
+      public String put(Integer key, String value) {
+        String currentValue = super.put(key, value);
+        pause(value);
+        return currentValue;
+      }
+
+      @Override
+      public String compute(Integer key, BiFunction<? super Integer, ? super String, ? extends String> function) {
+        return super.compute(key, (computedKey, value) -> {
+          String newValue = function.apply(computedKey, value);
+          pause(newValue);
+          return newValue;
+        });
+      }
+    };
+
+    Map<Integer, String> store = new ConcurrentHashMap<>();
+
+    CachingMapWrapper<Integer, String> map = MapWrapper.caching(cache, key -> CompletableFuture.completedFuture(null))
+      .withWriteBehind((entries, keys) -> {
+        store.putAll(entries);
+        keys.forEach(store::remove);
+      }, 100, Runnable::run);
+
+    Thread firstWriter = new Thread(() -> map.put(1, "A"));
+    Thread secondWriter = new Thread(() -> write.accept(map));
+
+    firstWriter.start();
+
+    assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    secondWriter.start();
+
+    // The second write either waits for the first to finish writing the key, or completes before it.
+    await().atMost(Duration.ofSeconds(5)).until(() -> secondWriter.getState() == Thread.State.BLOCKED
+      || secondWriter.getState() == Thread.State.WAITING || secondWriter.getState() == Thread.State.TERMINATED);
+
+    firstWriteResumed.countDown();
+    firstWriter.join(5_000L);
+    secondWriter.join(5_000L);
+
+    map.flush();
+
+    assertThat(store.get(1)).isEqualTo(cache.get(1));
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link ConcurrentArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ConcurrentArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class ConcurrentArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    ConcurrentMap<String, Integer> map = new ConcurrentArrayHashMap<>();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.put("one", 1)).isNull();
+    assertThat(map.put("one", 2)).isEqualTo(1);
+    assertThat(map.get("one")).isEqualTo(2);
+    assertThat(map.containsKey("one")).isTrue();
+    assertThat(map.remove("one")).isEqualTo(2);
+    assertThat(map.get("one")).isNull();
+    assertThat(map.containsKey("one")).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void atomicConditionalOperations() {
+
+    ConcurrentMap<String, Integer> map = new ConcurrentArrayHashMap<>();
+
+    assertThat(map.putIfAbsent("key", 1)).isNull();
+    assertThat(map.putIfAbsent("key", 2)).isEqualTo(1);
+    assertThat(map.replace("key", 2, 3)).isFalse();
+    assertThat(map.replace("key", 1, 3)).isTrue();
+    assertThat(map.replace("key", 4)).isEqualTo(3);
+    assertThat(map.remove("key", 3)).isFalse();
+    assertThat(map.remove("key", 4)).isTrue();
+    assertThat(map.replace("key", 5)).isNull();
+    assertThat(map.computeIfAbsent("key", key -> 6)).isEqualTo(6);
+    assertThat(map.computeIfPresent("key", (key, value) -> value + 1)).isEqualTo(7);
+    assertThat(map.merge("key", 3, Integer::sum)).isEqualTo(10);
+    assertThat(map.compute("key", (key, value) -> null)).isNull();
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  public void recursiveUpdateOfLockedRowFailsFast() {
+
+    ConcurrentMap<String, Integer> map = new ConcurrentArrayHashMap<>(16, 0.75f, 1);
+
+    map.put("one", 1);
+
+    assertThatIllegalStateException()
+      .isThrownBy(() -> map.computeIfAbsent("two", key -> map.put("three", 3)))
+      .withMessage("Recursive update");
+
+    assertThatIllegalStateException()
+      .isThrownBy(() -> map.compute("one", (key, value) -> map.merge(key, 1, Integer::sum)))
+      .withMessage("Recursive update");
+
+    assertThat(map).containsOnly(Map.entry("one", 1));
+    assertThat(map.put("two", 2)).isNull();
+    assertThat(map).hasSize(2);
+  }
+
+  @Test
+  public void entriesAgreeWithHashMapAfterGrowth() {
+
+    Map<Integer, Integer> map = new ConcurrentArrayHashMap<>(16, 0.75f, 4);
+    Map<Integer, Integer> hashMap = new HashMap<>();
+
+    for (int number = 0; number < 10_000; number++) {
+      map.put(number, number * 2);
+      hashMap.put(number, number * 2);
+    }
+
+    for (int number = 0; number < 10_000; number += 3) {
+      map.remove(number);
+      hashMap.remove(number);
+    }
+
+    assertThat(map).isEqualTo(hashMap);
+    assertThat(map.containsValue(2)).isTrue();
+    assertThat(map.containsValue(0)).isFalse();
+  }
+
+  @Test
+  public void concurrentMergesAreNotLost() throws Exception {
+
+    int threadCount = 8;
+    int increments = 10_000;
+
+    ConcurrentMap<Integer, Integer> map = new ConcurrentArrayHashMap<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+
+      for (int thread = 0; thread < threadCount; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int count = 0; count < increments; count++) {
+            map.merge(count % 100, 1, Integer::sum);
+          }
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdownNow();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    assertThat(map).hasSize(100);
+    assertThat(map.values()).allMatch(value -> value == threadCount * increments / 100);
+  }
+
+  @Test
+  public void paddedRowsAgreeWithCompactRowsUnderConcurrentWrites() throws Exception {
+
+    int threadCount = 8;
+
+    ConcurrentArrayHashMap<Integer, Integer> compactMap =
+      new ConcurrentArrayHashMap<>(64, 0.75f, 8, ConcurrentArrayHashMap.RowLayout.COMPACT);
+
+    ConcurrentArrayHashMap<Integer, Integer> paddedMap =
+      new ConcurrentArrayHashMap<>(64, 0.75f, 8, ConcurrentArrayHashMap.RowLayout.PADDED);
+
+    assertThat(compactMap.getRowLayout()).isEqualTo(ConcurrentArrayHashMap.RowLayout.COMPACT);
+    assertThat(paddedMap.getRowLayout()).isEqualTo(ConcurrentArrayHashMap.RowLayout.PADDED);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+
+      for (int thread = 0; thread < threadCount; thread++) {
+
+        int offset = thread * 5_000;
+
+        futures.add(executor.submit(() -> {
+          for (int key = offset; key < offset + 5_000; key++) {
+            compactMap.put(key, key);
+            paddedMap.put(key, key);
+            if (key % 4 == 0) {
+              compactMap.remove(key);
+              paddedMap.remove(key);
+            }
+          }
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdownNow();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    assertThat(paddedMap).hasSize(30_000);
+    assertThat(paddedMap).isEqualTo(compactMap);
+  }
+}
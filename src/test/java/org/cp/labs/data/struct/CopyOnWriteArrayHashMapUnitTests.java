@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link CopyOnWriteArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.CopyOnWriteArrayHashMap
+ * @since 1.0.0
+ */
+public class CopyOnWriteArrayHashMapUnitTests {
+
+  @Test
+  public void writesReplaceSnapshot() {
+
+    CopyOnWriteArrayHashMap<String, Integer> map = CopyOnWriteArrayHashMap.from(Map.of("one", 1));
+
+    ImmutableArrayHashMap<String, Integer> snapshot = map.snapshot();
+    Set<String> keys = map.keySet();
+
+    assertThat(map.put("two", 2)).isNull();
+    assertThat(map.put("two", 22)).isEqualTo(2);
+    assertThat(map.putIfAbsent("one", 11)).isEqualTo(1);
+    assertThat(map.merge("one", 10, Integer::sum)).isEqualTo(11);
+    assertThat(map.computeIfAbsent("three", key -> 3)).isEqualTo(3);
+    assertThat(map.computeIfPresent("three", (key, value) -> null)).isNull();
+    assertThat(map.replace("two", 22, 2)).isTrue();
+    assertThat(map.remove("four")).isNull();
+
+    assertThat(map).containsExactlyInAnyOrderEntriesOf(Map.of("one", 11, "two", 2));
+    assertThat(map.snapshot()).isNotSameAs(snapshot);
+    assertThat(snapshot).containsExactlyInAnyOrderEntriesOf(Map.of("one", 1));
+    assertThat(keys).containsExactly("one");
+
+    assertThat(map.remove("one")).isEqualTo(11);
+    assertThat(map).containsOnlyKeys("two");
+
+    map.clear();
+
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  public void updateAppliesAllChangesAtOnce() {
+
+    CopyOnWriteArrayHashMap<String, Integer> map = CopyOnWriteArrayHashMap.empty();
+
+    map.update(copy -> {
+      copy.put("one", 1);
+      copy.put("two", 2);
+    });
+
+    assertThat(map).containsOnlyKeys("one", "two");
+
+    ImmutableArrayHashMap<String, Integer> snapshot = map.snapshot();
+
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> map.update(copy -> {
+      copy.remove("one");
+      throw new IllegalStateException("test");
+    }));
+
+    assertThatIllegalArgumentException().isThrownBy(() -> map.update(copy -> copy.put("three", null)));
+    assertThatIllegalArgumentException().isThrownBy(() -> map.put("three", null));
+    assertThat(map.snapshot()).isSameAs(snapshot);
+
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+      .isThrownBy(() -> map.entrySet().iterator().remove());
+  }
+
+  @Test
+  public void readersObserveConsistentSnapshots() throws Exception {
+
+    CopyOnWriteArrayHashMap<Integer, Integer> map = CopyOnWriteArrayHashMap.empty();
+
+    AtomicBoolean running = new AtomicBoolean(true);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+
+      Future<?> reader = executor.submit(() -> {
+        while (running.get()) {
+          ImmutableArrayHashMap<Integer, Integer> snapshot = map.snapshot();
+          // Every update writes both keys with the same value.
+          assertThat(snapshot.get(1)).isEqualTo(snapshot.get(2));
+        }
+      });
+
+      for (int value = 0; value < 2_000; value++) {
+        int next = value;
+        map.update(copy -> {
+          copy.put(1, next);
+          copy.put(2, next);
+        });
+      }
+
+      running.set(false);
+      reader.get(10, TimeUnit.SECONDS);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(map.get(1)).isEqualTo(1_999);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link DynamicValueSupplyingMap}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.DynamicValueSupplyingMap
+ * @since 1.0.0
+ */
+public class DynamicValueSupplyingMapUnitTests {
+
+  @Test
+  public void valuesAreSuppliedOnEveryReadUnlessMemoized() {
+
+    AtomicInteger dynamicCount = new AtomicInteger();
+    AtomicInteger memoizedCount = new AtomicInteger();
+
+    DynamicValueSupplyingMap<String, Integer> map = DynamicValueSupplyingMap.<String, Integer>create()
+      .put("dynamic", dynamicCount::incrementAndGet)
+      .putMemoized("memoized", memoizedCount::incrementAndGet, null, null);
+
+    for (int count = 0; count < 3; count++) {
+      assertThat(map.get("dynamic")).isEqualTo(count + 1);
+      assertThat(map.get("memoized")).isOne();
+    }
+
+    assertThat(map.entrySet()).extracting(Map.Entry::getValue).containsExactlyInAnyOrder(4, 1);
+    assertThat(memoizedCount).hasValue(1);
+  }
+
+  @Test
+  public void memoizedValuesAreRefreshedAfterWriteAndExpireAfterAccess() {
+
+    AtomicLong ticker = new AtomicLong();
+    AtomicInteger refreshedCount = new AtomicInteger();
+    AtomicInteger expiringCount = new AtomicInteger();
+
+    DynamicValueSupplyingMap<String, Integer> map = new DynamicValueSupplyingMap<String, Integer>(ticker::get)
+      .putMemoized("refreshed", refreshedCount::incrementAndGet, Duration.ofNanos(100), null)
+      .putMemoized("expiring", expiringCount::incrementAndGet, null, Duration.ofNanos(100));
+
+    assertThat(map.get("refreshed")).isOne();
+    assertThat(map.get("expiring")).isOne();
+
+    ticker.set(99);
+
+    assertThat(map.get("refreshed")).isOne();
+    assertThat(map.get("expiring")).isOne();
+
+    ticker.set(150);
+
+    assertThat(map.get("refreshed")).isEqualTo(2);
+    assertThat(map.get("expiring")).isOne();
+
+    ticker.set(250);
+
+    assertThat(map.get("refreshed")).isEqualTo(3);
+    assertThat(map.get("expiring")).isEqualTo(2);
+    assertThat(map.get("expiring")).isEqualTo(2);
+  }
+
+  @Test
+  public void concurrentFirstAccessSuppliesValueOnce() throws Exception {
+
+    AtomicInteger supplyCount = new AtomicInteger();
+    CountDownLatch supplying = new CountDownLatch(1);
+
+    DynamicValueSupplyingMap<String, Integer> map = DynamicValueSupplyingMap.<String, Integer>create()
+      .putMemoized("expensive", () -> {
+        supplying.countDown();
+        try {
+          Thread.sleep(50);
+        }
+        catch (InterruptedException cause) {
+          Thread.currentThread().interrupt();
+        }
+        return supplyCount.incrementAndGet();
+      }, null, Duration.ofMinutes(1));
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      List<Future<Integer>> values = new ArrayList<>();
+
+      for (int count = 0; count < 8; count++) {
+        values.add(executor.submit(() -> map.get("expensive")));
+      }
+
+      assertThat(supplying.await(5, TimeUnit.SECONDS)).isTrue();
+
+      for (Future<Integer> value : values) {
+        assertThat(value.get(5, TimeUnit.SECONDS)).isOne();
+      }
+
+      assertThat(supplyCount).hasValue(1);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void rejectsNonPositiveDurations() {
+
+    DynamicValueSupplyingMap<String, Integer> map = DynamicValueSupplyingMap.create();
+
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> map.putMemoized("key", () -> 1, Duration.ZERO, null));
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> map.putMemoized("key", () -> 1, null, Duration.ofSeconds(-1)));
+  }
+}
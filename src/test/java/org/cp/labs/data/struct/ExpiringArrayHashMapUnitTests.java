@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link ExpiringArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.ExpiringArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class ExpiringArrayHashMapUnitTests {
+
+  private final AtomicLong ticker = new AtomicLong(System.nanoTime());
+
+  private void advance(Duration duration) {
+    this.ticker.addAndGet(duration.toNanos());
+  }
+
+  @Test
+  public void entriesExpireAfterWrite() {
+
+    ExpiringArrayHashMap<String, Integer> map =
+      new ExpiringArrayHashMap<>(Duration.ofMinutes(1L), null, this.ticker::get);
+
+    map.put("one", 1);
+    advance(Duration.ofSeconds(30L));
+    map.put("two", 2);
+
+    assertThat(map.get("one")).isEqualTo(1);
+
+    advance(Duration.ofSeconds(31L));
+
+    assertThat(map.get("one")).isNull();
+    assertThat(map.containsKey("one")).isFalse();
+    assertThat(map.get("two")).isEqualTo(2);
+    assertThat(map).containsOnlyKeys("two");
+  }
+
+  @Test
+  public void entriesExpireAfterAccess() {
+
+    ExpiringArrayHashMap<String, Integer> map =
+      new ExpiringArrayHashMap<>(null, Duration.ofSeconds(10L), this.ticker::get);
+
+    map.put("one", 1);
+    map.put("two", 2);
+
+    for (int count = 0; count < 5; count++) {
+      advance(Duration.ofSeconds(8L));
+      assertThat(map.get("one")).isEqualTo(1);
+    }
+
+    assertThat(map.get("two")).isNull();
+    assertThat(map.get("one")).isEqualTo(1);
+  }
+
+  @Test
+  public void entryTimeToLiveOverridesExpireAfterWrite() {
+
+    ExpiringArrayHashMap<String, Integer> map =
+      new ExpiringArrayHashMap<>(Duration.ofHours(1L), null, this.ticker::get);
+
+    map.put("one", 1, Duration.ofSeconds(5L));
+    map.put("two", 2);
+
+    advance(Duration.ofSeconds(6L));
+
+    assertThat(map.get("one")).isNull();
+    assertThat(map.get("two")).isEqualTo(2);
+  }
+
+  @Test
+  public void cleanUpExpiresDueEntriesWithinBudget() {
+
+    List<String> expiredKeys = new ArrayList<>();
+
+    ExpiringArrayHashMap<String, Integer> map =
+      new ExpiringArrayHashMap<String, Integer>(Duration.ofMinutes(5L), null, this.ticker::get)
+        .withExpirationListener((key, value) -> expiredKeys.add(key));
+
+    for (int count = 0; count < 100; count++) {
+      map.put("key" + count, count);
+    }
+
+    map.put("long-lived", -1, Duration.ofDays(3L));
+
+    advance(Duration.ofMinutes(6L));
+
+    assertThat(map).hasSize(101);
+    assertThat(map.cleanUp(40)).isEqualTo(40);
+    assertThat(map.cleanUp(40)).isEqualTo(40);
+    assertThat(map.cleanUp(40)).isEqualTo(20);
+    assertThat(map.cleanUp(40)).isZero();
+    assertThat(map).hasSize(1).containsEntry("long-lived", -1);
+    assertThat(expiredKeys).hasSize(100).doesNotContain("long-lived");
+
+    advance(Duration.ofDays(3L));
+
+    assertThat(map.cleanUp(40)).isOne();
+    assertThat(map).isEmpty();
+    assertThat(expiredKeys).hasSize(101).contains("long-lived");
+  }
+
+  @Test
+  public void rewrittenEntryIsRescheduled() {
+
+    ExpiringArrayHashMap<String, Integer> map =
+      new ExpiringArrayHashMap<>(Duration.ofMinutes(2L), null, this.ticker::get);
+
+    map.put("one", 1);
+    advance(Duration.ofMinutes(1L));
+    map.put("one", -1);
+    advance(Duration.ofSeconds(90L));
+
+    assertThat(map.cleanUp(10)).isZero();
+    assertThat(map.get("one")).isEqualTo(-1);
+
+    advance(Duration.ofMinutes(1L));
+
+    assertThat(map.cleanUp(10)).isOne();
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  public void removeAndIteratorRemove() {
+
+    ExpiringArrayHashMap<Integer, Integer> map =
+      new ExpiringArrayHashMap<>(Duration.ofMinutes(1L), null, this.ticker::get);
+
+    for (int key = 0; key < 10; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map.remove(0)).isZero();
+
+    map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+
+    assertThat(map).containsOnlyKeys(1, 3, 5, 7, 9);
+
+    advance(Duration.ofMinutes(2L));
+
+    assertThat(map.cleanUp(100)).isEqualTo(5);
+  }
+
+  @Test
+  public void iteratorRemoveAfterHasNext() {
+
+    ExpiringArrayHashMap<Integer, Integer> map =
+      new ExpiringArrayHashMap<>(Duration.ofMinutes(1L), null, this.ticker::get);
+
+    for (int key = 0; key < 100; key++) {
+      map.put(key, key, Duration.ofSeconds(key % 3 == 0 ? 1L : 120L));
+    }
+
+    advance(Duration.ofSeconds(2L));
+
+    List<Integer> visited = new ArrayList<>();
+
+    for (Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+
+      Map.Entry<Integer, Integer> entry = iterator.next();
+
+      visited.add(entry.getKey());
+
+      if (entry.getKey() % 2 == 0) {
+        iterator.hasNext();
+        iterator.remove();
+      }
+    }
+
+    assertThat(visited).hasSize(66).doesNotHaveDuplicates().noneMatch(key -> key % 3 == 0);
+    assertThat(map.size()).isEqualTo(67);
+    assertThat(map.cleanUp(100)).isEqualTo(34);
+    assertThat(map).hasSize(33).allSatisfy((key, value) -> assertThat(key % 2).isOne());
+  }
+
+  @Test
+  public void scheduledCleanUpExpiresEntriesInBackground() {
+
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    try {
+      ExpiringArrayHashMap<String, Integer> map =
+        new ExpiringArrayHashMap<>(Duration.ofMinutes(1L), null, this.ticker::get);
+
+      map.put("one", 1);
+      map.put("two", 2);
+      map.scheduleCleanUp(executor, Duration.ofMillis(10L), 1);
+      advance(Duration.ofMinutes(2L));
+
+      await().atMost(Duration.ofSeconds(5L)).until(map::isEmpty);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
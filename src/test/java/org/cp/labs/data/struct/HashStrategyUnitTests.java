@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link HashStrategy}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.HashStrategy
+ * @see org.cp.labs.data.struct.TwoDimensionalMap
+ * @since 1.0.0
+ */
+public class HashStrategyUnitTests {
+
+  /**
+   * Returns {@literal 2^n} distinct {@link String Strings} of length {@literal 2n} that all have the same
+   * {@link String#hashCode() hash code}, since {@literal "Aa"} and {@literal "BB"} collide.
+   */
+  private static List<String> collidingStrings(int n) {
+
+    List<String> strings = new ArrayList<>(List.of(""));
+
+    for (int round = 0; round < n; round++) {
+
+      List<String> next = new ArrayList<>(strings.size() * 2);
+
+      for (String string : strings) {
+        next.add(string + "Aa");
+        next.add(string + "BB");
+      }
+
+      strings = next;
+    }
+
+    return strings;
+  }
+
+  @Test
+  public void unkeyedHashStrategiesAreDeterministic() {
+
+    assertThat(HashStrategy.identity().hash("test")).isEqualTo("test".hashCode());
+    assertThat(HashStrategy.fibonacci().hash(42)).isEqualTo(ArrayHashMap.spread(42));
+    assertThat(HashStrategy.murmur3().hash(42)).isEqualTo(HashStrategy.murmur3().hash(42));
+    assertThat(HashStrategy.murmur3().hash(1)).isNotEqualTo(HashStrategy.murmur3().hash(2));
+    assertThat(HashStrategy.murmur3().reseed()).isInstanceOf(HashStrategy.Seeded.class);
+  }
+
+  @Test
+  public void seededHashStrategySeparatesStringsWithEqualHashCodes() {
+
+    HashStrategy hashStrategy = HashStrategy.seeded(0x5EEDL);
+
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+    assertThat(hashStrategy.hash("Aa")).isNotEqualTo(hashStrategy.hash("BB"));
+    assertThat(hashStrategy.hash("Aa")).isEqualTo(HashStrategy.seeded(0x5EEDL).hash("Aa"));
+    assertThat(hashStrategy.hash("Aa")).isNotEqualTo(HashStrategy.seeded(0xFEEDL).hash("Aa"));
+    assertThat(hashStrategy.hash(new StringBuilder("Aa"))).isEqualTo(hashStrategy.hash("Aa"));
+    assertThat(hashStrategy.reseed()).isNotSameAs(hashStrategy);
+    assertThat(hashStrategy.toString()).doesNotContain(Long.toString(0x5EEDL)).doesNotContain("5eed");
+  }
+
+  @Test
+  public void arrayHashMapReseedsWhenKeysCollide() {
+
+    List<String> keys = collidingStrings(10);
+
+    ArrayHashMap<String, Integer> map = new ArrayHashMap<>();
+
+    for (int index = 0; index < keys.size(); index++) {
+      map.put(keys.get(index), index);
+    }
+
+    assertThat(map).hasSize(keys.size());
+    assertThat(map.getHashStrategy()).isInstanceOf(HashStrategy.Seeded.class);
+    assertThat(map.computeStatistics().maximumProbeLength()).isLessThan(64);
+
+    for (int index = 0; index < keys.size(); index++) {
+      assertThat(map.get(keys.get(index))).isEqualTo(index);
+    }
+  }
+
+  @Test
+  public void arrayHashMapKeepsHashStrategyThatCannotBeReseeded() {
+
+    HashStrategy constant = key -> 0;
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(16, 0.75f, constant);
+
+    for (int number = 0; number < 500; number++) {
+      map.put(number, number);
+    }
+
+    assertThat(map.getHashStrategy()).isSameAs(constant);
+    assertThat(map).hasSize(500);
+    assertThat(map.remove(250)).isEqualTo(250);
+    assertThat(map.get(499)).isEqualTo(499);
+    assertThat(map.containsKey(250)).isFalse();
+  }
+
+  @Test
+  public void twoDimensionalMapResolvesNegativeHashCodes() {
+
+    Map<Integer, Integer> map = TwoDimensionalMap.usingHashMapArray(101, 0.75f, HashStrategy.identity());
+
+    for (int number = -100; number < 100; number++) {
+      map.put(number, number);
+    }
+
+    assertThat(map).hasSize(200);
+    assertThat(map.get(-1)).isEqualTo(-1);
+    assertThat(map.get(Integer.MIN_VALUE)).isNull();
+    assertThat(map.remove(-100)).isEqualTo(-100);
+    assertThat(map).hasSize(199);
+  }
+}
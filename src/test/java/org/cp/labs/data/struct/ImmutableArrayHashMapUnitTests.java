@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link ImmutableArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.ImmutableArrayHashMap
+ * @since 1.0.0
+ */
+public class ImmutableArrayHashMapUnitTests {
+
+  @Test
+  public void copyOfContainsAllEntries() {
+
+    Map<Integer, String> source = new HashMap<>();
+    Random random = new Random(7L);
+
+    while (source.size() < 10_000) {
+      int key = random.nextInt();
+      source.put(key, String.valueOf(key));
+    }
+
+    ImmutableArrayHashMap<Integer, String> map = ImmutableArrayHashMap.copyOf(source);
+
+    assertThat(map).hasSize(10_000);
+    assertThat(map).isEqualTo(source);
+    assertThat(source).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(source.hashCode());
+    assertThat(map.getCapacity()).isEqualTo(32_768);
+
+    source.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+
+    for (int count = 0; count < 10_000; count++) {
+      int key = random.nextInt();
+      assertThat(map.containsKey(key)).isEqualTo(source.containsKey(key));
+    }
+
+    assertThat(map.get(null)).isNull();
+    assertThat(map.getOrDefault(1, "default")).isEqualTo(source.getOrDefault(1, "default"));
+    assertThat(map.containsValue(source.values().iterator().next())).isTrue();
+    assertThat(ImmutableArrayHashMap.copyOf(map)).isSameAs(map);
+  }
+
+  @Test
+  public void robinHoodFillKeepsProbeSequencesShort() {
+
+    Map<String, Integer> source = new HashMap<>();
+
+    for (int count = 0; count < 100_000; count++) {
+      source.put("route-" + count, count);
+    }
+
+    ImmutableArrayHashMap<String, Integer> map = ImmutableArrayHashMap.copyOf(source);
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(statistics.size()).isEqualTo(100_000);
+    assertThat(statistics.maximumProbeLength()).isEqualTo(map.getMaximumProbeLength());
+    assertThat(statistics.maximumProbeLength()).isLessThan(32);
+    assertThat(statistics.averageProbeLength()).isLessThan(2.0d);
+  }
+
+  @Test
+  public void isImmutable() {
+
+    ImmutableArrayHashMap<String, Integer> map = ImmutableArrayHashMap.copyOf(Map.of("one", 1, "two", 2));
+
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> map.put("three", 3));
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> map.remove("one"));
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+      .isThrownBy(() -> map.entrySet().iterator().next().setValue(0));
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+      .isThrownBy(() -> map.keySet().iterator().remove());
+
+    assertThat(map).containsOnlyKeys("one", "two");
+  }
+
+  @Test
+  public void copyOfRejectsNullKeysAndValues() {
+
+    Map<String, Integer> source = new HashMap<>();
+
+    source.put("key", null);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> ImmutableArrayHashMap.copyOf(source))
+      .withMessage("Value is required");
+
+    assertThat(ImmutableArrayHashMap.<String, Integer>empty()).isEmpty();
+    assertThat(ImmutableArrayHashMap.<String, Integer>empty().get("key")).isNull();
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for {@link InstrumentedMapWrapper}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.InstrumentedMapWrapper
+ * @since 1.0.0
+ */
+public class InstrumentedMapWrapperUnitTests {
+
+  @Test
+  public void recordsLatencyHitsAndMisses() {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    InstrumentedMapWrapper<String, Integer> map =
+      MapWrapper.instrumented(new HashMap<String, Integer>(), registry, "users", Tag.of("map", "test"))
+        .withSamplingRate(1.0d);
+
+    map.put("one", 1);
+    map.put("two", 2);
+    map.remove("two");
+
+    assertThat(map.get("one")).isOne();
+    assertThat(map.get("two")).isNull();
+    assertThat(map.get("three")).isNull();
+
+    assertThat(registry.get("users.latency").tag("operation", "get").tag("map", "test").timer().count())
+      .isEqualTo(3L);
+    assertThat(registry.get("users.latency").tag("operation", "put").timer().count()).isEqualTo(2L);
+    assertThat(registry.get("users.latency").tag("operation", "remove").timer().count()).isOne();
+    assertThat(registry.get("users.gets").tag("result", "hit").counter().count()).isOne();
+    assertThat(registry.get("users.gets").tag("result", "miss").counter().count()).isEqualTo(2.0d);
+    assertThat(registry.get("users.hit.ratio").gauge().value()).isEqualTo(1.0d / 3.0d);
+    assertThat(registry.get("users.size").gauge().value()).isOne();
+  }
+
+  @Test
+  public void getOrDefaultIsCountedAsGet() {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    InstrumentedMapWrapper<String, Integer> map =
+      MapWrapper.instrumented(new HashMap<String, Integer>(), registry, "users")
+        .withSamplingRate(1.0d);
+
+    map.put("one", 1);
+
+    assertThat(map.getOrDefault("one", 0)).isOne();
+    assertThat(map.getOrDefault("two", 0)).isZero();
+
+    assertThat(registry.get("users.latency").tag("operation", "get").timer().count()).isEqualTo(2L);
+    assertThat(registry.get("users.gets").tag("result", "hit").counter().count()).isOne();
+    assertThat(registry.get("users.gets").tag("result", "miss").counter().count()).isOne();
+    assertThat(map.getHitRatio()).isEqualTo(0.5d);
+  }
+
+  @Test
+  public void wrappersWithSameNameAndTagsShareMeters() {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    InstrumentedMapWrapper<String, Integer> first =
+      MapWrapper.instrumented(new HashMap<String, Integer>(), registry, "users", Tag.of("map", "test"))
+        .withSamplingRate(1.0d);
+
+    InstrumentedMapWrapper<String, Integer> second =
+      MapWrapper.instrumented(new HashMap<String, Integer>(), registry, "users", Tag.of("map", "test"))
+        .withSamplingRate(1.0d);
+
+    first.put("one", 1);
+    second.put("two", 2);
+
+    assertThat(first.get("one")).isOne();
+    assertThat(second.get("two")).isEqualTo(2);
+    assertThat(second.get("three")).isNull();
+    second.keySet().forEach(key -> assertThat(key).isEqualTo("two"));
+
+    assertThat(registry.get("users.latency").tag("operation", "get").timer().count()).isEqualTo(3L);
+    assertThat(registry.get("users.gets").tag("result", "hit").counter().count()).isEqualTo(2.0d);
+    assertThat(registry.get("users.gets").tag("result", "miss").counter().count()).isOne();
+    assertThat(registry.get("users.hit.ratio").gauge().value()).isEqualTo(2.0d / 3.0d);
+    assertThat(registry.get("users.entries.visited").counter().count()).isOne();
+    assertThat(first.getHitRatio()).isEqualTo(second.getHitRatio());
+  }
+
+  @Test
+  public void samplingRateIsRoundedToPowerOfTwoInterval() {
+
+    InstrumentedMapWrapper<String, Integer> map =
+      MapWrapper.instrumented(new HashMap<>(), new SimpleMeterRegistry(), "users");
+
+    assertThat(map.getSamplingRate()).isEqualTo(1.0d / 1024.0d);
+    assertThat(map.withSamplingRate(0.01d).getSamplingRate()).isEqualTo(1.0d / 64.0d);
+    assertThat(map.withSamplingRate(0.5d).getSamplingRate()).isEqualTo(0.5d);
+    assertThat(map.withSamplingRate(1.0d).getSamplingRate()).isOne();
+
+    assertThatIllegalArgumentException().isThrownBy(() -> map.withSamplingRate(0.0d));
+    assertThatIllegalArgumentException().isThrownBy(() -> map.withSamplingRate(1.5d));
+  }
+
+  @Test
+  public void countsEntriesVisitedByBulkViews() {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    Map<Integer, Integer> map = MapWrapper.instrumented(new HashMap<Integer, Integer>(), registry, "numbers");
+
+    for (int key = 0; key < 100; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map.entrySet()).hasSize(100);
+    assertThat(map.keySet().stream().mapToInt(Integer::intValue).sum()).isEqualTo(4_950);
+    assertThat(map.values().parallelStream().mapToInt(Integer::intValue).sum()).isEqualTo(4_950);
+
+    map.forEach((key, value) -> {});
+    map.replaceAll((key, value) -> value + 1);
+    map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+
+    assertThat(map).hasSize(50).containsEntry(1, 2);
+    assertThat(registry.get("numbers.entries.visited").counter().count()).isEqualTo(500.0d);
+  }
+
+  @Test
+  public void iteratorsAddEntriesVisitedOnExhaustionAndInIntervals() {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    Map<Integer, Integer> map = MapWrapper.instrumented(new HashMap<Integer, Integer>(), registry, "numbers");
+
+    for (int key = 0; key < 3_000; key++) {
+      map.put(key, key);
+    }
+
+    Iterator<Integer> keys = map.keySet().iterator();
+
+    for (int count = 0; count < 2_100; count++) {
+      keys.next();
+    }
+
+    assertThat(registry.get("numbers.entries.visited").counter().count())
+      .isEqualTo(2.0d * InstrumentedMapWrapper.VISITED_COUNT_INTERVAL);
+
+    keys.forEachRemaining(key -> {});
+
+    assertThat(keys.hasNext()).isFalse();
+    assertThat(registry.get("numbers.entries.visited").counter().count()).isEqualTo(3_000.0d);
+
+    Spliterator<Integer> values = map.values().spliterator();
+
+    assertThat(values.tryAdvance(value -> {})).isTrue();
+
+    values.forEachRemaining(value -> {});
+
+    assertThat(registry.get("numbers.entries.visited").counter().count()).isEqualTo(6_000.0d);
+  }
+}
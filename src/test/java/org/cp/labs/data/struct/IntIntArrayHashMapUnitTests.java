@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link IntIntArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.IntIntArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class IntIntArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    IntIntArrayHashMap map = new IntIntArrayHashMap();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.put(1, 10)).isZero();
+    assertThat(map.put(1, 11)).isEqualTo(10);
+    assertThat(map.get(1)).isEqualTo(11);
+    assertThat(map.getOrDefault(2, -1)).isEqualTo(-1);
+    assertThat(map.containsKey(1)).isTrue();
+    assertThat(map.containsKey(2)).isFalse();
+    assertThat(map.remove(1)).isEqualTo(11);
+    assertThat(map.containsKey(1)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void zeroKeyIsSupported() {
+
+    IntIntArrayHashMap map = new IntIntArrayHashMap();
+
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.getOrDefault(0, -1)).isEqualTo(-1);
+    assertThat(map.put(0, 42)).isZero();
+    assertThat(map.containsKey(0)).isTrue();
+    assertThat(map.get(0)).isEqualTo(42);
+    assertThat(map.size()).isOne();
+    assertThat(map.remove(0)).isEqualTo(42);
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void randomOperationsOnKeysAroundFreeKeyAgreeWithHashMap() {
+
+    IntIntArrayHashMap map = new IntIntArrayHashMap(4);
+    Map<Integer, Integer> hashMap = new HashMap<>();
+
+    Random random = new Random(20170102L);
+
+    for (int count = 0; count < 20_000; count++) {
+
+      // Few distinct keys around 0, and values of -1, 0 or 1, so that the zero key and zero values,
+      // which a primitive map cannot tell apart from an empty slot, are written and removed often.
+      int key = random.nextInt(64) - 32;
+      int value = random.nextInt(3) - 1;
+
+      if (random.nextBoolean()) {
+        assertThat(map.put(key, value)).isEqualTo(hashMap.getOrDefault(key, 0));
+        hashMap.put(key, value);
+      }
+      else {
+        assertThat(map.remove(key)).isEqualTo(hashMap.getOrDefault(key, 0));
+        hashMap.remove(key);
+      }
+
+      assertThat(map.containsKey(0)).isEqualTo(hashMap.containsKey(0));
+      assertThat(map.getOrDefault(key, Integer.MIN_VALUE)).isEqualTo(hashMap.getOrDefault(key, Integer.MIN_VALUE));
+    }
+
+    Map<Integer, Integer> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertThat(map.size()).isEqualTo(hashMap.size());
+    assertThat(entries).isEqualTo(hashMap);
+  }
+}
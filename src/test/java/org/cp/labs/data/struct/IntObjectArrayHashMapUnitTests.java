@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link IntObjectArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.IntObjectArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class IntObjectArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    IntObjectArrayHashMap<String> map = new IntObjectArrayHashMap<>();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.put(1, "one")).isNull();
+    assertThat(map.put(-1, "minus one")).isNull();
+    assertThat(map.put(1, "uno")).isEqualTo("one");
+    assertThat(map.get(1)).isEqualTo("uno");
+    assertThat(map.get(-1)).isEqualTo("minus one");
+    assertThat(map.get(2)).isNull();
+    assertThat(map.getOrDefault(2, "none")).isEqualTo("none");
+    assertThat(map.containsKey(1)).isTrue();
+    assertThat(map.containsKey(2)).isFalse();
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.remove(1)).isEqualTo("uno");
+    assertThat(map.remove(1)).isNull();
+    assertThat(map.containsKey(1)).isFalse();
+    assertThat(map.size()).isOne();
+  }
+
+  @Test
+  public void zeroKeyIsSupported() {
+
+    IntObjectArrayHashMap<String> map = new IntObjectArrayHashMap<>();
+
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.get(0)).isNull();
+    assertThat(map.put(0, "zero")).isNull();
+    assertThat(map.containsKey(0)).isTrue();
+    assertThat(map.get(0)).isEqualTo("zero");
+    assertThat(map.size()).isOne();
+    assertThat(map.remove(0)).isEqualTo("zero");
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void putNullValueIsIllegal() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new IntObjectArrayHashMap<>().put(1, null));
+  }
+
+  @Test
+  public void removalKeepsRemainingKeysReachableAcrossGrowth() {
+
+    IntObjectArrayHashMap<Integer> map = new IntObjectArrayHashMap<>(4);
+
+    for (int key = -1_000; key < 1_000; key++) {
+      map.put(key, key);
+    }
+
+    for (int key = -1_000; key < 1_000; key += 2) {
+      assertThat(map.remove(key)).isEqualTo(key);
+    }
+
+    Map<Integer, Integer> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertThat(map.size()).isEqualTo(1_000);
+    assertThat(entries).hasSize(1_000).allSatisfy((key, value) -> assertThat(value).isEqualTo(key));
+    assertThat(entries.keySet()).allMatch(key -> key % 2 != 0);
+
+    for (int key = -1_000; key < 1_000; key++) {
+      assertThat(map.containsKey(key)).isEqualTo(key % 2 != 0);
+    }
+
+    map.clear();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(1)).isNull();
+  }
+}
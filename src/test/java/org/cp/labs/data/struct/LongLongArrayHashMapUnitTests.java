@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link LongLongArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.LongLongArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class LongLongArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    LongLongArrayHashMap map = new LongLongArrayHashMap();
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.put(1L, 10L)).isZero();
+    assertThat(map.put(Long.MIN_VALUE, -1L)).isZero();
+    assertThat(map.put(1L, 11L)).isEqualTo(10L);
+    assertThat(map.get(1L)).isEqualTo(11L);
+    assertThat(map.get(Long.MIN_VALUE)).isEqualTo(-1L);
+    assertThat(map.get(2L)).isZero();
+    assertThat(map.getOrDefault(2L, -1L)).isEqualTo(-1L);
+    assertThat(map.containsKey(1L)).isTrue();
+    assertThat(map.containsKey(2L)).isFalse();
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.remove(1L)).isEqualTo(11L);
+    assertThat(map.remove(1L)).isZero();
+    assertThat(map.containsKey(1L)).isFalse();
+    assertThat(map.size()).isOne();
+  }
+
+  @Test
+  public void freeKeyIsSupported() {
+
+    LongLongArrayHashMap map = new LongLongArrayHashMap();
+
+    assertThat(map.containsKey(0L)).isFalse();
+    assertThat(map.getOrDefault(0L, -1L)).isEqualTo(-1L);
+    assertThat(map.put(0L, 0L)).isZero();
+    assertThat(map.containsKey(0L)).isTrue();
+    assertThat(map.getOrDefault(0L, -1L)).isZero();
+    assertThat(map.put(0L, 42L)).isZero();
+    assertThat(map.put(0L, 43L)).isEqualTo(42L);
+    assertThat(map.size()).isOne();
+
+    Map<Long, Long> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertThat(entries).containsOnly(Map.entry(0L, 43L));
+    assertThat(map.remove(0L)).isEqualTo(43L);
+    assertThat(map.remove(0L)).isZero();
+    assertThat(map.containsKey(0L)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+
+    map.put(0L, 1L);
+    map.clear();
+
+    assertThat(map.containsKey(0L)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void removalKeepsKeysWithEqualLowBitsReachable() {
+
+    LongLongArrayHashMap map = new LongLongArrayHashMap(4);
+
+    // Keys differing only in their high 32 bits, starting with the free key, 0L.
+    for (long high = 0L; high < 2_000L; high++) {
+      map.put(high << 32, high);
+    }
+
+    for (long high = 0L; high < 2_000L; high += 2L) {
+      assertThat(map.remove(high << 32)).isEqualTo(high);
+    }
+
+    Map<Long, Long> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertThat(map.size()).isEqualTo(1_000);
+    assertThat(entries).hasSize(1_000).allSatisfy((key, value) -> assertThat(key >>> 32).isEqualTo(value));
+    assertThat(map.containsKey(0L)).isFalse();
+
+    for (long high = 0L; high < 2_000L; high++) {
+      assertThat(map.get(high << 32)).isEqualTo(high % 2L == 0L ? 0L : high);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link LongObjectArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.LongObjectArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class LongObjectArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    LongObjectArrayHashMap<String> map = new LongObjectArrayHashMap<>();
+
+    assertThat(map.put(0L, "zero")).isNull();
+    assertThat(map.put(Long.MAX_VALUE, "max")).isNull();
+    assertThat(map.put(0L, "nil")).isEqualTo("zero");
+    assertThat(map.get(0L)).isEqualTo("nil");
+    assertThat(map.get(Long.MAX_VALUE)).isEqualTo("max");
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.getOrDefault(1L, "none")).isEqualTo("none");
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.remove(0L)).isEqualTo("nil");
+    assertThat(map.containsKey(0L)).isFalse();
+    assertThat(map.size()).isOne();
+  }
+
+  @Test
+  public void putNullValueIsIllegal() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new LongObjectArrayHashMap<>().put(1L, null));
+  }
+
+  @Test
+  public void randomOperationsOnKeysWithEqualLowBitsAgreeWithHashMap() {
+
+    LongObjectArrayHashMap<Integer> map = new LongObjectArrayHashMap<>(4);
+    Map<Long, Integer> hashMap = new HashMap<>();
+
+    Random random = new Random(20170103L);
+
+    for (int count = 0; count < 20_000; count++) {
+
+      // Keys differing only in their high 32 bits, so that every key would collide if the hash ignored them.
+      long key = (long) random.nextInt(1_000) << 32;
+
+      if (random.nextBoolean()) {
+        assertThat(map.put(key, count)).isEqualTo(hashMap.put(key, count));
+      }
+      else {
+        assertThat(map.remove(key)).isEqualTo(hashMap.remove(key));
+      }
+    }
+
+    Map<Long, Integer> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertThat(map.size()).isEqualTo(hashMap.size());
+    assertThat(entries).isEqualTo(hashMap);
+  }
+}
@@ -26,7 +26,13 @@ import java.util.Random;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -37,6 +43,8 @@ import org.junit.jupiter.api.Test;
  * @author John Blum
  * @see java.util.Map
  * @see java.util.HashMap
+ * @see org.cp.labs.data.struct.ArrayHashMap
+ * @see org.cp.labs.data.struct.ConcurrentArrayHashMap
  * @see org.cp.labs.data.struct.TwoDimensionalMap
  * @since 1.0.0
  */
@@ -55,6 +63,8 @@ public class MapImplementationsPerformanceTests {
   //private static final int INITIAL_CAPACITY = 32_7658;
   //private static final int INITIAL_CAPACITY = 65_536;
 
+  private static final int[] CANDIDATE_INITIAL_CAPACITIES = { 501, 1024, 1067, 2048, 2161, 4096, 4097 };
+
   //private static final int SAMPLE_SIZE = 100_000;
   private static final int SAMPLE_SIZE = 250_000;
   //private static final int SAMPLE_SIZE = 500_000;
@@ -62,14 +72,29 @@ public class MapImplementationsPerformanceTests {
   //private static final int SAMPLE_SIZE = 5_000_000;
   //private static final int SAMPLE_SIZE = 10_000_000;
 
+  private static final int[] primitiveNumbers = new int[SAMPLE_SIZE];
+
   private static final List<Integer> numbers = new ArrayList<>(SAMPLE_SIZE);
 
+  private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
   private static final Map<Integer, Integer> arrayMap = new ArrayHashMap<>(INITIAL_CAPACITY);
 
+  private static final Map<Integer, Integer> concurrentArrayMap = new ConcurrentArrayHashMap<>(INITIAL_CAPACITY);
+
   private static final Map<Integer, Integer> concurrentMap = new ConcurrentHashMap<>();
 
   private static final Map<Integer, Integer> hashMap = new HashMap<>();
 
+  private static final IntIntArrayHashMap intIntArrayMap = new IntIntArrayHashMap(INITIAL_CAPACITY);
+
+  private static final IntObjectArrayHashMap<Integer> intObjectArrayMap = new IntObjectArrayHashMap<>(INITIAL_CAPACITY);
+
+  private static final LongLongArrayHashMap longLongArrayMap = new LongLongArrayHashMap(INITIAL_CAPACITY);
+
+  private static final LongObjectArrayHashMap<Integer> longObjectArrayMap =
+    new LongObjectArrayHashMap<>(INITIAL_CAPACITY);
+
   private static final Map<Integer, Integer> map2d = TwoDimensionalMap.usingHashMapArray(INITIAL_CAPACITY);
 
   private static final Map<Integer, Integer> synchronizedMap = Collections.synchronizedMap(new HashMap<>());
@@ -83,16 +108,25 @@ public class MapImplementationsPerformanceTests {
 
     for (int index = 0; index < SAMPLE_SIZE; index++) {
       int number = random.nextInt(SAMPLE_SIZE);
+      primitiveNumbers[index] = number;
       numbers.add(number);
       arrayMap.put(number, number);
+      concurrentArrayMap.put(number, number);
       concurrentMap.put(number, number);
       hashMap.put(number, number);
+      intIntArrayMap.put(number, number);
+      intObjectArrayMap.put(number, Integer.valueOf(number));
+      longLongArrayMap.put(number, number);
+      longObjectArrayMap.put(number, Integer.valueOf(number));
       map2d.put(number, number);
       synchronizedMap.put(number, number);
       treeMap.put(number, number);
     }
 
     assertThat(arrayMap.size()).isEqualTo(hashMap.size());
+    assertThat(concurrentArrayMap).hasSize(hashMap.size());
+    assertThat(intIntArrayMap.size()).isEqualTo(hashMap.size());
+    assertThat(longObjectArrayMap.size()).isEqualTo(hashMap.size());
     assertThat(map2d).hasSize(hashMap.size());
   }
 
@@ -116,21 +150,207 @@ public class MapImplementationsPerformanceTests {
     System.out.flush();
   }
 
+  private void measurePrimitiveMapGetPerformance(IntUnaryOperator mapGetFunction, Class<?> mapType) {
+
+    long checksum = 0L;
+    long expectedChecksum = 0L;
+
+    long t0 = System.currentTimeMillis();
+
+    for (int number : primitiveNumbers) {
+      checksum += mapGetFunction.applyAsInt(number);
+    }
+
+    long t1 = System.currentTimeMillis();
+
+    for (int number : primitiveNumbers) {
+      expectedChecksum += number;
+    }
+
+    assertThat(checksum).isEqualTo(expectedChecksum);
+
+    System.out.printf("Getting [%d] values from Map of type [%s] took [%d] milliseconds%n",
+      primitiveNumbers.length, mapType.getSimpleName(), t1 - t0);
+
+    System.out.flush();
+  }
+
+  private static long usedHeapMemoryAfterGarbageCollection() {
+
+    Runtime runtime = Runtime.getRuntime();
+
+    for (int count = 0; count < 3; count++) {
+      System.gc();
+    }
+
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private void measureMapMemoryUsage(Supplier<Object> mapFactory, String mapTypeName) {
+
+    long usedMemoryBefore = usedHeapMemoryAfterGarbageCollection();
+
+    Object map = mapFactory.get();
+
+    long usedMemoryAfter = usedHeapMemoryAfterGarbageCollection();
+
+    System.out.printf("Map of type [%s] containing [%d] entries retains approximately [%d] KB%n",
+      mapTypeName, SAMPLE_SIZE, (usedMemoryAfter - usedMemoryBefore) / 1024);
+
+    System.out.flush();
+
+    assertThat(map).isNotNull();
+  }
+
+  private static int nextThreadCount(int threadCount) {
+    return threadCount < THREAD_COUNT ? Math.min(threadCount << 1, THREAD_COUNT) : threadCount + 1;
+  }
+
+  private void measureConcurrentMapPutAndGetPerformance(Map<Integer, Integer> map, String mapTypeName)
+      throws Exception {
+
+    for (int threadCount = 1; threadCount <= THREAD_COUNT; threadCount = nextThreadCount(threadCount)) {
+
+      ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+      try {
+        List<Future<?>> futures = new ArrayList<>(threadCount);
+
+        long t0 = System.currentTimeMillis();
+
+        for (int thread = 0; thread < threadCount; thread++) {
+          futures.add(executor.submit(() -> numbers.forEach(number -> {
+            map.put(number, number);
+            assertThat(map.get(number)).isEqualTo(number);
+          })));
+        }
+
+        for (Future<?> future : futures) {
+          future.get();
+        }
+
+        long t1 = System.currentTimeMillis();
+
+        System.out.printf("Putting and getting [%d] values using [%d] Threads in Map of type [%s]"
+            + " took [%d] milliseconds%n", numbers.size() * threadCount, threadCount, mapTypeName, t1 - t0);
+
+        System.out.flush();
+      }
+      finally {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+      }
+    }
+  }
+
   @Test
   public void measureArrayHashMapGet() {
     measureMapGetPerformance(arrayMap::get, ArrayHashMap.class);
   }
 
+  @Test
+  public void measureConcurrentArrayHashMapGet() {
+    measureMapGetPerformance(concurrentArrayMap::get, ConcurrentArrayHashMap.class);
+  }
+
+  @Test
+  public void measureConcurrentArrayHashMapPutAndGetWithThreads() throws Exception {
+    measureConcurrentMapPutAndGetPerformance(concurrentArrayMap, ConcurrentArrayHashMap.class.getSimpleName());
+  }
+
   @Test
   public void measureConcurrentMapGet() {
     measureMapGetPerformance(concurrentMap::get, ConcurrentMap.class);
   }
 
+  @Test
+  public void measureConcurrentMapPutAndGetWithThreads() throws Exception {
+    measureConcurrentMapPutAndGetPerformance(concurrentMap, ConcurrentMap.class.getSimpleName());
+  }
+
   @Test
   public void measureHashMapGet() {
     measureMapGetPerformance(hashMap::get, HashMap.class);
   }
 
+  @Test
+  public void measureIntIntArrayHashMapGet() {
+    measurePrimitiveMapGetPerformance(intIntArrayMap::get, IntIntArrayHashMap.class);
+  }
+
+  @Test
+  public void measureIntObjectArrayHashMapGet() {
+    measurePrimitiveMapGetPerformance(number -> intObjectArrayMap.get(number), IntObjectArrayHashMap.class);
+  }
+
+  @Test
+  public void measureLongLongArrayHashMapGet() {
+    measurePrimitiveMapGetPerformance(number -> (int) longLongArrayMap.get(number), LongLongArrayHashMap.class);
+  }
+
+  @Test
+  public void measureLongObjectArrayHashMapGet() {
+    measurePrimitiveMapGetPerformance(number -> longObjectArrayMap.get(number), LongObjectArrayHashMap.class);
+  }
+
+  @Test
+  public void measureMapMemoryUsage() {
+
+    measureMapMemoryUsage(() -> {
+      Map<Integer, Integer> map = new HashMap<>();
+      numbers.forEach(number -> map.put(number, number));
+      return map;
+    }, HashMap.class.getSimpleName());
+
+    measureMapMemoryUsage(() -> {
+      Map<Integer, Integer> map = new ArrayHashMap<>(INITIAL_CAPACITY);
+      numbers.forEach(number -> map.put(number, number));
+      return map;
+    }, ArrayHashMap.class.getSimpleName());
+
+    measureMapMemoryUsage(() -> {
+      IntIntArrayHashMap map = new IntIntArrayHashMap(INITIAL_CAPACITY);
+      for (int number : primitiveNumbers) {
+        map.put(number, number);
+      }
+      return map;
+    }, IntIntArrayHashMap.class.getSimpleName());
+
+    measureMapMemoryUsage(() -> {
+      LongLongArrayHashMap map = new LongLongArrayHashMap(INITIAL_CAPACITY);
+      for (int number : primitiveNumbers) {
+        map.put(number, number);
+      }
+      return map;
+    }, LongLongArrayHashMap.class.getSimpleName());
+  }
+
+  @Test
+  public void reportMapStatisticsForCandidateInitialCapacities() {
+
+    for (int initialCapacity : CANDIDATE_INITIAL_CAPACITIES) {
+
+      ArrayHashMap<Integer, Integer> arrayMap = new ArrayHashMap<>(initialCapacity);
+      TwoDimensionalMap<Integer, Integer> map2d = TwoDimensionalMap.usingHashMapArray(initialCapacity);
+
+      numbers.forEach(number -> {
+        arrayMap.put(number, number);
+        map2d.put(number, number);
+      });
+
+      MapStatistics arrayMapStatistics = arrayMap.computeStatistics();
+      MapStatistics map2dStatistics = map2d.computeStatistics();
+
+      assertThat(arrayMapStatistics.size()).isEqualTo(hashMap.size());
+      assertThat(map2dStatistics.size()).isEqualTo(hashMap.size());
+
+      System.out.printf("ArrayHashMap with initial capacity [%d]: %s%n", initialCapacity, arrayMapStatistics);
+      System.out.printf("TwoDimensionalMap with initial capacity [%d]: %s%n", initialCapacity, map2dStatistics);
+    }
+
+    System.out.flush();
+  }
+
   @Test
   public void measureSynchronizedMapGet() {
     measureMapGetPerformance(synchronizedMap::get, "SynchronizedMap");
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for {@link MapStatistics}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.MapStatistics
+ * @see org.cp.labs.data.struct.MapStatisticsMeterBinder
+ * @since 1.0.0
+ */
+public class MapStatisticsUnitTests {
+
+  /**
+   * Key with a constant {@link Object#hashCode() hash code} so that all instances collide.
+   */
+  record CollidingKey(int id) {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+
+  @Test
+  public void arrayHashMapStatisticsReportProbeLengths() {
+
+    ArrayHashMap<CollidingKey, Integer> map = new ArrayHashMap<>(64);
+
+    for (int id = 0; id < 10; id++) {
+      map.put(new CollidingKey(id), id);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(statistics.bucketCount()).isEqualTo(64);
+    assertThat(statistics.size()).isEqualTo(10);
+    assertThat(statistics.occupiedBuckets()).isEqualTo(10);
+    assertThat(statistics.emptyBuckets()).isEqualTo(54);
+    assertThat(statistics.maximumProbeLength()).isEqualTo(10);
+    assertThat(statistics.averageProbeLength()).isEqualTo(5.5d);
+    assertThat(statistics.probeLengthHistogram()).containsExactly(0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+    assertThat(statistics.entriesWithProbeLengthAtLeast(9)).isEqualTo(2L);
+    assertThat(statistics.rowFill()).hasSize(64);
+    assertThat(statistics.maximumRowFill()).isOne();
+    assertThat(statistics.resizeCount()).isZero();
+  }
+
+  @Test
+  public void arrayHashMapStatisticsCountResizes() {
+
+    ArrayHashMap<Integer, Integer> map = new ArrayHashMap<>(16);
+
+    for (int number = 0; number < 1_000; number++) {
+      map.put(number, number);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(statistics.bucketCount()).isEqualTo(2048);
+    assertThat(statistics.size()).isEqualTo(1_000);
+    assertThat(statistics.occupiedBuckets()).isEqualTo(1_000);
+    assertThat(statistics.resizeCount()).isEqualTo(7L);
+    assertThat(statistics.rowFill()).hasSize(ArrayHashMap.STATISTICS_ROW_COUNT);
+    assertThat(statistics.rowFill()).matches(rowFill -> Arrays.stream(rowFill).sum() == 1_000);
+    assertThat(statistics.averageProbeLength()).isBetween(1.0d, 2.0d);
+
+    map.clear();
+
+    assertThat(map.computeStatistics().size()).isZero();
+    assertThat(map.computeStatistics().maximumProbeLength()).isZero();
+    assertThat(map.computeStatistics().averageProbeLength()).isZero();
+  }
+
+  @Test
+  public void twoDimensionalMapStatisticsReportChainLengths() {
+
+    TwoDimensionalMap<Integer, Integer> map =
+      TwoDimensionalMap.usingHashMapArray(10, 0.75f, HashStrategy.identity());
+
+    for (int number = 0; number < 25; number++) {
+      map.put(number * 2, number);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(statistics.bucketCount()).isEqualTo(10);
+    assertThat(statistics.size()).isEqualTo(25);
+    assertThat(statistics.occupiedBuckets()).isEqualTo(5);
+    assertThat(statistics.emptyBuckets()).isEqualTo(5);
+    assertThat(statistics.rowFill()).containsExactly(5, 0, 5, 0, 5, 0, 5, 0, 5, 0);
+    assertThat(statistics.maximumProbeLength()).isEqualTo(5);
+    assertThat(statistics.probeLengthHistogram()).containsExactly(0, 0, 0, 0, 0, 25);
+    assertThat(statistics.loadFactor()).isEqualTo(2.5d);
+    assertThat(statistics.resizeCount()).isZero();
+  }
+
+  @Test
+  public void meterBinderPublishesStatisticsAsGauges() {
+
+    AtomicLong ticker = new AtomicLong();
+
+    ArrayHashMap<CollidingKey, Integer> map = new ArrayHashMap<>(64);
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    new MapStatisticsMeterBinder("cache.map", map, Tags.of("map", "test"), ticker::get)
+      .withRefreshInterval(Duration.ofNanos(100))
+      .bindTo(registry);
+
+    for (int id = 0; id < 10; id++) {
+      map.put(new CollidingKey(id), id);
+    }
+
+    assertThat(registry.get("cache.map.size").tag("map", "test").gauge().value()).isEqualTo(10.0d);
+    assertThat(registry.get("cache.map.buckets").tag("state", "empty").gauge().value()).isEqualTo(54.0d);
+    assertThat(registry.get("cache.map.probe.length.max").gauge().value()).isEqualTo(10.0d);
+    assertThat(registry.get("cache.map.probe.length.entries").tag("length", "1").gauge().value()).isOne();
+    assertThat(registry.get("cache.map.probe.length.entries").tag("length", "9+").gauge().value()).isEqualTo(2.0d);
+    assertThat(registry.get("cache.map.resizes").functionCounter().count()).isZero();
+
+    map.put(new CollidingKey(10), 10);
+
+    assertThat(registry.get("cache.map.size").gauge().value()).isEqualTo(10.0d);
+
+    ticker.addAndGet(100);
+
+    assertThat(registry.get("cache.map.size").gauge().value()).isEqualTo(11.0d);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link OffHeapArrayHashMap}.
+ *
+ * @author John Blum
+ * @see org.cp.labs.data.struct.FixedSizeCodec
+ * @see org.cp.labs.data.struct.OffHeapArrayHashMap
+ * @see org.junit.jupiter.api.Test
+ * @since 1.0.0
+ */
+public class OffHeapArrayHashMapUnitTests {
+
+  @Test
+  public void putGetAndRemove() {
+
+    try (OffHeapArrayHashMap<String, Long> map =
+           new OffHeapArrayHashMap<>(FixedSizeCodec.forString(16), FixedSizeCodec.forLong())) {
+
+      assertThat(map.put("one", 1L)).isNull();
+      assertThat(map.put("two", 2L)).isNull();
+      assertThat(map.put("one", -1L)).isEqualTo(1L);
+      assertThat(map.get("one")).isEqualTo(-1L);
+      assertThat(map.get("three")).isNull();
+      assertThat(map.containsKey("two")).isTrue();
+      assertThat(map.remove("two")).isEqualTo(2L);
+      assertThat(map.containsKey("two")).isFalse();
+      assertThat(map).containsExactly(Map.entry("one", -1L));
+    }
+  }
+
+  @Test
+  public void randomOperationsRoundTripKeysAndValuesThroughCodecs() {
+
+    Map<String, Long> hashMap = new HashMap<>();
+
+    try (OffHeapArrayHashMap<String, Long> map =
+           new OffHeapArrayHashMap<>(FixedSizeCodec.forString(16), FixedSizeCodec.forLong(), 4)) {
+
+      Random random = new Random(20170104L);
+
+      for (int count = 0; count < 20_000; count++) {
+
+        int id = random.nextInt(500);
+
+        // Keys encode to between 1 and 16 bytes, including 2 byte characters, so that a slot reused by a shorter
+        // key only matches if its padding was cleared; values span the full range of long.
+        String key = "\u00e9".repeat(id % 8) + Integer.toString(id, 36);
+
+        if (random.nextBoolean()) {
+          long value = random.nextLong();
+          assertThat(map.put(key, value)).isEqualTo(hashMap.put(key, value));
+        }
+        else {
+          assertThat(map.remove(key)).isEqualTo(hashMap.remove(key));
+        }
+      }
+
+      assertThat(map).isEqualTo(hashMap);
+    }
+  }
+
+  @Test
+  public void entrySetIteratorRemoveVisitsEveryEntryOnce() {
+
+    Map<Integer, Long> hashMap = new HashMap<>();
+
+    try (OffHeapArrayHashMap<Integer, Long> map =
+           new OffHeapArrayHashMap<>(FixedSizeCodec.forInteger(), FixedSizeCodec.forLong(), 16)) {
+
+      for (int key = 0; key < 1_000; key++) {
+        map.put(key, (long) key);
+        hashMap.put(key, (long) key);
+      }
+
+      for (int divisor : new int[] { 2, 3, 5 }) {
+
+        int visited = 0;
+        int size = map.size();
+
+        for (Iterator<Map.Entry<Integer, Long>> iterator = map.entrySet().iterator(); iterator.hasNext(); visited++) {
+
+          Map.Entry<Integer, Long> entry = iterator.next();
+
+          if (entry.getKey() % divisor == 0) {
+            iterator.hasNext();
+            iterator.remove();
+          }
+        }
+
+        hashMap.keySet().removeIf(key -> key % divisor == 0);
+
+        assertThat(visited).isEqualTo(size);
+        assertThat(map).isEqualTo(hashMap);
+      }
+
+      assertThatIllegalStateException().isThrownBy(() -> map.entrySet().iterator().remove());
+    }
+  }
+
+  @Test
+  public void closeReleasesMemory() {
+
+    OffHeapArrayHashMap<Integer, Integer> map =
+      new OffHeapArrayHashMap<>(FixedSizeCodec.forInteger(), FixedSizeCodec.forInteger(), 1024);
+
+    map.put(1, 1);
+
+    assertThat(map.getOffHeapSize()).isEqualTo(1024L * 12);
+
+    map.close();
+    map.close();
+
+    assertThat(map.isClosed()).isTrue();
+    assertThat(map.getOffHeapSize()).isZero();
+    assertThat(map).isEmpty();
+    assertThatIllegalStateException().isThrownBy(() -> map.get(1));
+  }
+}
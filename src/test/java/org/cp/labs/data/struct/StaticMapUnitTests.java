@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link StaticMap}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.StaticMap
+ * @since 1.0.0
+ */
+public class StaticMapUnitTests {
+
+  @Test
+  public void buildFromStringKeysFindsEveryEntryWithOneProbe() {
+
+    Map<String, Integer> source = new HashMap<>();
+
+    for (int count = 0; count < 100_000; count++) {
+      source.put("route-" + count, count);
+    }
+
+    StaticMap<String, Integer> map = StaticMap.build(source);
+
+    assertThat(map).hasSize(100_000);
+    assertThat(map).isEqualTo(source);
+    assertThat(source).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(source.hashCode());
+    assertThat(map.getDisplacementCount()).isEqualTo(25_000);
+
+    source.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+
+    for (int count = 100_000; count < 110_000; count++) {
+      assertThat(map.containsKey("route-" + count)).isFalse();
+    }
+
+    assertThat(map.get(null)).isNull();
+    assertThat(map.get(1)).isNull();
+    assertThat(map.getOrDefault("route-x", -1)).isEqualTo(-1);
+    assertThat(map.containsValue(99_999)).isTrue();
+    assertThat(map.containsValue(100_000)).isFalse();
+  }
+
+  @Test
+  public void buildFromEnumKeys() {
+
+    Map<DayOfWeek, String> source = new EnumMap<>(DayOfWeek.class);
+
+    for (DayOfWeek day : DayOfWeek.values()) {
+      source.put(day, day.name().toLowerCase());
+    }
+
+    StaticMap<DayOfWeek, String> map = StaticMap.build(source);
+
+    assertThat(map).isEqualTo(source);
+    assertThat(map.get(DayOfWeek.MONDAY)).isEqualTo("monday");
+    assertThat(map.get(DayOfWeek.SUNDAY)).isEqualTo("sunday");
+    assertThat(map.get("MONDAY")).isNull();
+    assertThat(map.getDisplacementCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void buildFromEmptyMap() {
+
+    StaticMap<String, String> map = StaticMap.build(Map.of());
+
+    assertThat(map).isEmpty();
+    assertThat(map.get("key")).isNull();
+    assertThat(map.entrySet()).isEmpty();
+  }
+
+  @Test
+  public void isImmutable() {
+
+    StaticMap<String, Integer> map = StaticMap.build(Map.of("one", 1, "two", 2));
+
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> map.put("three", 3));
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> map.remove("one"));
+    assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(map::clear);
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+      .isThrownBy(() -> map.entrySet().iterator().next().setValue(0));
+  }
+
+  @Test
+  public void serializationRoundTripPreservesPerfectHashFunction() throws IOException, ClassNotFoundException {
+
+    Map<Long, String> source = new HashMap<>();
+
+    for (long key = 0; key < 10_000; key++) {
+      source.put(key * 31, String.valueOf(key));
+    }
+
+    StaticMap<Long, String> map = StaticMap.build(source);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+
+      @SuppressWarnings("unchecked")
+      StaticMap<Long, String> copy = (StaticMap<Long, String>) in.readObject();
+
+      assertThat(copy).isEqualTo(source);
+      assertThat(copy.getDisplacementCount()).isEqualTo(map.getDisplacementCount());
+
+      source.forEach((key, value) -> assertThat(copy.get(key)).isEqualTo(value));
+    }
+  }
+
+  @Test
+  public void rejectsNullKeysAndValues() {
+
+    Map<String, String> nullKey = new HashMap<>();
+    nullKey.put(null, "value");
+
+    Map<String, String> nullValue = new HashMap<>();
+    nullValue.put("key", null);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> StaticMap.build(null));
+    assertThatIllegalArgumentException().isThrownBy(() -> StaticMap.build(nullKey));
+    assertThatIllegalArgumentException().isThrownBy(() -> StaticMap.build(nullValue));
+  }
+
+  @Test
+  public void rejectsKeysWithTheSameHashCode() {
+
+    Map<CollidingKey, String> source = Map.of(new CollidingKey("one"), "1", new CollidingKey("two"), "2");
+
+    assertThatIllegalArgumentException()
+      .isThrownBy(() -> StaticMap.build(source))
+      .withMessageContaining("have the same hash");
+  }
+
+  record CollidingKey(String name) {
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
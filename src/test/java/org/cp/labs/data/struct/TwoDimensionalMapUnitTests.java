@@ -0,0 +1,466 @@
+/*
+ * Copyright 2017-Present Author or Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.cp.labs.data.struct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for {@link TwoDimensionalMap}.
+ *
+ * @author John Blum
+ * @see org.junit.jupiter.api.Test
+ * @see org.cp.labs.data.struct.TwoDimensionalMap
+ * @since 1.0.0
+ */
+public class TwoDimensionalMapUnitTests {
+
+  @Test
+  public void rowsSplitIncrementallyAsEntriesAreAdded() {
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> map = new TwoDimensionalMap.HashMapArray<>(10);
+
+    assertThat(map.getRowCount()).isEqualTo(10);
+    assertThat(map.getRowThreshold()).isEqualTo(6);
+
+    for (int key = 0; key < 60; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map.getRowCount()).isEqualTo(10);
+
+    map.put(60, 60);
+
+    assertThat(map.getRowCount()).isEqualTo(11);
+
+    for (int key = 61; key < 10_000; key++) {
+
+      int rowCount = map.getRowCount();
+
+      map.put(key, key);
+
+      assertThat(map.getRowCount()).isBetween(rowCount, rowCount + 1);
+    }
+
+    MapStatistics statistics = map.computeStatistics();
+
+    assertThat(map).hasSize(10_000);
+    assertThat(map.getRowCount()).isEqualTo(1_667);
+    assertThat(map.getMaps().length).isGreaterThanOrEqualTo(1_667);
+    assertThat(statistics.bucketCount()).isEqualTo(1_667);
+    assertThat(statistics.size()).isEqualTo(10_000);
+    assertThat(statistics.resizeCount()).isEqualTo(1_657);
+
+    for (int key = 0; key < 10_000; key++) {
+      assertThat(map.get(key)).isEqualTo(key);
+    }
+  }
+
+  @Test
+  public void entriesAgreeWithHashMapAcrossSplits() {
+
+    Map<Integer, Integer> map = TwoDimensionalMap.usingHashMapArray(7, 0.5f, HashStrategy.identity());
+    Map<Integer, Integer> hashMap = new HashMap<>();
+    Random random = new Random(11L);
+
+    for (int count = 0; count < 50_000; count++) {
+
+      int key = random.nextInt(20_000) - 10_000;
+
+      if (random.nextInt(4) == 0) {
+        assertThat(map.remove(key)).isEqualTo(hashMap.remove(key));
+      }
+      else {
+        assertThat(map.put(key, count)).isEqualTo(hashMap.put(key, count));
+      }
+    }
+
+    assertThat(map).hasSize(hashMap.size());
+    assertThat(map).isEqualTo(hashMap);
+  }
+
+  @Test
+  public void sizeIsMaintainedByEveryModification() {
+
+    Map<String, Integer> map = TwoDimensionalMap.usingHashMapArray(4);
+
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.put("one", 1)).isNull();
+    assertThat(map.put("one", 10)).isEqualTo(1);
+    assertThat(map).hasSize(1);
+
+    map.putAll(Map.of("two", 2, "three", 3));
+
+    assertThat(map.putIfAbsent("three", 30)).isEqualTo(3);
+    assertThat(map.computeIfAbsent("four", key -> 4)).isEqualTo(4);
+    assertThat(map.merge("five", 5, Integer::sum)).isEqualTo(5);
+    assertThat(map).hasSize(5);
+    assertThat(map.remove("six")).isNull();
+    assertThat(map.compute("five", (key, value) -> null)).isNull();
+    assertThat(map.computeIfPresent("four", (key, value) -> null)).isNull();
+    assertThat(map.remove("three", 3)).isTrue();
+    assertThat(map).hasSize(2);
+    assertThat(map.isEmpty()).isFalse();
+
+    map.clear();
+
+    assertThat(map).isEmpty();
+    assertThat(map.size()).isZero();
+  }
+
+  @Test
+  public void clearRestoresInitialRows() {
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> map = new TwoDimensionalMap.HashMapArray<>(16);
+
+    for (int key = 0; key < 1_000; key++) {
+      map.put(key, key);
+    }
+
+    assertThat(map.getRowCount()).isGreaterThan(16);
+
+    map.clear();
+
+    assertThat(map).isEmpty();
+    assertThat(map.getRowCount()).isEqualTo(16);
+    assertThat(map.getMaps()).hasSize(16);
+    assertThat(map.get(1)).isNull();
+  }
+
+  @Test
+  public void rejectsIllegalInitialCapacityAndLoadFactor() {
+
+    assertThatIllegalArgumentException().isThrownBy(() -> TwoDimensionalMap.usingHashMapArray(0));
+    assertThatIllegalArgumentException().isThrownBy(() -> TwoDimensionalMap.usingHashMapArray(0.0f));
+    assertThatIllegalArgumentException().isThrownBy(() -> TwoDimensionalMap.usingHashMapArray(1.5f));
+  }
+
+  @Test
+  public void concurrentHashMapArrayLosesNoWritesUnderContention() throws Exception {
+
+    int threadCount = 8;
+    int increments = 10_000;
+
+    ConcurrentMap<Integer, Integer> map = TwoDimensionalMap.usingConcurrentHashMapArray(16);
+
+    AtomicInteger computations = new AtomicInteger();
+
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+
+      for (int thread = 0; thread < threadCount; thread++) {
+
+        int offset = thread * increments;
+
+        futures.add(executor.submit(() -> {
+
+          start.await();
+
+          for (int count = 0; count < increments; count++) {
+            map.merge(count % 100, 1, Integer::sum);
+            map.computeIfAbsent(-1 - count % 50, key -> computations.incrementAndGet());
+            map.put(offset + count + 1_000, count);
+            map.remove(offset + count + 1_000 - 1);
+          }
+
+          return null;
+        }));
+      }
+
+      start.countDown();
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdownNow();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    assertThat(computations.get()).isEqualTo(50);
+    assertThat(map).hasSize(100 + 50 + threadCount);
+
+    for (int key = 0; key < 100; key++) {
+      assertThat(map.get(key)).isEqualTo(threadCount * increments / 100);
+    }
+
+    map.clear();
+
+    assertThat(map).isEmpty();
+    assertThat(map.entrySet()).isEmpty();
+  }
+
+  @Test
+  public void concurrentHashMapArrayAgreesWithHashMap() {
+
+    ConcurrentTwoDimensionalMap<Integer, Integer> map =
+      TwoDimensionalMap.usingConcurrentHashMapArray(7, 0.75f, HashStrategy.identity());
+
+    Map<Integer, Integer> hashMap = new HashMap<>();
+    Random random = new Random(13L);
+
+    for (int count = 0; count < 20_000; count++) {
+
+      int key = random.nextInt(2_000) - 1_000;
+
+      switch (random.nextInt(5)) {
+        case 0 -> assertThat(map.remove(key)).isEqualTo(hashMap.remove(key));
+        case 1 -> assertThat(map.putIfAbsent(key, count)).isEqualTo(hashMap.putIfAbsent(key, count));
+        case 2 -> assertThat(map.computeIfPresent(key, (k, value) -> value % 2 == 0 ? null : value + 1))
+          .isEqualTo(hashMap.computeIfPresent(key, (k, value) -> value % 2 == 0 ? null : value + 1));
+        case 3 -> assertThat(map.replace(key, count)).isEqualTo(hashMap.replace(key, count));
+        default -> assertThat(map.put(key, count)).isEqualTo(hashMap.put(key, count));
+      }
+    }
+
+    assertThat(map).hasSize(hashMap.size());
+    assertThat(map).isEqualTo(hashMap);
+    assertThat(map.computeStatistics().size()).isEqualTo(hashMap.size());
+    assertThat(map.computeStatistics().bucketCount()).isEqualTo(7);
+  }
+
+  @Test
+  public void entrySetSpliteratorSplitsByRows() {
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.usingHashMapArray(16);
+
+    for (int key = 0; key < 1_000; key++) {
+      map.put(key, key);
+    }
+
+    Spliterator<Map.Entry<Integer, Integer>> spliterator = map.entrySet().spliterator();
+    Spliterator<Map.Entry<Integer, Integer>> prefix = spliterator.trySplit();
+
+    assertThat(prefix).isNotNull();
+    assertThat(spliterator.hasCharacteristics(Spliterator.DISTINCT | Spliterator.NONNULL)).isTrue();
+    assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(1_000L);
+
+    AtomicInteger count = new AtomicInteger();
+
+    prefix.forEachRemaining(entry -> count.incrementAndGet());
+    while (spliterator.tryAdvance(entry -> count.incrementAndGet()));
+
+    assertThat(count).hasValue(1_000);
+    assertThat(map.entrySet().parallelStream().mapToLong(Map.Entry::getValue).sum())
+      .isEqualTo(map.entrySet().stream().mapToLong(Map.Entry::getValue).sum());
+  }
+
+  @Test
+  public void entrySetIteratorRemovesEntriesInPlace() {
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.usingHashMapArray(4);
+
+    for (int key = 0; key < 200; key++) {
+      map.put(key, key);
+    }
+
+    for (Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+      if (iterator.next().getKey() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(map).hasSize(100);
+    assertThat(map.keySet()).allMatch(key -> key % 2 == 1);
+    assertThat(map.entrySet()).contains(Map.entry(1, 1)).doesNotContain(Map.entry(2, 2), Map.entry(1, 2));
+
+    Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+
+    iterator.next();
+    map.put(1_000, 1_000);
+
+    assertThatExceptionOfType(ConcurrentModificationException.class).isThrownBy(iterator::next);
+  }
+
+  @Test
+  public void forEachShardVisitsEveryEntryOnce() {
+
+    for (TwoDimensionalMap<Integer, Integer> map : List.<TwoDimensionalMap<Integer, Integer>>of(
+        TwoDimensionalMap.usingHashMapArray(32), TwoDimensionalMap.usingConcurrentHashMapArray(32))) {
+
+      for (int key = 1; key <= 10_000; key++) {
+        map.put(key, key);
+      }
+
+      for (long parallelismThreshold : new long[] { 1L, Long.MAX_VALUE }) {
+
+        LongAdder sum = new LongAdder();
+        LongAdder count = new LongAdder();
+
+        map.forEachShard(parallelismThreshold, (key, value) -> {
+          sum.add(value);
+          count.increment();
+        });
+
+        assertThat(count.sum()).isEqualTo(10_000L);
+        assertThat(sum.sum()).isEqualTo(10_000L * 10_001L / 2L);
+      }
+    }
+  }
+
+  @Test
+  public void compactionMergesReleasesAndRebuildsRowsAfterMassRemoval() {
+
+    List<TwoDimensionalMap.CompactionResult> results = new ArrayList<>();
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.<Integer, Integer>usingHashMapArray(8)
+      .withCompactionListener(results::add);
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> rows =
+      (TwoDimensionalMap.HashMapArray<Integer, Integer>) map.getMap();
+
+    for (int key = 0; key < 10_000; key++) {
+      map.put(key, key);
+    }
+
+    int rowCount = rows.getRowCount();
+
+    for (int key = 0; key < 10_000; key++) {
+      if (key % 100 != 0) {
+        map.remove(key);
+      }
+    }
+
+    long reclaimedBytes = 0L;
+
+    for (TwoDimensionalMap.CompactionResult result = map.compact(64); result.isModified();
+        result = map.compact(64)) {
+
+      assertThat(result.rowsVisited()).isLessThanOrEqualTo(64);
+      reclaimedBytes += result.reclaimedBytes();
+    }
+
+    assertThat(results).isNotEmpty();
+    assertThat(results.stream().mapToLong(TwoDimensionalMap.CompactionResult::reclaimedBytes).sum())
+      .isEqualTo(reclaimedBytes);
+    assertThat(reclaimedBytes).isPositive();
+    assertThat(rows.getRowCount()).isLessThan(rowCount / 2).isGreaterThanOrEqualTo(rows.getInitialCapacity());
+    assertThat(rows.getMaps().length).isLessThan(rowCount);
+    assertThat(map).hasSize(100);
+
+    for (int key = 0; key < 10_000; key += 100) {
+      assertThat(map).containsEntry(key, key);
+    }
+  }
+
+  @Test
+  public void compactionRebuildsOversizedRows() {
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.usingHashMapArray(1, 0.75f, HashStrategy.identity());
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> rows =
+      (TwoDimensionalMap.HashMapArray<Integer, Integer>) map.getMap();
+
+    for (int key = 0; key < 48; key++) {
+      map.put(key * 1_024, key);
+    }
+
+    for (int key = 1; key < 48; key++) {
+      map.remove(key * 1_024);
+    }
+
+    TwoDimensionalMap.CompactionResult result = map.compact(rows.getMaps().length);
+
+    assertThat(result.rowsRebuilt()).isOne();
+    assertThat(result.reclaimedBytes()).isGreaterThanOrEqualTo(56L * Integer.BYTES);
+    assertThat(map).hasSize(1).containsEntry(0, 0);
+    assertThat(map.compact(rows.getMaps().length).isModified()).isFalse();
+  }
+
+  @Test
+  public void incrementalCompactionShrinksRowsAsEntriesAreRemoved() {
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.<Integer, Integer>usingHashMapArray(4)
+      .withIncrementalCompaction(2);
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> rows =
+      (TwoDimensionalMap.HashMapArray<Integer, Integer>) map.getMap();
+
+    for (int key = 0; key < 5_000; key++) {
+      map.put(key, key);
+    }
+
+    for (int key = 0; key < 5_000; key++) {
+      assertThat(map.remove(key)).isEqualTo(key);
+    }
+
+    assertThat(map).isEmpty();
+    assertThat(rows.getRowCount()).isEqualTo(4);
+    assertThat(rows.getMaps()).containsOnlyNulls();
+  }
+
+  @Test
+  public void incrementalCompactionFollowsEveryRemovingOperation() {
+
+    TwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.<Integer, Integer>usingHashMapArray(4)
+      .withIncrementalCompaction(2);
+
+    TwoDimensionalMap.HashMapArray<Integer, Integer> rows =
+      (TwoDimensionalMap.HashMapArray<Integer, Integer>) map.getMap();
+
+    for (int key = 0; key < 5_000; key++) {
+      map.put(key, key);
+    }
+
+    for (int key = 0; key < 5_000; key++) {
+      switch (key % 4) {
+        case 0 -> assertThat(map.remove(key, key)).isTrue();
+        case 1 -> assertThat(map.compute(key, (k, v) -> null)).isNull();
+        case 2 -> assertThat(map.computeIfPresent(key, (k, v) -> null)).isNull();
+        default -> assertThat(map.merge(key, 1, (v, one) -> null)).isNull();
+      }
+    }
+
+    assertThat(map).isEmpty();
+    assertThat(rows.getRowCount()).isEqualTo(4);
+    assertThat(rows.getMaps()).containsOnlyNulls();
+  }
+
+  @Test
+  public void concurrentHashMapArrayDoesNotSupportCompaction() {
+
+    ConcurrentTwoDimensionalMap<Integer, Integer> map = TwoDimensionalMap.usingConcurrentHashMapArray();
+
+    assertThatIllegalStateException().isThrownBy(() -> map.compact(1));
+    assertThatIllegalStateException().isThrownBy(() -> map.withIncrementalCompaction(1));
+  }
+}